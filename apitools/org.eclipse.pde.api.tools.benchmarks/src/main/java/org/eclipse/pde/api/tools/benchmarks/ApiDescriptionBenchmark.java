@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pde.api.tools.internal.ApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IPackageDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the lookups of {@link ApiDescription#resolveAnnotations}, for
+ * elements that have annotations and for members inheriting the annotations
+ * of their type. The description is generated with the given number of
+ * packages, each one holding ten types of ten methods and ten fields.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ApiDescriptionBenchmark {
+
+	private static final int TYPES = 10;
+	private static final int MEMBERS = 10;
+
+	@Param({ "10", "100" })
+	public int packages;
+
+	private ApiDescription description;
+	private IElementDescriptor[] annotated;
+	private IElementDescriptor[] inherited;
+
+	@Setup
+	public void setUp() {
+		description = new ApiDescription("benchmark"); //$NON-NLS-1$
+		annotated = new IElementDescriptor[packages * TYPES * MEMBERS * 2];
+		inherited = new IElementDescriptor[packages * TYPES * MEMBERS];
+		int a = 0;
+		int i = 0;
+		for (int p = 0; p < packages; p++) {
+			IPackageDescriptor pkg = Factory.packageDescriptor("org.example.p" + p); //$NON-NLS-1$
+			description.setVisibility(pkg, VisibilityModifiers.API);
+			for (int t = 0; t < TYPES; t++) {
+				IReferenceTypeDescriptor type = pkg.getType("Type" + t); //$NON-NLS-1$
+				description.setRestrictions(type, RestrictionModifiers.NO_EXTEND);
+				for (int m = 0; m < MEMBERS; m++) {
+					annotated[a] = type.getMethod("method" + m, "(Ljava/lang/String;I)V"); //$NON-NLS-1$ //$NON-NLS-2$
+					description.setRestrictions(annotated[a++], RestrictionModifiers.NO_REFERENCE);
+					annotated[a] = type.getField("field" + m); //$NON-NLS-1$
+					description.setRestrictions(annotated[a++], RestrictionModifiers.NO_REFERENCE);
+					inherited[i++] = type.getMethod("other" + m, "()V"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void resolveAnnotatedMembers(Blackhole blackhole) {
+		for (IElementDescriptor element : annotated) {
+			blackhole.consume(description.resolveAnnotations(element));
+		}
+	}
+
+	@Benchmark
+	public void resolveInheritedMembers(Blackhole blackhole) {
+		for (IElementDescriptor element : inherited) {
+			blackhole.consume(description.resolveAnnotations(element));
+		}
+	}
+}
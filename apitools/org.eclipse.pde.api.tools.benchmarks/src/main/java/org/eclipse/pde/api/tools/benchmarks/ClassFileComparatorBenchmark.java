@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time needed by the {@link ClassFileComparator} to compare all
+ * the class files of the current fixtures against the same class files loaded
+ * in a second baseline, which is the path taken for most types of a build, and
+ * against the class files of the previous versions of the bundles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClassFileComparatorBenchmark {
+
+	private IApiBaseline current;
+	private IApiBaseline copy;
+	private IApiBaseline previous;
+	private IApiTypeRoot[] currentRoots;
+	private IApiTypeRoot[] copyRoots;
+	private IApiTypeRoot[] changedRoots;
+	private IApiTypeRoot[] previousRoots;
+
+	@Setup
+	public void setUp() throws CoreException {
+		current = Fixtures.createBaseline("current"); //$NON-NLS-1$
+		copy = Fixtures.createBaseline("copy"); //$NON-NLS-1$
+		previous = Fixtures.createBaseline("previous", Fixtures.REFERENCE); //$NON-NLS-1$
+		List<IApiTypeRoot> roots = Fixtures.getTypeRoots(current);
+		currentRoots = roots.toArray(new IApiTypeRoot[roots.size()]);
+		copyRoots = findTypeRoots(copy, currentRoots);
+		// the types added since the previous versions are not compared
+		List<IApiTypeRoot> changed = new ArrayList<>();
+		List<IApiTypeRoot> previousList = new ArrayList<>();
+		IApiTypeRoot[] found = findTypeRoots(previous, currentRoots);
+		for (int i = 0; i < currentRoots.length; i++) {
+			if (found[i] != null) {
+				changed.add(currentRoots[i]);
+				previousList.add(found[i]);
+			}
+		}
+		changedRoots = changed.toArray(new IApiTypeRoot[changed.size()]);
+		previousRoots = previousList.toArray(new IApiTypeRoot[previousList.size()]);
+	}
+
+	private static IApiTypeRoot[] findTypeRoots(IApiBaseline baseline, IApiTypeRoot[] roots) throws CoreException {
+		IApiTypeRoot[] found = new IApiTypeRoot[roots.length];
+		for (int i = 0; i < roots.length; i++) {
+			IApiComponent component = baseline.getApiComponent(roots[i].getApiComponent().getSymbolicName());
+			if (component != null) {
+				found[i] = component.findTypeRoot(roots[i].getTypeName());
+			}
+		}
+		return found;
+	}
+
+	@TearDown
+	public void tearDown() {
+		current.dispose();
+		copy.dispose();
+		previous.dispose();
+	}
+
+	@Benchmark
+	public void compareUnchangedTypes(Blackhole blackhole) throws CoreException {
+		compare(currentRoots, copyRoots, copy, blackhole);
+	}
+
+	@Benchmark
+	public void comparePreviousVersions(Blackhole blackhole) throws CoreException {
+		compare(changedRoots, previousRoots, previous, blackhole);
+	}
+
+	private void compare(IApiTypeRoot[] roots, IApiTypeRoot[] referenceRoots, IApiBaseline reference, Blackhole blackhole) throws CoreException {
+		for (int i = 0; i < roots.length; i++) {
+			ClassFileComparator comparator = new ClassFileComparator(referenceRoots[i], roots[i], referenceRoots[i].getApiComponent(), roots[i].getApiComponent(), reference, current, VisibilityModifiers.ALL_VISIBILITIES);
+			blackhole.consume(comparator.getDelta());
+		}
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Creates the API baselines the benchmarks run against, from the bundles found
+ * in the fixtures directory. The directory is set with the
+ * {@link #FIXTURES_PROPERTY} system property and defaults to the released
+ * Eclipse bundles copied by the build. It holds a {@value #CURRENT} and a
+ * {@value #REFERENCE} directory, the latter with older versions of the same
+ * bundles.
+ */
+final class Fixtures {
+
+	/**
+	 * System property holding the directory containing the bundles to
+	 * benchmark against
+	 */
+	static final String FIXTURES_PROPERTY = "apitools.benchmark.fixtures"; //$NON-NLS-1$
+
+	/**
+	 * Directory of the bundles of the current baseline
+	 */
+	static final String CURRENT = "current"; //$NON-NLS-1$
+
+	/**
+	 * Directory of the bundles of the reference baseline
+	 */
+	static final String REFERENCE = "reference"; //$NON-NLS-1$
+
+	private static final String DEFAULT_FIXTURES = "target/fixtures"; //$NON-NLS-1$
+
+	private Fixtures() {
+	}
+
+	/**
+	 * @param kind {@value #CURRENT} or {@value #REFERENCE}
+	 * @return the directory containing the bundles to benchmark against
+	 */
+	static File getFixturesDirectory(String kind) {
+		File directory = new File(System.getProperty(FIXTURES_PROPERTY, DEFAULT_FIXTURES), kind);
+		if (!directory.isDirectory()) {
+			throw new IllegalStateException("Fixtures directory not found: " + directory.getAbsolutePath()); //$NON-NLS-1$
+		}
+		return directory;
+	}
+
+	/**
+	 * Creates a baseline containing all the bundles of the current fixtures
+	 * and the system library of the running VM.
+	 *
+	 * @param name the name of the baseline
+	 * @return a new baseline, to be disposed by the caller
+	 * @throws CoreException if the baseline cannot be created
+	 */
+	static IApiBaseline createBaseline(String name) throws CoreException {
+		return createBaseline(name, CURRENT);
+	}
+
+	/**
+	 * Creates a baseline containing all the bundles of the given fixtures and
+	 * the system library of the running VM.
+	 *
+	 * @param name the name of the baseline
+	 * @param kind {@value #CURRENT} or {@value #REFERENCE}
+	 * @return a new baseline, to be disposed by the caller
+	 * @throws CoreException if the baseline cannot be created
+	 */
+	static IApiBaseline createBaseline(String name, String kind) throws CoreException {
+		IApiBaseline baseline = ApiModelFactory.newApiBaseline(name, Util.getEEDescriptionFile(), null);
+		List<IApiComponent> components = new ArrayList<>();
+		File directory = getFixturesDirectory(kind);
+		File[] bundles = directory.listFiles();
+		if (bundles != null) {
+			for (File bundle : bundles) {
+				IApiComponent component = ApiModelFactory.newApiComponent(baseline, bundle.getAbsolutePath());
+				if (component != null) {
+					components.add(component);
+				}
+			}
+		}
+		if (components.isEmpty()) {
+			throw new IllegalStateException("No bundles found in " + directory.getAbsolutePath()); //$NON-NLS-1$
+		}
+		baseline.addApiComponents(components.toArray(new IApiComponent[components.size()]));
+		return baseline;
+	}
+
+	/**
+	 * Collects the class files of the bundles of the given baseline, the
+	 * system library is not visited.
+	 *
+	 * @param baseline the baseline
+	 * @return the class files of the bundles
+	 * @throws CoreException if a bundle cannot be visited
+	 */
+	static List<IApiTypeRoot> getTypeRoots(IApiBaseline baseline) throws CoreException {
+		List<IApiTypeRoot> roots = new ArrayList<>();
+		for (IApiComponent component : baseline.getApiComponents()) {
+			if (component.isSystemComponent()) {
+				continue;
+			}
+			component.accept(new ApiTypeContainerVisitor() {
+				@Override
+				public void visit(String packageName, IApiTypeRoot typeroot) {
+					roots.add(typeroot);
+				}
+			});
+		}
+		return roots;
+	}
+}
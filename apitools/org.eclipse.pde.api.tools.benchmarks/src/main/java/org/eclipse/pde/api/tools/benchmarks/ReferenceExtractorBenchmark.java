@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceExtractor;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time needed by the {@link ReferenceExtractor} to extract all the
+ * references of the class files of the fixtures. The references are not
+ * resolved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReferenceExtractorBenchmark {
+
+	private IApiBaseline baseline;
+	private List<IApiType> types;
+
+	@Setup
+	public void setUp() throws CoreException {
+		baseline = Fixtures.createBaseline("references"); //$NON-NLS-1$
+		types = new ArrayList<>();
+		for (IApiTypeRoot root : Fixtures.getTypeRoots(baseline)) {
+			IApiType type = root.getStructure();
+			// skip bad class files
+			if (type != null) {
+				types.add(type);
+			}
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		baseline.dispose();
+	}
+
+	@Benchmark
+	public void extractReferences(Blackhole blackhole) throws CoreException {
+		for (IApiType type : types) {
+			blackhole.consume(type.extractReferences(IReference.MASK_REF_ALL, null));
+		}
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the {@link Signatures} utilities used to display and match the
+ * signatures of the methods of the fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignaturesBenchmark {
+
+	private List<IMethodDescriptor> methods;
+	private List<String> signatures;
+	private List<String> dequalified;
+
+	@Setup
+	public void setUp() throws CoreException {
+		methods = new ArrayList<>();
+		signatures = new ArrayList<>();
+		dequalified = new ArrayList<>();
+		IApiBaseline baseline = Fixtures.createBaseline("signatures"); //$NON-NLS-1$
+		try {
+			for (IApiTypeRoot root : Fixtures.getTypeRoots(baseline)) {
+				IApiType type = root.getStructure();
+				// skip bad class files
+				if (type == null) {
+					continue;
+				}
+				for (IApiMethod method : type.getMethods()) {
+					methods.add(Factory.methodDescriptor(type.getName(), method.getName(), method.getSignature()));
+					signatures.add(method.getSignature());
+					dequalified.add(Signatures.dequalifySignature(method.getSignature()));
+				}
+			}
+		} finally {
+			baseline.dispose();
+		}
+	}
+
+	@Benchmark
+	public void qualifiedMethodSignatures(Blackhole blackhole) throws CoreException {
+		for (IMethodDescriptor method : methods) {
+			blackhole.consume(Signatures.getQualifiedMethodSignature(method));
+		}
+	}
+
+	@Benchmark
+	public void dequalifySignatures(Blackhole blackhole) {
+		for (String signature : signatures) {
+			blackhole.consume(Signatures.dequalifySignature(signature));
+		}
+	}
+
+	@Benchmark
+	public void matchSignatures(Blackhole blackhole) {
+		for (int i = 0; i < signatures.size(); i++) {
+			blackhole.consume(Signatures.matchesSignatures(signatures.get(i), dequalified.get(i)));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureBuilder;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time needed by {@link TypeStructureBuilder} to build the
+ * structure of all the class files of the fixtures.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeStructureBuilderBenchmark {
+
+	private IApiBaseline baseline;
+	private IApiTypeRoot[] roots;
+	private byte[][] contents;
+
+	@Setup
+	public void setUp() throws CoreException {
+		baseline = Fixtures.createBaseline("types"); //$NON-NLS-1$
+		List<IApiTypeRoot> list = Fixtures.getTypeRoots(baseline);
+		roots = list.toArray(new IApiTypeRoot[list.size()]);
+		contents = new byte[roots.length][];
+		for (int i = 0; i < roots.length; i++) {
+			contents[i] = ((AbstractApiTypeRoot) roots[i]).getContents();
+		}
+	}
+
+	@TearDown
+	public void tearDown() {
+		baseline.dispose();
+	}
+
+	@Benchmark
+	public void buildTypeStructures(Blackhole blackhole) {
+		for (int i = 0; i < roots.length; i++) {
+			blackhole.consume(TypeStructureBuilder.buildTypeStructure(contents[i], roots[i].getApiComponent(), roots[i]));
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,13 +13,23 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.anttasks.tests;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.ParserConfigurationException;
@@ -28,6 +38,9 @@ import org.eclipse.core.internal.runtime.XmlProcessorFactory;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.search.UseReportConverter;
+import org.eclipse.pde.api.tools.internal.util.Util;
 import org.junit.Test;
 import org.w3c.dom.Document;
 import org.w3c.dom.NodeList;
@@ -43,11 +56,14 @@ public class ApiToolingApiuseAntTaskTests extends AntRunnerTestCase {
 	}
 
 	private IFolder runTaskAndVerify(String resourceName) throws Exception, CoreException, ParserConfigurationException, SAXException, IOException {
+		return runTaskAndVerify(resourceName, new Properties());
+	}
+
+	private IFolder runTaskAndVerify(String resourceName, Properties properties) throws Exception, CoreException, ParserConfigurationException, SAXException, IOException {
 
 		IFolder buildFolder = newTest(getTestResourcesFolder(), new String[] {
 				resourceName, "profile" }); //$NON-NLS-1$
 		String buildXMLPath = buildFolder.getFile("build.xml").getLocation().toOSString(); //$NON-NLS-1$
-		Properties properties = new Properties();
 		properties.put("baseline_location", buildFolder.getFile("OSGiProduct.zip").getLocation().toOSString()); //$NON-NLS-1$ //$NON-NLS-2$
 		properties.put("report_location", buildFolder.getLocation().append("report").toOSString()); //$NON-NLS-1$ //$NON-NLS-2$
 		properties.put("filter_location", buildFolder.getLocation().toOSString()); //$NON-NLS-1$
@@ -164,4 +180,83 @@ public class ApiToolingApiuseAntTaskTests extends AntRunnerTestCase {
 		}
 	}
 
+	/**
+	 * Tests that a second incremental scan of a baseline extracted again
+	 * reuses the output of the first scan
+	 */
+	@Test
+	public void testIncremental() throws Exception {
+		Path state = Files.createTempDirectory("apiuse-state"); //$NON-NLS-1$
+		try {
+			Properties properties = new Properties();
+			properties.put("state_location", state.toString()); //$NON-NLS-1$
+			runTaskAndVerify("testIncremental", properties); //$NON-NLS-1$
+			Properties keys = loadProperties(state.resolve("state.properties")); //$NON-NLS-1$
+			assertFalse("The scanned bundles must be remembered", keys.isEmpty()); //$NON-NLS-1$
+			// mark the remembered output, a rescan would not produce the marker
+			Path output;
+			try (Stream<Path> files = Files.walk(state.resolve("bundles"))) { //$NON-NLS-1$
+				output = files.filter(file -> file.toString().endsWith(".xml")).findFirst().orElse(null); //$NON-NLS-1$
+			}
+			assertNotNull("The output of the scanned bundles must be remembered", output); //$NON-NLS-1$
+			Path marker = output.resolveSibling("marker.xml"); //$NON-NLS-1$
+			Files.copy(output, marker);
+			Path relative = state.resolve("bundles").relativize(marker); //$NON-NLS-1$
+
+			IFolder reportFolder = runTaskAndVerify("testIncremental", properties); //$NON-NLS-1$
+			assertEquals("The keys of the bundles must not change", keys, loadProperties(state.resolve("state.properties"))); //$NON-NLS-1$ //$NON-NLS-2$
+			// the remembered output is organized by scanned bundle first
+			Path reused = reportFolder.getLocation().toFile().toPath().resolve(relative.getName(1)).resolve(relative.getName(0)).resolve(relative.subpath(2, relative.getNameCount()));
+			assertTrue("The output of the first scan must be reused: " + reused, Files.isRegularFile(reused)); //$NON-NLS-1$
+		} finally {
+			Util.delete(state.toFile());
+		}
+	}
+
+	/**
+	 * Tests that converting a use scan to HTML writes the same report files
+	 * whether the pages are written sequentially or concurrently
+	 */
+	@Test
+	public void testConversionParallelism() throws Exception {
+		IFolder reportFolder = runTaskAndVerify("test1"); //$NON-NLS-1$
+		Map<String, String> sequential = convertReport(reportFolder, "html1", 1); //$NON-NLS-1$
+		Map<String, String> parallel = convertReport(reportFolder, "html4", 4); //$NON-NLS-1$
+		assertTrue("The report must have pages", sequential.size() > 1); //$NON-NLS-1$
+		assertEquals("The same report files must be written", sequential.keySet(), parallel.keySet()); //$NON-NLS-1$
+		for (Map.Entry<String, String> file : sequential.entrySet()) {
+			assertEquals("The content of " + file.getKey() + " must not depend on the parallelism", file.getValue(), parallel.get(file.getKey())); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * Converts the use scan in the given folder to HTML with the given
+	 * parallelism and returns the content of the report files by relative
+	 * path
+	 */
+	private Map<String, String> convertReport(IFolder reportFolder, String name, int parallelism) throws Exception {
+		Path html = reportFolder.getParent().getLocation().append(name).toFile().toPath();
+		UseReportConverter converter = new UseReportConverter(html.toString(), reportFolder.getLocation().toOSString(), null, null);
+		converter.setParallelism(parallelism);
+		converter.convert(null, new NullProgressMonitor());
+		Map<String, String> contents = new TreeMap<>();
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(html)) {
+			files = walk.filter(Files::isRegularFile).toList();
+		}
+		for (Path file : files) {
+			// compare the raw bytes
+			contents.put(html.relativize(file).toString(), new String(Files.readAllBytes(file), StandardCharsets.ISO_8859_1));
+		}
+		return contents;
+	}
+
+	private static Properties loadProperties(Path file) throws IOException {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		return properties;
+	}
+
 }
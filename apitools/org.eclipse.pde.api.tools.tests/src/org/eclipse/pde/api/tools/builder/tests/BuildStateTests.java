@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.pde.api.tools.internal.builder.BuildState;
+import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.junit.Test;
+import org.osgi.framework.Constants;
+
+/**
+ * Tests the binary format of the {@link BuildState}
+ */
+public class BuildStateTests {
+
+	private static final IDelta COMPATIBLE = new Delta(null, IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.METHOD, 0, 0, 1, "p.A", "m()V", "p.A.m()"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final IDelta COMPATIBLE_2 = new Delta(null, IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.FIELD, 0, 0, 1, "p.A", "f", "p.A.f"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final IDelta BREAKING = new Delta(null, IDelta.INTERFACE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.METHOD, 0, 1, 0, "p.B", "n()V", "p.B.n()"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private static BuildState createState() {
+		BuildState state = new BuildState();
+		state.setBuildPathCRC(42L);
+		state.addApiToolingDependentProject("dependent"); //$NON-NLS-1$
+		Map<String, String> manifest = new LinkedHashMap<>();
+		manifest.put(Constants.BUNDLE_VERSION, "1.0.0"); //$NON-NLS-1$
+		manifest.put(Constants.EXPORT_PACKAGE, "p"); //$NON-NLS-1$
+		manifest.put(Constants.BUNDLE_NAME, "ignored"); //$NON-NLS-1$
+		state.setManifestState(manifest);
+		state.addCompatibleChange(COMPATIBLE);
+		state.addCompatibleChange(COMPATIBLE_2);
+		state.addBreakingChange(BREAKING);
+		return state;
+	}
+
+	private static byte[] write(BuildState state) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			BuildState.write(state, out);
+		}
+		return bytes.toByteArray();
+	}
+
+	private static BuildState read(byte[] bytes) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			return BuildState.read(in);
+		}
+	}
+
+	/**
+	 * Tests that a state written and read back is unchanged
+	 */
+	@Test
+	public void testRoundTrip() throws IOException {
+		BuildState state = read(write(createState()));
+		assertNotNull("The state should have been read", state); //$NON-NLS-1$
+		assertEquals(42L, state.getBuildPathCRC());
+		assertEquals(Set.of("dependent"), state.getApiToolingDependentProjects()); //$NON-NLS-1$
+		assertArrayEquals(new String[0], state.getReexportedComponents());
+		assertEquals(Map.of(Constants.BUNDLE_VERSION, "1.0.0", Constants.EXPORT_PACKAGE, "p"), state.getManifestState()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(Set.of(COMPATIBLE, COMPATIBLE_2), Set.of(state.getCompatibleChanges()));
+		assertEquals(Set.of(BREAKING), Set.of(state.getBreakingChanges()));
+		assertArrayEquals(new String[] { "p.B.n()" }, state.getBreakingChanges()[0].getArguments()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the deltas of a state that were never accessed are written
+	 * back as they were read, and are still decoded correctly afterwards
+	 */
+	@Test
+	public void testLazyDeltas() throws IOException {
+		byte[] bytes = write(createState());
+		BuildState state = read(bytes);
+		assertNotNull("The state should have been read", state); //$NON-NLS-1$
+		state.setBuildPathCRC(42L);
+		byte[] rewritten = write(state);
+		assertArrayEquals("The untouched deltas should be written back unchanged", bytes, rewritten); //$NON-NLS-1$
+		BuildState reread = read(rewritten);
+		assertEquals(Set.of(COMPATIBLE, COMPATIBLE_2), Set.of(reread.getCompatibleChanges()));
+		assertEquals(Set.of(BREAKING), Set.of(reread.getBreakingChanges()));
+	}
+
+	/**
+	 * Tests that changing the deltas of a read state decodes them first, so
+	 * that the deltas that were read are kept
+	 */
+	@Test
+	public void testChangeDeltasAfterRead() throws IOException {
+		BuildState state = read(write(createState()));
+		state.cleanup("p.A"); //$NON-NLS-1$
+		IDelta added = new Delta(null, IDelta.CLASS_ELEMENT_TYPE, IDelta.ADDED, IDelta.METHOD, 0, 0, 1, "p.C", "m()V", "p.C.m()"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		state.addCompatibleChange(added);
+		BuildState reread = read(write(state));
+		assertEquals(Set.of(added), Set.of(reread.getCompatibleChanges()));
+		assertEquals(Set.of(BREAKING), Set.of(reread.getBreakingChanges()));
+	}
+
+	/**
+	 * Tests that a state with no deltas is read as an empty state
+	 */
+	@Test
+	public void testNoDeltas() throws IOException {
+		BuildState state = read(write(new BuildState()));
+		assertNotNull("The state should have been read", state); //$NON-NLS-1$
+		assertEquals(-1L, state.getBuildPathCRC());
+		assertEquals(0, state.getCompatibleChanges().length);
+		assertEquals(0, state.getBreakingChanges().length);
+		assertEquals(0, state.getManifestState().size());
+		assertEquals(0, state.getBuildPropertiesState().size());
+	}
+
+	/**
+	 * Tests that a state saved in another format version is not read, so that
+	 * a full build is done
+	 */
+	@Test
+	public void testOtherVersion() throws IOException {
+		byte[] bytes = write(createState());
+		// the version follows the magic number
+		bytes[7]++;
+		assertNull("A state of another version should not be read", read(bytes)); //$NON-NLS-1$
+		assertNull("A truncated state should not be read", read(Arrays.copyOf(bytes, 4))); //$NON-NLS-1$
+	}
+}
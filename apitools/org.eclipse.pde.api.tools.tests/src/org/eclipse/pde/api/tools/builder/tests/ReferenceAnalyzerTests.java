@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceAnalyzer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ReferenceAnalyzer} reports the same problems whether
+ * it runs sequentially or in parallel
+ */
+public class ReferenceAnalyzerTests {
+
+	private IApiBaseline fBaseline;
+
+	@Before
+	public void setUp() throws Exception {
+		fBaseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ApiTestingEnvironment.dispose(fBaseline);
+	}
+
+	/**
+	 * Analyzes the given component sequentially and with the given parallelism
+	 * and checks that the same problems are reported in the same order
+	 */
+	private void assertSameProblems(String componentid, int parallelism) throws Exception {
+		IApiComponent component = fBaseline.getApiComponent(componentid);
+		assertNotNull("Missing API component " + componentid, component); //$NON-NLS-1$
+		IApiProblem[] sequential = new ReferenceAnalyzer(1).analyze(component, component, new NullProgressMonitor());
+		IApiProblem[] parallel = new ReferenceAnalyzer(parallelism).analyze(component, component, new NullProgressMonitor());
+		assertArrayEquals("Different problems reported for " + componentid + " using " + parallelism + " threads", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				sequential, parallel);
+	}
+
+	/**
+	 * Tests the analysis of a component leaking internal types
+	 */
+	@Test
+	public void testParallelLeakAnalysis() throws Exception {
+		assertSameProblems("component.a", 4); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests the analysis of a component using the API of another component
+	 */
+	@Test
+	public void testParallelUseAnalysis() throws Exception {
+		assertSameProblems("component.b", 4); //$NON-NLS-1$
+		assertSameProblems("component.b", 2); //$NON-NLS-1$
+	}
+}
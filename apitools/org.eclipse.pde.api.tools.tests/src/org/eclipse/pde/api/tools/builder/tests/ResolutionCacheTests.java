@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.pde.api.tools.internal.builder.Reference;
+import org.eclipse.pde.api.tools.internal.builder.ResolutionCache;
+import org.eclipse.pde.api.tools.internal.model.ApiType;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.tests.AbstractApiTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link ResolutionCache} shares the resolutions of members
+ * between the projects of a workspace build
+ */
+public class ResolutionCacheTests extends AbstractApiTest {
+
+	private static final String PROJECT_A = "ResolutionA"; //$NON-NLS-1$
+	private static final String PROJECT_B = "ResolutionB"; //$NON-NLS-1$
+
+	@Override
+	@Before
+	public void setUp() throws Exception {
+		super.setUp();
+		createProject(PROJECT_A, new String[] { "a" }); //$NON-NLS-1$
+		createProject(PROJECT_B, new String[] { "b" }); //$NON-NLS-1$
+		ResolutionCache.acquire();
+	}
+
+	@Override
+	@After
+	public void tearDown() throws Exception {
+		ResolutionCache.release();
+		deleteProject(PROJECT_A);
+		deleteProject(PROJECT_B);
+		super.tearDown();
+	}
+
+	/**
+	 * Resolves a reference to <code>Object#toString()</code> made from a type of
+	 * the given project
+	 */
+	private IApiMember resolveToString(String projectname, String typename) throws Exception {
+		IApiComponent component = getProjectApiComponent(projectname);
+		assertNotNull("the API component of " + projectname + " must exist", component); //$NON-NLS-1$ //$NON-NLS-2$
+		ApiType origin = new ApiType(component, typename, 'L' + typename.replace('.', '/') + ';', null, Flags.AccPublic, null, null);
+		Reference reference = Reference.methodReference(origin, "java.lang.Object", "toString", "()Ljava/lang/String;", IReference.REF_VIRTUALMETHOD); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		reference.resolve();
+		IApiMember resolved = reference.getResolvedReference();
+		assertNotNull("the reference from " + typename + " should have been resolved", resolved); //$NON-NLS-1$ //$NON-NLS-2$
+		return resolved;
+	}
+
+	/**
+	 * Tests that the resolution of a member made for a project is reused for
+	 * another project referencing the same type
+	 */
+	@Test
+	public void testHitAcrossProjects() throws Exception {
+		ResolutionCache cache = ResolutionCache.getCurrent();
+		assertNotNull("the resolution cache should be open", cache); //$NON-NLS-1$
+		IApiMember fromA = resolveToString(PROJECT_A, "a.A"); //$NON-NLS-1$
+		assertEquals("the first resolution should miss", 1, cache.getMissCount()); //$NON-NLS-1$
+		assertEquals("the first resolution should not hit", 0, cache.getHitCount()); //$NON-NLS-1$
+		IApiMember fromB = resolveToString(PROJECT_B, "b.B"); //$NON-NLS-1$
+		assertEquals("the resolution from the other project should hit", 1, cache.getHitCount()); //$NON-NLS-1$
+		assertSame("both projects should share the resolved member", fromA, fromB); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a project change keeps the resolutions of members that do not
+	 * belong to workspace projects
+	 */
+	@Test
+	public void testProjectChangeKeepsLibraryResolutions() throws Exception {
+		ResolutionCache cache = ResolutionCache.getCurrent();
+		assertNotNull("the resolution cache should be open", cache); //$NON-NLS-1$
+		resolveToString(PROJECT_A, "a.A"); //$NON-NLS-1$
+		ResolutionCache.projectChanged(getProject(PROJECT_A));
+		resolveToString(PROJECT_B, "b.B"); //$NON-NLS-1$
+		assertEquals("the library resolution should have been kept", 1, cache.getHitCount()); //$NON-NLS-1$
+	}
+}
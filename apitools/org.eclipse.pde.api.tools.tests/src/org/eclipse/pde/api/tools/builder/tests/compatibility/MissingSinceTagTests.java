@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,20 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.builder.tests.compatibility;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.pde.api.tools.builder.tests.ApiProblem;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.internal.core.util.Parallelism;
 
 import junit.framework.Test;
 
@@ -244,4 +254,73 @@ public class MissingSinceTagTests extends SinceTagTest {
 	public void testAddTypeF() throws Exception {
 		xAddType(false);
 	}
+
+	/**
+	 * Tests adding a method while the unsupported tags and annotations are
+	 * validated as well, so that the @since tag check shares the parsed unit
+	 * with the tag validation
+	 */
+	private void xAddMethodWithTagValidation(boolean incremental) throws Exception {
+		enableUnsupportedTagOptions(true);
+		enableUnsupportedAnnotationOptions(true);
+		xAddMethod(incremental);
+	}
+
+	public void testAddMethodWithTagValidationI() throws Exception {
+		xAddMethodWithTagValidation(true);
+	}
+
+	public void testAddMethodWithTagValidationF() throws Exception {
+		xAddMethodWithTagValidation(false);
+	}
+
+	/**
+	 * Tests adding a method while the compilation units are parsed
+	 * concurrently. The project holds enough compilation units for a full
+	 * build to split them in chunks validated by several threads, so all the
+	 * problems of the workspace are compared with those of a sequential build.
+	 */
+	public void testAddMethodParallel() throws Exception {
+		enableUnsupportedTagOptions(true);
+		enableUnsupportedAnnotationOptions(true);
+		IPath filePath = WORKSPACE_CLASSES_PACKAGE_A.append("AddMethod.java"); //$NON-NLS-1$
+		updateWorkspaceFile(filePath, getUpdateFilePath(filePath.lastSegment()));
+		IJavaProject project = JavaCore.create(getEnv().getWorkspace().getRoot().getProject(filePath.segment(0)));
+		int units = 0;
+		for (IPackageFragment fragment : project.getPackageFragments()) {
+			if (fragment.getKind() == IPackageFragmentRoot.K_SOURCE) {
+				units += fragment.getCompilationUnits().length;
+			}
+		}
+		// the units are parsed in chunks of at least 16 units
+		assertTrue("Too few compilation units to parse in chunks: " + units, units > 64); //$NON-NLS-1$
+		List<String> sequential = buildProblems("1"); //$NON-NLS-1$
+		assertEquals("Wrong problems of the parallel build", sequential, buildProblems("4")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("Wrong problems of the automatic parallel build", sequential, buildProblems(Parallelism.AUTO)); //$NON-NLS-1$
+		configureExpectedProblems(IDelta.METHOD_ELEMENT_TYPE, "method()"); //$NON-NLS-1$
+		assertProblems(getEnv().getProblemsFor(filePath, null));
+	}
+
+	/**
+	 * Performs a full build with the given parallelism and returns the sorted
+	 * descriptions of the problems of the workspace
+	 */
+	private List<String> buildProblems(String parallelism) {
+		String previous = System.setProperty(Parallelism.PROPERTY, parallelism);
+		try {
+			fullBuild();
+		} finally {
+			if (previous == null) {
+				System.clearProperty(Parallelism.PROPERTY);
+			} else {
+				System.setProperty(Parallelism.PROPERTY, previous);
+			}
+		}
+		List<String> problems = new ArrayList<>();
+		for (ApiProblem problem : getEnv().getProblems()) {
+			problems.add(problem.getProblemId() + " " + problem.getLineNumber() + " " + problem); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		Collections.sort(problems);
+		return problems;
+	}
 }
@@ -373,4 +373,28 @@ public class InvalidClassTagTests extends TagTest {
 		deployTagTest("test12.java", inc, false); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests having an @noreference tag on a local class declared in a method
+	 * body using an incremental build
+	 */
+	public void testInvalidClassTag13I() {
+		x13(true);
+	}
+
+	/**
+	 * Tests having an @noreference tag on a local class declared in a method
+	 * body using a full build
+	 */
+	public void testInvalidClassTag13F() {
+		x13(false);
+	}
+
+	private void x13(boolean inc) {
+		setExpectedProblemIds(getDefaultProblemSet(1));
+		setExpectedMessageArgs(new String[][] { {
+				"@noreference", BuilderMessages.TagValidator_a_package_default_class } //$NON-NLS-1$
+		});
+		deployTagTest("test13.java", inc, false); //$NON-NLS-1$
+	}
+
 }
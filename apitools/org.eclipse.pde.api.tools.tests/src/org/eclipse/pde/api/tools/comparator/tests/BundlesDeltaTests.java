@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,13 +20,20 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.comparator.ContentFingerprints;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.DeltaProcessor;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.junit.Test;
 
@@ -578,4 +585,136 @@ public class BundlesDeltaTests extends DeltaTestSetup {
 		assertNotNull("No delta", delta); //$NON-NLS-1$
 		assertFalse("Equals to NO_DELTA", delta == ApiComparator.NO_DELTA); //$NON-NLS-1$
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Test that a parallel comparison of two baselines with several changed,
+	 * unchanged, removed and added bundles returns the same deltas in the same
+	 * order as a sequential one
+	 */
+	@Test
+	public void test17() {
+		for (String bundle : new String[] { "a", "b", "c", "d" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			deployBundle("test17/" + bundle, BEFORE, "deltatest." + bundle); //$NON-NLS-1$ //$NON-NLS-2$
+			deployBundle("test17/" + bundle, AFTER, "deltatest." + bundle); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		deployBundle("test17/e", BEFORE, "deltatest.e"); //$NON-NLS-1$ //$NON-NLS-2$
+		deployBundle("test17/f", AFTER, "deltatest.f"); //$NON-NLS-1$ //$NON-NLS-2$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		IDelta delta = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, true, 1, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		List<String> expected = describeLeaves(delta);
+		Set<String> components = new HashSet<>();
+		for (String leaf : expected) {
+			components.add(leaf.substring(0, leaf.indexOf(' ')));
+		}
+		assertTrue("Deltas expected in several components: " + expected, components.size() >= 3); //$NON-NLS-1$
+		for (int i = 0; i < 5; i++) {
+			IDelta parallelDelta = ApiComparator.compare(beforeState, afterState, VisibilityModifiers.ALL_VISIBILITIES, true, 4, null);
+			assertNotNull("No delta", parallelDelta); //$NON-NLS-1$
+			assertEquals("Wrong deltas or order", expected, describeLeaves(parallelDelta)); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Returns a description of the leaves of the given delta, in the order of
+	 * the delta tree
+	 */
+	private List<String> describeLeaves(IDelta delta) {
+		List<String> leaves = new ArrayList<>();
+		describeLeaves(delta, leaves);
+		return leaves;
+	}
+
+	private void describeLeaves(IDelta delta, List<String> leaves) {
+		IDelta[] children = delta.getChildren();
+		if (children.length == 0) {
+			leaves.add(delta.getComponentVersionId() + ' ' + delta.getTypeName() + ' ' + delta.getKey() + ' ' + delta.getKind() + ' ' + delta.getFlags());
+			return;
+		}
+		for (IDelta child : children) {
+			describeLeaves(child, leaves);
+		}
+	}
+
+	/**
+	 * Change of a super class in the same bundle, the sub class is unchanged
+	 */
+	@Test
+	public void test18() throws CoreException {
+		deployBundles("test18"); //$NON-NLS-1$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		IApiComponent reference = beforeState.getApiComponent("deltatest"); //$NON-NLS-1$
+		IApiComponent component = afterState.getApiComponent("deltatest"); //$NON-NLS-1$
+		ContentFingerprints fingerprints = new ContentFingerprints();
+		assertFalse("Bundle is unchanged", fingerprints.isUnchanged(reference, component)); //$NON-NLS-1$
+		assertFalse("A is unchanged", fingerprints.isUnchanged(getType(component, "p.A"), reference, component)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("B is unchanged", fingerprints.isUnchanged(getType(component, "p.B"), reference, component)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		IDelta delta = ApiComparator.compare(component, beforeState, VisibilityModifiers.ALL_VISIBILITIES, false, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		boolean found = false;
+		for (IDelta child : collectLeaves(delta)) {
+			if ("p.A".equals(child.getTypeName()) && child.getKind() == IDelta.ADDED && child.getFlags() == IDelta.METHOD) { //$NON-NLS-1$
+				found = true;
+			}
+		}
+		assertTrue("Added method not reported", found); //$NON-NLS-1$
+	}
+
+	/**
+	 * No change, the hierarchy is in the same bundle and in the JDK
+	 */
+	@Test
+	public void test19() throws CoreException {
+		deployBundles("test19"); //$NON-NLS-1$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		IApiComponent reference = beforeState.getApiComponent("deltatest"); //$NON-NLS-1$
+		IApiComponent component = afterState.getApiComponent("deltatest"); //$NON-NLS-1$
+		ContentFingerprints fingerprints = new ContentFingerprints();
+		assertTrue("Bundle is changed", fingerprints.isUnchanged(reference, component)); //$NON-NLS-1$
+		assertTrue("A is changed", fingerprints.isUnchanged(getType(component, "p.A"), reference, component)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("B is changed", fingerprints.isUnchanged(getType(component, "p.B"), reference, component)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		IDelta delta = ApiComparator.compare(component, beforeState, VisibilityModifiers.ALL_VISIBILITIES, false, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		assertTrue("Not NO_DELTA", delta == ApiComparator.NO_DELTA); //$NON-NLS-1$
+	}
+
+	/**
+	 * Change of the super class in a required bundle, the bundle of the sub
+	 * class is unchanged
+	 */
+	@Test
+	public void test20() throws CoreException {
+		deployBundle("test20/a", BEFORE, "deltatest.a"); //$NON-NLS-1$ //$NON-NLS-2$
+		deployBundle("test20/a", AFTER, "deltatest.a"); //$NON-NLS-1$ //$NON-NLS-2$
+		deployBundle("test20/b", BEFORE, "deltatest.b", new String[] { "deltatest.a" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		deployBundle("test20/b", AFTER, "deltatest.b", new String[] { "deltatest.a" }); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		IApiBaseline beforeState = getBeforeState();
+		IApiBaseline afterState = getAfterState();
+		IApiComponent reference = beforeState.getApiComponent("deltatest.b"); //$NON-NLS-1$
+		IApiComponent component = afterState.getApiComponent("deltatest.b"); //$NON-NLS-1$
+		ContentFingerprints fingerprints = new ContentFingerprints();
+		assertFalse("Bundle is unchanged", fingerprints.isUnchanged(reference, component)); //$NON-NLS-1$
+		assertFalse("B is unchanged", fingerprints.isUnchanged(getType(component, "p.B"), reference, component)); //$NON-NLS-1$ //$NON-NLS-2$
+
+		IDelta delta = ApiComparator.compare(component, beforeState, VisibilityModifiers.ALL_VISIBILITIES, false, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		boolean found = false;
+		for (IDelta child : collectLeaves(delta)) {
+			if ("p.B".equals(child.getTypeName()) && child.getFlags() == IDelta.EXPANDED_SUPERINTERFACES_SET) { //$NON-NLS-1$
+				found = true;
+			}
+		}
+		assertTrue("Inherited super interface not reported", found); //$NON-NLS-1$
+	}
+
+	private IApiType getType(IApiComponent component, String typeName) throws CoreException {
+		IApiTypeRoot typeRoot = component.findTypeRoot(typeName);
+		assertNotNull("No type " + typeName, typeRoot); //$NON-NLS-1$
+		return typeRoot.getStructure();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -162,12 +162,30 @@ public abstract class DeltaTestSetup {
 	 * @param bundleName the given bundle name
 	 */
 	protected void deployBundle(String testName, String name, String bundleName) {
+		deployBundle(testName, name, bundleName, new String[0]);
+	}
+
+	/**
+	 * The test name must be the folder name inside the tests-deltas resource folder
+	 * <code>name</code> represents either "before" or "after"
+	 *
+	 * @param testName the given test name
+	 * @param name the given state name
+	 * @param bundleName the given bundle name
+	 * @param requiredBundleNames the names of the bundles already deployed in
+	 *            the same state that the bundle is compiled against
+	 */
+	protected void deployBundle(String testName, String name, String bundleName, String[] requiredBundleNames) {
 		String[] sourceFilePaths = new String[] {
 				TestSuiteHelper.getPluginDirectoryPath().append(TESTS_DELTAS_NAME).append(getTestRoot()).append(testName).append(name).toOSString()
 		};
 		IPath destinationPath = WORKSPACE_ROOT.append(name).append(bundleName);
 		String[] compilerOptions = TestSuiteHelper.getCompilerOptions();
-		assertTrue(TestSuiteHelper.compile(sourceFilePaths, destinationPath.toOSString(), compilerOptions));
+		String[] classpathEntries = new String[requiredBundleNames.length];
+		for (int i = 0; i < requiredBundleNames.length; i++) {
+			classpathEntries[i] = WORKSPACE_ROOT.append(name).append(requiredBundleNames[i]).toOSString();
+		}
+		assertTrue(TestSuiteHelper.compile(sourceFilePaths, destinationPath.toOSString(), compilerOptions, classpathEntries));
 
 		// copy the MANIFEST in the workspace folder
 		copyResources(testName, name, destinationPath.toOSString());
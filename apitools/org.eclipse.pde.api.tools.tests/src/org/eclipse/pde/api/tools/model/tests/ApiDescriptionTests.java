@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,20 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
@@ -41,6 +52,8 @@ import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
 import org.eclipse.pde.api.tools.internal.provisional.RestrictionModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IFieldDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IPackageDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
@@ -800,4 +813,278 @@ public class ApiDescriptionTests {
 		IApiComponent componentA = profile.getApiComponent("component.a"); //$NON-NLS-1$
 		assertTrue("Should have an .api_description file", componentA.hasApiDescription()); //$NON-NLS-1$
 	}
+
+	/**
+	 * API description giving access to its package nodes
+	 */
+	static class FootprintDescription extends ApiDescription {
+		FootprintDescription() {
+			super(null);
+		}
+
+		Collection<?> getPackageNodes() {
+			return fPackageMap.values();
+		}
+	}
+
+	/**
+	 * Builds a description of the given number of packages, each one holding
+	 * the given number of types with three restricted methods and two
+	 * restricted fields.
+	 */
+	private FootprintDescription buildLargeDescription(int packages, int types) {
+		FootprintDescription description = new FootprintDescription();
+		for (int p = 0; p < packages; p++) {
+			IPackageDescriptor pkg = Factory.packageDescriptor("p" + p); //$NON-NLS-1$
+			description.setVisibility(pkg, VisibilityModifiers.API);
+			for (int t = 0; t < types; t++) {
+				IReferenceTypeDescriptor type = pkg.getType("T" + t); //$NON-NLS-1$
+				description.setRestrictions(type, RestrictionModifiers.NO_EXTEND);
+				for (int m = 0; m < 3; m++) {
+					description.setRestrictions(type.getMethod("m" + m, "()V"), RestrictionModifiers.NO_REFERENCE); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+				for (int f = 0; f < 2; f++) {
+					description.setRestrictions(type.getField("f" + f), RestrictionModifiers.NO_REFERENCE); //$NON-NLS-1$
+				}
+			}
+		}
+		return description;
+	}
+
+	/**
+	 * Estimates the heap used by the given objects and all the objects they
+	 * reference, assuming compressed references. Element descriptors and
+	 * strings are not counted since they are shared with the clients of the
+	 * description. Objects of the JDK are not walked, except maps, which are
+	 * estimated from their size.
+	 */
+	private static long estimateFootprint(Collection<?> roots) throws IllegalAccessException {
+		Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+		Deque<Object> stack = new ArrayDeque<>(roots);
+		long total = 0;
+		while (!stack.isEmpty()) {
+			Object object = stack.pop();
+			if (object instanceof IElementDescriptor || object instanceof String || !visited.add(object)) {
+				continue;
+			}
+			Class<?> clazz = object.getClass();
+			if (clazz.isArray()) {
+				int length = Array.getLength(object);
+				total += align(16 + (long) length * sizeOf(clazz.getComponentType()));
+				if (!clazz.getComponentType().isPrimitive()) {
+					for (int i = 0; i < length; i++) {
+						Object element = Array.get(object, i);
+						if (element != null) {
+							stack.push(element);
+						}
+					}
+				}
+			} else if (clazz.getName().startsWith("java.")) { //$NON-NLS-1$
+				if (object instanceof Map<?, ?> map) {
+					// a hash map, its table and one node per entry
+					int size = map.size();
+					total += 56 + (size == 0 ? 0 : align(16 + 4L * Integer.highestOneBit((int) (size / 0.75f) * 2 + 1))) + 40L * size;
+					stack.addAll(map.values());
+				} else {
+					total += 16;
+				}
+			} else {
+				long size = 12;
+				for (Class<?> current = clazz; current != null; current = current.getSuperclass()) {
+					for (Field field : current.getDeclaredFields()) {
+						if (Modifier.isStatic(field.getModifiers())) {
+							continue;
+						}
+						size += sizeOf(field.getType());
+						if (!field.getType().isPrimitive() && !current.getName().startsWith("java.")) { //$NON-NLS-1$
+							field.setAccessible(true);
+							Object value = field.get(object);
+							if (value != null) {
+								stack.push(value);
+							}
+						}
+					}
+				}
+				total += align(size);
+			}
+		}
+		return total;
+	}
+
+	private static long sizeOf(Class<?> type) {
+		if (type == long.class || type == double.class) {
+			return 8;
+		}
+		if (type == byte.class || type == boolean.class) {
+			return 1;
+		}
+		if (type == short.class || type == char.class) {
+			return 2;
+		}
+		return 4;
+	}
+
+	private static long align(long size) {
+		return (size + 7) & ~7L;
+	}
+
+	/**
+	 * Tests that the nodes of a large API description stay compact, most of
+	 * them being members without children
+	 */
+	@Test
+	public void testNodeTreeFootprint() throws IllegalAccessException {
+		int packages = 20;
+		int types = 10;
+		FootprintDescription description = buildLargeDescription(packages, types);
+		int nodes = packages * (1 + types * 6);
+		long footprint = estimateFootprint(description.getPackageNodes());
+		assertTrue("API description nodes use " + footprint / nodes + " bytes per node", footprint <= 80L * nodes); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that a type with more members than can be held in the compact
+	 * representation of its children keeps all of them, and that they can be
+	 * removed and visited
+	 */
+	@Test
+	public void testManyMembers() throws ReflectiveOperationException {
+		FootprintDescription description = new FootprintDescription();
+		IReferenceTypeDescriptor type = Factory.typeDescriptor("a.b.C"); //$NON-NLS-1$
+		List<IMethodDescriptor> methods = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			IMethodDescriptor method = type.getMethod("m" + i, "()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			methods.add(method);
+			description.setRestrictions(method, RestrictionModifiers.NO_REFERENCE);
+			assertEquals("Wrong number of children", i + 1, countChildren(description, type)); //$NON-NLS-1$
+		}
+		IFieldDescriptor field = type.getField("f"); //$NON-NLS-1$
+		description.setRestrictions(field, RestrictionModifiers.NO_REFERENCE);
+		for (IMethodDescriptor method : methods) {
+			IApiAnnotations annotations = description.resolveAnnotations(method);
+			assertTrue("Should be an exact match for " + method, annotations.isExact()); //$NON-NLS-1$
+			assertEquals("Wrong restrictions for " + method, RestrictionModifiers.NO_REFERENCE, annotations.getRestrictions()); //$NON-NLS-1$
+		}
+		assertEquals("Wrong number of children", 21, countChildren(description, type)); //$NON-NLS-1$
+		// restrictions of existing members are updated in place
+		description.setRestrictions(methods.get(3), RestrictionModifiers.NO_OVERRIDE);
+		assertEquals("Wrong restrictions", RestrictionModifiers.NO_OVERRIDE, description.resolveAnnotations(methods.get(3)).getRestrictions()); //$NON-NLS-1$
+		assertEquals("Wrong number of children", 21, countChildren(description, type)); //$NON-NLS-1$
+		// unknown members resolve to their type
+		IApiAnnotations annotations = description.resolveAnnotations(type.getMethod("unknown", "()V")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("Should not be an exact match", annotations.isExact()); //$NON-NLS-1$
+
+		// remove members from the hash map, down to less than its threshold
+		Map<IElementDescriptor, ?> members = getMembers(description, type);
+		assertTrue("Should be removed", members.remove(methods.get(0)) != null); //$NON-NLS-1$
+		assertTrue("Should not be removed twice", members.remove(methods.get(0)) == null); //$NON-NLS-1$
+		Iterator<IElementDescriptor> iterator = members.keySet().iterator();
+		while (iterator.hasNext()) {
+			IElementDescriptor member = iterator.next();
+			if (member instanceof IMethodDescriptor && methods.indexOf(member) % 3 != 0) {
+				iterator.remove();
+			}
+		}
+		List<IElementDescriptor> remaining = new ArrayList<>();
+		for (int i = 3; i < methods.size(); i += 3) {
+			remaining.add(methods.get(i));
+		}
+		remaining.add(field);
+		assertEquals("Wrong remaining members", remaining, new ArrayList<>(members.keySet())); //$NON-NLS-1$
+		assertEquals("Wrong number of children", remaining.size(), countChildren(description, type)); //$NON-NLS-1$
+		assertFalse("Should not be an exact match", description.resolveAnnotations(methods.get(1)).isExact()); //$NON-NLS-1$
+		assertTrue("Should be an exact match", description.resolveAnnotations(methods.get(6)).isExact()); //$NON-NLS-1$
+		description.setRestrictions(methods.get(1), RestrictionModifiers.NO_REFERENCE);
+		assertTrue("Should be an exact match", description.resolveAnnotations(methods.get(1)).isExact()); //$NON-NLS-1$
+		assertEquals("Wrong number of children", remaining.size() + 1, countChildren(description, type)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the members held in the compact representation of the
+	 * children of a type can be removed, before and after the type gets more
+	 * members than the compact representation holds
+	 */
+	@Test
+	public void testRemoveMembers() throws ReflectiveOperationException {
+		FootprintDescription description = new FootprintDescription();
+		IReferenceTypeDescriptor type = Factory.typeDescriptor("a.b.C"); //$NON-NLS-1$
+		List<IElementDescriptor> expected = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			IMethodDescriptor method = type.getMethod("m" + i, "()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			description.setRestrictions(method, RestrictionModifiers.NO_REFERENCE);
+			expected.add(method);
+		}
+		Map<IElementDescriptor, ?> members = getMembers(description, type);
+		// first, middle and last entries of the array
+		assertTrue("Should be removed", members.remove(expected.remove(7)) != null); //$NON-NLS-1$
+		assertTrue("Should be removed", members.remove(expected.remove(3)) != null); //$NON-NLS-1$
+		assertTrue("Should be removed", members.remove(expected.remove(0)) != null); //$NON-NLS-1$
+		assertTrue("Should not be removed", members.remove(type.getMethod("unknown", "()V")) == null); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals("Wrong remaining members", expected, new ArrayList<>(members.keySet())); //$NON-NLS-1$
+		Iterator<IElementDescriptor> iterator = members.keySet().iterator();
+		iterator.next();
+		iterator.remove();
+		expected.remove(0);
+		iterator.next();
+		iterator.next();
+		iterator.remove();
+		expected.remove(1);
+		assertEquals("Wrong remaining members", expected, new ArrayList<>(members.keySet())); //$NON-NLS-1$
+		assertEquals("Wrong number of children", expected.size(), countChildren(description, type)); //$NON-NLS-1$
+		for (IElementDescriptor member : expected) {
+			assertTrue("Should be an exact match for " + member, description.resolveAnnotations(member).isExact()); //$NON-NLS-1$
+		}
+		// refill the array past its threshold, the order is kept
+		for (int i = 10; i < 20; i++) {
+			IMethodDescriptor method = type.getMethod("m" + i, "()V"); //$NON-NLS-1$ //$NON-NLS-2$
+			description.setRestrictions(method, RestrictionModifiers.NO_REFERENCE);
+			expected.add(method);
+		}
+		assertEquals("Wrong members", expected, new ArrayList<>(members.keySet())); //$NON-NLS-1$
+		for (IElementDescriptor member : expected) {
+			assertTrue("Should be an exact match for " + member, description.resolveAnnotations(member).isExact()); //$NON-NLS-1$
+		}
+		members.keySet().removeIf(member -> member != expected.get(0));
+		assertEquals("Wrong number of children", 1, countChildren(description, type)); //$NON-NLS-1$
+		assertEquals("Wrong restrictions", RestrictionModifiers.NO_REFERENCE, description.resolveAnnotations(expected.get(0)).getRestrictions()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Returns the children of the node of the given type, which must be the
+	 * only type of its package
+	 */
+	private static Map<IElementDescriptor, ?> getMembers(FootprintDescription description, IReferenceTypeDescriptor type) throws ReflectiveOperationException {
+		Object packageNode = description.getPackageNodes().iterator().next();
+		Object typeNode = getChildren(packageNode).get(type);
+		assertTrue("No node for " + type, typeNode != null); //$NON-NLS-1$
+		return getChildren(typeNode);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<IElementDescriptor, ?> getChildren(Object node) throws ReflectiveOperationException {
+		for (Class<?> clazz = node.getClass(); clazz != null; clazz = clazz.getSuperclass()) {
+			try {
+				Field field = clazz.getDeclaredField("children"); //$NON-NLS-1$
+				field.setAccessible(true);
+				return (Map<IElementDescriptor, ?>) field.get(node);
+			} catch (NoSuchFieldException e) {
+				// declared by a super class
+			}
+		}
+		throw new NoSuchFieldException("children"); //$NON-NLS-1$
+	}
+
+	private int countChildren(IApiDescription description, IElementDescriptor parent) {
+		int[] count = new int[1];
+		description.accept(new ApiDescriptionVisitor() {
+			@Override
+			public boolean visitElement(IElementDescriptor element, IApiAnnotations annotations) {
+				if (parent.equals(element.getParent())) {
+					count[0]++;
+				}
+				return true;
+			}
+		}, parent, null);
+		return count[0];
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2024 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -232,6 +232,36 @@ public class ApiFilterStoreTests extends AbstractApiTest {
 		assertFalse("src/x/y/z/C4.java should not have a filter", store.isFiltered(problem)); //$NON-NLS-1$
 	}
 
+	/**
+	 * Tests that filters added after problems have been looked up are taken
+	 * into account, and that only problems with the same id, type and
+	 * arguments are filtered
+	 */
+	@Test
+	public void testAddFilterAfterLookup() throws CoreException {
+		IApiComponent component = getProjectApiComponent(TESTING_PLUGIN_PROJECT_NAME);
+		assertNotNull("the testing project api component must exist", component); //$NON-NLS-1$
+		IProject project = getTestingJavaProject(TESTING_PLUGIN_PROJECT_NAME).getProject();
+		IResource resource = project.findMember(IPath.fromOSString("src/x/y/z/C4.java")); //$NON-NLS-1$
+		assertNotNull("the resource src/x/y/z/C4.java must exist", resource); //$NON-NLS-1$
+		String path = resource.getProjectRelativePath().toPortableString();
+		IApiProblem problem = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "m()" }, null, null, -1, -1, -1, //$NON-NLS-1$ //$NON-NLS-2$
+				IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+		IApiProblem otherArguments = ApiProblemFactory.newApiProblem(path, "x.y.z.C4", new String[] { "n()" }, null, null, -1, -1, -1, //$NON-NLS-1$ //$NON-NLS-2$
+				IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+		IApiProblem otherType = ApiProblemFactory.newApiProblem(path, "x.y.z.C5", new String[] { "m()" }, null, null, -1, -1, -1, //$NON-NLS-1$ //$NON-NLS-2$
+				IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.ILLEGAL_OVERRIDE, IApiProblem.NO_FLAGS);
+		IApiFilterStore store = component.getFilterStore();
+		assertFalse("src/x/y/z/C4.java should not have a filter yet", store.isFiltered(problem)); //$NON-NLS-1$
+		store.addFiltersFor(new IApiProblem[] { problem });
+		assertTrue("src/x/y/z/C4.java should have a filter", store.isFiltered(problem)); //$NON-NLS-1$
+		assertFalse("the problem with other arguments should not be filtered", store.isFiltered(otherArguments)); //$NON-NLS-1$
+		assertFalse("the problem on another type should not be filtered", store.isFiltered(otherType)); //$NON-NLS-1$
+		store.removeFilters(new IApiProblemFilter[] {
+				ApiProblemFactory.newProblemFilter(component.getSymbolicName(), problem, null) });
+		assertFalse("src/x/y/z/C4.java should not have a filter", store.isFiltered(problem)); //$NON-NLS-1$
+	}
+
 	/**
 	 * Tests that a filter store will not be annotated from a bundle
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -44,9 +44,17 @@ public class ApiModelCacheTests {
 	 * using the default test component - created using {@link #TEST_COMP_ID}
 	 */
 	private void cacheType(String typename) throws Exception {
+		cacheType(TEST_BASELINE_ID, TEST_COMP_ID, typename);
+	}
+
+	/**
+	 * Creates a testing {@link IApiType} with the given type name and adds it
+	 * to the cache using the given baseline and component
+	 */
+	private void cacheType(String baselineid, String componentid, String typename) throws Exception {
 		IApiType type = TestSuiteHelper.createTestingApiType(
-				TEST_BASELINE_ID,
-				TEST_COMP_ID,
+				baselineid,
+				componentid,
 				typename,
 				"()V", //$NON-NLS-1$
 				null,
@@ -160,4 +168,56 @@ public class ApiModelCacheTests {
 		assertTrue("The type 'a.b.c.testee1' should have been removed from the cache", ApiModelCache.getCache().removeElementInfo(element)); //$NON-NLS-1$
 		assertTrue("The cache should be empty", ApiModelCache.getCache().isEmpty()); //$NON-NLS-1$
 	}
+
+	/**
+	 * Tests that removing a root type only removes its own member types
+	 */
+	@Test
+	public void testRemoveRootTypeKeepsOtherMemberTypes() throws Exception {
+		cacheType("a.b.c.testee1"); //$NON-NLS-1$
+		cacheType("a.b.c.testee1$inner"); //$NON-NLS-1$
+		cacheType("a.b.c.testee10"); //$NON-NLS-1$
+		cacheType("a.b.c.testee10$inner"); //$NON-NLS-1$
+		assertTrue("The type 'a.b.c.testee1' should have been removed from the cache", ApiModelCache.getCache().removeElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("The element 'a.b.c.testee1$inner' should have been removed from the cache", //$NON-NLS-1$
+				ApiModelCache.getCache().getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee10$inner' should exist in the cache", //$NON-NLS-1$
+				ApiModelCache.getCache().getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee10$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertFalse("The type 'a.b.c.testee1$inner' should not be removed twice", ApiModelCache.getCache().removeElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The type 'a.b.c.testee10' should have been removed from the cache", ApiModelCache.getCache().removeElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee10", IApiElement.TYPE)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The cache should be empty", ApiModelCache.getCache().isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that removing a component or a baseline only removes its own
+	 * types and member types
+	 */
+	@Test
+	public void testRemoveComponentKeepsOtherComponents() throws Exception {
+		String othercomp = "othercomp-id"; //$NON-NLS-1$
+		String otherbaseline = "otherbaseline-id"; //$NON-NLS-1$
+		ApiModelCache cache = ApiModelCache.getCache();
+		cacheType("a.b.c.testee1"); //$NON-NLS-1$
+		cacheType("a.b.c.testee1$inner"); //$NON-NLS-1$
+		cacheType(TEST_BASELINE_ID, othercomp, "a.b.c.testee1"); //$NON-NLS-1$
+		cacheType(TEST_BASELINE_ID, othercomp, "a.b.c.testee1$inner"); //$NON-NLS-1$
+		cacheType(otherbaseline, TEST_COMP_ID, "a.b.c.testee1"); //$NON-NLS-1$
+		assertTrue("The component should have been removed", cache.removeElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, null, IApiElement.COMPONENT)); //$NON-NLS-1$
+		assertNull("The element 'a.b.c.testee1' should have been removed", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNull("The element 'a.b.c.testee1$inner' should have been removed", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1' of the other component should exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, othercomp, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1$inner' of the other component should exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, othercomp, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1' of the other baseline should exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(otherbaseline, TEST_COMP_ID, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$
+		assertFalse("The component should not be removed twice", cache.removeElementInfo(TEST_BASELINE_ID, TEST_COMP_ID, null, IApiElement.COMPONENT)); //$NON-NLS-1$
+		assertTrue("The baseline should have been removed", cache.removeElementInfo(TEST_BASELINE_ID, null, null, IApiElement.BASELINE)); //$NON-NLS-1$
+		assertNull("The element 'a.b.c.testee1$inner' of the other component should have been removed", //$NON-NLS-1$
+				cache.getElementInfo(TEST_BASELINE_ID, othercomp, "a.b.c.testee1$inner", IApiElement.TYPE)); //$NON-NLS-1$
+		assertNotNull("The element 'a.b.c.testee1' of the other baseline should exist in the cache", //$NON-NLS-1$
+				cache.getElementInfo(otherbaseline, TEST_COMP_ID, "a.b.c.testee1", IApiElement.TYPE)); //$NON-NLS-1$
+	}
 }
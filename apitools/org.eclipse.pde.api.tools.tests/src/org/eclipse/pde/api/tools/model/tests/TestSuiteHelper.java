@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.io.StringWriter;
 import java.net.URL;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -480,6 +481,17 @@ public class TestSuiteHelper {
 	 * @return true if the compilation succeeded false otherwise
 	 */
 	public static boolean compile(String[] sourceFilePaths, String destinationPath, String[] compilerOptions) {
+		return compile(sourceFilePaths, destinationPath, compilerOptions, new String[0]);
+	}
+
+	/**
+	 * Compiles all source files in the specified source paths to the specified
+	 * destination path, with the given compiler options and the given
+	 * additional classpath entries
+	 *
+	 * @return true if the compilation succeeded false otherwise
+	 */
+	public static boolean compile(String[] sourceFilePaths, String destinationPath, String[] compilerOptions, String[] classpathEntries) {
 		StringWriter out = new StringWriter();
 		PrintWriter outWriter = new PrintWriter(out);
 		StringWriter err = new StringWriter();
@@ -507,6 +519,7 @@ public class TestSuiteHelper {
 			}
 			cmd.add(sourceFilePath);
 		}
+		Collections.addAll(directories, classpathEntries);
 		// add all directories as classpath entries
 		if (!directories.isEmpty()) {
 			StringBuilder classpathEntry = new StringBuilder();
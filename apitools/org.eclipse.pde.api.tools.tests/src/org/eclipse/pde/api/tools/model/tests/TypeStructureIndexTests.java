@@ -0,0 +1,376 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.builder.tests.ApiTestingEnvironment;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureIndex;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that the {@link TypeStructureIndex} of an archive restores the type
+ * structures built in a previous session, and is rebuilt when the archive
+ * changes or the index file is damaged
+ */
+public class TypeStructureIndexTests {
+
+	private static final String[] TYPES = new String[] {
+			"a.b.c.Generics", //$NON-NLS-1$
+			"a.b.c.FieldInitializers", //$NON-NLS-1$
+			"a.b.c.Erasure$I1", //$NON-NLS-1$
+			"component.a.LeakInternalClass", //$NON-NLS-1$
+			"component.a.MethodNoReference" //$NON-NLS-1$
+	};
+
+	private File fFolder;
+	private File fArchive;
+	private IApiBaseline fBaseline;
+	private final List<Path> fIndexFiles = new ArrayList<>();
+
+	@Before
+	public void setUp() throws Exception {
+		fFolder = Files.createTempDirectory("typestructures").toFile(); //$NON-NLS-1$
+		fArchive = new File(fFolder, "component.a_1.0.0.jar"); //$NON-NLS-1$
+		Files.copy(TestSuiteHelper.getPluginDirectoryPath().append("test-plugins").append(fArchive.getName()).toFile().toPath(), fArchive.toPath()); //$NON-NLS-1$
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		disposeBaseline();
+		for (Path file : fIndexFiles) {
+			Files.deleteIfExists(file);
+		}
+		assertTrue(TestSuiteHelper.delete(fFolder));
+	}
+
+	private IApiComponent createComponent() throws CoreException {
+		disposeBaseline();
+		fBaseline = ApiModelFactory.newApiBaseline("test", TestSuiteHelper.getEEDescription(), null); //$NON-NLS-1$
+		IApiComponent component = ApiModelFactory.newApiComponent(fBaseline, fArchive.getAbsolutePath());
+		fBaseline.addApiComponents(new IApiComponent[] { component });
+		return component;
+	}
+
+	/**
+	 * Disposes the baseline, which closes the archive and saves its index
+	 */
+	private void disposeBaseline() {
+		if (fBaseline != null) {
+			ApiTestingEnvironment.dispose(fBaseline);
+			fBaseline = null;
+		}
+	}
+
+	private TypeStructureIndex openIndex(IApiComponent component) {
+		TypeStructureIndex index = TypeStructureIndex.open(component, fArchive.getAbsolutePath());
+		assertNotNull("The archive should be indexed", index); //$NON-NLS-1$
+		fIndexFiles.add(index.getFile());
+		return index;
+	}
+
+	/**
+	 * Builds the structures of the test types from a fresh index and saves the
+	 * index by disposing the baseline
+	 *
+	 * @return the descriptions of the built types
+	 */
+	private Map<String, String> buildIndex() throws CoreException, IOException {
+		Files.deleteIfExists(getIndexFile());
+		return buildTypes();
+	}
+
+	/**
+	 * Builds the structures of the test types, from the index if it holds
+	 * them, and saves the index by disposing the baseline
+	 *
+	 * @return the descriptions of the built types
+	 */
+	private Map<String, String> buildTypes() throws CoreException {
+		IApiComponent component = createComponent();
+		Map<String, String> descriptions = new LinkedHashMap<>();
+		for (String typeName : TYPES) {
+			descriptions.put(typeName, describe(getTypeRoot(component, typeName).getStructure()));
+		}
+		disposeBaseline();
+		assertTrue("The index should be saved", Files.isRegularFile(getIndexFile())); //$NON-NLS-1$
+		return descriptions;
+	}
+
+	/**
+	 * Returns the descriptions of the test types found in the index of the
+	 * archive
+	 */
+	private Map<String, String> readIndex() throws CoreException {
+		IApiComponent component = createComponent();
+		TypeStructureIndex index = openIndex(component);
+		try {
+			Map<String, String> descriptions = new LinkedHashMap<>();
+			for (String typeName : TYPES) {
+				IApiType type = index.getType(typeName, component, getTypeRoot(component, typeName));
+				if (type != null) {
+					descriptions.put(typeName, describe(type));
+				}
+			}
+			return descriptions;
+		} finally {
+			index.close();
+			disposeBaseline();
+		}
+	}
+
+	private Path getIndexFile() throws CoreException {
+		IApiComponent component = createComponent();
+		TypeStructureIndex index = openIndex(component);
+		index.close();
+		disposeBaseline();
+		return index.getFile();
+	}
+
+	private IApiTypeRoot getTypeRoot(IApiComponent component, String typeName) throws CoreException {
+		IApiTypeRoot root = component.findTypeRoot(typeName);
+		assertNotNull("No type " + typeName, root); //$NON-NLS-1$
+		return root;
+	}
+
+	private String describe(IApiType type) {
+		assertNotNull("No structure", type); //$NON-NLS-1$
+		StringBuilder buffer = new StringBuilder();
+		buffer.append(type.getName()).append(' ').append(type.getModifiers()).append(' ').append(type.getGenericSignature());
+		buffer.append(" extends ").append(type.getSuperclassName()); //$NON-NLS-1$
+		buffer.append(" implements ").append(Arrays.toString(type.getSuperInterfaceNames())); //$NON-NLS-1$
+		buffer.append(" enclosed by ").append(type.getEnclosingTypeName()); //$NON-NLS-1$
+		buffer.append(type.isAnonymous()).append(type.isLocal()).append(type.isMemberType()).append('\n');
+		for (IApiField field : type.getFields()) {
+			buffer.append(field.getName()).append(' ').append(field.getSignature()).append(' ').append(field.getGenericSignature());
+			buffer.append(' ').append(field.getModifiers()).append(" = ").append(field.getConstantValue()).append('\n'); //$NON-NLS-1$
+		}
+		for (IApiMethod method : type.getMethods()) {
+			buffer.append(method.getName()).append(method.getSignature()).append(' ').append(method.getGenericSignature());
+			buffer.append(' ').append(method.getModifiers()).append(" throws ").append(Arrays.toString(method.getExceptionNames())); //$NON-NLS-1$
+			buffer.append(" default ").append(method.getDefaultValue()).append('\n'); //$NON-NLS-1$
+		}
+		return buffer.toString();
+	}
+
+	/**
+	 * Tests that the types saved in a session are restored unchanged from the
+	 * index in the next one
+	 */
+	@Test
+	public void testRoundTrip() throws Exception {
+		Map<String, String> expected = buildIndex();
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+
+		// the structures built by the archive come from the index as well
+		assertEquals("Wrong structures", expected, buildTypes()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a newer time stamp of the archive keeps its index, while a
+	 * change of its class files replaces the index
+	 */
+	@Test
+	public void testStaleArchive() throws Exception {
+		Map<String, String> expected = buildIndex();
+		Path file = getIndexFile();
+
+		assertTrue(fArchive.setLastModified(fArchive.lastModified() + 60_000));
+		assertEquals("The index should not depend on the time stamp", file, getIndexFile()); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+
+		removeEntry("component/a/A.class"); //$NON-NLS-1$
+		assertNotEquals("The index should depend on the class files", file, getIndexFile()); //$NON-NLS-1$
+		assertTrue("A changed archive should not be indexed yet", readIndex().isEmpty()); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildIndex()); //$NON-NLS-1$
+		assertFalse("The stale index should be removed", Files.exists(file)); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the complete records of a truncated index are restored and
+	 * that the truncated record is rebuilt
+	 */
+	@Test
+	public void testTruncatedIndex() throws Exception {
+		Map<String, String> expected = buildIndex();
+		Path file = getIndexFile();
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 1);
+		}
+		Map<String, String> restored = readIndex();
+		assertEquals("Only the last record should be lost", TYPES.length - 1, restored.size()); //$NON-NLS-1$
+		restored.forEach((typeName, description) -> assertEquals("Wrong structure", expected.get(typeName), description)); //$NON-NLS-1$
+
+		// the missing type is appended in place of the truncated record
+		assertEquals("Wrong rebuilt types", expected, buildTypes()); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that an index with a corrupted header or a corrupted record is
+	 * ignored and rebuilt
+	 */
+	@Test
+	public void testCorruptIndex() throws Exception {
+		Map<String, String> expected = buildIndex();
+		Path file = getIndexFile();
+		byte[] content = Files.readAllBytes(file);
+
+		Files.write(file, new byte[0]);
+		assertTrue("An empty index should be ignored", readIndex().isEmpty()); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildTypes()); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+
+		byte[] header = content.clone();
+		Arrays.fill(header, 0, 6, (byte) 0);
+		Files.write(file, header);
+		assertTrue("An index with a corrupted header should be ignored", readIndex().isEmpty()); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildTypes()); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+
+		// a record whose length exceeds the file
+		byte[] record = Arrays.copyOf(content, 6 + 11);
+		System.arraycopy(new byte[] { 0, 5, 'a', 'b', 'c', 'd', 'e', 0x7F, -1, -1, -1 }, 0, record, 6, 11);
+		Files.write(file, record);
+		assertTrue("An index with a corrupted record should be ignored", readIndex().isEmpty()); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildTypes()); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the archives of two baselines with the same contents share
+	 * their index, so that the types saved by one of them are not overwritten
+	 * by the other
+	 */
+	@Test
+	public void testSharedIndex() throws Exception {
+		Map<String, String> expected = buildIndex();
+		Files.deleteIfExists(getIndexFile());
+		IApiBaseline other = ApiModelFactory.newApiBaseline("other", TestSuiteHelper.getEEDescription(), null); //$NON-NLS-1$
+		try {
+			IApiComponent otherComponent = ApiModelFactory.newApiComponent(other, fArchive.getAbsolutePath());
+			other.addApiComponents(new IApiComponent[] { otherComponent });
+			IApiComponent component = createComponent();
+			TypeStructureIndex index = openIndex(component);
+			TypeStructureIndex otherIndex = openIndex(otherComponent);
+			index.close();
+			otherIndex.close();
+			assertSame("The index should be shared", index, otherIndex); //$NON-NLS-1$
+			for (int i = 0; i < TYPES.length; i++) {
+				getTypeRoot(i % 2 == 0 ? component : otherComponent, TYPES[i]).getStructure();
+			}
+			disposeBaseline();
+		} finally {
+			ApiTestingEnvironment.dispose(other);
+		}
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a record that cannot be decoded is ignored
+	 */
+	@Test
+	public void testCorruptRecord() throws Exception {
+		Map<String, String> expected = buildIndex();
+		Path file = getIndexFile();
+		byte[] content = Files.readAllBytes(file);
+		// garbage in the data of every record, keeping the record headers
+		int position = 6;
+		while (position < content.length) {
+			int nameLength = ((content[position] & 0xFF) << 8) | (content[position + 1] & 0xFF);
+			int data = position + 2 + nameLength + 4;
+			int length = ((content[data - 4] & 0xFF) << 24) | ((content[data - 3] & 0xFF) << 16) | ((content[data - 2] & 0xFF) << 8) | (content[data - 1] & 0xFF);
+			Arrays.fill(content, data, data + length, (byte) 0x7F);
+			position = data + length;
+		}
+		Files.write(file, content);
+		assertTrue("Corrupted records should be ignored", readIndex().isEmpty()); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildTypes()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the stale index of an archive whose name holds glob
+	 * characters is removed
+	 */
+	@Test
+	public void testStaleArchiveName() throws Exception {
+		File archive = new File(fFolder, "a{1].jar"); //$NON-NLS-1$
+		Files.move(fArchive.toPath(), archive.toPath());
+		fArchive = archive;
+		Map<String, String> expected = buildIndex();
+		Path file = getIndexFile();
+		assertTrue("The index should be saved", Files.isRegularFile(file)); //$NON-NLS-1$
+
+		removeEntry("component/a/A.class"); //$NON-NLS-1$
+		assertEquals("Wrong rebuilt types", expected, buildIndex()); //$NON-NLS-1$
+		assertFalse("The stale index should be removed", Files.exists(file)); //$NON-NLS-1$
+		assertEquals("Wrong types restored from the index", expected, readIndex()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Rewrites the test archive without the given entry
+	 */
+	private void removeEntry(String name) throws IOException {
+		File copy = new File(fFolder, "copy.jar"); //$NON-NLS-1$
+		try (ZipFile zipFile = new ZipFile(fArchive); OutputStream stream = Files.newOutputStream(copy.toPath()); ZipOutputStream out = new ZipOutputStream(stream)) {
+			for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry = entries.nextElement();
+				if (entry.getName().equals(name)) {
+					continue;
+				}
+				out.putNextEntry(new ZipEntry(entry.getName()));
+				try (InputStream in = zipFile.getInputStream(entry)) {
+					in.transferTo(out);
+				}
+				out.closeEntry();
+			}
+		}
+		Files.move(copy.toPath(), fArchive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+}
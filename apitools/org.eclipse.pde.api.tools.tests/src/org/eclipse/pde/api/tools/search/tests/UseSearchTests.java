@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,15 +24,22 @@ import java.io.FileFilter;
 import java.util.HashMap;
 import java.util.HashSet;
 
+import javax.xml.parsers.DocumentBuilder;
+
+import org.eclipse.core.internal.runtime.XmlProcessorFactory;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
 import org.eclipse.pde.api.tools.internal.provisional.search.ApiSearchEngine;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchReporter;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchRequestor;
+import org.eclipse.pde.api.tools.internal.search.XmlReferenceDescriptorWriter;
 import org.eclipse.pde.api.tools.internal.search.XmlSearchReporter;
+import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
 import org.junit.After;
 import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
 
 /**
  * Tests the API use specific implementations of {@link IApiSearchReporter}
@@ -185,6 +192,41 @@ public class UseSearchTests extends SearchTest {
 		}
 	}
 
+	/**
+	 * Tests that the references of a second search are merged into the
+	 * existing XML files written by the {@link XmlReferenceDescriptorWriter}
+	 */
+	@Test
+	public void testSearchXmlReporterMergesExistingReports() throws Exception {
+		ApiSearchEngine engine = new ApiSearchEngine();
+		TEST_REQUESTOR.setScopeBaseline(getTestBaseline());
+		TEST_REQUESTOR.setSearchMask(IApiSearchRequestor.INCLUDE_API | IApiSearchRequestor.INCLUDE_INTERNAL);
+		int[] counts = new int[2];
+		for (int i = 0; i < 2; i++) {
+			TEST_REPORTER.setExpectedReferences(
+					new String[] {P2_NAME, P3_NAME},
+					new int[][] {{IReference.REF_FIELDDECL, IReference.REF_FIELDDECL}, {IReference.REF_FIELDDECL, IReference.REF_FIELDDECL, IReference.REF_FIELDDECL}});
+			TEST_REPORTER.setExpectedNotSearched(null);
+			engine.search(getTestBaseline(), TEST_REQUESTOR, getCompositeReporter(false), null);
+			File[] files = Util.getAllFiles(XML_PATH.toFile(), pathname -> pathname.isDirectory() || pathname.getName().endsWith(".xml")); //$NON-NLS-1$
+			assertNotNull("reference files should have been written", files); //$NON-NLS-1$
+			DocumentBuilder parser = XmlProcessorFactory.createDocumentBuilderWithErrorOnDOCTYPE();
+			for (File file : files) {
+				if (!file.getParentFile().getParentFile().getParentFile().getParentFile().equals(XML_PATH.toFile())) {
+					// only the reference files, not the meta data
+					continue;
+				}
+				Document doc = parser.parse(file);
+				Element root = doc.getDocumentElement();
+				int count = Integer.parseInt(root.getAttribute("reference_count")); //$NON-NLS-1$
+				assertEquals("the reference count should match the references of " + file, count, root.getElementsByTagName("reference").getLength()); //$NON-NLS-1$ //$NON-NLS-2$
+				counts[i] += count;
+			}
+		}
+		assertTrue("references should have been reported", counts[0] > 0); //$NON-NLS-1$
+		assertEquals("the second search should have doubled the references", 2 * counts[0], counts[1]); //$NON-NLS-1$
+	}
+
 	String getProjectId(String project, String version) {
 		StringBuilder buffer = new StringBuilder();
 		buffer.append(project).append(" ").append('(').append(version).append(')'); //$NON-NLS-1$
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,8 +18,11 @@ import org.eclipse.pde.api.tools.anttasks.tests.ApiToolsAntTasksTestSuite;
 import org.eclipse.pde.api.tools.applications.BundleJarFilesTest;
 import org.eclipse.pde.api.tools.builder.tests.ApiBuilderTest;
 import org.eclipse.pde.api.tools.builder.tests.ApiTestingEnvironment;
+import org.eclipse.pde.api.tools.builder.tests.ReferenceAnalyzerTests;
+import org.eclipse.pde.api.tools.builder.tests.ResolutionCacheTests;
 import org.eclipse.pde.api.tools.model.tests.ApiFilterStoreTests;
 import org.eclipse.pde.api.tools.model.tests.FilterStoreTests;
+import org.eclipse.pde.api.tools.model.tests.TypeStructureIndexTests;
 import org.eclipse.pde.api.tools.problems.tests.ApiProblemTests;
 import org.eclipse.pde.api.tools.util.tests.ApiBaselineManagerTests;
 import org.eclipse.pde.api.tools.util.tests.ApiDescriptionProcessorTests;
@@ -41,7 +44,8 @@ import org.junit.runners.Suite;
 		ProjectCreationTests.class, ApiDescriptionProcessorTests.class, PreferencesTests.class,
 		ApiBaselineManagerTests.class, ApiFilterStoreTests.class, FilterStoreTests.class, ApiProblemTests.class,
 		TargetAsBaselineTests.class, ApiBuilderTest.class, ApiToolsAntTasksTestSuite.class,
-		BundleJarFilesTest.class
+		BundleJarFilesTest.class, TypeStructureIndexTests.class, ReferenceAnalyzerTests.class,
+		ResolutionCacheTests.class
 })
 public class ApiToolsPluginTestSuite {
 
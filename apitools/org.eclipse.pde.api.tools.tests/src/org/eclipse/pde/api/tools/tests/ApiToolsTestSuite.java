@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2018 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,7 @@
 package org.eclipse.pde.api.tools.tests;
 
 
+import org.eclipse.pde.api.tools.builder.tests.BuildStateTests;
 import org.eclipse.pde.api.tools.builder.tests.OSGiLessAnalysisTests;
 import org.eclipse.pde.api.tools.comparator.tests.AllDeltaTests;
 import org.eclipse.pde.api.tools.model.tests.ApiBaselineTests;
@@ -34,6 +35,8 @@ import org.eclipse.pde.api.tools.reference.tests.SearchScopeTests;
 import org.eclipse.pde.api.tools.search.tests.SearchEngineTests;
 import org.eclipse.pde.api.tools.search.tests.SkippedComponentTests;
 import org.eclipse.pde.api.tools.search.tests.UseSearchTests;
+import org.eclipse.pde.api.tools.util.tests.ApiAnalysisApplicationTests;
+import org.eclipse.pde.api.tools.util.tests.ConcurrentWeightedLRUCacheTests;
 import org.eclipse.pde.api.tools.util.tests.HeadlessApiBaselineManagerTests;
 import org.eclipse.pde.api.tools.util.tests.SignaturesTests;
 import org.eclipse.pde.api.tools.util.tests.TarEntryTests;
@@ -62,8 +65,8 @@ import org.junit.runners.Suite;
 		SignaturesTests.class, ApiBaselineTests.class, ApiTypeContainerTests.class, ClassFileScannerTests.class,
 		Java8ClassfileScannerTests.class, ElementDescriptorTests.class, SearchScopeTests.class, ApiProblemTests.class,
 		ApiProblemFactoryTests.class, ApiFilterTests.class, TarEntryTests.class, TarExceptionTests.class,
-		OSGiLessAnalysisTests.class, ApiModelCacheTests.class, BadClassfileTests.class,
-	CRCTests.class,
+		OSGiLessAnalysisTests.class, ApiModelCacheTests.class, ConcurrentWeightedLRUCacheTests.class, BadClassfileTests.class,
+	CRCTests.class, BuildStateTests.class, ApiAnalysisApplicationTests.class,
 	AllDeltaTests.class
 })
 public class ApiToolsTestSuite {
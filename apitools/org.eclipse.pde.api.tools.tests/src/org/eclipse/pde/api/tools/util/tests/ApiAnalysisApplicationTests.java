@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication.DaemonRequest;
+import org.eclipse.pde.api.tools.internal.ApiAnalysisApplication.DaemonRequestHandler;
+import org.junit.Test;
+
+/**
+ * Tests the request loop of the daemon mode of the
+ * {@link ApiAnalysisApplication}
+ */
+public class ApiAnalysisApplicationTests {
+
+	private static String serve(String input, DaemonRequestHandler handler) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8)) {
+			ApiAnalysisApplication.serve(new BufferedReader(new StringReader(input)), out, handler);
+		}
+		return bytes.toString(StandardCharsets.UTF_8);
+	}
+
+	private static String done(int status) {
+		return ApiAnalysisApplication.REQUEST_DONE + status + System.lineSeparator();
+	}
+
+	/**
+	 * Tests that a request line is split in projects and dependency list
+	 */
+	@Test
+	public void testParseRequest() {
+		String separator = File.pathSeparator;
+		DaemonRequest request = DaemonRequest.parse(" a " + separator + separator + "b"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(List.of(new File("a"), new File("b")), request.projects()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull(request.dependencyList());
+
+		request = DaemonRequest.parse("a" + separator + "-dependencyList=deps.txt" + separator + "b"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(List.of(new File("a"), new File("b")), request.projects()); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(new File("deps.txt"), request.dependencyList()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the requests are processed in order, each one followed by its
+	 * status, skipping blank lines
+	 */
+	@Test
+	public void testRequests() throws IOException {
+		List<DaemonRequest> requests = new ArrayList<>();
+		String output = serve("a\n\n  \nb\n", request -> { //$NON-NLS-1$
+			requests.add(request);
+			return requests.size() == 1 ? IStatus.OK : IStatus.WARNING;
+		});
+		assertEquals(List.of(DaemonRequest.parse("a"), DaemonRequest.parse("b")), requests); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals(done(IStatus.OK) + done(IStatus.WARNING), output);
+	}
+
+	/**
+	 * Tests that no request is processed after an exit request
+	 */
+	@Test
+	public void testExit() throws IOException {
+		List<DaemonRequest> requests = new ArrayList<>();
+		String output = serve("a\n" + ApiAnalysisApplication.EXIT_REQUEST + "\nb\n", request -> { //$NON-NLS-1$ //$NON-NLS-2$
+			requests.add(request);
+			return IStatus.OK;
+		});
+		assertEquals(List.of(DaemonRequest.parse("a")), requests); //$NON-NLS-1$
+		assertEquals(done(IStatus.OK), output);
+	}
+
+	/**
+	 * Tests that a failing request reports an error and does not stop the
+	 * following requests
+	 */
+	@Test
+	public void testFailingRequests() throws IOException {
+		List<DaemonRequest> requests = new ArrayList<>();
+		String output = serve("a\nb\nc\n", request -> { //$NON-NLS-1$
+			requests.add(request);
+			return switch (requests.size()) {
+				case 1 -> throw new CoreException(Status.error("failed")); //$NON-NLS-1$
+				case 2 -> throw new IllegalStateException("failed"); //$NON-NLS-1$
+				default -> IStatus.OK;
+			};
+		});
+		assertEquals(3, requests.size());
+		assertEquals(done(IStatus.ERROR) + done(IStatus.ERROR) + done(IStatus.OK), output);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,11 +14,18 @@
 package org.eclipse.pde.api.tools.util.tests;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
 import java.util.Iterator;
 import java.util.List;
 
@@ -56,6 +63,9 @@ import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.pde.api.tools.builder.tests.ApiTestingEnvironment;
 import org.eclipse.pde.api.tools.internal.ApiBaselineManager;
+import org.eclipse.pde.api.tools.internal.ApiDescriptionManager;
+import org.eclipse.pde.api.tools.internal.IApiCoreConstants;
+import org.eclipse.pde.api.tools.internal.ProjectApiDescription;
 import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.Factory;
@@ -67,6 +77,7 @@ import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
 import org.eclipse.pde.api.tools.tests.AbstractApiTest;
 import org.eclipse.pde.api.tools.tests.util.FileUtils;
@@ -428,6 +439,75 @@ public class ApiBaselineManagerTests extends AbstractApiTest {
 		assertNull("the annotations for a.b.c.TestClass1 should no longer be present", annot); //$NON-NLS-1$
 	}
 
+	/**
+	 * Returns the API description of the testing project after adding
+	 * <code>a.b.c.TestClass1</code> to it, so that it has a restricted type
+	 */
+	private ProjectApiDescription getPopulatedApiDescription(IJavaProject project) throws CoreException {
+		IPackageFragmentRoot root = project.findPackageFragmentRoot(IPath.fromOSString(project.getElementName()).append(ProjectUtils.SRC_FOLDER).makeAbsolute());
+		assertNotNull("the 'src' package fragment root must exist", root); //$NON-NLS-1$
+		assertTestSource(root, TESTING_PACKAGE, "TestClass1"); //$NON-NLS-1$
+		assertSourceResctriction(TESTING_PACKAGE, "TestClass1", RestrictionModifiers.NO_INSTANTIATE); //$NON-NLS-1$
+		IApiDescription desc = getTestProjectApiDescription();
+		assertTrue("the testing project api description must be a project description", desc instanceof ProjectApiDescription); //$NON-NLS-1$
+		return (ProjectApiDescription) desc;
+	}
+
+	/**
+	 * Tests that an API description written as a binary snapshot is restored
+	 * unchanged
+	 */
+	@Test
+	public void testApiDescriptionSnapshotRoundTrip() throws Exception {
+		IJavaProject project = getTestingProject();
+		assertNotNull("The testing project must exist", project); //$NON-NLS-1$
+		ProjectApiDescription desc = getPopulatedApiDescription(project);
+		String xml = Util.serializeDocument(desc.getXML());
+		assertTrue("the description must contain the restricted type", xml.contains("TestClass1")); //$NON-NLS-1$ //$NON-NLS-2$
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			desc.writeSnapshot(out);
+		}
+		ProjectApiDescription restored = new ProjectApiDescription(project);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertTrue("the snapshot should have been restored", restored.restoreSnapshot(in)); //$NON-NLS-1$
+		}
+		assertEquals("the restored description must be unchanged", xml, Util.serializeDocument(restored.getXML())); //$NON-NLS-1$
+		assertEquals("the package time stamp must be restored", desc.fPackageTimeStamp, restored.fPackageTimeStamp); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that an API description saved as XML by previous versions is
+	 * restored, and replaced by a binary snapshot when saved
+	 */
+	@Test
+	public void testApiDescriptionXmlMigration() throws Exception {
+		IJavaProject project = getTestingProject();
+		assertNotNull("The testing project must exist", project); //$NON-NLS-1$
+		String xml = Util.serializeDocument(getPopulatedApiDescription(project).getXML());
+
+		IPath dir = ApiDescriptionManager.API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName());
+		File xmlFile = dir.append(IApiCoreConstants.API_DESCRIPTION_XML_NAME).toFile();
+		File snapshotFile = dir.append(".api_description.snapshot").toFile(); //$NON-NLS-1$
+		Files.createDirectories(dir.toPath());
+		Files.deleteIfExists(snapshotFile.toPath());
+		Files.writeString(xmlFile.toPath(), xml);
+
+		ApiDescriptionManager manager = ApiDescriptionManager.getManager();
+		ProjectApiDescription migrated = new ProjectApiDescription(project);
+		assertTrue("the XML description should have been restored", manager.restoreDescription(project, migrated)); //$NON-NLS-1$
+		assertEquals("the description restored from XML must be unchanged", xml, Util.serializeDocument(migrated.getXML())); //$NON-NLS-1$
+
+		manager.saveDescription(project, migrated);
+		assertTrue("the snapshot should have been written", snapshotFile.isFile()); //$NON-NLS-1$
+		assertFalse("the XML description should have been deleted", xmlFile.exists()); //$NON-NLS-1$
+
+		ProjectApiDescription restored = new ProjectApiDescription(project);
+		assertTrue("the snapshot should have been restored", manager.restoreDescription(project, restored)); //$NON-NLS-1$
+		assertEquals("the description restored from the snapshot must be unchanged", xml, Util.serializeDocument(restored.getXML())); //$NON-NLS-1$
+	}
+
 	/**
 	 * Adds the specified tag to the source member defined by the member name
 	 * and signature
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.pde.api.tools.internal.ConcurrentWeightedLRUCache;
+import org.junit.Test;
+
+/**
+ * Tests the {@link ConcurrentWeightedLRUCache}
+ */
+public class ConcurrentWeightedLRUCacheTests {
+
+	/**
+	 * Tests that the least recently used values are evicted once the maximum
+	 * weight is reached
+	 */
+	@Test
+	public void testWeightEviction() {
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(10, 1, String::length);
+		cache.put("a", "aaaa"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("b", "bbbb"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("'a' should be cached", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("c", "cccc"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("'b' should have been evicted", cache.get("b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("'a' should be cached", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("'c' should be cached", cache.get("c")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong weight", 8, cache.getWeight()); //$NON-NLS-1$
+		assertEquals("wrong eviction count", 1, cache.getEvictionCount()); //$NON-NLS-1$
+		assertEquals("wrong hit count", 3, cache.getHitCount()); //$NON-NLS-1$
+		assertEquals("wrong miss count", 1, cache.getMissCount()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a value heavier than the maximum weight is still cached
+	 */
+	@Test
+	public void testHeavyValue() {
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(2, 1, String::length);
+		cache.put("a", "a"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("b", "bbbb"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNull("'a' should have been evicted", cache.get("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("'b' should be cached", cache.get("b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong size", 1, cache.size()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests removal of values using a filter on the keys
+	 */
+	@Test
+	public void testRemoveIf() {
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(1000, 4, String::length);
+		for (int i = 0; i < 20; i++) {
+			cache.put("key" + i, "value" + i); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		assertEquals("wrong number of removed entries", 10, cache.removeIf(key -> Integer.parseInt(key.substring(3)) % 2 == 0)); //$NON-NLS-1$
+		assertEquals("wrong size", 10, cache.size()); //$NON-NLS-1$
+		assertNull("'key0' should have been removed", cache.get("key0")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotNull("'key1' should be cached", cache.get("key1")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.flush();
+		assertTrue("The cache should be empty", cache.isEmpty()); //$NON-NLS-1$
+		assertEquals("wrong weight", 0, cache.getWeight()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the weight of a value is only computed when it is cached
+	 */
+	@Test
+	public void testWeighedOnce() {
+		AtomicInteger calls = new AtomicInteger();
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(6, 1, value -> {
+			calls.incrementAndGet();
+			return value.length();
+		});
+		cache.put("a", "aaa"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("b", "bbb"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("a", "aa"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.put("c", "cc"); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.remove("a"); //$NON-NLS-1$
+		cache.removeIf(key -> true);
+		assertEquals("wrong number of weighings", 4, calls.get()); //$NON-NLS-1$
+		assertEquals("wrong weight", 0, cache.getWeight()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests computing, replacing and removing values atomically
+	 */
+	@Test
+	public void testCompute() {
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(1000, 4, String::length);
+		assertEquals("wrong computed value", "a", cache.compute("key", (key, value) -> value == null ? "a" : value + "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals("wrong computed value", "aa", cache.compute("key", (key, value) -> value == null ? "a" : value + "a")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals("wrong weight", 2, cache.getWeight()); //$NON-NLS-1$
+		assertNull("the value should have been removed", cache.compute("key", (key, value) -> null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The cache should be empty", cache.isEmpty()); //$NON-NLS-1$
+		assertEquals("wrong weight", 0, cache.getWeight()); //$NON-NLS-1$
+		assertNull("no value should have been added", cache.compute("other", (key, value) -> null)); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The cache should be empty", cache.isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests removal of the values of a group, including after some of them
+	 * have been evicted or removed
+	 */
+	@Test
+	public void testRemoveGroup() {
+		ConcurrentWeightedLRUCache<String, String> cache = new ConcurrentWeightedLRUCache<>(1000, 4, String::length, key -> key.substring(0, 1));
+		for (int i = 0; i < 5; i++) {
+			cache.put("a" + i, "value"); //$NON-NLS-1$ //$NON-NLS-2$
+			cache.put("b" + i, "value"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		cache.remove("a0"); //$NON-NLS-1$
+		assertEquals("wrong number of removed entries", 4, cache.removeGroup("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of removed entries", 0, cache.removeGroup("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong size", 5, cache.size()); //$NON-NLS-1$
+		assertNotNull("'b0' should be cached", cache.get("b0")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of removed entries", 5, cache.removeGroups(group -> group.equals("b"))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("The cache should be empty", cache.isEmpty()); //$NON-NLS-1$
+		assertEquals("wrong weight", 0, cache.getWeight()); //$NON-NLS-1$
+
+		// evicted entries leave their group
+		ConcurrentWeightedLRUCache<String, String> small = new ConcurrentWeightedLRUCache<>(10, 1, String::length, key -> key.substring(0, 1));
+		small.put("a0", "aaaaa"); //$NON-NLS-1$ //$NON-NLS-2$
+		small.put("b0", "bbbbb"); //$NON-NLS-1$ //$NON-NLS-2$
+		small.put("b1", "bbbbb"); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of evictions", 1, small.getEvictionCount()); //$NON-NLS-1$
+		assertEquals("wrong number of removed entries", 0, small.removeGroup("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of removed entries", 2, small.removeGroup("b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong weight", 0, small.getWeight()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a value updated in place is weighed again when it is
+	 * recomputed
+	 */
+	@Test
+	public void testComputeInPlace() {
+		ConcurrentWeightedLRUCache<String, StringBuilder> cache = new ConcurrentWeightedLRUCache<>(1000, 1, StringBuilder::length);
+		cache.compute("key", (key, value) -> new StringBuilder("a")); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.compute("key", (key, value) -> value.append("aa")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong weight", 3, cache.getWeight()); //$NON-NLS-1$
+	}
+}
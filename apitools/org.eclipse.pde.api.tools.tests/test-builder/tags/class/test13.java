@@ -0,0 +1,30 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package a.b.c;
+
+/**
+ * Tests invalid @noreference tags on local classes declared in method bodies
+ */
+public class test13 {
+
+	public void m1() {
+		/**
+		 * @noreference
+		 */
+		class local {
+
+		}
+		new local();
+	}
+}
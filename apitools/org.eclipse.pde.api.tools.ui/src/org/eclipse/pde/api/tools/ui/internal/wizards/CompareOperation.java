@@ -76,7 +76,7 @@ public class CompareOperation extends Job {
 		try {
 			monitor.subTask(ActionMessages.CompareDialogComputeDeltasTaskName);
 			try {
-				IDelta delta = ApiComparator.compare(scope, baseline, VisibilityModifiers.API, false, monitor);
+				IDelta delta = ApiComparator.compare(scope, baseline, VisibilityModifiers.API, false, false, ApiComparator.getDefaultParallelism(), monitor);
 				if (delta == null) {
 					// we don't want to continue. The .log file should already
 					// contain details about the failure
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2024 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,16 +13,23 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.Predicate;
 
+import org.eclipse.core.resources.IBuildConfiguration;
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -39,7 +46,11 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.IJobManager;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.equinox.app.IApplication;
 import org.eclipse.equinox.app.IApplicationContext;
 import org.eclipse.equinox.frameworkadmin.BundleInfo;
@@ -58,14 +69,53 @@ import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.target.TargetPlatformService;
 import org.osgi.framework.Bundle;
 
+/**
+ * Headless application running the API analysis on projects.
+ * <p>
+ * The projects given with <code>-project</code> are analyzed concurrently, up
+ * to <code>-concurrency</code> builds at a time, by default as many as there
+ * are processors. The concurrency of the workspace is left unchanged when a
+ * single project is analyzed without <code>-concurrency</code>. With
+ * <code>-daemon</code>, the application instead reads requests from the
+ * standard input, one per line, each one listing the projects to analyze
+ * separated by the path separator.
+ * The baseline and the target platform are loaded once and reused by all the
+ * requests. A request can give the dependency list of its projects with a
+ * <code>-dependencyList=&lt;file&gt;</code> entry, the target platform is then
+ * reloaded if the list differs from the one of the previous request.
+ * Otherwise the target platform must hold the dependencies of all the
+ * analyzed projects. The end of each request is signaled by a line starting with
+ * {@value #REQUEST_DONE} followed by the status of the request, and the
+ * application exits at the end of the input or on an {@value #EXIT_REQUEST}
+ * line.
+ * </p>
+ */
 public class ApiAnalysisApplication implements IApplication {
 
+	/**
+	 * Prefix of the line printed once a request of the daemon mode has been
+	 * processed
+	 */
+	public static final String REQUEST_DONE = "API ANALYSIS DONE "; //$NON-NLS-1$
+
+	/**
+	 * Request ending the daemon mode
+	 */
+	public static final String EXIT_REQUEST = "exit"; //$NON-NLS-1$
+
+	/**
+	 * Status of a project with blocking errors
+	 */
+	private static final int BLOCKING_ERRORS = 10;
+
 	private static class Request {
 		private static final String FAIL_ON_ERROR_ARG = "failOnError"; //$NON-NLS-1$
 		private static final String PROJECT_ARG = "project"; //$NON-NLS-1$
 		private static final String BASELINE_ARG = "baseline"; //$NON-NLS-1$
 		private static final String BASELINE_DEFAULT_VALUE = "default"; //$NON-NLS-1$
 		private static final String DEPENDENCY_LIST_ARG = "dependencyList"; //$NON-NLS-1$
+		private static final String DAEMON_ARG = "daemon"; //$NON-NLS-1$
+		private static final String CONCURRENCY_ARG = "concurrency"; //$NON-NLS-1$
 
 		private Request() {
 		}
@@ -79,14 +129,19 @@ public class ApiAnalysisApplication implements IApplication {
 						res.failOnError = true;
 					}
 					currentKey = param.substring(1);
+					if (DAEMON_ARG.equals(currentKey)) {
+						res.daemon = true;
+					}
 				} else if (PROJECT_ARG.equals(currentKey)) {
-					res.project = new File(param);
+					res.projects.add(new File(param));
 				} else if (BASELINE_ARG.equals(currentKey) && !BASELINE_DEFAULT_VALUE.equals(param)) {
 					res.baselinePath = new File(param);
 				} else if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
 					res.failOnError = Boolean.parseBoolean(param);
 				} else if (DEPENDENCY_LIST_ARG.equals(currentKey)) {
 					res.tpFile = new File(param);
+				} else if (CONCURRENCY_ARG.equals(currentKey)) {
+					res.concurrency = Math.max(1, Integer.parseInt(param));
 				}
 			}
 			if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
@@ -95,30 +150,109 @@ public class ApiAnalysisApplication implements IApplication {
 			return res;
 		}
 
-		public File project;
+		public List<File> projects = new ArrayList<>();
 		public File baselinePath;
 		public boolean failOnError;
 		public File tpFile;
+		public boolean daemon;
+		/**
+		 * The maximum number of concurrent builds, <code>0</code> if not given
+		 */
+		public int concurrency;
+
+		/**
+		 * Returns the maximum number of concurrent builds to set on the
+		 * workspace, or <code>0</code> to keep the one of the workspace when a
+		 * single project is analyzed and no concurrency is given
+		 */
+		public int getMaxConcurrentBuilds() {
+			if (concurrency > 0) {
+				return concurrency;
+			}
+			if (daemon || projects.size() > 1) {
+				return Runtime.getRuntime().availableProcessors();
+			}
+			return 0;
+		}
+	}
+
+	/**
+	 * A request of the daemon mode
+	 *
+	 * @param projects the locations of the projects to analyze
+	 * @param dependencyList the dependency list of the projects, or
+	 *            <code>null</code> to keep the current target platform
+	 */
+	public record DaemonRequest(List<File> projects, File dependencyList) {
+
+		private static final String DEPENDENCY_LIST_ENTRY = "-dependencyList="; //$NON-NLS-1$
+
+		/**
+		 * Parses a request line: project locations separated by the path
+		 * separator, with an optional <code>-dependencyList=&lt;file&gt;</code>
+		 * entry.
+		 *
+		 * @param line the request line
+		 * @return the parsed request
+		 */
+		public static DaemonRequest parse(String line) {
+			List<File> projects = new ArrayList<>();
+			File dependencyList = null;
+			for (String entry : line.split(File.pathSeparator)) {
+				entry = entry.trim();
+				if (entry.startsWith(DEPENDENCY_LIST_ENTRY)) {
+					dependencyList = new File(entry.substring(DEPENDENCY_LIST_ENTRY.length()));
+				} else if (!entry.isEmpty()) {
+					projects.add(new File(entry));
+				}
+			}
+			return new DaemonRequest(projects, dependencyList);
+		}
+	}
+
+	/**
+	 * Processes the requests of the daemon mode
+	 */
+	@FunctionalInterface
+	public interface DaemonRequestHandler {
+		/**
+		 * Processes the given request
+		 *
+		 * @param request the request to process
+		 * @return the status of the request
+		 */
+		int handle(DaemonRequest request) throws Exception;
 	}
 
-	private ICoreRunnable restoreOriginalProjectState = null;
+	private final List<ICoreRunnable> restoreOriginalProjectStates = new ArrayList<>();
+
+	/**
+	 * The dependency list of the current target platform, or <code>null</code>
+	 */
+	private File fDependencyList;
 
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
-		restoreOriginalProjectState = null;
+		restoreOriginalProjectStates.clear();
 		try {
+			Request args = Request
+					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
 			IWorkspaceDescription desc = ResourcesPlugin.getWorkspace().getDescription();
 			desc.setAutoBuilding(false);
+			int maxConcurrentBuilds = args.getMaxConcurrentBuilds();
+			if (maxConcurrentBuilds > 0) {
+				desc.setMaxConcurrentBuilds(maxConcurrentBuilds);
+			}
 			ResourcesPlugin.getWorkspace().setDescription(desc);
 			PDECore.getDefault().getPreferencesManager().setValue(ICoreConstants.DISABLE_API_ANALYSIS_BUILDER, false);
 			PDECore.getDefault().getPreferencesManager().setValue(ICoreConstants.RUN_API_ANALYSIS_AS_JOB, false);
 
-			Request args = Request
-					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
-			IProject project = importProject(args.project);
-			if (project == null) {
-				System.err.println("Project not loaded."); //$NON-NLS-1$
-				return IStatus.ERROR;
+			List<IProject> projects = null;
+			if (!args.daemon) {
+				projects = importProjects(args.projects);
+				if (projects == null) {
+					return IStatus.ERROR;
+				}
 			}
 			IApiBaseline baseline = setBaseline(args.baselinePath);
 			if (baseline == null) {
@@ -126,58 +260,14 @@ public class ApiAnalysisApplication implements IApplication {
 				return IStatus.ERROR;
 			}
 			setTargetPlatform(args.tpFile);
+			fDependencyList = args.tpFile;
 
-			project.build(IncrementalProjectBuilder.FULL_BUILD, new NullProgressMonitor());
-			// wait untill all jobs has finished that might be sceduled as part of the
-			// build...
-			while (!Job.getJobManager().isIdle()) {
-				Thread.yield();
-			}
-			IMarker[] allProblemMarkers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
-			Predicate<IMarker> isAPIMarker = marker -> {
-				try {
-					return marker.getType().startsWith(ApiPlugin.PLUGIN_ID);
-				} catch (CoreException e) {
-					ApiPlugin.log(e);
-					return false;
-				}
-			};
-			IMarker[] allAPIProbleMarkers = Arrays.stream(allProblemMarkers) //
-					.filter(isAPIMarker) //
-					.toArray(IMarker[]::new);
-			IMarker[] allNonAPIErrors = Arrays.stream(allProblemMarkers) //
-					.filter(isAPIMarker.negate()) //
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) //
-					.toArray(IMarker[]::new);
-			if (allNonAPIErrors.length > 0) {
-				System.err.println("Some blocking (most likely link/compilation) errors are present:"); //$NON-NLS-1$
-				for (IMarker marker : allNonAPIErrors) {
-					printMarker(marker, "FATAL"); //$NON-NLS-1$
-				}
-				System.err.println("Some blocking (most likely link/compilation) errors are present ^^^"); //$NON-NLS-1$
-				return 10;
-			}
-			// errors
-			IMarker[] errorMarkers = Arrays.stream(allAPIProbleMarkers)
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR)
-					.toArray(IMarker[]::new);
-			System.err.println(errorMarkers.length + " API ERRORS"); //$NON-NLS-1$
-			for (IMarker marker : errorMarkers) {
-				printMarker(marker, "API ERROR"); //$NON-NLS-1$
-			}
-			// warnings
-			IMarker[] warningMarkers = Arrays.stream(allAPIProbleMarkers)
-					.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_WARNING)
-					.toArray(IMarker[]::new);
-			System.out.println(warningMarkers.length + " API warnings"); //$NON-NLS-1$
-			for (IMarker marker : warningMarkers) {
-				printMarker(marker, "API WARNING"); //$NON-NLS-1$
-			}
-			// fail
-			if (args.failOnError && errorMarkers.length > 0) {
-				return IStatus.ERROR;
+			if (args.daemon) {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(System.in, Charset.defaultCharset()));
+				serve(reader, System.out, request -> handle(request, args.failOnError));
+				return IStatus.OK;
 			}
-			return IStatus.OK;
+			return analyze(projects, args.failOnError);
 		} catch (CoreException e) {
 			System.err.println(e.getStatus());
 			return IStatus.ERROR;
@@ -185,10 +275,201 @@ public class ApiAnalysisApplication implements IApplication {
 			e.printStackTrace();
 			return IStatus.ERROR;
 		} finally {
-			if (restoreOriginalProjectState != null) {
-				restoreOriginalProjectState.run(new NullProgressMonitor());
+			restoreProjects();
+		}
+	}
+
+	/**
+	 * Processes the requests read from the given reader until its end or an
+	 * {@value #EXIT_REQUEST} request, printing the status of each request to
+	 * the given stream once it has been processed.
+	 *
+	 * @param reader the reader of the requests
+	 * @param out the stream to print the statuses to
+	 * @param handler the handler processing the requests
+	 */
+	public static void serve(BufferedReader reader, PrintStream out, DaemonRequestHandler handler) throws IOException {
+		String line;
+		while ((line = reader.readLine()) != null) {
+			line = line.trim();
+			if (line.isEmpty()) {
+				continue;
+			}
+			if (EXIT_REQUEST.equals(line)) {
+				break;
 			}
+			int status;
+			try {
+				status = handler.handle(DaemonRequest.parse(line));
+			} catch (CoreException e) {
+				System.err.println(e.getStatus());
+				status = IStatus.ERROR;
+			} catch (Exception e) {
+				e.printStackTrace();
+				status = IStatus.ERROR;
+			}
+			out.println(REQUEST_DONE + status);
+			out.flush();
+		}
+	}
+
+	/**
+	 * Analyzes the projects of the given request, keeping the baseline and the
+	 * target platform loaded unless the request has another dependency list
+	 */
+	private int handle(DaemonRequest request, boolean failOnError) throws Exception {
+		try {
+			File dependencyList = request.dependencyList();
+			if (dependencyList != null && !dependencyList.equals(fDependencyList)) {
+				setTargetPlatform(dependencyList);
+				fDependencyList = dependencyList;
+			}
+			List<IProject> projects = importProjects(request.projects());
+			return projects == null ? IStatus.ERROR : analyze(projects, failOnError);
+		} finally {
+			try {
+				restoreProjects();
+			} catch (CoreException e) {
+				System.err.println(e.getStatus());
+			}
+		}
+	}
+
+	/**
+	 * Imports the projects at the given locations, returns <code>null</code>
+	 * if one of them cannot be imported
+	 */
+	private List<IProject> importProjects(List<File> paths) throws CoreException, IOException {
+		if (paths.isEmpty()) {
+			System.err.println("No project to analyze."); //$NON-NLS-1$
+			return null;
+		}
+		List<IProject> projects = new ArrayList<>(paths.size());
+		for (File path : paths) {
+			IProject project = importProject(path);
+			if (project == null) {
+				System.err.println("Project not loaded."); //$NON-NLS-1$
+				return null;
+			}
+			projects.add(project);
+		}
+		return projects;
+	}
+
+	/**
+	 * Restores the state of the imported projects, the last imported first
+	 */
+	private void restoreProjects() throws CoreException {
+		try {
+			for (int i = restoreOriginalProjectStates.size() - 1; i >= 0; i--) {
+				restoreOriginalProjectStates.get(i).run(new NullProgressMonitor());
+			}
+		} finally {
+			restoreOriginalProjectStates.clear();
+		}
+	}
+
+	/**
+	 * Builds the given projects concurrently and reports their API problems,
+	 * returns the most severe status of the projects
+	 */
+	private int analyze(List<IProject> projects, boolean failOnError) throws CoreException, InterruptedException {
+		IBuildConfiguration[] configs = new IBuildConfiguration[projects.size()];
+		for (int i = 0; i < configs.length; i++) {
+			configs[i] = projects.get(i).getActiveBuildConfig();
+		}
+		ResourcesPlugin.getWorkspace().build(configs, IncrementalProjectBuilder.FULL_BUILD, false, new NullProgressMonitor());
+		// wait until all jobs that might be scheduled as part of the build
+		// have finished
+		waitForIdleJobManager();
+		int status = IStatus.OK;
+		for (IProject project : projects) {
+			if (projects.size() > 1) {
+				System.out.println("API analysis of " + project.getName()); //$NON-NLS-1$
+			}
+			status = Math.max(status, report(project, failOnError));
+		}
+		return status;
+	}
+
+	/**
+	 * Blocks until no job is running, waiting or sleeping anymore
+	 */
+	private static void waitForIdleJobManager() throws InterruptedException {
+		IJobManager manager = Job.getJobManager();
+		Object lock = new Object();
+		IJobChangeListener listener = new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				synchronized (lock) {
+					lock.notifyAll();
+				}
+			}
+		};
+		manager.addJobChangeListener(listener);
+		try {
+			synchronized (lock) {
+				// a job is no longer running when its done event is sent, and
+				// the event cannot be sent between the check and the wait
+				// since both hold the lock
+				while (!manager.isIdle()) {
+					lock.wait();
+				}
+			}
+		} finally {
+			manager.removeJobChangeListener(listener);
+		}
+	}
+
+	/**
+	 * Prints the problems of the given built project and returns its status
+	 */
+	private static int report(IProject project, boolean failOnError) throws CoreException {
+		IMarker[] allProblemMarkers = project.findMarkers(IMarker.PROBLEM, true, IResource.DEPTH_INFINITE);
+		Predicate<IMarker> isAPIMarker = marker -> {
+			try {
+				return marker.getType().startsWith(ApiPlugin.PLUGIN_ID);
+			} catch (CoreException e) {
+				ApiPlugin.log(e);
+				return false;
+			}
+		};
+		IMarker[] allAPIProbleMarkers = Arrays.stream(allProblemMarkers) //
+				.filter(isAPIMarker) //
+				.toArray(IMarker[]::new);
+		IMarker[] allNonAPIErrors = Arrays.stream(allProblemMarkers) //
+				.filter(isAPIMarker.negate()) //
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR) //
+				.toArray(IMarker[]::new);
+		if (allNonAPIErrors.length > 0) {
+			System.err.println("Some blocking (most likely link/compilation) errors are present:"); //$NON-NLS-1$
+			for (IMarker marker : allNonAPIErrors) {
+				printMarker(marker, "FATAL"); //$NON-NLS-1$
+			}
+			System.err.println("Some blocking (most likely link/compilation) errors are present ^^^"); //$NON-NLS-1$
+			return BLOCKING_ERRORS;
+		}
+		// errors
+		IMarker[] errorMarkers = Arrays.stream(allAPIProbleMarkers)
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_ERROR)
+				.toArray(IMarker[]::new);
+		System.err.println(errorMarkers.length + " API ERRORS"); //$NON-NLS-1$
+		for (IMarker marker : errorMarkers) {
+			printMarker(marker, "API ERROR"); //$NON-NLS-1$
+		}
+		// warnings
+		IMarker[] warningMarkers = Arrays.stream(allAPIProbleMarkers)
+				.filter(marker -> marker.getAttribute(IMarker.SEVERITY, -1) == IMarker.SEVERITY_WARNING)
+				.toArray(IMarker[]::new);
+		System.out.println(warningMarkers.length + " API warnings"); //$NON-NLS-1$
+		for (IMarker marker : warningMarkers) {
+			printMarker(marker, "API WARNING"); //$NON-NLS-1$
+		}
+		// fail
+		if (failOnError && errorMarkers.length > 0) {
+			return IStatus.ERROR;
 		}
+		return IStatus.OK;
 	}
 
 	private static void printMarker(IMarker marker, String type) {
@@ -367,12 +648,12 @@ public class ApiAnalysisApplication implements IApplication {
 			projectDescription.setBuildSpec(newBuilders);
 			project.setDescription(projectDescription, IResource.NONE, new NullProgressMonitor());
 
-			restoreOriginalProjectState = m -> {
+			restoreOriginalProjectStates.add(m -> {
 				projectFile.setContents(new ByteArrayInputStream(originalContent), IResource.FORCE, m);
 				projectRemover.run(m);
-			};
+			});
 		} else {
-			restoreOriginalProjectState = projectRemover;
+			restoreOriginalProjectStates.add(projectRemover);
 		}
 		return project;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,14 +13,22 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.text.MessageFormat;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
 
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
@@ -57,6 +65,17 @@ public class ApiDescription implements IApiDescription {
 	// flag to indicate visibility should be inherited from parent node
 	protected static final int VISIBILITY_INHERITED = 0;
 
+	/**
+	 * Kinds of the nodes written in a binary snapshot, see
+	 * {@link ManifestNode#persistSnapshot(DataOutputStream)}. The children of
+	 * a node are followed by {@link #SNAPSHOT_END}.
+	 */
+	static final byte SNAPSHOT_END = 0;
+	static final byte SNAPSHOT_PACKAGE = 1;
+	static final byte SNAPSHOT_TYPE = 2;
+	static final byte SNAPSHOT_FIELD = 3;
+	static final byte SNAPSHOT_METHOD = 4;
+
 	/**
 	 * API component identifier of the API component that owns this description.
 	 * All references within a component have no restrictions. We allow this to
@@ -102,7 +121,11 @@ public class ApiDescription implements IApiDescription {
 		protected IElementDescriptor element = null;
 		protected int visibility, restrictions;
 		protected ManifestNode parent = null;
-		protected HashMap<IElementDescriptor, ManifestNode> children = new LinkedHashMap<>(1);
+		/**
+		 * The children of this node or <code>null</code> if it has none yet,
+		 * see {@link #addChild(ManifestNode)}
+		 */
+		protected Map<IElementDescriptor, ManifestNode> children = null;
 
 		public ManifestNode(ManifestNode parent, IElementDescriptor element, int visibility, int restrictions) {
 			this.element = element;
@@ -111,6 +134,19 @@ public class ApiDescription implements IApiDescription {
 			this.parent = parent;
 		}
 
+		/**
+		 * Adds the given node to the children of this node, allocating the
+		 * children map on demand since most nodes never have children.
+		 *
+		 * @param child the child node
+		 */
+		void addChild(ManifestNode child) {
+			if (children == null) {
+				children = new ChildMap();
+			}
+			children.put(child.element, child);
+		}
+
 		@Override
 		public boolean equals(Object obj) {
 			if (obj instanceof ManifestNode) {
@@ -239,6 +275,208 @@ public class ApiDescription implements IApiDescription {
 			xmlElement.setAttribute(IApiXmlConstants.ATTR_VISIBILITY, Integer.toString(this.visibility));
 			xmlElement.setAttribute(IApiXmlConstants.ATTR_RESTRICTIONS, Integer.toString(this.restrictions));
 		}
+
+		/**
+		 * Persists this node in a binary snapshot. The same nodes as in
+		 * {@link #persistXML(Document, Element)} are written.
+		 *
+		 * @param out the snapshot stream
+		 */
+		void persistSnapshot(DataOutputStream out) throws IOException {
+			if (RestrictionModifiers.isUnrestricted(this.restrictions)) {
+				return;
+			}
+			switch (element.getElementType()) {
+				case IElementDescriptor.METHOD -> {
+					IMethodDescriptor md = (IMethodDescriptor) element;
+					out.writeByte(SNAPSHOT_METHOD);
+					out.writeUTF(md.getName());
+					out.writeUTF(md.getSignature());
+					persistSnapshotAnnotations(out);
+				}
+				case IElementDescriptor.FIELD -> {
+					out.writeByte(SNAPSHOT_FIELD);
+					out.writeUTF(((IFieldDescriptor) element).getName());
+					persistSnapshotAnnotations(out);
+				}
+				default -> { /**/ }
+			}
+		}
+
+		/**
+		 * Writes the visibility and restrictions of this node to a binary
+		 * snapshot.
+		 *
+		 * @param out the snapshot stream
+		 */
+		void persistSnapshotAnnotations(DataOutputStream out) throws IOException {
+			out.writeInt(this.visibility);
+			out.writeInt(this.restrictions);
+		}
+	}
+
+	/**
+	 * Compact map of the children of a {@link ManifestNode}, preserving the
+	 * insertion order.
+	 * <p>
+	 * Most nodes are members without children or types with a handful of
+	 * members, so the entries are kept in a single array of alternating keys
+	 * and values which is only allocated once the first child is added, and
+	 * are looked up linearly. Once the node has more than
+	 * {@link #MAX_ARRAY_SIZE} children the entries are moved to a hash map.
+	 * </p>
+	 *
+	 * @since 1.3.600
+	 */
+	static final class ChildMap extends AbstractMap<IElementDescriptor, ManifestNode> {
+
+		static final int MAX_ARRAY_SIZE = 8;
+
+		private static final Object[] EMPTY = new Object[0];
+
+		/**
+		 * Keys at even and values at odd indexes
+		 */
+		private Object[] table = EMPTY;
+		private int size;
+		private LinkedHashMap<IElementDescriptor, ManifestNode> map;
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < size << 1; i += 2) {
+				if (table[i].equals(key)) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		public int size() {
+			return map != null ? map.size() : size;
+		}
+
+		@Override
+		public boolean isEmpty() {
+			return size() == 0;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return map != null ? map.containsKey(key) : indexOf(key) != -1;
+		}
+
+		@Override
+		public ManifestNode get(Object key) {
+			if (map != null) {
+				return map.get(key);
+			}
+			int index = indexOf(key);
+			return index == -1 ? null : (ManifestNode) table[index + 1];
+		}
+
+		@Override
+		public ManifestNode put(IElementDescriptor key, ManifestNode value) {
+			if (map != null) {
+				return map.put(key, value);
+			}
+			int index = indexOf(key);
+			if (index != -1) {
+				ManifestNode previous = (ManifestNode) table[index + 1];
+				table[index + 1] = value;
+				return previous;
+			}
+			if (size == MAX_ARRAY_SIZE) {
+				map = new LinkedHashMap<>();
+				for (int i = 0; i < size << 1; i += 2) {
+					map.put((IElementDescriptor) table[i], (ManifestNode) table[i + 1]);
+				}
+				table = EMPTY;
+				size = 0;
+				return map.put(key, value);
+			}
+			if (size << 1 == table.length) {
+				table = Arrays.copyOf(table, Math.max(4, table.length << 1));
+			}
+			table[size << 1] = key;
+			table[(size << 1) + 1] = value;
+			size++;
+			return null;
+		}
+
+		@Override
+		public ManifestNode remove(Object key) {
+			if (map != null) {
+				return map.remove(key);
+			}
+			int index = indexOf(key);
+			if (index == -1) {
+				return null;
+			}
+			ManifestNode removed = (ManifestNode) table[index + 1];
+			removeAt(index);
+			return removed;
+		}
+
+		void removeAt(int index) {
+			int last = (size - 1) << 1;
+			System.arraycopy(table, index + 2, table, index, last - index);
+			table[last] = null;
+			table[last + 1] = null;
+			size--;
+		}
+
+		@Override
+		public void clear() {
+			map = null;
+			table = EMPTY;
+			size = 0;
+		}
+
+		@Override
+		public Set<Entry<IElementDescriptor, ManifestNode>> entrySet() {
+			if (map != null) {
+				return map.entrySet();
+			}
+			return new AbstractSet<>() {
+				@Override
+				public Iterator<Entry<IElementDescriptor, ManifestNode>> iterator() {
+					return new Iterator<>() {
+						int next = 0;
+						int current = -1;
+
+						@Override
+						public boolean hasNext() {
+							return next < size << 1;
+						}
+
+						@Override
+						public Entry<IElementDescriptor, ManifestNode> next() {
+							if (!hasNext()) {
+								throw new NoSuchElementException();
+							}
+							current = next;
+							next += 2;
+							return new SimpleImmutableEntry<>((IElementDescriptor) table[current], (ManifestNode) table[current + 1]);
+						}
+
+						@Override
+						public void remove() {
+							if (current == -1) {
+								throw new IllegalStateException();
+							}
+							removeAt(current);
+							next = current;
+							current = -1;
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
 	}
 
 	/**
@@ -253,13 +491,13 @@ public class ApiDescription implements IApiDescription {
 
 	/**
 	 * This map holds the mapping of special access kinds for packages and has the
-	 * form:
+	 * form below, it is only allocated once a special access is set:
 	 *
 	 * <pre>{@code
 	 * HashMap<IPackageDescriptor(package), HashMap<IElementDescriptor(component), IApiAccess>>
 	 * }</pre>
 	 */
-	protected HashMap<IPackageDescriptor, HashMap<IElementDescriptor, IApiAccess>> fAccessMap = new HashMap<>();
+	protected HashMap<IPackageDescriptor, HashMap<IElementDescriptor, IApiAccess>> fAccessMap;
 
 	private float fEmbeddedVersion = 0.0f;
 
@@ -362,7 +600,7 @@ public class ApiDescription implements IApiDescription {
 		}
 		IApiAnnotations desc = new ApiAnnotations(vis, node.restrictions);
 		boolean visitChildren = visitor.visitElement(node.element, desc);
-		if (visitChildren && !node.children.isEmpty()) {
+		if (visitChildren && node.children != null && !node.children.isEmpty()) {
 			visitChildren(visitor, node.children, null);
 		}
 		visitor.endVisitElement(node.element, desc);
@@ -393,14 +631,17 @@ public class ApiDescription implements IApiDescription {
 		ManifestNode node = null;
 		for (IElementDescriptor current : path) {
 			parentNode = node;
-			node = map.get(current);
+			node = map != null ? map.get(current) : null;
 			if (node == null) {
 				if (write || (isInsertOnResolve(current))) {
 					node = createNode(parentNode, current);
-					if (node != null) {
-						map.put(current, node);
-					} else {
+					if (node == null) {
 						return null;
+					} else if (map == null) {
+						// the parent had no children yet
+						parentNode.addChild(node);
+					} else {
+						map.put(current, node);
 					}
 				} else {
 					if (ApiPlugin.DEBUG_API_DESCRIPTION) {
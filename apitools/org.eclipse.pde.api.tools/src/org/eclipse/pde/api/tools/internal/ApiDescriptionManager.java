@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,10 +13,16 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -51,7 +57,6 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.scanner.ScannerMessages;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.internal.core.natures.PluginProject;
-import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
@@ -59,6 +64,12 @@ import org.w3c.dom.NodeList;
 /**
  * Manages a cache of API descriptions for Java projects. Descriptions are
  * re-used between API components for the same project.
+ * <p>
+ * Descriptions are saved in a binary snapshot per project and restored the
+ * first time the description of a project is requested. Descriptions saved as
+ * XML by previous versions are still restored, and are migrated to the binary
+ * format the next time the workspace is saved.
+ * </p>
  *
  * @since 1.0
  */
@@ -80,6 +91,11 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 	 */
 	public static final IPath API_DESCRIPTIONS_CONTAINER_PATH = ApiPlugin.getDefault().getStateLocation();
 
+	/**
+	 * Name of the binary snapshot of the API description of a project
+	 */
+	private static final String API_DESCRIPTION_SNAPSHOT_NAME = ".api_description.snapshot"; //$NON-NLS-1$
+
 	/**
 	 * Constructs an API description manager.
 	 */
@@ -158,6 +174,10 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 			if (file.exists()) {
 				file.delete();
 			}
+			file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).append(API_DESCRIPTION_SNAPSHOT_NAME).toFile();
+			if (file.exists()) {
+				file.delete();
+			}
 			file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).toFile();
 			if (file.exists() && file.isDirectory()) {
 				file.delete();
@@ -227,28 +247,82 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 		}
 
 		for (Entry<IJavaProject, IApiDescription> entry : fDescriptions.entrySet()) {
-			IJavaProject project = entry.getKey();
 			ProjectApiDescription desc = (ProjectApiDescription) entry.getValue();
 			if (desc.isModified()) {
-				Path dir = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).toPath();
-				Document xml = desc.getXML();
+				saveDescription(entry.getKey(), desc);
+			}
+		}
+	}
+
+	/**
+	 * Saves the binary snapshot of the given API description. The snapshot is
+	 * written to a temporary file first, which then replaces the previous
+	 * snapshot, so that a failed save never leaves a truncated snapshot
+	 * behind. The XML file written by previous versions, if any, is deleted.
+	 *
+	 * @param project the project of the description
+	 * @param description the description to save
+	 */
+	public void saveDescription(IJavaProject project, ProjectApiDescription description) throws CoreException {
+		Path dir = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).toPath();
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				description.writeSnapshot(out);
+			}
+			Files.createDirectories(dir);
+			Path temp = Files.createTempFile(dir, API_DESCRIPTION_SNAPSHOT_NAME, ".tmp"); //$NON-NLS-1$
+			boolean written = false;
+			try {
+				Files.write(temp, bytes.toByteArray());
+				Path snapshot = dir.resolve(API_DESCRIPTION_SNAPSHOT_NAME);
 				try {
-					Util.writeDocumentToFile(xml, dir.resolve(IApiCoreConstants.API_DESCRIPTION_XML_NAME));
-					desc.setModified(false);
-				} catch (IOException e) {
-					abort(MessageFormat.format(ScannerMessages.ApiDescriptionManager_0, project.getElementName()), e);
+					Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+				}
+				written = true;
+			} finally {
+				if (!written) {
+					Files.deleteIfExists(temp);
 				}
 			}
+			// the description has been migrated from XML
+			Files.deleteIfExists(dir.resolve(IApiCoreConstants.API_DESCRIPTION_XML_NAME));
+			description.setModified(false);
+		} catch (IOException e) {
+			abort(MessageFormat.format(ScannerMessages.ApiDescriptionManager_0, project.getElementName()), e);
 		}
 	}
 
 	/**
 	 * Restores the API description from its saved file, if any and returns true
-	 * if successful.
+	 * if successful. The binary snapshot is preferred, the XML file written by
+	 * previous versions is only read if there is no usable snapshot.
 	 *
 	 * @return whether the restore succeeded
 	 */
-	private boolean restoreDescription(IJavaProject project, ProjectApiDescription description) throws CoreException {
+	public boolean restoreDescription(IJavaProject project, ProjectApiDescription description) throws CoreException {
+		Path snapshot = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).append(API_DESCRIPTION_SNAPSHOT_NAME).toPath();
+		if (Files.isRegularFile(snapshot)) {
+			byte[] bytes = null;
+			try {
+				bytes = Files.readAllBytes(snapshot);
+			} catch (IOException e) {
+				abort(MessageFormat.format(ScannerMessages.ApiDescriptionManager_1, project.getElementName()), e);
+			}
+			try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+				if (description.restoreSnapshot(in)) {
+					return true;
+				}
+			} catch (IOException e) {
+				if (ApiPlugin.DEBUG_API_DESCRIPTION) {
+					System.out.println("Discarding unreadable API description snapshot of " + project.getElementName() + ": " + e); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			// stale or truncated snapshot, start over
+			description.clearPackages();
+		}
 		File file = API_DESCRIPTIONS_CONTAINER_PATH.append(project.getElementName()).append(IApiCoreConstants.API_DESCRIPTION_XML_NAME).toFile();
 		if (file.exists()) {
 			try {
@@ -264,6 +338,8 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 					description.fPackageTimeStamp = timestamp;
 					description.fManifestFile = project.getProject().getFile(JarFile.MANIFEST_NAME);
 					restoreChildren(description, root, null, description.fPackageMap);
+					// rewrite it as a snapshot on the next save
+					description.modified();
 					return true;
 				}
 			} catch (IOException e) {
@@ -364,8 +440,12 @@ public final class ApiDescriptionManager implements ISaveParticipant {
 			break;
 		}
 		if (node != null) {
-			childrenMap.put(elementDesc, node);
-			restoreChildren(apiDesc, element, node, node.children);
+			if (parentNode == null) {
+				childrenMap.put(elementDesc, node);
+			} else {
+				parentNode.addChild(node);
+			}
+			restoreChildren(apiDesc, element, node, null);
 		} else {
 			abort(ScannerMessages.ApiDescriptionManager_4, null);
 		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.pde.api.tools.internal;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
@@ -70,11 +71,22 @@ import org.w3c.dom.Element;
  * {@link org.eclipse.pde.api.tools.internal.provisional.IApiFilterStore} for
  * workspace projects. Filters can be added or removed and the changes persisted
  * to the api_filters XML file.
+ * <p>
+ * Problems are matched against an index of the filters by resource, type name
+ * and problem id, which is rebuilt after the filters changed and read without
+ * locking.
+ * </p>
  *
  * @since 1.0.0
  */
 public class ApiFilterStore extends FilterStore implements IResourceChangeListener {
 
+	/**
+	 * Key of the filters that can match a problem
+	 */
+	record FilterKey(IResource resource, String typeName, int id) {
+	}
+
 	/**
 	 * Map used to collect unused {@link IApiProblemFilter}s
 	 */
@@ -89,6 +101,12 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	boolean fTriggeredChange = false;
 	Map<IResource, Map<String, Set<IApiProblemFilter>>> fFilterMap;
 
+	/**
+	 * Index of the filters of {@link #fFilterMap} or <code>null</code> if it
+	 * has to be rebuilt, never modified once published
+	 */
+	private volatile Map<FilterKey, IApiProblemFilter[]> fFilterIndex;
+
 	/**
 	 * Constructor
 	 *
@@ -151,13 +169,21 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 					}
 
 					if (file.getProject().isAccessible()) {
+						String content = Util.serializeDocument(xml);
 						String lineSeparator = System.lineSeparator();
 						if (lineDelimiter != null && !lineDelimiter.equals(lineSeparator)) {
-							String content = Util.serializeDocument(xml).replaceAll(lineSeparator, lineDelimiter);
-							Files.writeString(file.getLocation().toPath(), content);
-						} else {
-							Util.writeDocumentToFile(xml, file.getLocation().toPath());
+							content = content.replaceAll(lineSeparator, lineDelimiter);
 						}
+						Path location = file.getLocation().toPath();
+						if (hasContent(location, content)) {
+							if (ApiPlugin.DEBUG_FILTER_STORE) {
+								System.out.println("api filters unchanged for plugin project component [" + fProject.getElementName() + "], saving skipped"); //$NON-NLS-1$ //$NON-NLS-2$
+							}
+							fNeedsSaving = false;
+							return Status.OK_STATUS;
+						}
+						Files.createDirectories(location.getParent());
+						Files.writeString(location, content);
 						file.refreshLocal(IResource.DEPTH_ZERO, localmonitor);
 					}
 					fTriggeredChange = true;
@@ -173,6 +199,18 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		job.schedule();
 	}
 
+	/**
+	 * Returns if the given file exists and has the given content.
+	 */
+	private static boolean hasContent(Path file, String content) {
+		try {
+			return Files.isRegularFile(file) && Files.readString(file).equals(content);
+		} catch (IOException e) {
+			// rewrite it
+			return false;
+		}
+	}
+
 	@Override
 	public synchronized void addFilters(IApiProblemFilter[] filters) {
 		if (filters == null) {
@@ -208,6 +246,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= pfilters.add(filter);
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 	}
 
@@ -240,9 +279,38 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 		return pTypeNames.values().stream().flatMap(Set::stream).toArray(IApiProblemFilter[]::new);
 	}
 
-	@Override
-	public synchronized boolean isFiltered(IApiProblem problem) {
+	/**
+	 * Returns the index of the filters, rebuilding it if needed.
+	 */
+	private synchronized Map<FilterKey, IApiProblemFilter[]> getFilterIndex() {
+		Map<FilterKey, IApiProblemFilter[]> index = fFilterIndex;
+		if (index != null) {
+			return index;
+		}
 		initializeApiFilters();
+		Map<FilterKey, List<IApiProblemFilter>> filters = new HashMap<>();
+		for (Entry<IResource, Map<String, Set<IApiProblemFilter>>> resourceEntry : fFilterMap.entrySet()) {
+			for (Entry<String, Set<IApiProblemFilter>> typeEntry : resourceEntry.getValue().entrySet()) {
+				for (IApiProblemFilter filter : typeEntry.getValue()) {
+					FilterKey key = new FilterKey(resourceEntry.getKey(), typeEntry.getKey(), filter.getUnderlyingProblem().getId());
+					filters.computeIfAbsent(key, k -> new ArrayList<>(1)).add(filter);
+				}
+			}
+		}
+		index = new HashMap<>(filters.size() * 4 / 3 + 1);
+		for (Entry<FilterKey, List<IApiProblemFilter>> entry : filters.entrySet()) {
+			index.put(entry.getKey(), entry.getValue().toArray(IApiProblemFilter[]::new));
+		}
+		fFilterIndex = index;
+		return index;
+	}
+
+	@Override
+	public boolean isFiltered(IApiProblem problem) {
+		Map<FilterKey, IApiProblemFilter[]> index = fFilterIndex;
+		if (index == null) {
+			index = getFilterIndex();
+		}
 		String resourcePath = problem.getResourcePath();
 		if (resourcePath == null) {
 			return false;
@@ -254,7 +322,11 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			return false;
 		}
-		IApiProblemFilter[] filters = this.getFilters(resource);
+		String typeName = problem.getTypeName();
+		if (typeName == null) {
+			typeName = GLOBAL;
+		}
+		IApiProblemFilter[] filters = index.get(new FilterKey(resource, typeName, problem.getId()));
 		if (filters == null) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
 				System.out.println("no filters defined for [" + resourcePath + "] return not filtered"); //$NON-NLS-1$ //$NON-NLS-2$
@@ -346,6 +418,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				success &= false;
 			}
 		}
+		fFilterIndex = null;
 		persistApiFilters();
 		return success;
 	}
@@ -471,6 +544,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			System.out.println("initializing api filter map for project [" + fProject.getElementName() + "]"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
 		fFilterMap = new LinkedHashMap<>(5);
+		fFilterIndex = null;
 		IFile filterFile = fProject.getProject().getFile(API_FILTERS_XML_PATH);
 		if (!filterFile.exists()) {
 			if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -522,6 +596,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			}
 			fNeedsSaving |= filters.add(filter);
 		}
+		fFilterIndex = null;
 	}
 
 	/**
@@ -571,7 +646,7 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 	/**
 	 * records that the following filter has been used
 	 */
-	private void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
+	private synchronized void recordFilterUsed(IResource resource, IApiProblemFilter filter) {
 		if (fUnusedFilters != null) {
 			Set<IApiProblemFilter> unused = fUnusedFilters.get(resource);
 			if (unused != null) {
@@ -706,9 +781,13 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
 					System.out.println("processed REMOVED delta"); //$NON-NLS-1$
 				}
-				if (fFilterMap != null) {
-					fFilterMap.clear();
-					needsbuild = fProject.getProject().isAccessible();
+				// the filters and their index are guarded by this store
+				synchronized (this) {
+					if (fFilterMap != null) {
+						fFilterMap.clear();
+						fFilterIndex = null;
+						needsbuild = fProject.getProject().isAccessible();
+					}
 				}
 			} else if (leafdelta.getKind() == IResourceDelta.ADDED || (leafdelta.getFlags() & IResourceDelta.CONTENT) != 0 || (leafdelta.getFlags() & IResourceDelta.REPLACED) != 0) {
 				if (ApiPlugin.DEBUG_FILTER_STORE) {
@@ -744,5 +823,6 @@ public class ApiFilterStore extends FilterStore implements IResourceChangeListen
 			fFilterMap.clear();
 			fFilterMap = null;
 		}
+		fFilterIndex = null;
 	}
 }
@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+
+/**
+ * A thread-safe least recently used cache bounded by the total weight of its
+ * values rather than by the number of its entries.
+ * <p>
+ * The cache is split in segments, each one guarded by its own lock and holding
+ * an equal share of the maximum weight, so that threads accessing different
+ * keys rarely contend. Eviction is performed per segment, in least recently
+ * used order. The weight of a value is computed once, when it is cached or
+ * recomputed.
+ * </p>
+ * <p>
+ * The keys can optionally be grouped, for example by their owner, so that all
+ * the entries of a group can be removed without visiting the other entries.
+ * </p>
+ * <p>
+ * Hits, misses and evictions are counted and can be retrieved using
+ * {@link #getHitCount()}, {@link #getMissCount()} and
+ * {@link #getEvictionCount()}.
+ * </p>
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public class ConcurrentWeightedLRUCache<K, V> {
+
+	/**
+	 * A cached value along with its weight, computed once when it is cached
+	 */
+	private record Weighted<V>(V value, long weight) {
+	}
+
+	/**
+	 * One stripe of the cache
+	 */
+	private static final class Segment<K, V> {
+		private final LinkedHashMap<K, Weighted<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+		private final long segmentMaxWeight;
+		private final ToLongFunction<V> weigher;
+		private final Function<? super K, ?> grouper;
+		/**
+		 * The keys of this segment by group, or <code>null</code> if the keys
+		 * are not grouped
+		 */
+		private final Map<Object, Set<K>> groups;
+		private final LongAdder evictions;
+		private long weight;
+
+		Segment(long maxWeight, ToLongFunction<V> weigher, Function<? super K, ?> grouper, LongAdder evictions) {
+			this.segmentMaxWeight = maxWeight;
+			this.weigher = weigher;
+			this.grouper = grouper;
+			this.groups = grouper == null ? null : new HashMap<>();
+			this.evictions = evictions;
+		}
+
+		synchronized V get(K key) {
+			Weighted<V> entry = entries.get(key);
+			return entry == null ? null : entry.value();
+		}
+
+		synchronized V put(K key, V value) {
+			Weighted<V> previous = entries.put(key, new Weighted<>(value, weigher.applyAsLong(value)));
+			return updateWeight(key, previous);
+		}
+
+		private void addToGroup(K key) {
+			if (groups != null) {
+				groups.computeIfAbsent(grouper.apply(key), group -> new HashSet<>()).add(key);
+			}
+		}
+
+		private void removeFromGroup(K key) {
+			if (groups != null) {
+				Object group = grouper.apply(key);
+				Set<K> keys = groups.get(group);
+				if (keys != null && keys.remove(key) && keys.isEmpty()) {
+					groups.remove(group);
+				}
+			}
+		}
+
+		synchronized V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+			Weighted<V> current = entries.get(key);
+			V value = remapping.apply(key, current == null ? null : current.value());
+			if (value == null) {
+				if (current != null) {
+					remove(key);
+				}
+				return null;
+			}
+			// the current value may have been updated in place, weigh it again
+			long valueWeight = weigher.applyAsLong(value);
+			if (current == null || current.value() != value || current.weight() != valueWeight) {
+				Weighted<V> previous = entries.put(key, new Weighted<>(value, valueWeight));
+				updateWeight(key, previous);
+			}
+			return value;
+		}
+
+		/**
+		 * Accounts for the entry just put for the given key and evicts the
+		 * least recently used entries if needed
+		 */
+		private V updateWeight(K key, Weighted<V> previous) {
+			if (previous != null) {
+				weight -= previous.weight();
+			} else {
+				addToGroup(key);
+			}
+			weight += entries.get(key).weight();
+			if (weight > segmentMaxWeight) {
+				Iterator<Map.Entry<K, Weighted<V>>> iterator = entries.entrySet().iterator();
+				// always keep the entry that was just added
+				while (weight > segmentMaxWeight && entries.size() > 1 && iterator.hasNext()) {
+					Map.Entry<K, Weighted<V>> eldest = iterator.next();
+					if (eldest.getKey().equals(key)) {
+						continue;
+					}
+					weight -= eldest.getValue().weight();
+					iterator.remove();
+					removeFromGroup(eldest.getKey());
+					evictions.increment();
+				}
+			}
+			return previous == null ? null : previous.value();
+		}
+
+		synchronized V remove(K key) {
+			Weighted<V> removed = entries.remove(key);
+			if (removed == null) {
+				return null;
+			}
+			weight -= removed.weight();
+			removeFromGroup(key);
+			return removed.value();
+		}
+
+		synchronized int removeIf(Predicate<K> filter) {
+			int count = 0;
+			for (Iterator<Map.Entry<K, Weighted<V>>> iterator = entries.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<K, Weighted<V>> entry = iterator.next();
+				if (filter.test(entry.getKey())) {
+					weight -= entry.getValue().weight();
+					iterator.remove();
+					removeFromGroup(entry.getKey());
+					count++;
+				}
+			}
+			return count;
+		}
+
+		synchronized int removeGroups(Predicate<Object> filter) {
+			int count = 0;
+			for (Iterator<Map.Entry<Object, Set<K>>> iterator = groups.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry<Object, Set<K>> group = iterator.next();
+				if (filter.test(group.getKey())) {
+					for (K key : group.getValue()) {
+						weight -= entries.remove(key).weight();
+						count++;
+					}
+					iterator.remove();
+				}
+			}
+			return count;
+		}
+
+		synchronized int removeGroup(Object group) {
+			Set<K> keys = groups.remove(group);
+			if (keys == null) {
+				return 0;
+			}
+			for (K key : keys) {
+				weight -= entries.remove(key).weight();
+			}
+			return keys.size();
+		}
+
+		synchronized void flush() {
+			entries.clear();
+			if (groups != null) {
+				groups.clear();
+			}
+			weight = 0;
+		}
+
+		synchronized boolean isEmpty() {
+			return entries.isEmpty();
+		}
+
+		synchronized int size() {
+			return entries.size();
+		}
+
+		synchronized long weight() {
+			return weight;
+		}
+
+		synchronized void collectKeys(List<K> keys) {
+			keys.addAll(entries.keySet());
+		}
+	}
+
+	private final Segment<K, V>[] segments;
+	private final boolean grouped;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxWeight the maximum total weight of the values held by the
+	 *            cache
+	 * @param concurrencyLevel the number of segments of the cache, rounded up
+	 *            to the next power of two
+	 * @param weigher the function computing the weight of a value, called
+	 *            once when the value is cached
+	 */
+	public ConcurrentWeightedLRUCache(long maxWeight, int concurrencyLevel, ToLongFunction<V> weigher) {
+		this(maxWeight, concurrencyLevel, weigher, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxWeight the maximum total weight of the values held by the
+	 *            cache
+	 * @param concurrencyLevel the number of segments of the cache, rounded up
+	 *            to the next power of two
+	 * @param weigher the function computing the weight of a value, called
+	 *            once when the value is cached
+	 * @param grouper the function computing the group of a key, used by
+	 *            {@link #removeGroup(Object)} and {@link #removeGroups(Predicate)},
+	 *            or <code>null</code> if the keys are not grouped
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentWeightedLRUCache(long maxWeight, int concurrencyLevel, ToLongFunction<V> weigher, Function<? super K, ?> grouper) {
+		int count = concurrencyLevel <= 1 ? 1 : Integer.highestOneBit(concurrencyLevel - 1) << 1;
+		this.segments = new Segment[count];
+		this.grouped = grouper != null;
+		long segmentMaxWeight = Math.max(1, maxWeight / count);
+		for (int i = 0; i < count; i++) {
+			this.segments[i] = new Segment<>(segmentMaxWeight, weigher, grouper, evictions);
+		}
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		h ^= (h >>> 16);
+		return segments[h & (segments.length - 1)];
+	}
+
+	/**
+	 * Returns the value cached for the given key and marks it as the most
+	 * recently used one, or returns <code>null</code> if there is no such
+	 * value.
+	 *
+	 * @param key the key, not <code>null</code>
+	 * @return the cached value or <code>null</code>
+	 */
+	public V get(K key) {
+		V value = segmentFor(key).get(key);
+		if (value == null) {
+			misses.increment();
+		} else {
+			hits.increment();
+		}
+		return value;
+	}
+
+	/**
+	 * Caches the given value, evicting the least recently used values of the
+	 * same segment if the segment becomes too heavy.
+	 *
+	 * @param key the key, not <code>null</code>
+	 * @param value the value, not <code>null</code>
+	 * @return the value previously cached for the key or <code>null</code>
+	 */
+	public V put(K key, V value) {
+		return segmentFor(key).put(key, value);
+	}
+
+	/**
+	 * Computes the value cached for the given key from the value currently
+	 * cached, atomically. The remapping function is called with
+	 * <code>null</code> if no value is cached and may return
+	 * <code>null</code> to remove the cached value. A new value is weighed
+	 * and may evict the least recently used values of the same segment.
+	 *
+	 * @param key the key, not <code>null</code>
+	 * @param remapping the function computing the new value, called while the
+	 *            segment of the key is locked
+	 * @return the new value or <code>null</code> if there is none
+	 */
+	public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remapping) {
+		return segmentFor(key).compute(key, remapping);
+	}
+
+	/**
+	 * Removes the value cached for the given key.
+	 *
+	 * @param key the key, not <code>null</code>
+	 * @return the removed value or <code>null</code> if there was none
+	 */
+	public V remove(K key) {
+		return segmentFor(key).remove(key);
+	}
+
+	/**
+	 * Removes all the entries whose key matches the given filter.
+	 *
+	 * @param filter the filter to apply on the keys
+	 * @return the number of removed entries
+	 */
+	public int removeIf(Predicate<K> filter) {
+		int count = 0;
+		for (Segment<K, V> segment : segments) {
+			count += segment.removeIf(filter);
+		}
+		return count;
+	}
+
+	/**
+	 * Removes all the entries of the given group. Only the entries of the
+	 * group are visited.
+	 *
+	 * @param group the group, as computed by the grouper of this cache
+	 * @return the number of removed entries
+	 * @throws IllegalStateException if the keys of this cache are not grouped
+	 */
+	public int removeGroup(Object group) {
+		checkGrouped();
+		int count = 0;
+		for (Segment<K, V> segment : segments) {
+			count += segment.removeGroup(group);
+		}
+		return count;
+	}
+
+	/**
+	 * Removes all the entries of the groups matching the given filter. Only
+	 * the groups and the entries of the matching groups are visited.
+	 *
+	 * @param filter the filter to apply on the groups
+	 * @return the number of removed entries
+	 * @throws IllegalStateException if the keys of this cache are not grouped
+	 */
+	public int removeGroups(Predicate<Object> filter) {
+		checkGrouped();
+		int count = 0;
+		for (Segment<K, V> segment : segments) {
+			count += segment.removeGroups(filter);
+		}
+		return count;
+	}
+
+	private void checkGrouped() {
+		if (!grouped) {
+			throw new IllegalStateException("The keys of this cache are not grouped"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Removes all the entries of the cache. The statistics are kept.
+	 */
+	public void flush() {
+		for (Segment<K, V> segment : segments) {
+			segment.flush();
+		}
+	}
+
+	/**
+	 * @return true if the cache has no entries, false otherwise
+	 */
+	public boolean isEmpty() {
+		for (Segment<K, V> segment : segments) {
+			if (!segment.isEmpty()) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the number of entries in the cache
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment<K, V> segment : segments) {
+			size += segment.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the total weight of the values in the cache
+	 */
+	public long getWeight() {
+		long weight = 0;
+		for (Segment<K, V> segment : segments) {
+			weight += segment.weight();
+		}
+		return weight;
+	}
+
+	/**
+	 * @return a snapshot of the keys in the cache
+	 */
+	public List<K> keysSnapshot() {
+		List<K> keys = new ArrayList<>();
+		for (Segment<K, V> segment : segments) {
+			segment.collectKeys(keys);
+		}
+		return keys;
+	}
+
+	/**
+	 * @return the number of successful lookups
+	 */
+	public long getHitCount() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of unsuccessful lookups
+	 */
+	public long getMissCount() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of entries evicted to respect the maximum weight
+	 */
+	public long getEvictionCount() {
+		return evictions.sum();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("entries: ").append(size()); //$NON-NLS-1$
+		buffer.append(", weight: ").append(getWeight()); //$NON-NLS-1$
+		buffer.append(", hits: ").append(getHitCount()); //$NON-NLS-1$
+		buffer.append(", misses: ").append(getMissCount()); //$NON-NLS-1$
+		buffer.append(", evictions: ").append(getEvictionCount()); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2016 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -37,6 +40,7 @@ import org.eclipse.jdt.core.IOrdinaryClassFile;
 import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.pde.api.tools.internal.builder.BuildStamps;
 import org.eclipse.pde.api.tools.internal.model.BundleComponent;
@@ -52,6 +56,7 @@ import org.eclipse.pde.api.tools.internal.provisional.descriptors.IPackageDescri
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.scanner.ScannerMessages;
 import org.eclipse.pde.api.tools.internal.provisional.scanner.TagScanner;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.w3c.dom.Document;
@@ -64,6 +69,9 @@ import org.w3c.dom.Element;
  */
 public class ProjectApiDescription extends ApiDescription {
 
+	private static final int SNAPSHOT_MAGIC = 0x41504453; // "APDS"
+	private static final int SNAPSHOT_VERSION = 1;
+
 	/**
 	 * Associated Java project
 	 */
@@ -134,6 +142,19 @@ public class ProjectApiDescription extends ApiDescription {
 			}
 		}
 
+		@Override
+		void persistSnapshot(DataOutputStream out) throws IOException {
+			if (hasApiVisibility(this)) {
+				out.writeByte(SNAPSHOT_PACKAGE);
+				out.writeInt(this.visibility);
+				out.writeInt(fFragments.length);
+				for (IPackageFragment fFragment : fFragments) {
+					out.writeUTF(fFragment.getHandleIdentifier());
+				}
+				persistSnapshotChildren(out, children);
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder buffer = new StringBuilder();
@@ -230,7 +251,7 @@ public class ProjectApiDescription extends ApiDescription {
 										System.out.println(buffer.toString());
 									}
 									modified();
-									children.clear();
+									children = null;
 									restrictions = RestrictionModifiers.NO_RESTRICTIONS;
 									fTimeStamp = resource.getModificationStamp();
 									try {
@@ -266,7 +287,9 @@ public class ProjectApiDescription extends ApiDescription {
 								}
 								// element has been removed
 								modified();
-								parent.children.remove(element);
+								if (parent.children != null) {
+									parent.children.remove(element);
+								}
 								return null;
 							}
 						} else {
@@ -312,6 +335,17 @@ public class ProjectApiDescription extends ApiDescription {
 			}
 		}
 
+		@Override
+		void persistSnapshot(DataOutputStream out) throws IOException {
+			if (hasApiVisibility(this)) {
+				out.writeByte(SNAPSHOT_TYPE);
+				out.writeUTF(fType.getHandleIdentifier());
+				persistSnapshotAnnotations(out);
+				out.writeLong(fTimeStamp);
+				persistSnapshotChildren(out, children);
+			}
+		}
+
 		@Override
 		public String toString() {
 			StringBuilder buffer = new StringBuilder();
@@ -656,14 +690,147 @@ public class ProjectApiDescription extends ApiDescription {
 	 *
 	 * @param document XML document
 	 * @param xmlElement node to append children no
-	 * @param elementMap elements to persist
+	 * @param elementMap elements to persist, may be <code>null</code>
 	 */
 	void persistChildren(Document document, Element xmlElement, Map<IElementDescriptor, ManifestNode> elementMap) {
+		if (elementMap == null) {
+			return;
+		}
 		for (ManifestNode node : elementMap.values()) {
 			node.persistXML(document, xmlElement);
 		}
 	}
 
+	/**
+	 * Writes this API description as a binary snapshot: a header followed by
+	 * the nodes that would be persisted as XML by {@link #getXML()}, depth
+	 * first.
+	 *
+	 * @param out the stream to write to
+	 */
+	public synchronized void writeSnapshot(DataOutputStream out) throws IOException {
+		out.writeInt(SNAPSHOT_MAGIC);
+		out.writeInt(SNAPSHOT_VERSION);
+		out.writeUTF(IApiXmlConstants.API_DESCRIPTION_CURRENT_VERSION);
+		out.writeLong(fPackageTimeStamp);
+		persistSnapshotChildren(out, fPackageMap);
+	}
+
+	/**
+	 * Persists the nodes in the given map in a binary snapshot, followed by an
+	 * end marker.
+	 *
+	 * @param out the snapshot stream
+	 * @param elementMap nodes to persist, may be <code>null</code>
+	 */
+	void persistSnapshotChildren(DataOutputStream out, Map<IElementDescriptor, ManifestNode> elementMap) throws IOException {
+		if (elementMap != null) {
+			for (ManifestNode node : elementMap.values()) {
+				node.persistSnapshot(out);
+			}
+		}
+		out.writeByte(SNAPSHOT_END);
+	}
+
+	/**
+	 * Restores this API description from a binary snapshot written by
+	 * {@link #writeSnapshot(DataOutputStream)}.
+	 *
+	 * @param in the stream to read from
+	 * @return <code>true</code> if the snapshot has been restored,
+	 *         <code>false</code> if it was written in another format or
+	 *         description version
+	 * @throws IOException if the snapshot is truncated or refers to elements
+	 *             that cannot be restored
+	 */
+	public synchronized boolean restoreSnapshot(DataInputStream in) throws IOException {
+		if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+			return false;
+		}
+		String version = in.readUTF();
+		if (!IApiXmlConstants.API_DESCRIPTION_CURRENT_VERSION.equals(version)) {
+			return false;
+		}
+		setEmbeddedVersion(version);
+		long timestamp = in.readLong();
+		restoreSnapshotChildren(in, null);
+		fPackageTimeStamp = timestamp;
+		fManifestFile = getJavaProject().getProject().getFile(JarFile.MANIFEST_NAME);
+		return true;
+	}
+
+	private void restoreSnapshotChildren(DataInputStream in, ManifestNode parentNode) throws IOException {
+		for (byte kind = in.readByte(); kind != SNAPSHOT_END; kind = in.readByte()) {
+			ManifestNode node = restoreSnapshotNode(in, kind, parentNode);
+			if (parentNode == null) {
+				fPackageMap.put(node.element, node);
+			} else {
+				parentNode.addChild(node);
+			}
+			if (kind == SNAPSHOT_PACKAGE || kind == SNAPSHOT_TYPE) {
+				restoreSnapshotChildren(in, node);
+			}
+		}
+	}
+
+	private ManifestNode restoreSnapshotNode(DataInputStream in, byte kind, ManifestNode parentNode) throws IOException {
+		switch (kind) {
+			case SNAPSHOT_PACKAGE: {
+				int vis = in.readInt();
+				int count = in.readInt();
+				if (count <= 0) {
+					throw new IOException(ScannerMessages.ApiDescriptionManager_2);
+				}
+				IPackageFragment[] fragments = new IPackageFragment[count];
+				for (int i = 0; i < count; i++) {
+					String handle = in.readUTF();
+					IJavaElement je = JavaCore.create(handle);
+					if (je == null || je.getElementType() != IJavaElement.PACKAGE_FRAGMENT) {
+						throw new IOException(ScannerMessages.ApiDescriptionManager_2 + handle);
+					}
+					fragments[i] = (IPackageFragment) je;
+				}
+				return newPackageNode(fragments, parentNode, Factory.packageDescriptor(fragments[0].getElementName()), vis, RestrictionModifiers.NO_RESTRICTIONS);
+			}
+			case SNAPSHOT_TYPE: {
+				String handle = in.readUTF();
+				int vis = in.readInt();
+				int res = in.readInt();
+				long timestamp = in.readLong();
+				IJavaElement je = JavaCore.create(handle);
+				if (je == null || je.getElementType() != IJavaElement.TYPE) {
+					throw new IOException(ScannerMessages.ApiDescriptionManager_3 + handle);
+				}
+				IType type = (IType) je;
+				TypeNode node = newTypeNode(type, parentNode, Factory.typeDescriptor(type.getFullyQualifiedName('$')), vis, res);
+				node.fTimeStamp = timestamp;
+				return node;
+			}
+			case SNAPSHOT_FIELD: {
+				String name = in.readUTF();
+				int vis = in.readInt();
+				int res = in.readInt();
+				if (parentNode != null && parentNode.element instanceof IReferenceTypeDescriptor type) {
+					return newNode(parentNode, type.getField(name), vis, res);
+				}
+				break;
+			}
+			case SNAPSHOT_METHOD: {
+				String name = in.readUTF();
+				String sig = in.readUTF();
+				int vis = in.readInt();
+				int res = in.readInt();
+				if (parentNode != null && parentNode.element instanceof IReferenceTypeDescriptor type) {
+					return newNode(parentNode, type.getMethod(name, sig), vis, res);
+				}
+				break;
+			}
+			default:
+				break;
+		}
+		throw new IOException(ScannerMessages.ApiDescriptionManager_4);
+	}
+
 	/**
 	 * Cleans this API description so it will be re-populated with fresh data.
 	 */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2016 IBM Corporation and others.
+ * Copyright (c) 2010, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -31,6 +31,7 @@ import org.eclipse.jdt.core.IPackageFragment;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.pde.api.tools.internal.builder.BuildState;
+import org.eclipse.pde.api.tools.internal.builder.ResolutionCache;
 import org.eclipse.pde.api.tools.internal.model.ApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -183,6 +184,7 @@ public class WorkspaceDeltaProcessor implements IElementChangedListener, IResour
 									}
 									dmanager.projectChanged(project);
 									dmanager.flushElementCache(delta.getElement());
+									ResolutionCache.projectChanged(project.getProject());
 									continue;
 								}
 							}
@@ -200,6 +202,7 @@ public class WorkspaceDeltaProcessor implements IElementChangedListener, IResour
 								}
 								dmanager.projectChanged(project);
 								dmanager.flushElementCache(delta.getElement());
+								ResolutionCache.projectChanged(project.getProject());
 								continue;
 							}
 							break;
@@ -220,6 +223,9 @@ public class WorkspaceDeltaProcessor implements IElementChangedListener, IResour
 		IResource resource = event.getResource();
 		switch (event.getType()) {
 			case IResourceChangeEvent.PRE_BUILD: {
+				// resolutions are shared by all the projects of a workspace
+				// build
+				ResolutionCache.acquire();
 				if (ApiPlugin.DEBUG_WORKSPACE_DELTA_PROCESSOR) {
 					if (resource == null) {
 						System.out.println("processed PRE_BUILD delta for workspace."); //$NON-NLS-1$
@@ -262,10 +268,15 @@ public class WorkspaceDeltaProcessor implements IElementChangedListener, IResour
 				}
 				break;
 			}
+			case IResourceChangeEvent.POST_BUILD: {
+				ResolutionCache.release();
+				break;
+			}
 			case IResourceChangeEvent.PRE_CLOSE:
 			case IResourceChangeEvent.PRE_DELETE: {
 				if (resource.getType() == IResource.PROJECT) {
 					IProject project = (IProject) resource;
+					BuildState.clearCachedState(project);
 					if (Util.isApiProject(project) || PluginProject.isJavaProject(project)) {
 						if (ApiPlugin.DEBUG_WORKSPACE_DELTA_PROCESSOR) {
 							if (event.getType() == IResourceChangeEvent.PRE_CLOSE) {
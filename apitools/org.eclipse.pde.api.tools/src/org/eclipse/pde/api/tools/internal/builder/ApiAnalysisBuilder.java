@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2024 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -390,6 +390,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.api_analysis_builder, 8);
 
 		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+		// share reference resolutions with the other projects of the build,
+		// except the ones involving this project since it has just been
+		// compiled
+		ResolutionCache.acquire();
+		ResolutionCache.projectChanged(currentproject);
 		try {
 			SubMonitor switchMonitor = localMonitor.split(4);
 			if (fullBuild) {
@@ -523,6 +528,8 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: Trapped OperationCanceledException"); //$NON-NLS-1$
 				}
+			} finally {
+				ResolutionCache.release();
 			}
 		}
 		if (ApiPlugin.DEBUG_BUILDER) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2023 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -27,10 +27,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.jar.JarFile;
 
 import org.eclipse.core.resources.IFile;
@@ -44,7 +46,6 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -58,12 +59,8 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeRoot;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CharOperation;
-import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTParser;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.BinaryType;
 import org.eclipse.jface.text.BadLocationException;
@@ -113,6 +110,7 @@ import org.eclipse.pde.api.tools.internal.search.UseScanManager;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.SinceTagVersion;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.osgi.framework.Constants;
 import org.osgi.framework.Version;
 import org.osgi.framework.VersionRange;
@@ -149,6 +147,25 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private List<IDelta> fPendingDeltaInfos = new ArrayList<>(3);
 
+	/**
+	 * An @since tag check of a member, performed once the compilation unit of
+	 * the member has been parsed
+	 */
+	private record SinceTagCheck(Delta delta, IApiComponent component, IMember member, ICompilationUnit unit, int offset) {
+	}
+
+	/**
+	 * The result of the validation of one parsed compilation unit
+	 */
+	private record ParsedUnit(IApiProblem[] tagProblems, SinceTagChecker[] sinceTagCheckers) {
+	}
+
+	/**
+	 * List of pending @since tag checks, performed along with the tag
+	 * validation so that each compilation unit is parsed only once
+	 */
+	private List<SinceTagCheck> fSinceTagChecks = new ArrayList<>(3);
+
 	/**
 	 * The current build state to use
 	 */
@@ -305,6 +322,11 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				System.out.println("Trapped OperationCanceledException"); //$NON-NLS-1$
 			}
+		} finally {
+			if (fSinceTagChecks != null) {
+				// drop the checks left over by an interrupted analysis
+				fSinceTagChecks.clear();
+			}
 		}
 	}
 
@@ -883,23 +905,6 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		return null;
 	}
 
-	/**
-	 * Creates and AST for the given {@link ITypeRoot} at the given offset
-	 */
-	private CompilationUnit createAST(ITypeRoot root, int offset) {
-		if (fJavaProject == null) {
-			return null;
-		}
-		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-		parser.setFocalPosition(offset);
-		parser.setResolveBindings(false);
-		parser.setSource(root);
-		Map<String, String> options = fJavaProject.getOptions(true);
-		options.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
-		parser.setCompilerOptions(options);
-		return (CompilationUnit) parser.createAST(new NullProgressMonitor());
-	}
-
 	/**
 	 * @return the build state to use.
 	 */
@@ -973,6 +978,10 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			fPendingDeltaInfos.clear();
 			fPendingDeltaInfos = null;
 		}
+		if (fSinceTagChecks != null) {
+			fSinceTagChecks.clear();
+			fSinceTagChecks = null;
+		}
 		if (fBuildState != null) {
 			fBuildState = null;
 		}
@@ -1113,48 +1122,102 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Checks the validation of tags for the given {@link IApiComponent}
+	 * Checks the validation of tags for the given {@link IApiComponent} and
+	 * the pending @since tag checks. The compilation units are parsed in
+	 * batches, each of them once.
 	 */
 	private void checkTagValidation(final IBuildContext context, IProgressMonitor monitor) {
 		boolean tags = ignoreInvalidTagCheck();
 		boolean annotations = ignoreInvalidAnnotationCheck();
-		if (tags && annotations) {
-			return;
-		}
-		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_validating_javadoc_tags, 1);
-		if (context.hasTypes()) {
-			String[] typenames = context.getStructurallyChangedTypes();
-			localMonitor.setWorkRemaining(typenames.length);
-			for (String typename : typenames) {
-				if (typename == null) {
-					continue;
+		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_validating_javadoc_tags, 2);
+		Set<ICompilationUnit> units = new LinkedHashSet<>();
+		if (!tags || !annotations) {
+			if (context.hasTypes()) {
+				String[] typenames = context.getStructurallyChangedTypes();
+				for (String typename : typenames) {
+					if (typename == null) {
+						continue;
+					}
+					collectUnit(typename, units);
 				}
-				localMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, typename));
-				processType(typename, !tags, !annotations);
 				localMonitor.split(1);
-			}
-		} else {
-			try {
-				IPackageFragmentRoot[] roots = fJavaProject.getPackageFragmentRoots();
-
-				localMonitor.setWorkRemaining(roots.length);
-				for (IPackageFragmentRoot root : roots) {
-					if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
-						localMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, root.getPath().toOSString()));
-						scanSource(root, !tags, !annotations, localMonitor.split(1));
+			} else {
+				try {
+					IPackageFragmentRoot[] roots = fJavaProject.getPackageFragmentRoots();
+					SubMonitor scanMonitor = localMonitor.split(1).setWorkRemaining(roots.length);
+					for (IPackageFragmentRoot root : roots) {
+						if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
+							scanMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, root.getPath().toOSString()));
+							scanSource(root, units, scanMonitor.split(1));
+						}
 					}
+				} catch (JavaModelException jme) {
+					ApiPlugin.log(jme);
 				}
-			} catch (JavaModelException jme) {
-				ApiPlugin.log(jme);
 			}
 		}
+		Map<ICompilationUnit, List<SinceTagCheck>> sinceTagChecks = new HashMap<>();
+		List<ICompilationUnit> parsed = new ArrayList<>(units);
+		for (SinceTagCheck check : fSinceTagChecks) {
+			sinceTagChecks.computeIfAbsent(check.unit(), unit -> {
+				if (!units.contains(unit)) {
+					parsed.add(unit);
+				}
+				return new ArrayList<>();
+			}).add(check);
+		}
+		fSinceTagChecks.clear();
+		if (parsed.isEmpty() || fJavaProject == null) {
+			return;
+		}
+		long time = System.currentTimeMillis();
+		BatchedASTParser parser = new BatchedASTParser(fJavaProject, Parallelism.getDefault());
+		BiFunction<ICompilationUnit, CompilationUnit, ParsedUnit> function = (unit, ast) -> {
+			IApiProblem[] tagProblems = null;
+			if (units.contains(unit)) {
+				TagValidator tv = new TagValidator(unit, !tags, !annotations);
+				ast.accept(tv);
+				tagProblems = tv.getProblems();
+			}
+			List<SinceTagCheck> checks = sinceTagChecks.getOrDefault(unit, Collections.emptyList());
+			SinceTagChecker[] checkers = new SinceTagChecker[checks.size()];
+			for (int i = 0; i < checkers.length; i++) {
+				checkers[i] = new SinceTagChecker(checks.get(i).offset());
+				ast.accept(checkers[i]);
+			}
+			return new ParsedUnit(tagProblems, checkers);
+		};
+		// the tag validation also checks the local types declared in method
+		// bodies, the @since checks only look at the declarations
+		SubMonitor parseMonitor = localMonitor.split(1).setWorkRemaining(parsed.size());
+		List<ParsedUnit> results = new ArrayList<>(parsed.size());
+		results.addAll(parser.parse(parsed.subList(0, units.size()), false, function, parseMonitor.split(units.size())));
+		results.addAll(parser.parse(parsed.subList(units.size(), parsed.size()), true, function, parseMonitor.split(parsed.size() - units.size())));
+		for (int i = 0; i < parsed.size(); i++) {
+			ParsedUnit result = results.get(i);
+			if (result == null) {
+				continue;
+			}
+			if (result.tagProblems() != null) {
+				for (IApiProblem tagProblem : result.tagProblems()) {
+					addProblem(tagProblem);
+				}
+			}
+			List<SinceTagCheck> checks = sinceTagChecks.get(parsed.get(i));
+			for (int j = 0; j < result.sinceTagCheckers().length; j++) {
+				checkSinceTag(checks.get(j), result.sinceTagCheckers()[j]);
+			}
+		}
+		if (ApiPlugin.DEBUG_API_ANALYZER) {
+			System.out.println("Time spent validating tags of " + parsed.size() + " compilation units : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
 	}
 
 	/**
-	 * Recursively finds all source in the given project and scans it for
-	 * invalid tags
+	 * Recursively finds all source in the given project and collects the
+	 * compilation units to scan for invalid tags
 	 */
-	private void scanSource(IJavaElement element, boolean tags, boolean annotations, IProgressMonitor monitor) throws JavaModelException {
+	private void scanSource(IJavaElement element, Set<ICompilationUnit> units, IProgressMonitor monitor) throws JavaModelException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor);
 		switch (element.getElementType()) {
 			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
@@ -1163,13 +1226,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				IJavaElement[] children = parent.getChildren();
 				subMonitor.setWorkRemaining(children.length);
 				for (IJavaElement javaElement : children) {
-					scanSource(javaElement, tags, annotations, subMonitor.split(1));
+					scanSource(javaElement, units, subMonitor.split(1));
 				}
 				break;
 			}
 			case IJavaElement.COMPILATION_UNIT: {
-				ICompilationUnit unit = (ICompilationUnit) element;
-				processType(unit, tags, annotations);
+				units.add((ICompilationUnit) element);
 				break;
 			}
 			default:
@@ -1178,9 +1240,10 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Processes the given type name for invalid Javadoc tags
+	 * Collects the compilation unit of the given type name to scan it for
+	 * invalid Javadoc tags
 	 */
-	private void processType(String typename, boolean tags, boolean annotations) {
+	private void collectUnit(String typename, Set<ICompilationUnit> units) {
 		try {
 			IType type = fJavaProject.findType(typename);
 			IType typeInProject = Util.getTypeInSameJavaProject(type, typename, fJavaProject);
@@ -1192,7 +1255,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				// unit
 				ICompilationUnit cunit = type.getCompilationUnit();
 				if (cunit != null) {
-					processType(cunit, tags, annotations);
+					units.add(cunit);
 				}
 			}
 		} catch (JavaModelException e) {
@@ -1200,22 +1263,6 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 	}
 
-	/**
-	 * Processes the given {@link ICompilationUnit} for invalid tags
-	 */
-	private void processType(ICompilationUnit cunit, boolean tags, boolean annotations) {
-		CompilationUnit comp = createAST(cunit, 0);
-		if (comp == null) {
-			return;
-		}
-		TagValidator tv = new TagValidator(cunit, tags, annotations);
-		comp.accept(tv);
-		IApiProblem[] tagProblems = tv.getProblems();
-		for (IApiProblem tagProblem : tagProblems) {
-			addProblem(tagProblem);
-		}
-	}
-
 	/**
 	 * Checks for illegal API usage in the specified component, creating problem
 	 * markers as required.
@@ -1428,7 +1475,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				subMonitor.subTask(BuilderMessages.BaseApiAnalyzer_checking_since_tags);
 				for (IDelta d : fPendingDeltaInfos) {
 					checkLoopMonitor.split(1);
-					checkSinceTags((Delta) d, component);
+					addSinceTagCheck((Delta) d, component);
 				}
 			}
 		}
@@ -1471,7 +1518,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				if (!fPendingDeltaInfos.isEmpty()) {
 					for (IDelta d : fPendingDeltaInfos) {
 						checkLoopMonitor.split(1);
-						checkSinceTags((Delta) d, component);
+						addSinceTagCheck((Delta) d, component);
 					}
 				}
 			}
@@ -1533,11 +1580,11 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Processes delta to determine if it needs an @since tag. If it does and
-	 * one is not present or the version of the tag is incorrect, a marker is
-	 * created
+	 * Processes delta to determine if it needs an @since tag. If it does, the
+	 * tag is checked once the compilation unit of the member has been parsed,
+	 * see {@link #checkTagValidation(IBuildContext, IProgressMonitor)}
 	 */
-	private void checkSinceTags(final Delta delta, final IApiComponent component) {
+	private void addSinceTagCheck(final Delta delta, final IApiComponent component) {
 		if (ignoreSinceTagCheck(null)) {
 			return;
 		}
@@ -1556,7 +1603,6 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		} catch (JavaModelException e) {
 			e.printStackTrace();
 		}
-		IApiProblem problem = null;
 		ISourceRange nameRange = null;
 		try {
 			nameRange = member.getNameRange();
@@ -1567,20 +1613,24 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		if (nameRange == null) {
 			return;
 		}
+		fSinceTagChecks.add(new SinceTagCheck(delta, component, member, cunit, nameRange.getOffset()));
+	}
+
+	/**
+	 * Reports the missing or incorrect @since tag found by the given visitor
+	 * for the given check, if any
+	 */
+	private void checkSinceTag(final SinceTagCheck check, final SinceTagChecker visitor) {
+		Delta delta = check.delta();
+		IMember member = check.member();
+		IApiProblem problem = null;
 		try {
-			int offset = nameRange.getOffset();
-			CompilationUnit comp = createAST(cunit, offset);
-			if (comp == null) {
-				return;
-			}
-			SinceTagChecker visitor = new SinceTagChecker(offset);
-			comp.accept(visitor);
 			// we must retrieve the component version from the delta component
 			// id
 			String componentVersionId = delta.getComponentVersionId();
 			String componentVersionString = null;
 			if (componentVersionId == null) {
-				componentVersionString = component.getVersion();
+				componentVersionString = check.component().getVersion();
 			} else {
 				componentVersionString = extractVersion(componentVersionId);
 			}
@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiFunction;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+/**
+ * Parses compilation units in batches using
+ * {@link ASTParser#createASTs(ICompilationUnit[], String[], ASTRequestor, IProgressMonitor)},
+ * as needed to validate API Javadoc tags, annotations and @since tags:
+ * Javadoc comments are parsed but bindings are not. Method bodies are only
+ * skipped when asked for, since the tag validation also checks the local and
+ * anonymous types declared in them.
+ * <p>
+ * When the parallelism is greater than one, the units are split in chunks
+ * that are parsed concurrently, each chunk with its own parser. The ASTs are
+ * visited in the thread that parsed them and discarded right after.
+ * </p>
+ */
+final class BatchedASTParser {
+
+	/**
+	 * Minimum number of units parsed by one parser
+	 */
+	private static final int MIN_CHUNK_SIZE = 16;
+
+	private static final String[] NO_KEYS = new String[0];
+
+	private final Map<String, String> fOptions;
+
+	private final int fParallelism;
+
+	/**
+	 * Constructor
+	 *
+	 * @param project the project whose compiler options are used
+	 * @param parallelism the number of units parsed concurrently
+	 */
+	BatchedASTParser(IJavaProject project, int parallelism) {
+		fOptions = project.getOptions(true);
+		fOptions.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
+		fParallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Parses the given units and applies the given function to the AST of
+	 * each of them. The function may be called concurrently for different
+	 * units.
+	 *
+	 * @param units the units to parse, without duplicates
+	 * @param ignoreMethodBodies whether the method bodies can be skipped
+	 * @param function the function to apply to each unit and its AST
+	 * @param monitor the progress monitor
+	 * @return the results of the function in the order of the units, with
+	 *         <code>null</code> for the units that could not be parsed
+	 */
+	<R> List<R> parse(List<ICompilationUnit> units, boolean ignoreMethodBodies, BiFunction<ICompilationUnit, CompilationUnit, R> function, IProgressMonitor monitor) {
+		if (units.isEmpty()) {
+			return new ArrayList<>();
+		}
+		SubMonitor subMonitor = SubMonitor.convert(monitor, units.size());
+		Object[] results = new Object[units.size()];
+		if (fParallelism == 1 || units.size() <= MIN_CHUNK_SIZE) {
+			parse(units, 0, units.size(), ignoreMethodBodies, function, results, subMonitor.split(units.size()), subMonitor);
+		} else {
+			int chunkSize = Math.max(MIN_CHUNK_SIZE, (units.size() + fParallelism * 4 - 1) / (fParallelism * 4));
+			ForkJoinPool pool = new ForkJoinPool(fParallelism);
+			List<ForkJoinTask<?>> chunks = new ArrayList<>();
+			try {
+				for (int start = 0; start < units.size(); start += chunkSize) {
+					int from = start;
+					int to = Math.min(units.size(), start + chunkSize);
+					// the monitor is only polled for cancellation by the workers
+					chunks.add(pool.submit(() -> parse(units, from, to, ignoreMethodBodies, function, results, null, subMonitor)));
+				}
+				for (int i = 0; i < chunks.size(); i++) {
+					chunks.get(i).join();
+					subMonitor.split(Math.min(chunkSize, units.size() - i * chunkSize));
+				}
+			} finally {
+				chunks.forEach(chunk -> chunk.cancel(false));
+				pool.shutdownNow();
+			}
+		}
+		List<R> list = new ArrayList<>(results.length);
+		for (Object result : results) {
+			@SuppressWarnings("unchecked")
+			R r = (R) result;
+			list.add(r);
+		}
+		return list;
+	}
+
+	/**
+	 * Parses the units between the given indexes with a new parser and stores
+	 * the results of the function at the same indexes.
+	 */
+	private <R> void parse(List<ICompilationUnit> units, int from, int to, boolean ignoreMethodBodies, BiFunction<ICompilationUnit, CompilationUnit, R> function, Object[] results, IProgressMonitor parserMonitor, IProgressMonitor cancelMonitor) {
+		Map<ICompilationUnit, Integer> indexes = new HashMap<>();
+		for (int i = from; i < to; i++) {
+			indexes.put(units.get(i), Integer.valueOf(i));
+		}
+		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
+		parser.setResolveBindings(false);
+		parser.setIgnoreMethodBodies(ignoreMethodBodies);
+		parser.setCompilerOptions(new HashMap<>(fOptions));
+		parser.createASTs(units.subList(from, to).toArray(ICompilationUnit[]::new), NO_KEYS, new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				if (cancelMonitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				Integer index = indexes.get(source);
+				if (index != null) {
+					results[index.intValue()] = function.apply(source, ast);
+				}
+			}
+		}, parserMonitor);
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,15 +13,16 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.builder;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -31,6 +32,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.zip.CRC32;
 
 import org.eclipse.core.resources.IProject;
@@ -53,16 +55,46 @@ import org.eclipse.pde.core.build.IBuildModel;
 
 /**
  * The API tools build state
+ * <p>
+ * The state is saved in a binary format made of a fixed header, the small
+ * manifest, build.properties and project sections, and a trailing section
+ * holding the deltas. The delta section is only decoded when the deltas are
+ * first accessed, and is written back unchanged if they never were.
+ * </p>
+ * <p>
+ * The encoded states of the projects are kept in memory between builds, and
+ * are only read again from disk when the state file has been changed behind
+ * our back. The encoded state of a project is dropped when the project is
+ * closed or deleted.
+ * </p>
  *
  * @since 1.0.1
  */
 public class BuildState {
 	private static final IDelta[] EMPTY_DELTAS = new IDelta[0];
 	private static final String[] NO_REEXPORTED_COMPONENTS = new String[0];
-	private static final int VERSION = 33;
+	private static final int MAGIC = 0x41505342; // "APSB"
+	private static final int VERSION = 34;
+
+	/**
+	 * An encoded state kept in memory along with the time stamp and size of
+	 * the file it was read from or written to
+	 */
+	private record CachedState(byte[] bytes, long lastModified, long length) {
+	}
+
+	/**
+	 * Encoded states by project
+	 */
+	private static final Map<IProject, CachedState> fStateCache = new ConcurrentHashMap<>();
 
 	private final Map<String, Set<IDelta>> compatibleChanges;
 	private final Map<String, Set<IDelta>> breakingChanges;
+	/**
+	 * Encoded delta section not decoded yet, or <code>null</code> once the
+	 * deltas have been decoded
+	 */
+	private ByteBuffer encodedDeltas;
 	/**
 	 * Map of the last saved state of the manifest file
 	 *
@@ -82,7 +114,7 @@ public class BuildState {
 	/**
 	 * Constructor
 	 */
-	BuildState() {
+	public BuildState() {
 		this.compatibleChanges = new LinkedHashMap<>();
 		this.breakingChanges = new LinkedHashMap<>();
 		this.manifestChanges = new LinkedHashMap<>();
@@ -95,33 +127,33 @@ public class BuildState {
 	 * @return the {@link BuildState} from the given input stream
 	 */
 	public static BuildState read(DataInputStream in) throws IOException {
-		String pluginID = in.readUTF();
-		if (!pluginID.equals(ApiPlugin.PLUGIN_ID)) {
-			throw new IOException(BuilderMessages.build_wrongFileFormat);
-		}
-		String kind = in.readUTF();
-		if (!kind.equals("STATE")) {//$NON-NLS-1$
-			throw new IOException(BuilderMessages.build_wrongFileFormat);
-		}
-		if (in.readInt() != VERSION) {
+		return read(ByteBuffer.wrap(in.readAllBytes()));
+	}
+
+	/**
+	 * Reads the build state from the given buffer. Only the header of the
+	 * state is decoded, the deltas are decoded when first accessed.
+	 *
+	 * @param buffer the buffer holding an encoded state, must not be modified
+	 *            afterwards
+	 * @return the {@link BuildState} from the given buffer or <code>null</code>
+	 *         if the state has been saved in an older format
+	 */
+	static BuildState read(ByteBuffer buffer) throws IOException {
+		if (buffer.remaining() < 8 || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
 			// this is an old build state - a full build is required
 			return null;
 		}
-		if (in.readBoolean()) {
-			// continue to read
-			BuildState state = new BuildState();
+		int headerLength = buffer.getInt();
+		if (headerLength < 0 || headerLength > buffer.remaining()) {
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		byte[] header = new byte[headerLength];
+		buffer.get(header);
+		BuildState state = new BuildState();
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(header))) {
 			state.buildpathCRC = in.readLong();
 			int count = in.readInt();
-			// read all compatible deltas
-			for (int i = 0; i < count; i++) {
-				state.addCompatibleChange(readDelta(in));
-			}
-			count = in.readInt();
-			// read all breaking deltas
-			for (int i = 0; i < count; i++) {
-				state.addBreakingChange(readDelta(in));
-			}
-			count = in.readInt();
 			// read all re-exported component names
 			String[] components = new String[count];
 			for (int i = 0; i < count; i++) {
@@ -132,83 +164,152 @@ public class BuildState {
 			for (int i = 0; i < count; i++) {
 				state.addApiToolingDependentProject(in.readUTF());
 			}
-			if (in.available() > 0) {
-				count = in.readInt();
-				if (count > 0) {
-					// read the saved headers
-					HashMap<String, String> map = new HashMap<>(count);
-					for (int i = 0; i < count; i++) {
-						String key = in.readUTF();
-						String value = in.readUTF();
-						map.put(key, value);
-					}
-					state.setManifestState(map);
+			count = in.readInt();
+			if (count > 0) {
+				// read the saved headers
+				HashMap<String, String> map = new HashMap<>(count);
+				for (int i = 0; i < count; i++) {
+					String key = in.readUTF();
+					String value = in.readUTF();
+					map.put(key, value);
 				}
-				count = in.readInt();
-				if (count > 0) {
-					// read the saved headers
-					HashMap<String, String> map = new LinkedHashMap<>(count);
-					for (int i = 0; i < count; i++) {
-						String key = in.readUTF();
-						String value = in.readUTF();
-						map.put(key, value);
-					}
-					state.setBuildPropertiesState(map);
+				state.setManifestState(map);
+			}
+			count = in.readInt();
+			if (count > 0) {
+				// read the saved headers
+				HashMap<String, String> map = new LinkedHashMap<>(count);
+				for (int i = 0; i < count; i++) {
+					String key = in.readUTF();
+					String value = in.readUTF();
+					map.put(key, value);
 				}
+				state.setBuildPropertiesState(map);
 			}
-			return state;
 		}
-		return null;
+		int deltasLength = buffer.getInt();
+		if (deltasLength < 0 || deltasLength > buffer.remaining()) {
+			throw new IOException(BuilderMessages.build_wrongFileFormat);
+		}
+		if (deltasLength > 0) {
+			ByteBuffer deltas = buffer.slice();
+			deltas.limit(deltasLength);
+			state.encodedDeltas = deltas;
+		}
+		return state;
 	}
 
 	/**
 	 * Writes the given {@link BuildState} to the given output stream
 	 */
 	public static void write(BuildState state, DataOutputStream out) throws IOException {
-		out.writeUTF(ApiPlugin.PLUGIN_ID);
-		out.writeUTF("STATE"); //$NON-NLS-1$
+		out.writeInt(MAGIC);
 		out.writeInt(VERSION);
-		out.writeBoolean(true);
-		out.writeLong(state.buildpathCRC);
-		IDelta[] compatibleChangesDeltas = state.getCompatibleChanges();
-		int length = compatibleChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(compatibleChangesDeltas[i], out);
+		ByteArrayOutputStream header = new ByteArrayOutputStream();
+		try (DataOutputStream headerOut = new DataOutputStream(header)) {
+			headerOut.writeLong(state.buildpathCRC);
+			String[] reexportedComponents = state.getReexportedComponents();
+			headerOut.writeInt(reexportedComponents.length);
+			for (String component : reexportedComponents) {
+				headerOut.writeUTF(component);
+			}
+			Set<String> apiToolingDependentsProjects = state.getApiToolingDependentProjects();
+			headerOut.writeInt(apiToolingDependentsProjects.size());
+			for (String string : apiToolingDependentsProjects) {
+				headerOut.writeUTF(string);
+			}
+			Map<String, String> map = state.getManifestState();
+			headerOut.writeInt(map.size());
+			Entry<String, String> entry = null;
+			for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
+				entry = i.next();
+				headerOut.writeUTF(entry.getKey());
+				headerOut.writeUTF(entry.getValue());
+			}
+			map = state.getBuildPropertiesState();
+			headerOut.writeInt(map.size());
+			for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
+				entry = i.next();
+				headerOut.writeUTF(entry.getKey());
+				headerOut.writeUTF(entry.getValue());
+			}
 		}
-		IDelta[] breakingChangesDeltas = state.getBreakingChanges();
-		length = breakingChangesDeltas.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			writeDelta(breakingChangesDeltas[i], out);
+		out.writeInt(header.size());
+		header.writeTo(out);
+		if (state.encodedDeltas != null) {
+			// the deltas have not been touched, write them back as they are
+			ByteBuffer deltas = state.encodedDeltas.duplicate();
+			byte[] bytes = new byte[deltas.remaining()];
+			deltas.get(bytes);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		} else {
+			byte[] bytes = encodeDeltas(state.getCompatibleChanges(), state.getBreakingChanges());
+			out.writeInt(bytes.length);
+			out.write(bytes);
 		}
-		String[] reexportedComponents = state.getReexportedComponents();
-		length = reexportedComponents.length;
-		out.writeInt(length);
-		for (int i = 0; i < length; i++) {
-			out.writeUTF(reexportedComponents[i]);
+	}
+
+	/**
+	 * Encodes the given deltas as a string table followed by the deltas
+	 * themselves, referring to their strings by index.
+	 */
+	private static byte[] encodeDeltas(IDelta[] compatible, IDelta[] breaking) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		ByteArrayOutputStream deltaBytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(deltaBytes)) {
+			out.writeInt(compatible.length);
+			for (IDelta delta : compatible) {
+				writeDelta(delta, out, strings);
+			}
+			out.writeInt(breaking.length);
+			for (IDelta delta : breaking) {
+				writeDelta(delta, out, strings);
+			}
 		}
-		Set<String> apiToolingDependentsProjects = state.getApiToolingDependentProjects();
-		length = apiToolingDependentsProjects.size();
-		out.writeInt(length);
-		for (String string : apiToolingDependentsProjects) {
-			out.writeUTF(string);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(deltaBytes.size() + 16 * strings.size());
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(strings.size());
+			for (String string : strings.keySet()) {
+				out.writeUTF(string);
+			}
+			deltaBytes.writeTo(out);
 		}
-		Map<String, String> map = state.getManifestState();
-		out.writeInt(map.size());
-		Entry<String, String> entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Decodes the delta section of this state, if it has not been decoded yet
+	 */
+	private void ensureDeltasDecoded() {
+		if (this.encodedDeltas == null) {
+			return;
 		}
-		map = state.getBuildPropertiesState();
-		out.writeInt(map.size());
-		entry = null;
-		for (Iterator<Entry<String, String>> i = map.entrySet().iterator(); i.hasNext();) {
-			entry = i.next();
-			out.writeUTF(entry.getKey());
-			out.writeUTF(entry.getValue());
+		ByteBuffer deltas = this.encodedDeltas.duplicate();
+		this.encodedDeltas = null;
+		byte[] bytes = new byte[deltas.remaining()];
+		deltas.get(bytes);
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			int count = in.readInt();
+			String[] strings = new String[count];
+			for (int i = 0; i < count; i++) {
+				strings[i] = in.readUTF();
+			}
+			count = in.readInt();
+			// read all compatible deltas
+			for (int i = 0; i < count; i++) {
+				addCompatibleChange(readDelta(in, strings));
+			}
+			count = in.readInt();
+			// read all breaking deltas
+			for (int i = 0; i < count; i++) {
+				addBreakingChange(readDelta(in, strings));
+			}
+		} catch (IOException | RuntimeException e) {
+			// a corrupted state is treated as an empty one
+			ApiPlugin.log("Failed to decode the deltas of a build state", e); //$NON-NLS-1$
+			this.compatibleChanges.clear();
+			this.breakingChanges.clear();
 		}
 	}
 
@@ -216,32 +317,26 @@ public class BuildState {
 	 * Read the {@link IDelta} from the build state (input stream)
 	 *
 	 * @param in the input stream to read the {@link IDelta} from
+	 * @param strings the string table of the delta section
 	 * @return a reconstructed {@link IDelta} from the build state
 	 */
-	private static IDelta readDelta(DataInputStream in) throws IOException {
+	private static IDelta readDelta(DataInputStream in, String[] strings) throws IOException {
 		// decode the delta from the build state
-		boolean hasComponentID = in.readBoolean();
-		String componentID = null;
-		if (hasComponentID) {
-			in.readUTF(); // delta.getComponentID()
-		}
 		int elementType = in.readInt(); // delta.getElementType()
 		int kind = in.readInt(); // delta.getKind()
 		int flags = in.readInt(); // delta.getFlags()
 		int restrictions = in.readInt(); // delta.getRestrictions()
 		int oldModifiers = in.readInt(); // delta.getOldModifier()
 		int newModifiers = in.readInt(); // delta.getNewModifier()
-		String typeName = in.readUTF(); // delta.getTypeName()
-		String key = in.readUTF(); // delta.getKey()
+		String typeName = strings[in.readInt()]; // delta.getTypeName()
+		String key = strings[in.readInt()]; // delta.getKey()
 		int length = in.readInt(); // arguments.length;
 		String[] datas = null;
 		if (length != 0) {
-			ArrayList<String> arguments = new ArrayList<>();
+			datas = new String[length];
 			for (int i = 0; i < length; i++) {
-				arguments.add(in.readUTF());
+				datas[i] = strings[in.readInt()];
 			}
-			datas = new String[length];
-			arguments.toArray(datas);
 		} else {
 			datas = new String[1];
 			datas[0] = typeName.replace('$', '.');
@@ -249,7 +344,7 @@ public class BuildState {
 
 		int previousRestrictions = restrictions >>> Delta.PREVIOUS_RESTRICTIONS_OFFSET;
 		int currentRestrictions = restrictions & Delta.RESTRICTIONS_MASK;
-		return new Delta(componentID, elementType, kind, flags, currentRestrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
+		return new Delta(null, elementType, kind, flags, currentRestrictions, previousRestrictions, oldModifiers, newModifiers, typeName, key, datas);
 	}
 
 	/**
@@ -257,33 +352,34 @@ public class BuildState {
 	 *
 	 * @param delta the delta to write
 	 * @param out the stream to write to
+	 * @param strings the string table being built, mapping strings to their
+	 *            index
 	 */
-	private static void writeDelta(IDelta delta, DataOutputStream out) throws IOException {
+	private static void writeDelta(IDelta delta, DataOutputStream out, Map<String, Integer> strings) throws IOException {
 		// encode a delta into the build state
 		// int elementType, int kind, int flags, int restrictions, int
 		// modifiers, String typeName, String key, Object data
-		String apiComponentID = delta.getComponentVersionId();
-		boolean hasComponentID = apiComponentID != null;
-		out.writeBoolean(hasComponentID);
-		if (hasComponentID) {
-			out.writeUTF(apiComponentID);
-		}
+		// the component id is not kept, it is not restored either
 		out.writeInt(delta.getElementType());
 		out.writeInt(delta.getKind());
 		out.writeInt(delta.getFlags());
 		out.writeInt(delta.getCurrentRestrictions());
 		out.writeInt(delta.getOldModifiers());
 		out.writeInt(delta.getNewModifiers());
-		out.writeUTF(delta.getTypeName());
-		out.writeUTF(delta.getKey());
+		out.writeInt(indexOf(delta.getTypeName(), strings));
+		out.writeInt(indexOf(delta.getKey(), strings));
 		String[] arguments = delta.getArguments();
 		int length = arguments.length;
 		out.writeInt(length);
 		for (int i = 0; i < length; i++) {
-			out.writeUTF(arguments[i]);
+			out.writeInt(indexOf(arguments[i], strings));
 		}
 	}
 
+	private static int indexOf(String string, Map<String, Integer> strings) {
+		return strings.computeIfAbsent(string, s -> Integer.valueOf(strings.size())).intValue();
+	}
+
 	/**
 	 * Adds an {@link IDelta} for a compatible compatibility change to the
 	 * current state
@@ -291,6 +387,7 @@ public class BuildState {
 	 * @param delta the {@link IDelta} to add to the state
 	 */
 	public void addCompatibleChange(IDelta delta) {
+		ensureDeltasDecoded();
 		String typeName = delta.getTypeName();
 		Set<IDelta> object = this.compatibleChanges.get(typeName);
 		if (object == null) {
@@ -309,6 +406,7 @@ public class BuildState {
 	 * @param delta the {@link IDelta} to add to the state
 	 */
 	public void addBreakingChange(IDelta delta) {
+		ensureDeltasDecoded();
 		String typeName = delta.getTypeName();
 		Set<IDelta> object = this.breakingChanges.get(typeName);
 		if (object == null) {
@@ -325,6 +423,7 @@ public class BuildState {
 	 *         removed, or an empty array, never <code>null</code>
 	 */
 	public IDelta[] getBreakingChanges() {
+		ensureDeltasDecoded();
 		if (this.breakingChanges == null || this.breakingChanges.isEmpty()) {
 			return EMPTY_DELTAS;
 		}
@@ -341,6 +440,7 @@ public class BuildState {
 	 *         removed, or an empty array, never <code>null</code>
 	 */
 	public IDelta[] getCompatibleChanges() {
+		ensureDeltasDecoded();
 		if (this.compatibleChanges == null || this.compatibleChanges.isEmpty()) {
 			return EMPTY_DELTAS;
 		}
@@ -368,6 +468,7 @@ public class BuildState {
 	 * @param typeName the given type name
 	 */
 	public void cleanup(String typeName) {
+		ensureDeltasDecoded();
 		this.breakingChanges.remove(typeName);
 		this.compatibleChanges.remove(typeName);
 		this.reexportedComponents = null;
@@ -543,27 +644,65 @@ public class BuildState {
 		File file = getSerializationFile(project);
 		if (file != null && file.exists()) {
 			try {
-				try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
-					return read(in);
-				} finally {
-					if (ApiPlugin.DEBUG_BUILDER) {
-						System.out.println("ApiAnalysisBuilder: Saved state thinks last build failed for " + project.getName()); //$NON-NLS-1$
-					}
+				CachedState cached = fStateCache.get(project);
+				if (cached == null || cached.lastModified() != file.lastModified() || cached.length() != file.length()) {
+					cached = loadState(file);
+					fStateCache.put(project, cached);
+				} else if (ApiPlugin.DEBUG_BUILDER) {
+					System.out.println("ApiAnalysisBuilder: Reusing cached build state of " + project.getName()); //$NON-NLS-1$
 				}
+				return read(ByteBuffer.wrap(cached.bytes()).asReadOnlyBuffer());
 			} catch (Exception e) {
+				fStateCache.remove(project);
 				e.printStackTrace();
 				throw new CoreException(Status.error("Error reading last build state for project " + project.getName(), e)); //$NON-NLS-1$
 			}
-		} else if (ApiPlugin.DEBUG_BUILDER) {
-			if (file == null) {
-				System.out.println("ApiAnalysisBuilder: Project does not exist: " + project); //$NON-NLS-1$
-			} else {
-				System.out.println("ApiAnalysisBuilder: Build state file " + file.getPath() + " does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+		} else {
+			if (project != null) {
+				fStateCache.remove(project);
+			}
+			if (ApiPlugin.DEBUG_BUILDER) {
+				if (file == null) {
+					System.out.println("ApiAnalysisBuilder: Project does not exist: " + project); //$NON-NLS-1$
+				} else {
+					System.out.println("ApiAnalysisBuilder: Build state file " + file.getPath() + " does not exist"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Reads the given state file in a single read.
+	 *
+	 * @param file the state file
+	 * @return the encoded state along with the time stamp of the file
+	 */
+	private static CachedState loadState(File file) throws IOException {
+		long lastModified = file.lastModified();
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException(BuilderMessages.build_wrongFileFormat);
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// read the whole file
+			}
+			return new CachedState(buffer.array(), lastModified, size);
+		}
+	}
+
+	/**
+	 * Drops the encoded state of the given project kept in memory, the state
+	 * file is left untouched. Called when the project is closed or deleted.
+	 *
+	 * @param project the project to forget the state of
+	 */
+	public static void clearCachedState(IProject project) {
+		fStateCache.remove(project);
+	}
+
 	/**
 	 * Sets the last built state for the given project, or null to reset it.
 	 *
@@ -576,6 +715,7 @@ public class BuildState {
 			if (state != null) {
 				saveBuiltState(project, state);
 			} else {
+				fStateCache.remove(project);
 				try {
 					File file = getSerializationFile(project);
 					if (file != null && file.exists()) {
@@ -619,9 +759,16 @@ public class BuildState {
 		if (ApiPlugin.DEBUG_BUILDER) {
 			t = System.currentTimeMillis();
 		}
-		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
-			write(state, out);
+		try {
+			ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+			try (DataOutputStream out = new DataOutputStream(bytes)) {
+				write(state, out);
+			}
+			byte[] encoded = bytes.toByteArray();
+			Files.write(file.toPath(), encoded);
+			fStateCache.put(project, new CachedState(encoded, file.lastModified(), file.length()));
 		} catch (RuntimeException | IOException e) {
+			fStateCache.remove(project);
 			try {
 				file.delete();
 			} catch (SecurityException se) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -367,29 +367,59 @@ public class Reference implements IReference {
 			IApiComponent sourceComponent = getMember().getApiComponent();
 			if (sourceComponent != null) {
 				IApiTypeRoot result = Util.getClassFile(sourceComponent.getBaseline().resolvePackage(sourceComponent, Signatures.getPackageName(getReferencedTypeName())), getReferencedTypeName());
-				if (result != null) {
-					IApiType type = result.getStructure();
-					if (type == null) {
-						// cannot resolve a type that is in a bad classfile
-						return;
+				if (result == null) {
+					return;
+				}
+				IApiType type = result.getStructure();
+				if (type == null) {
+					// cannot resolve a type that is in a bad classfile
+					return;
+				}
+				switch (getReferenceType()) {
+					case IReference.T_TYPE_REFERENCE -> {
+						fResolved = type;
 					}
-					switch (getReferenceType()) {
-						case IReference.T_TYPE_REFERENCE -> {
-							fResolved = type;
-						}
-						case IReference.T_FIELD_REFERENCE -> {
-							resolveField(type, getReferencedMemberName());
-						}
-						case IReference.T_METHOD_REFERENCE -> {
-							resolveVirtualMethod(type, getReferencedMemberName(), getReferencedSignature());
-						}
-						default -> { /**/ }
+					case IReference.T_FIELD_REFERENCE, IReference.T_METHOD_REFERENCE -> {
+						resolveMember(type);
 					}
+					default -> { /**/ }
 				}
 			}
 		}
 	}
 
+	/**
+	 * Resolves this field or method reference in the given referenced type,
+	 * reusing the resolutions made during the current workspace build.
+	 *
+	 * @param type the referenced type
+	 * @throws CoreException if the resolution fails
+	 */
+	private void resolveMember(IApiType type) throws CoreException {
+		ResolutionCache cache = ResolutionCache.getCurrent();
+		ResolutionCache.Key key = cache != null ? ResolutionCache.getKey(this, type) : null;
+		if (key != null) {
+			IApiMember cached = cache.get(key);
+			if (cached instanceof IApiMethod method) {
+				// also corrects the referenced type of default methods
+				setResolvedMethod(method);
+				return;
+			}
+			if (cached != null) {
+				fResolved = cached;
+				return;
+			}
+		}
+		if (getReferenceType() == IReference.T_FIELD_REFERENCE) {
+			resolveField(type, getReferencedMemberName());
+		} else {
+			resolveVirtualMethod(type, getReferencedMemberName(), getReferencedSignature());
+		}
+		if (key != null) {
+			cache.put(key, fResolved);
+		}
+	}
+
 	public boolean resolve(int eeValue) throws CoreException {
 		IApiComponent sourceComponent = StubApiComponent.getStubApiComponent(eeValue);
 		if (sourceComponent == null) {
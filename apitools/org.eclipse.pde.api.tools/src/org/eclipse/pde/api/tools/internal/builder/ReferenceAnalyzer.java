@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,13 +14,20 @@
 package org.eclipse.pde.api.tools.internal.builder;
 
 import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
@@ -36,9 +43,18 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.internal.core.util.Parallelism;
 
 /**
  * The reference analyzer
+ * <p>
+ * When created with a parallelism greater than one, the references of the
+ * types in the scope are extracted and resolved concurrently. At most twice as
+ * many extractions as the parallelism are pending at any time. Problem
+ * detectors are still fed on the calling thread, in the order the types are
+ * visited, so that the same problems are reported in the same order as in a
+ * sequential analysis.
+ * </p>
  *
  * @since 1.1
  */
@@ -84,40 +100,7 @@ public class ReferenceAnalyzer {
 		public void visit(String packageName, IApiTypeRoot classFile) {
 			if (!fMonitor.isCanceled()) {
 				try {
-					IApiType type = classFile.getStructure();
-					if (type == null) {
-						// do nothing for bad class files
-						return;
-					}
-					// don't process inner/anonymous/local types, this is done
-					// in the extractor
-					if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
-						return;
-					}
-					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
-					// keep potential matches
-					for (IReference ref : references) {
-						if (fMonitor.isCanceled()) {
-							break;
-						}
-						// compute index of interested problem detectors
-						int index = getLog2(ref.getReferenceKind());
-						IApiProblemDetector[] detectors = fIndexedDetectors[index];
-						boolean added = false;
-						if (detectors != null) {
-							for (IApiProblemDetector detector : detectors) {
-								if (fMonitor.isCanceled()) {
-									break;
-								}
-								if (detector.considerReference(ref, fMonitor)) {
-									if (!added) {
-										fReferences.add(ref);
-										added = true;
-									}
-								}
-							}
-						}
-					}
+					considerReferences(extractReferences(classFile), fMonitor);
 				} catch (CoreException e) {
 					fStatus.add(e.getStatus());
 					AbstractProblemDetector.checkIfDisposed(classFile.getApiComponent(), fMonitor);
@@ -126,6 +109,82 @@ public class ReferenceAnalyzer {
 		}
 	}
 
+	/**
+	 * Visits each class file, scheduling the extraction of its references in
+	 * the given pool. Pending extractions are kept in visit order and the
+	 * oldest one is handed off to the problem detectors as soon as too many
+	 * are pending, so that neither the number of tasks nor the number of
+	 * unfiltered references grows with the size of the scope.
+	 */
+	class ParallelVisitor extends ApiTypeContainerVisitor {
+
+		private final IProgressMonitor fMonitor;
+		private final ForkJoinPool fPool;
+		private final int fMaxPending;
+		private final Deque<PendingExtraction> fPending = new ArrayDeque<>();
+
+		public ParallelVisitor(ForkJoinPool pool, IProgressMonitor monitor) {
+			fPool = pool;
+			fMonitor = monitor;
+			fMaxPending = 2 * pool.getParallelism();
+		}
+
+		@Override
+		public boolean visitPackage(String packageName) {
+			fMonitor.subTask(MessageFormat.format(BuilderMessages.ReferenceAnalyzer_checking_api_used_by, packageName));
+			return !fMonitor.isCanceled();
+		}
+
+		@Override
+		public void endVisitPackage(String packageName) {
+			fMonitor.worked(1);
+		}
+
+		@Override
+		public void visit(String packageName, IApiTypeRoot classFile) {
+			if (fMonitor.isCanceled()) {
+				return;
+			}
+			ForkJoinTask<List<IReference>> task = fPool.submit(() -> {
+				if (fMonitor.isCanceled()) {
+					return Collections.emptyList();
+				}
+				return extractReferences(classFile);
+			});
+			fPending.add(new PendingExtraction(classFile, task));
+			while (fPending.size() > fMaxPending && !fMonitor.isCanceled()) {
+				considerExtraction(fPending.poll(), fMonitor);
+			}
+		}
+
+		/**
+		 * Hands the remaining pending extractions off to the problem
+		 * detectors, in visit order
+		 */
+		void finish() {
+			while (!fPending.isEmpty() && !fMonitor.isCanceled()) {
+				considerExtraction(fPending.poll(), fMonitor);
+			}
+		}
+
+		/**
+		 * Cancels the pending extractions that have not been handed off, once
+		 * cancelled or failed
+		 */
+		void cancel() {
+			for (PendingExtraction extraction : fPending) {
+				extraction.task().cancel(false);
+			}
+			fPending.clear();
+		}
+	}
+
+	/**
+	 * The extraction of the references of one type, possibly still running
+	 */
+	record PendingExtraction(IApiTypeRoot classFile, ForkJoinTask<List<IReference>> task) {
+	}
+
 	/**
 	 * Scan status
 	 */
@@ -148,6 +207,37 @@ public class ReferenceAnalyzer {
 	 */
 	private IApiProblemDetector[][] fIndexedDetectors;
 
+	/**
+	 * Number of types whose references are extracted and resolved
+	 * concurrently
+	 */
+	private final int fParallelism;
+
+	/**
+	 * Pool used for the concurrent extraction and resolution, only set during
+	 * an analysis with a parallelism greater than one
+	 */
+	private ForkJoinPool fPool;
+
+	/**
+	 * Constructor, uses the default parallelism of
+	 * {@link Parallelism#getDefault()}
+	 */
+	public ReferenceAnalyzer() {
+		this(Parallelism.getDefault());
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param parallelism the number of types whose references are extracted
+	 *            and resolved concurrently, 1 or less for a sequential
+	 *            analysis
+	 */
+	public ReferenceAnalyzer(int parallelism) {
+		fParallelism = Math.max(1, parallelism);
+	}
+
 	/**
 	 * Indexes the problem detectors by the reference kinds they are interested
 	 * in. For example, a detector interested in a
@@ -193,6 +283,63 @@ public class ReferenceAnalyzer {
 		return (int) Math.round(pow);
 	}
 
+	/**
+	 * Extracts the references of the given type, including the ones of its
+	 * member, local and anonymous types. Returns an empty list for these
+	 * nested types as well as for bad class files. Does not modify the state
+	 * of this analyzer so that it can run concurrently.
+	 *
+	 * @param classFile the type root to extract references from
+	 * @return the references of the type, never <code>null</code>
+	 * @exception CoreException if the extraction fails
+	 */
+	List<IReference> extractReferences(IApiTypeRoot classFile) throws CoreException {
+		IApiType type = classFile.getStructure();
+		if (type == null) {
+			// do nothing for bad class files
+			return Collections.emptyList();
+		}
+		// don't process inner/anonymous/local types, this is done
+		// in the extractor
+		if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
+			return Collections.emptyList();
+		}
+		return type.extractReferences(fAllReferenceKinds, null);
+	}
+
+	/**
+	 * Hands the given references off to the interested problem detectors,
+	 * keeping the ones that are potential matches.
+	 *
+	 * @param references references to consider
+	 * @param monitor progress monitor
+	 */
+	void considerReferences(List<IReference> references, IProgressMonitor monitor) {
+		// keep potential matches
+		for (IReference ref : references) {
+			if (monitor.isCanceled()) {
+				break;
+			}
+			// compute index of interested problem detectors
+			int index = getLog2(ref.getReferenceKind());
+			IApiProblemDetector[] detectors = fIndexedDetectors[index];
+			boolean added = false;
+			if (detectors != null) {
+				for (IApiProblemDetector detector : detectors) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					if (detector.considerReference(ref, monitor)) {
+						if (!added) {
+							fReferences.add(ref);
+							added = true;
+						}
+					}
+				}
+			}
+		}
+	}
+
 	/**
 	 * Scans the given scope extracting all reference information.
 	 *
@@ -204,19 +351,57 @@ public class ReferenceAnalyzer {
 		fStatus = new MultiStatus(ApiPlugin.PLUGIN_ID, 0, BuilderMessages.ReferenceAnalyzer_api_analysis_error, null);
 		String[] packageNames = scope.getPackageNames();
 		SubMonitor localMonitor = SubMonitor.convert(monitor, packageNames.length);
-		ApiTypeContainerVisitor visitor = new Visitor(localMonitor);
 		long start = System.currentTimeMillis();
-		try {
-			scope.accept(visitor);
-		} catch (CoreException e) {
-			fStatus.add(e.getStatus());
+		if (fPool != null) {
+			ParallelVisitor visitor = new ParallelVisitor(fPool, localMonitor);
+			try {
+				scope.accept(visitor);
+				visitor.finish();
+			} catch (CoreException e) {
+				fStatus.add(e.getStatus());
+			} finally {
+				visitor.cancel();
+			}
+		} else {
+			ApiTypeContainerVisitor visitor = new Visitor(localMonitor);
+			try {
+				scope.accept(visitor);
+			} catch (CoreException e) {
+				fStatus.add(e.getStatus());
+			}
 		}
 		long end = System.currentTimeMillis();
 		if (!fStatus.isOK()) {
 			throw new CoreException(fStatus);
 		}
 		if (ApiPlugin.DEBUG_REFERENCE_ANALYZER) {
-			System.out.println("Reference Analyzer: extracted " + fReferences.size() + " references in " + (end - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			System.out.println("Reference Analyzer: extracted " + fReferences.size() + " references in " + (end - start) + "ms" + (fPool != null ? " using " + fParallelism + " threads" : "")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+		}
+	}
+
+	/**
+	 * Waits for the given pending extraction and hands its references off to
+	 * the problem detectors.
+	 *
+	 * @param extraction the pending extraction
+	 * @param monitor progress monitor
+	 */
+	void considerExtraction(PendingExtraction extraction, IProgressMonitor monitor) {
+		try {
+			considerReferences(extraction.task().get(), monitor);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException ce) {
+				fStatus.add(ce.getStatus());
+				AbstractProblemDetector.checkIfDisposed(extraction.classFile().getApiComponent(), monitor);
+			} else if (cause instanceof RuntimeException re) {
+				throw re;
+			} else {
+				fStatus.add(Status.error(cause.getMessage(), cause));
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
 		}
 	}
 
@@ -230,6 +415,9 @@ public class ReferenceAnalyzer {
 	 */
 	public IApiProblem[] analyze(IApiComponent component, IApiTypeContainer scope, IProgressMonitor monitor) throws CoreException {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, 4);
+		if (fParallelism > 1) {
+			fPool = new ForkJoinPool(fParallelism);
+		}
 		try {
 			// build problem detectors
 			IApiProblemDetector[] detectors = buildProblemDetectors(component, ProblemDetectorBuilder.K_ALL,
@@ -244,7 +432,7 @@ public class ReferenceAnalyzer {
 			// 2. resolve problematic references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
 			if (fReferences.size() != 0) {
-				ReferenceResolver.resolveReferences(fReferences);
+				ReferenceResolver.resolveReferences(fReferences, fPool);
 			}
 			// 3. create problems
 			List<IApiProblem> allProblems = new LinkedList<>();
@@ -264,6 +452,10 @@ public class ReferenceAnalyzer {
 			// clean up
 			fIndexedDetectors = null;
 			fReferences.clear();
+			if (fPool != null) {
+				fPool.shutdownNow();
+				fPool = null;
+			}
 		}
 	}
 
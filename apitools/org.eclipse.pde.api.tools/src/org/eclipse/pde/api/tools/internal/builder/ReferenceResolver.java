@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,8 +17,13 @@ import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
@@ -44,6 +49,18 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something goes wrong
 	 */
 	public static void resolveReferences(List<IReference> references) throws CoreException {
+		resolveReferences(references, null);
+	}
+
+	/**
+	 * Resolves retained references, concurrently if a pool is given.
+	 *
+	 * @param references list of {@link IReference} to resolve
+	 * @param pool the pool to resolve the references in or <code>null</code>
+	 *            to resolve them on the calling thread
+	 * @throws CoreException if something goes wrong
+	 */
+	public static void resolveReferences(List<IReference> references, ForkJoinPool pool) throws CoreException {
 		// sort references by target type for 'shared' resolution
 		int refcount = references.size();
 		Map<String, List<IReference>> sigtoref = new LinkedHashMap<>(refcount);
@@ -72,15 +89,37 @@ public final class ReferenceResolver {
 		}
 		// resolve references
 		start = System.currentTimeMillis();
-		resolveReferenceSets(sigtoref);
+		if (pool != null) {
+			List<ForkJoinTask<Void>> tasks = new ArrayList<>(sigtoref.size());
+			for (List<IReference> set : sigtoref.values()) {
+				tasks.add(pool.submit(() -> {
+					resolveReferenceSet(set);
+					return null;
+				}));
+			}
+			joinAll(tasks);
+		} else {
+			resolveReferenceSets(sigtoref);
+		}
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
 			System.out.println("Reference resolver: resolved unique references in " + (end - start) + "ms"); //$NON-NLS-1$//$NON-NLS-2$
 		}
 		// resolve method overrides
 		start = System.currentTimeMillis();
-		for (Reference reference : methodDecls) {
-			reference.resolve();
+		if (pool != null) {
+			List<ForkJoinTask<Void>> tasks = new ArrayList<>(methodDecls.size());
+			for (Reference reference : methodDecls) {
+				tasks.add(pool.submit(() -> {
+					reference.resolve();
+					return null;
+				}));
+			}
+			joinAll(tasks);
+		} else {
+			for (Reference reference : methodDecls) {
+				reference.resolve();
+			}
 		}
 		end = System.currentTimeMillis();
 		if (ApiPlugin.DEBUG_REFERENCE_RESOLVER) {
@@ -95,17 +134,57 @@ public final class ReferenceResolver {
 	 * @throws CoreException if something bad happens
 	 */
 	private static void resolveReferenceSets(Map<String, List<IReference>> map) throws CoreException {
-		IReference ref = null;
 		for (List<IReference> refs : map.values()) {
-			ref = refs.get(0);
-			((Reference) ref).resolve();
-			IApiMember resolved = ref.getResolvedReference();
-			if (resolved != null) {
-				for (IReference ref2 : refs) {
-					((Reference) ref2).setResolution(resolved);
+			resolveReferenceSet(refs);
+		}
+	}
+
+	/**
+	 * Resolves the first reference of the given set and shares its resolution
+	 * with the other references of the set.
+	 *
+	 * @param refs references to the same type or member
+	 * @throws CoreException if something bad happens
+	 */
+	private static void resolveReferenceSet(List<IReference> refs) throws CoreException {
+		IReference ref = refs.get(0);
+		((Reference) ref).resolve();
+		IApiMember resolved = ref.getResolvedReference();
+		if (resolved != null) {
+			for (IReference ref2 : refs) {
+				((Reference) ref2).setResolution(resolved);
+			}
+		}
+	}
+
+	/**
+	 * Waits for all the given resolutions, rethrowing the first failure once
+	 * they are all done.
+	 *
+	 * @param tasks the pending resolutions
+	 * @throws CoreException if a resolution failed
+	 */
+	private static void joinAll(List<ForkJoinTask<Void>> tasks) throws CoreException {
+		Throwable failure = null;
+		for (ForkJoinTask<Void> task : tasks) {
+			try {
+				task.get();
+			} catch (ExecutionException e) {
+				if (failure == null) {
+					failure = e.getCause();
 				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
 			}
 		}
+		if (failure instanceof CoreException ce) {
+			throw ce;
+		} else if (failure instanceof RuntimeException re) {
+			throw re;
+		} else if (failure != null) {
+			throw new CoreException(Status.error(failure.getMessage(), failure));
+		}
 	}
 
 	/**
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+
+/**
+ * Memoizes the resolution of member references during a workspace build, so
+ * that the same fields and methods are not looked up over and over again in the
+ * type hierarchies for each type and project being built.
+ * <p>
+ * The cache is opened by the first call to {@link #acquire()} and discarded
+ * when the matching number of calls to {@link #release()} has been made. The
+ * workspace delta processor holds it for the duration of a workspace build and
+ * each API analysis holds it while it runs, which covers analyses running as
+ * jobs after the workspace build is over.
+ * </p>
+ * <p>
+ * The referenced type is still looked up from the component the reference is
+ * made from, and the resolution of the member is then keyed by the referenced
+ * type, so that all the projects referencing the same type share it.
+ * Resolutions of members of workspace projects are dropped when the projects
+ * change, either because they are built or because their contents change, and
+ * all resolutions are dropped when the workspace baseline is disposed.
+ * </p>
+ */
+public final class ResolutionCache {
+
+	/**
+	 * Key of a member resolution: the component the referenced type was found
+	 * in, the referenced member and what determines how it is looked up in the
+	 * type hierarchy
+	 */
+	record Key(IApiComponent component, String typeName, int referenceType, boolean interfaceMethod, boolean defaultMethod, String memberName, String signature) {
+	}
+
+	private static final Object LOCK = new Object();
+
+	private static ResolutionCache fCurrent;
+
+	private static int fUsers;
+
+	private final Map<Key, IApiMember> fResolutions = new ConcurrentHashMap<>();
+
+	/**
+	 * Keys of the resolutions involving each workspace project, guarded by
+	 * itself. Resolutions involving projects are added and dropped while it is
+	 * locked, so that a resolution cannot outlive the change of its projects.
+	 */
+	private final Map<IProject, Set<Key>> fProjectKeys = new HashMap<>();
+
+	private final LongAdder fHits = new LongAdder();
+
+	private final LongAdder fMisses = new LongAdder();
+
+	private final long fStart = System.currentTimeMillis();
+
+	private ResolutionCache() {
+	}
+
+	/**
+	 * Opens the cache if needed and registers a new user of it.
+	 */
+	public static void acquire() {
+		synchronized (LOCK) {
+			if (fUsers++ == 0) {
+				fCurrent = new ResolutionCache();
+			}
+		}
+	}
+
+	/**
+	 * Unregisters a user of the cache, discarding the cache once it has no
+	 * users anymore. Unbalanced calls are ignored.
+	 */
+	public static void release() {
+		ResolutionCache discarded = null;
+		synchronized (LOCK) {
+			if (fUsers == 0) {
+				return;
+			}
+			if (--fUsers == 0) {
+				discarded = fCurrent;
+				fCurrent = null;
+			}
+		}
+		if (discarded != null && ApiPlugin.DEBUG_BUILDER) {
+			System.out.println("ApiAnalysisBuilder: discarded reference resolution cache " + discarded + " after " + (System.currentTimeMillis() - discarded.fStart) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * @return the cache of the workspace build in progress or <code>null</code>
+	 *         if there is none
+	 */
+	public static ResolutionCache getCurrent() {
+		synchronized (LOCK) {
+			return fCurrent;
+		}
+	}
+
+	/**
+	 * Drops the resolutions involving the given workspace project from the
+	 * cache of the workspace build in progress, if any.
+	 *
+	 * @param project the project that changed
+	 */
+	public static void projectChanged(IProject project) {
+		ResolutionCache cache = getCurrent();
+		if (cache != null) {
+			cache.dropProject(project);
+		}
+	}
+
+	/**
+	 * Drops all the resolutions from the cache of the workspace build in
+	 * progress, if any, since the components they were found in are disposed
+	 * along with the workspace baseline.
+	 */
+	public static void workspaceBaselineDisposed() {
+		ResolutionCache cache = getCurrent();
+		if (cache != null) {
+			synchronized (cache.fProjectKeys) {
+				cache.fProjectKeys.clear();
+				cache.fResolutions.clear();
+			}
+		}
+	}
+
+	/**
+	 * Returns the key of the resolution of the given field or method reference
+	 * in the given referenced type, or <code>null</code> if it cannot be
+	 * cached.
+	 *
+	 * @param reference the reference
+	 * @param referencedType the type the reference was resolved to
+	 * @return the key or <code>null</code>
+	 */
+	static Key getKey(IReference reference, IApiType referencedType) {
+		IApiComponent component = referencedType.getApiComponent();
+		if (component == null) {
+			return null;
+		}
+		return switch (reference.getReferenceType())
+			{
+			case IReference.T_FIELD_REFERENCE -> new Key(component, referencedType.getName(), IReference.T_FIELD_REFERENCE, false, false, reference.getReferencedMemberName(), null);
+			case IReference.T_METHOD_REFERENCE -> new Key(component, referencedType.getName(), IReference.T_METHOD_REFERENCE,
+					reference.getReferenceKind() == IReference.REF_INTERFACEMETHOD, (reference.getReferenceFlags() & IReference.F_DEFAULT_METHOD) > 0,
+					reference.getReferencedMemberName(), reference.getReferencedSignature());
+			default -> null;
+			};
+	}
+
+	/**
+	 * Returns the workspace project of the given component or
+	 * <code>null</code> if it is not a project component.
+	 */
+	private static IProject getProject(IApiComponent component) {
+		if (component instanceof ProjectComponent project) {
+			return project.getJavaProject().getProject();
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the member the given key was resolved to, or <code>null</code> if
+	 * it has not been resolved yet.
+	 *
+	 * @param key the key of a reference
+	 * @return the cached resolution or <code>null</code>
+	 */
+	IApiMember get(Key key) {
+		IApiMember resolved = fResolutions.get(key);
+		if (resolved == null) {
+			fMisses.increment();
+		} else {
+			fHits.increment();
+		}
+		return resolved;
+	}
+
+	/**
+	 * Remembers the member the given key was resolved to. If the referenced
+	 * type or the resolved member belongs to a workspace project, the
+	 * resolution is dropped when the project changes.
+	 *
+	 * @param key the key of a reference
+	 * @param resolved the resolved member, may be <code>null</code>
+	 */
+	void put(Key key, IApiMember resolved) {
+		if (resolved == null) {
+			return;
+		}
+		IProject referencedProject = getProject(key.component());
+		IProject resolvedProject = getProject(resolved.getApiComponent());
+		if (referencedProject == null && resolvedProject == null) {
+			fResolutions.put(key, resolved);
+			return;
+		}
+		synchronized (fProjectKeys) {
+			if (referencedProject != null) {
+				fProjectKeys.computeIfAbsent(referencedProject, project -> new HashSet<>()).add(key);
+			}
+			if (resolvedProject != null) {
+				fProjectKeys.computeIfAbsent(resolvedProject, project -> new HashSet<>()).add(key);
+			}
+			fResolutions.put(key, resolved);
+		}
+	}
+
+	/**
+	 * Drops the resolutions involving the given workspace project.
+	 *
+	 * @param project the project
+	 */
+	void dropProject(IProject project) {
+		synchronized (fProjectKeys) {
+			Set<Key> keys = fProjectKeys.remove(project);
+			if (keys != null) {
+				for (Key key : keys) {
+					fResolutions.remove(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return the number of lookups that found a cached resolution
+	 */
+	public long getHitCount() {
+		return fHits.sum();
+	}
+
+	/**
+	 * @return the number of lookups that did not find a cached resolution
+	 */
+	public long getMissCount() {
+		return fMisses.sum();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("[entries: ").append(fResolutions.size()); //$NON-NLS-1$
+		buffer.append(", hits: ").append(fHits.sum()); //$NON-NLS-1$
+		buffer.append(", misses: ").append(fMisses.sum()).append(']'); //$NON-NLS-1$
+		return buffer.toString();
+	}
+}
@@ -0,0 +1,438 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.comparator;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
+import org.eclipse.pde.api.tools.internal.provisional.ApiDescriptionVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
+import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.IRequiredComponentDescription;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.eclipse.pde.api.tools.internal.util.Util;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Computes content fingerprints of API components and of their types, so that
+ * the comparison of components and types that did not change since the
+ * reference baseline can be skipped without parsing their class files.
+ * <p>
+ * The fingerprint of a type covers the class files of the type and of its
+ * nested types. A type is only considered unchanged if its super types are
+ * unchanged as well, which can only be checked for super types found in the
+ * same component or in the JDK; types with super types in other components are
+ * always compared. The fingerprint of a component
+ * covers all its class files, its API description and its execution
+ * environments; components re-exporting
+ * other components have no fingerprint since their comparison also covers the
+ * re-exported components, and neither have components with types whose super
+ * types are neither in the component nor in the JDK, for the same reason as
+ * types. Along with the fingerprints, the API annotations of
+ * the compared types are checked to be identical.
+ * </p>
+ * <p>
+ * The fingerprints of components that are not workspace projects do not
+ * change while the components are loaded, they are cached with the component
+ * instances for the whole session. Since components of different baselines can
+ * be equal while having different contents, the cache is keyed by identity.
+ * The fingerprints of workspace projects are only kept
+ * by the instance that computed them, which should not outlive one
+ * comparison.
+ * </p>
+ * <p>
+ * Fingerprints can be disabled by setting the
+ * {@link #ENABLED_PROPERTY} system property to <code>false</code>.
+ * </p>
+ */
+public final class ContentFingerprints {
+
+	/**
+	 * System property enabling the fingerprints, defaults to true
+	 */
+	public static final String ENABLED_PROPERTY = "org.eclipse.pde.api.tools.comparator.fingerprints"; //$NON-NLS-1$
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, Boolean.TRUE.toString()));
+
+	private static final String DIGEST_ALGORITHM = "SHA-256"; //$NON-NLS-1$
+
+	private static final String JDK_PACKAGE_PREFIX = "java."; //$NON-NLS-1$
+
+	/**
+	 * Fingerprints of the components that are not workspace projects, guarded
+	 * by itself
+	 */
+	private static final Map<ComponentKey, Fingerprints> CACHE = new HashMap<>();
+
+	/**
+	 * Queue of the keys of the collected components
+	 */
+	private static final ReferenceQueue<IApiComponent> COLLECTED = new ReferenceQueue<>();
+
+	/**
+	 * Weak key comparing components by identity
+	 */
+	private static final class ComponentKey extends WeakReference<IApiComponent> {
+
+		private final int fHash;
+
+		ComponentKey(IApiComponent component, ReferenceQueue<IApiComponent> queue) {
+			super(component, queue);
+			fHash = System.identityHashCode(component);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj) {
+				return true;
+			}
+			if (obj instanceof ComponentKey key) {
+				IApiComponent component = get();
+				return component != null && component == key.get();
+			}
+			return false;
+		}
+	}
+
+	/**
+	 * Fingerprints of one component, computed lazily one package at a time
+	 */
+	private static final class Fingerprints {
+
+		/**
+		 * Fingerprints of the top-level types of the scanned packages, types
+		 * with a class file that cannot be read are mapped to
+		 * <code>null</code>
+		 */
+		private final Map<String, Long> fTypes = new HashMap<>();
+
+		private final Set<String> fPackages = new HashSet<>();
+
+		private boolean fAllScanned;
+
+		private Long fComponent;
+
+		private boolean fComponentComputed;
+
+		synchronized Long getType(IApiComponent component, String typeName) throws CoreException {
+			String packageName = Signatures.getPackageName(typeName);
+			if (!fAllScanned && fPackages.add(packageName)) {
+				scan(component, packageName, fTypes, null);
+			}
+			return fTypes.get(getTopLevelName(typeName));
+		}
+
+		synchronized Long getComponent(IApiComponent component) throws CoreException {
+			if (!fComponentComputed) {
+				fComponent = computeComponent(component);
+				fComponentComputed = true;
+			}
+			return fComponent;
+		}
+
+		private Long computeComponent(IApiComponent component) throws CoreException {
+			for (IRequiredComponentDescription description : component.getRequiredComponents()) {
+				if (description.isExported()) {
+					return null;
+				}
+			}
+			Map<String, Long> types = new HashMap<>();
+			Map<String, String[]> superTypes = new HashMap<>();
+			scan(component, null, types, superTypes);
+			fTypes.clear();
+			fTypes.putAll(types);
+			fAllScanned = true;
+			// a change in a super type of another component changes the delta
+			for (String[] superTypeNames : superTypes.values()) {
+				for (String superTypeName : superTypeNames) {
+					if (!superTypes.containsKey(superTypeName) && !superTypeName.startsWith(JDK_PACKAGE_PREFIX)) {
+						return null;
+					}
+				}
+			}
+			long classFiles = 0;
+			for (Long type : types.values()) {
+				if (type == null) {
+					return null;
+				}
+				classFiles += type.longValue();
+			}
+			AnnotationsDigest annotations = new AnnotationsDigest();
+			component.getApiDescription().accept(annotations, null);
+			List<String> environments = new ArrayList<>(component.getExecutionEnvironments());
+			Collections.sort(environments);
+			MessageDigest digest = newDigest();
+			digest.update(ByteBuffer.allocate(Long.BYTES * 2).putLong(classFiles).putLong(annotations.fValue).array());
+			digest.update(String.join(",", environments).getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return Long.valueOf(toLong(digest.digest()));
+		}
+	}
+
+	/**
+	 * Order independent digest of the API annotations visited
+	 */
+	private static final class AnnotationsDigest extends ApiDescriptionVisitor {
+
+		private final MessageDigest fDigest = newDigest();
+
+		private long fValue;
+
+		@Override
+		public boolean visitElement(IElementDescriptor element, IApiAnnotations description) {
+			add(element, description);
+			return true;
+		}
+
+		void add(IElementDescriptor element, IApiAnnotations annotations) {
+			String entry = element.getElementType() + ":" + element + ":" + annotations.getVisibility() + ":" + annotations.getRestrictions(); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			fValue += toLong(fDigest.digest(entry.getBytes(StandardCharsets.UTF_8)));
+		}
+	}
+
+	/**
+	 * Fingerprints of the workspace projects compared through this instance
+	 */
+	private final Map<IApiComponent, Fingerprints> fProjects = new HashMap<>();
+
+	/**
+	 * Returns if the given component has the same content as the given
+	 * reference component. Components with types whose super types are
+	 * neither in the component nor in the JDK are considered changed.
+	 *
+	 * @param reference the reference component
+	 * @param component the component to compare with
+	 * @return true if both components have the same fingerprint, false if they
+	 *         differ or if one of them has no fingerprint
+	 */
+	public boolean isUnchanged(IApiComponent reference, IApiComponent component) {
+		if (!ENABLED) {
+			return false;
+		}
+		try {
+			Long fingerprint = getFingerprints(reference).getComponent(reference);
+			return fingerprint != null && fingerprint.equals(getFingerprints(component).getComponent(component));
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
+			return false;
+		}
+	}
+
+	/**
+	 * Returns if the given type and its super types have the same content and
+	 * the same API annotations in the given component as in the given reference
+	 * component. Types with super types that are neither in the given component
+	 * nor in the JDK are considered changed.
+	 *
+	 * @param type a type of the component to compare with
+	 * @param reference the reference component
+	 * @param component the component to compare with
+	 * @return true if the type and its super types have the same fingerprints
+	 *         and annotations in both components, false otherwise
+	 */
+	public boolean isUnchanged(IApiType type, IApiComponent reference, IApiComponent component) {
+		if (!ENABLED) {
+			return false;
+		}
+		try {
+			return isUnchanged(type, reference, component, new HashSet<>());
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
+			return false;
+		}
+	}
+
+	private boolean isUnchanged(IApiType type, IApiComponent reference, IApiComponent component, Set<String> visited) throws CoreException {
+		String typeName = type.getName();
+		if (!visited.add(typeName)) {
+			return true;
+		}
+		Long fingerprint = getFingerprints(reference).getType(reference, typeName);
+		if (fingerprint == null || !fingerprint.equals(getFingerprints(component).getType(component, typeName))) {
+			return false;
+		}
+		if (getAnnotations(reference.getApiDescription(), typeName) != getAnnotations(component.getApiDescription(), typeName)) {
+			return false;
+		}
+		// a change in the hierarchy of the type changes its delta
+		List<String> superTypeNames = new ArrayList<>();
+		if (type.getSuperclassName() != null) {
+			superTypeNames.add(type.getSuperclassName());
+		}
+		if (type.getSuperInterfaceNames() != null) {
+			Collections.addAll(superTypeNames, type.getSuperInterfaceNames());
+		}
+		for (String superTypeName : superTypeNames) {
+			IApiTypeRoot superTypeRoot = component.findTypeRoot(superTypeName);
+			if (superTypeRoot == null) {
+				// the JDK does not change between the compared components
+				if (!superTypeName.startsWith(JDK_PACKAGE_PREFIX)) {
+					return false;
+				}
+				continue;
+			}
+			IApiType superType = superTypeRoot.getStructure();
+			if (superType == null || !isUnchanged(superType, reference, component, visited)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private synchronized Fingerprints getFingerprints(IApiComponent component) {
+		if (component instanceof ProjectComponent) {
+			return fProjects.computeIfAbsent(component, c -> new Fingerprints());
+		}
+		synchronized (CACHE) {
+			Reference<? extends IApiComponent> collected;
+			while ((collected = COLLECTED.poll()) != null) {
+				CACHE.remove(collected);
+			}
+			Fingerprints fingerprints = CACHE.get(new ComponentKey(component, null));
+			if (fingerprints == null) {
+				fingerprints = new Fingerprints();
+				CACHE.put(new ComponentKey(component, COLLECTED), fingerprints);
+			}
+			return fingerprints;
+		}
+	}
+
+	/**
+	 * Returns the digest of the resolved annotations of the given type and of
+	 * the annotations of its members
+	 */
+	private static long getAnnotations(IApiDescription description, String typeName) {
+		IReferenceTypeDescriptor type = Util.getType(typeName);
+		AnnotationsDigest digest = new AnnotationsDigest();
+		IApiAnnotations annotations = description.resolveAnnotations(type);
+		if (annotations != null) {
+			digest.add(type, annotations);
+		}
+		description.accept(digest, type, null);
+		return digest.fValue;
+	}
+
+	/**
+	 * Adds the fingerprints of the class files of the given package, or of
+	 * all packages if <code>null</code>, to the given map, grouped by
+	 * top-level type. If a map of super types is given, the names of the
+	 * super class and super interfaces of each type are added to it.
+	 */
+	private static void scan(IApiComponent component, String packageName, Map<String, Long> types, Map<String, String[]> superTypes) throws CoreException {
+		MessageDigest digest = newDigest();
+		for (IApiTypeContainer container : component.getApiTypeContainers()) {
+			container.accept(new ApiTypeContainerVisitor() {
+				@Override
+				public boolean visitPackage(String name) {
+					return packageName == null || packageName.equals(name);
+				}
+
+				@Override
+				public void visit(String name, IApiTypeRoot typeRoot) {
+					String topLevelName = getTopLevelName(typeRoot.getTypeName());
+					Long fingerprint = null;
+					if (typeRoot instanceof AbstractApiTypeRoot root) {
+						try {
+							digest.update(typeRoot.getTypeName().getBytes(StandardCharsets.UTF_8));
+							digest.update((byte) 0);
+							byte[] contents = root.getContents();
+							digest.update(contents);
+							fingerprint = Long.valueOf(toLong(digest.digest()));
+							if (superTypes != null) {
+								superTypes.put(typeRoot.getTypeName(), getSuperTypeNames(contents));
+							}
+						} catch (CoreException e) {
+							digest.reset();
+						} catch (RuntimeException e) {
+							// not a valid class file
+							digest.reset();
+							fingerprint = null;
+						}
+					}
+					if (fingerprint == null || (types.containsKey(topLevelName) && types.get(topLevelName) == null)) {
+						types.put(topLevelName, null);
+					} else {
+						types.merge(topLevelName, fingerprint, Long::sum);
+					}
+				}
+			});
+		}
+	}
+
+	/**
+	 * Returns the names of the super class and super interfaces of the type
+	 * in the given class file
+	 */
+	private static String[] getSuperTypeNames(byte[] contents) {
+		ClassReader reader = new ClassReader(contents);
+		String superName = reader.getSuperName();
+		String[] interfaces = reader.getInterfaces();
+		List<String> names = new ArrayList<>(interfaces.length + 1);
+		if (superName != null) {
+			names.add(superName.replace('/', '.'));
+		}
+		for (String name : interfaces) {
+			names.add(name.replace('/', '.'));
+		}
+		return names.toArray(String[]::new);
+	}
+
+	/**
+	 * Returns the name of the top-level type enclosing the given type
+	 */
+	static String getTopLevelName(String typeName) {
+		int index = typeName.indexOf('$', typeName.lastIndexOf('.') + 1);
+		return index < 0 ? typeName : typeName.substring(0, index);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static long toLong(byte[] digest) {
+		return ByteBuffer.wrap(digest).getLong();
+	}
+}
@@ -59,7 +59,7 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 			type = (IApiType) cache.getElementInfo(baseline.getName(), comp.getSymbolicName(), this.getTypeName(), IApiElement.TYPE);
 		}
 		if (type == null) {
-			type = TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+			type = buildStructure();
 			if (type == null) {
 				return null;
 			}
@@ -79,6 +79,17 @@ public abstract class AbstractApiTypeRoot extends ApiElement implements IApiType
 		return fType;
 	}
 
+	/**
+	 * Builds the type structure of this type root. Called when the structure is
+	 * neither cached in this type root nor in the {@link ApiModelCache}.
+	 *
+	 * @return the type structure or <code>null</code> if it cannot be built
+	 * @throws CoreException if the contents of this type root cannot be read
+	 */
+	protected IApiType buildStructure() throws CoreException {
+		return TypeStructureBuilder.buildTypeStructure(getContents(), getApiComponent(), this);
+	}
+
 	/**
 	 * @see IApiTypeRoot#getApiComponent()
 	 */
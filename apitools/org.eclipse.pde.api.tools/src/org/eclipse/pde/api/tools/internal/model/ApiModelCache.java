@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2019 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,58 +13,130 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.model;
 
-import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 import org.eclipse.core.runtime.CoreException;
-import org.eclipse.jdt.internal.core.util.LRUCache;
-import org.eclipse.pde.api.tools.internal.SynchronizedOverflowingLRUCache;
+import org.eclipse.pde.api.tools.internal.ConcurrentWeightedLRUCache;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
 
 /**
  * Manages the caches of {@link IApiElement}s
+ * <p>
+ * Elements are kept in {@link ConcurrentWeightedLRUCache}s bounded by the
+ * estimated heap footprint of the cached elements. The maximum footprint can
+ * be configured using the {@value #MAX_WEIGHT_PROPERTY} system property, in
+ * megabytes. Member types are cached in groups, one per root type, so that
+ * they can be removed along with their root type. The cached elements are
+ * grouped by baseline and component, so that the elements of a component or
+ * of a baseline can be removed without visiting the other elements.
+ * </p>
  *
  * @since 1.0.2
  */
 public final class ApiModelCache {
 
 	/**
-	 * Cache used for {@link IApiElement}s
+	 * Key of a cached element
 	 */
-	static class Cache<K, V> extends SynchronizedOverflowingLRUCache<K, V> {
+	record ElementKey(String baseline, String component, String name) {
+
+		ComponentKey owner() {
+			return new ComponentKey(baseline, component);
+		}
+	}
+
+	/**
+	 * Key of the group of the cached elements of one component
+	 */
+	record ComponentKey(String baseline, String component) {
+	}
+
+	/**
+	 * Group of the cached member types of one root type, along with their
+	 * estimated footprint. A group is only updated while the lock of its cache
+	 * segment is held, and can be read concurrently.
+	 */
+	static final class MemberTypes {
+
+		private final Map<String, ApiType> fTypes = new ConcurrentHashMap<>();
+		private long fWeight;
+
+		MemberTypes add(ApiType type) {
+			ApiType previous = fTypes.put(type.getName(), type);
+			fWeight += estimateSize(type);
+			if (previous != null) {
+				fWeight -= estimateSize(previous);
+			}
+			return this;
+		}
 
 		/**
-		 * Constructor
+		 * @return this group, or <code>null</code> if the group is empty once
+		 *         the type is removed
 		 */
-		public Cache(int size, int overflow) {
-			super(size, overflow);
+		MemberTypes remove(String name) {
+			ApiType removed = fTypes.remove(name);
+			if (removed != null) {
+				fWeight -= estimateSize(removed);
+			}
+			return fTypes.isEmpty() ? null : this;
 		}
 
-		@Override
-		protected boolean close(LRUCacheEntry<K, V> entry) {
-			return true;
+		ApiType get(String name) {
+			return fTypes.get(name);
 		}
 
-		@Override
-		protected LRUCache<K, V> newInstance(int size, int newOverflow) {
-			return new Cache<>(size, newOverflow);
+		long weight() {
+			return fWeight;
 		}
 
+		@Override
+		public String toString() {
+			return fTypes.keySet().toString();
+		}
 	}
 
-	static final int DEFAULT_CACHE_SIZE = 1000;
-	static final int DEFAULT_OVERFLOW = (int) (DEFAULT_CACHE_SIZE * 0.1f);
+	/**
+	 * System property used to configure the maximum estimated size of the
+	 * cached elements, in megabytes
+	 */
+	public static final String MAX_WEIGHT_PROPERTY = "org.eclipse.pde.api.tools.modelcache.size"; //$NON-NLS-1$
+
+	static final long DEFAULT_MAX_WEIGHT = 64L * 1024 * 1024;
+	static final int CONCURRENCY_LEVEL = 16;
 	static ApiModelCache fInstance = null;
 
-	Cache<String, Cache<String, Cache<String, IApiElement>>> fRootCache;
-	Cache<String, Cache<String, ApiType>> fMemberTypeCache;
+	final ConcurrentWeightedLRUCache<ElementKey, IApiElement> fRootCache;
+	/**
+	 * Member types keyed by the name of their root type
+	 */
+	final ConcurrentWeightedLRUCache<ElementKey, MemberTypes> fMemberTypeCache;
+
+	/**
+	 * Names of the baselines that elements have been cached for
+	 */
+	final Set<String> fBaselines = ConcurrentHashMap.newKeySet();
 
 	/**
 	 * Constructor - no instantiation
 	 */
 	private ApiModelCache() {
+		long maxWeight = DEFAULT_MAX_WEIGHT;
+		Long size = Long.getLong(MAX_WEIGHT_PROPERTY);
+		if (size != null && size.longValue() > 0) {
+			maxWeight = size.longValue() * 1024 * 1024;
+		}
+		// member types are far less frequently looked up than root types
+		fRootCache = new ConcurrentWeightedLRUCache<>(maxWeight - maxWeight / 4, CONCURRENCY_LEVEL, ApiModelCache::estimateSize, ElementKey::owner);
+		fMemberTypeCache = new ConcurrentWeightedLRUCache<>(maxWeight / 4, CONCURRENCY_LEVEL, MemberTypes::weight, ElementKey::owner);
 	}
 
 	/**
@@ -80,15 +152,33 @@ public final class ApiModelCache {
 	}
 
 	/**
-	 * Returns the key to use in a cache. The key is of the form:
-	 * <code>[baselineid].[componentid].[typename]</code><br>
+	 * Returns a rough estimate of the heap footprint of the given element, in
+	 * bytes.
 	 *
-	 * @return the member type cache key to use
+	 * @param element the element to estimate the footprint of
+	 * @return the estimated footprint
 	 */
-	private String getCacheKey(String baseline, String component, String typename) {
-		StringBuilder buffer = new StringBuilder();
-		buffer.append(baseline).append('.').append(component).append('.').append(typename);
-		return buffer.toString();
+	static long estimateSize(IApiElement element) {
+		long size = 64 + 2L * element.getName().length();
+		if (element instanceof ApiType type) {
+			size += 128;
+			for (IApiMethod method : type.getMethods()) {
+				size += 96 + 2L * method.getName().length();
+				if (method.getSignature() != null) {
+					size += 2L * method.getSignature().length();
+				}
+				if (method.getGenericSignature() != null) {
+					size += 2L * method.getGenericSignature().length();
+				}
+			}
+			for (IApiField field : type.getFields()) {
+				size += 80 + 2L * field.getName().length();
+				if (field.getSignature() != null) {
+					size += 2L * field.getSignature().length();
+				}
+			}
+		}
+		return size;
 	}
 
 	/**
@@ -103,9 +193,6 @@ public final class ApiModelCache {
 	public void cacheElementInfo(IApiElement element) throws CoreException {
 		switch (element.getType()) {
 			case IApiElement.TYPE: {
-				if (fRootCache == null) {
-					fRootCache = new Cache<>(DEFAULT_CACHE_SIZE / 150, DEFAULT_OVERFLOW / 150);
-				}
 				IApiComponent comp = element.getApiComponent();
 				if (comp != null) {
 					IApiBaseline baseline = comp.getBaseline();
@@ -113,45 +200,15 @@ public final class ApiModelCache {
 					if (id == null) {
 						return;
 					}
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baseline.getName());
-					if (compcache == null) {
-						compcache = new Cache<>(DEFAULT_CACHE_SIZE / 2, DEFAULT_OVERFLOW / 2);
-						fRootCache.put(baseline.getName(), compcache);
-					}
-					Cache<String, IApiElement> typecache = compcache.get(id);
-					if (typecache == null) {
-						typecache = new Cache<>(DEFAULT_CACHE_SIZE * 2, DEFAULT_OVERFLOW);
-						compcache.put(comp.getSymbolicName(), typecache);
-					}
+					fBaselines.add(baseline.getName());
 					ApiType type = (ApiType) element;
-					if (type.isMemberType() || isMemberType(type.getName()) /*
-																			 * cache
-																			 * even
-																			 * a
-																			 * root
-																			 * type
-																			 * with
-																			 * a
-																			 * '$'
-																			 * in
-																			 * its
-																			 * name
-																			 * here
-																			 * as
-																			 * well
-																			 */) {
-						if (this.fMemberTypeCache == null) {
-							this.fMemberTypeCache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-						}
-						String key = getCacheKey(baseline.getName(), id, getRootName(type.getName()));
-						Cache<String, ApiType> mcache = this.fMemberTypeCache.get(key);
-						if (mcache == null) {
-							mcache = new Cache<>(DEFAULT_CACHE_SIZE, DEFAULT_OVERFLOW);
-							this.fMemberTypeCache.put(key, mcache);
-						}
-						mcache.put(type.getName(), type);
+					// cache even a root type with a '$' in its name here as
+					// well
+					if (type.isMemberType() || isMemberType(type.getName())) {
+						ElementKey key = new ElementKey(baseline.getName(), id, getRootName(type.getName()));
+						fMemberTypeCache.compute(key, (k, group) -> (group == null ? new MemberTypes() : group).add(type));
 					} else {
-						typecache.put(element.getName(), element);
+						fRootCache.put(new ElementKey(baseline.getName(), id, type.getName()), element);
 					}
 				}
 				break;
@@ -167,7 +224,7 @@ public final class ApiModelCache {
 	 *
 	 * @return the pruned name or the original name
 	 */
-	private String getRootName(String typename) {
+	private static String getRootName(String typename) {
 		int idx = typename.indexOf('$');
 		if (idx > -1) {
 			return typename.substring(0, idx);
@@ -180,7 +237,7 @@ public final class ApiModelCache {
 	 *
 	 * @return true if the type name contains '$' false otherwise
 	 */
-	private boolean isMemberType(String typename) {
+	private static boolean isMemberType(String typename) {
 		return typename.indexOf('$') > -1;
 	}
 
@@ -200,40 +257,27 @@ public final class ApiModelCache {
 	 *         element is cached
 	 */
 	public IApiElement getElementInfo(String baselineid, String componentid, String identifier, int type) {
-		if (baselineid == null || componentid == null) {
+		if (baselineid == null || componentid == null || identifier == null) {
 			return null;
 		}
 		switch (type) {
 			case IApiElement.TYPE: {
+				IApiElement element;
 				if (isMemberType(identifier)) {
-					if (this.fMemberTypeCache != null) {
-						Cache<String, ApiType> mcache = this.fMemberTypeCache
-								.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-						if (mcache != null) {
-							return mcache.get(identifier);
-						}
-					}
+					MemberTypes group = fMemberTypeCache.get(new ElementKey(baselineid, componentid, getRootName(identifier)));
+					element = group == null ? null : group.get(identifier);
 				} else {
-					if (this.fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null && identifier != null) {
-								IApiElement ele = typecache.get(identifier);
-								if (ele != null) {
-									return ele;
-								}
-
-							}
-						}
-					}
+					element = fRootCache.get(new ElementKey(baselineid, componentid, identifier));
+				}
+				if (element != null) {
+					return element;
 				}
 				break;
 			}
 			default:
 				break;
-			}
-		if (componentid.startsWith("JavaSE-") && this.fRootCache != null) { //$NON-NLS-1$
+		}
+		if (componentid.startsWith("JavaSE-")) { //$NON-NLS-1$
 			// for system component, retrieve element from any baseline instead
 			// of recreating the structure and caching the equivalent element info
 			IApiElement element = getElementInfoFromAnyBaseline(baselineid, componentid, identifier);
@@ -245,26 +289,18 @@ public final class ApiModelCache {
 	}
 
 	private IApiElement getElementInfoFromAnyBaseline(String baselineid, String componentid, String updatedIdentifier) {
-		List<String> elements = fRootCache.keysSnapshot();
-		for (String otherBaselines : elements) {
-				if (otherBaselines.equals(baselineid)) {
-					continue;
-				}
-				Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(otherBaselines);
-				if (compcache != null) {
-					Cache<String, IApiElement> typecache = compcache.get(componentid);
-					if (typecache != null && updatedIdentifier != null) {
-						IApiElement ele = typecache.get(updatedIdentifier);
-						if (ele != null) {
-							return ele;
-						}
-					}
-				}
+		for (String otherBaseline : fBaselines) {
+			if (otherBaseline.equals(baselineid)) {
+				continue;
+			}
+			IApiElement ele = fRootCache.get(new ElementKey(otherBaseline, componentid, updatedIdentifier));
+			if (ele != null) {
+				return ele;
 			}
+		}
 		return null;
 	}
 
-
 	/**
 	 * Removes the {@link IApiElement} from the given component (given its id)
 	 * with the given identifier and of the given type.
@@ -282,60 +318,34 @@ public final class ApiModelCache {
 		switch (type) {
 			case IApiElement.TYPE: {
 				if (componentid != null && identifier != null) {
-					boolean removed = true;
-					// clean member type cache
-					if (this.fMemberTypeCache != null) {
-						if (isMemberType(identifier)) {
-							Cache<String, ApiType> mcache = this.fMemberTypeCache.get(getCacheKey(baselineid, componentid, getRootName(identifier)));
-							if (mcache != null) {
-								return mcache.remove(identifier) != null;
+					if (isMemberType(identifier)) {
+						boolean[] removed = new boolean[1];
+						fMemberTypeCache.compute(new ElementKey(baselineid, componentid, getRootName(identifier)), (k, group) -> {
+							if (group == null) {
+								return null;
 							}
-						} else {
-							this.fMemberTypeCache.remove(getCacheKey(baselineid, componentid, getRootName(identifier)));
-						}
-					}
-					if (fRootCache != null) {
-						Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-						if (compcache != null) {
-							Cache<String, IApiElement> typecache = compcache.get(componentid);
-							if (typecache != null) {
-								removed &= typecache.remove(identifier) != null;
-								if (typecache.isEmpty()) {
-									removed &= compcache.remove(componentid) != null;
-								}
-								if (compcache.isEmpty()) {
-									removed &= fRootCache.remove(baselineid) != null;
-								}
-								return removed;
-							}
-
-						}
-					} else {
-						return false;
+							removed[0] = group.get(identifier) != null;
+							return group.remove(identifier);
+						});
+						return removed[0];
 					}
+					// clean member type cache
+					ElementKey key = new ElementKey(baselineid, componentid, identifier);
+					fMemberTypeCache.remove(key);
+					return fRootCache.remove(key) != null;
 				}
 				break;
 			}
 			case IApiElement.COMPONENT: {
-				flushMemberCache();
-				if (fRootCache != null && componentid != null) {
-					Cache<String, Cache<String, IApiElement>> compcache = fRootCache.get(baselineid);
-					if (compcache != null) {
-						boolean removed = compcache.remove(componentid) != null;
-						if (compcache.isEmpty()) {
-							removed &= fRootCache.remove(baselineid) != null;
-						}
-						return removed;
-					}
+				if (componentid != null) {
+					ComponentKey owner = new ComponentKey(baselineid, componentid);
+					fMemberTypeCache.removeGroup(owner);
+					return fRootCache.removeGroup(owner) > 0;
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
-				flushMemberCache();
-				if (fRootCache != null) {
-					return fRootCache.remove(baselineid) != null;
-				}
-				break;
+				return removeBaseline(baselineid);
 			}
 			default:
 				break;
@@ -356,26 +366,20 @@ public final class ApiModelCache {
 		switch (element.getType()) {
 			case IApiElement.COMPONENT:
 			case IApiElement.TYPE: {
-				if (fRootCache != null) {
-					IApiComponent comp = element.getApiComponent();
-					if (comp != null) {
-						try {
-							IApiBaseline baseline = comp.getBaseline();
-							return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
-						} catch (CoreException ce) {
-							ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
-						}
+				IApiComponent comp = element.getApiComponent();
+				if (comp != null) {
+					try {
+						IApiBaseline baseline = comp.getBaseline();
+						return removeElementInfo(baseline.getName(), comp.getSymbolicName(), element.getName(), element.getType());
+					} catch (CoreException ce) {
+						ApiPlugin.log("Failed to remove element info for " + comp.getName(), ce); //$NON-NLS-1$
 					}
 				}
 				break;
 			}
 			case IApiElement.BASELINE: {
-				flushMemberCache();
-				if (fRootCache != null) {
-					IApiBaseline baseline = (IApiBaseline) element;
-					return fRootCache.remove(baseline.getName()) != null;
-				}
-				break;
+				IApiBaseline baseline = (IApiBaseline) element;
+				return removeBaseline(baseline.getName());
 			}
 			default:
 				break;
@@ -383,13 +387,26 @@ public final class ApiModelCache {
 		return false;
 	}
 
+	private boolean removeBaseline(String baselineid) {
+		fBaselines.remove(baselineid);
+		Predicate<Object> owned = owner -> ((ComponentKey) owner).baseline().equals(baselineid);
+		fMemberTypeCache.removeGroups(owned);
+		boolean removed = fRootCache.removeGroups(owned) > 0;
+		if (ApiPlugin.DEBUG_MODEL_CACHE) {
+			System.out.println("API model cache after removal of baseline " + baselineid + " : " + this); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return removed;
+	}
+
 	/**
 	 * Clears out all cached information.
 	 */
 	public void flushCaches() {
-		if (fRootCache != null) {
-			fRootCache.flush();
+		if (ApiPlugin.DEBUG_MODEL_CACHE) {
+			System.out.println("API model cache before flush : " + this); //$NON-NLS-1$
 		}
+		fRootCache.flush();
+		fBaselines.clear();
 		flushMemberCache();
 	}
 
@@ -397,9 +414,7 @@ public final class ApiModelCache {
 	 * Flushes the cache of member types
 	 */
 	private void flushMemberCache() {
-		if (this.fMemberTypeCache != null) {
-			this.fMemberTypeCache.flush();
-		}
+		this.fMemberTypeCache.flush();
 	}
 
 	/**
@@ -408,13 +423,14 @@ public final class ApiModelCache {
 	 * @return true if the cache has no entries, false otherwise
 	 */
 	public boolean isEmpty() {
-		boolean empty = true;
-		if (fRootCache != null) {
-			empty &= fRootCache.isEmpty();
-		}
-		if (this.fMemberTypeCache != null) {
-			empty &= this.fMemberTypeCache.isEmpty();
-		}
-		return empty;
+		return fRootCache.isEmpty() && fMemberTypeCache.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("types [").append(fRootCache).append("], "); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("member types [").append(fMemberTypeCache).append(']'); //$NON-NLS-1$
+		return buffer.toString();
 	}
 }
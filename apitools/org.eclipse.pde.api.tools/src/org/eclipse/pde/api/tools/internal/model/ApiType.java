@@ -14,11 +14,13 @@
 package org.eclipse.pde.api.tools.internal.model;
 
 import java.text.MessageFormat;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -426,6 +428,43 @@ public class ApiType extends ApiMember implements IApiType {
 		}
 	}
 
+	/**
+	 * Returns the raw enclosing method name as set by
+	 * {@link #setEnclosingMethodInfo(String, String)}, or <code>null</code> if
+	 * it was never set. Used when persisting a type structure.
+	 */
+	String getEnclosingMethodName() {
+		return fEnclosingMethodName;
+	}
+
+	/**
+	 * Returns the raw enclosing method signature as set by
+	 * {@link #setEnclosingMethodInfo(String, String)}, or <code>null</code> if
+	 * it was never set. Used when persisting a type structure.
+	 */
+	String getEnclosingMethodSignature() {
+		return fEnclosingMethodSignature;
+	}
+
+	/**
+	 * Returns the name of the enclosing type as given at construction time, or
+	 * <code>null</code> if none. Used when persisting a type structure.
+	 */
+	String getEnclosingTypeName() {
+		return fEnclosingTypeName;
+	}
+
+	/**
+	 * Returns the simple names of the member types of this type. Used when
+	 * persisting a type structure.
+	 */
+	Set<String> getMemberTypeNames() {
+		if (fMemberTypes == null) {
+			return Collections.emptySet();
+		}
+		return fMemberTypes.keySet();
+	}
+
 	@Override
 	public IApiMethod getEnclosingMethod() {
 		if (fEnclosingMethod == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,6 +26,7 @@ import java.util.stream.Stream;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
@@ -96,6 +97,22 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 			return fContents;
 		}
 
+		@Override
+		protected IApiType buildStructure() throws CoreException {
+			TypeStructureIndex index = ((ArchiveApiTypeContainer) getParent()).getTypeStructureIndex();
+			if (index != null) {
+				IApiType type = index.getType(fTypeName, getApiComponent(), this);
+				if (type != null) {
+					return type;
+				}
+			}
+			IApiType type = super.buildStructure();
+			if (index != null && type != null) {
+				index.addType(type);
+			}
+			return type;
+		}
+
 		@Override
 		public String toString() {
 			return getTypeName();
@@ -118,6 +135,15 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	private String[] fPackageNames;
 
+	/**
+	 * Persistent index of the type structures of this archive, or
+	 * <code>null</code> if not yet initialized or if this archive cannot be
+	 * indexed
+	 */
+	private TypeStructureIndex fTypeStructureIndex;
+
+	private boolean fTypeStructureIndexInitialized;
+
 	/**
 	 * Constructs an {@link IApiTypeContainer} container for the given jar or zip
 	 * file at the specified location.
@@ -185,7 +211,25 @@ public class ArchiveApiTypeContainer extends ApiElement implements IApiTypeConta
 	 */
 	@Override
 	public synchronized void close() throws CoreException {
-		//
+		if (fTypeStructureIndex != null) {
+			fTypeStructureIndex.close();
+		}
+		fTypeStructureIndex = null;
+		fTypeStructureIndexInitialized = false;
+	}
+
+	/**
+	 * Returns the persistent type structure index of this archive, or
+	 * <code>null</code> if this archive cannot be indexed.
+	 *
+	 * @return the type structure index or <code>null</code>
+	 */
+	synchronized TypeStructureIndex getTypeStructureIndex() {
+		if (!fTypeStructureIndexInitialized) {
+			fTypeStructureIndexInitialized = true;
+			fTypeStructureIndex = TypeStructureIndex.open(getApiComponent(), fLocation);
+		}
+		return fTypeStructureIndex;
 	}
 
 	/**
@@ -0,0 +1,659 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.model;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Persistent index of the type structures built for the class files of one
+ * archive. The index is stored in the plug-in state location and keyed by the
+ * bundle symbolic name, the bundle version and a CRC of the class entries of
+ * the archive, so that a baseline reopened later can restore its
+ * {@link IApiType}s without parsing the class files again.
+ * <p>
+ * Only the names and positions of the records are read when the index is
+ * opened, each type structure is read from the index file and decoded on first
+ * request. The containers of the same archive share one index per index file,
+ * which is kept open until all of them have closed it. Types that
+ * are built while the index is open are added to it and appended to the file
+ * once they exceed {@link #MAX_ADDED_SIZE} bytes and when the owning archive
+ * is closed. Records are never rewritten, a record truncated by an interrupted
+ * save is ignored and overwritten by the next save.
+ * </p>
+ * <p>
+ * File format (version 2):
+ *
+ * <pre>
+ * int     magic number
+ * short   format version
+ * [short name length, UTF-8 name, int length, byte[] encoded type structure] for each type
+ * </pre>
+ * </p>
+ *
+ * @since 1.3.600
+ */
+public final class TypeStructureIndex {
+
+	/**
+	 * Name of the folder in the state location holding the index files
+	 */
+	private static final String INDEX_FOLDER = "typestructures"; //$NON-NLS-1$
+
+	private static final String INDEX_EXTENSION = ".idx"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x41504954; // "APIT"
+
+	/**
+	 * Version of the index format, to be incremented each time the encoding of
+	 * a type structure changes
+	 */
+	private static final short VERSION = 2;
+
+	private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+
+	private static final byte NO_VALUE = 0;
+	private static final byte INT_VALUE = 1;
+	private static final byte LONG_VALUE = 2;
+	private static final byte FLOAT_VALUE = 3;
+	private static final byte DOUBLE_VALUE = 4;
+	private static final byte STRING_VALUE = 5;
+
+	/**
+	 * Number of bytes of encoded type structures added to an open index after
+	 * which they are appended to the index file, to bound the memory held by
+	 * the added types
+	 */
+	private static final int MAX_ADDED_SIZE = 4 * 1024 * 1024;
+
+	private static final byte ANONYMOUS = 0x01;
+	private static final byte LOCAL = 0x02;
+	private static final byte MEMBER = 0x04;
+	private static final byte ENCLOSING_METHOD = 0x08;
+
+	/**
+	 * The open indexes by index file, guarded by itself
+	 */
+	private static final Map<Path, TypeStructureIndex> OPEN_INDEXES = new HashMap<>();
+
+	/**
+	 * Position and length of an encoded type structure in the index file
+	 */
+	private record Entry(long position, int length) {
+	}
+
+	private final Path fFile;
+
+	/**
+	 * Channel on the index file, or <code>null</code> if the file did not
+	 * exist when the index was opened or once the index is closed
+	 */
+	private FileChannel fChannel;
+
+	/**
+	 * End of the last complete record of the index file, 0 if the file has no
+	 * valid header
+	 */
+	private long fEnd;
+
+	/**
+	 * Type name to the position of its encoded type structure in the index
+	 * file
+	 */
+	private final Map<String, Entry> fEntries = new HashMap<>();
+
+	/**
+	 * Encoded type structures that were added since the index was last saved
+	 */
+	private final Map<String, byte[]> fAdded = new HashMap<>();
+
+	/**
+	 * Number of bytes of the encoded type structures in {@link #fAdded}
+	 */
+	private int fAddedSize;
+
+	private boolean fClosed;
+
+	/**
+	 * Number of times the index was opened and not closed yet, guarded by
+	 * {@link #OPEN_INDEXES}
+	 */
+	private int fReferences;
+
+	private TypeStructureIndex(Path file) {
+		fFile = file;
+	}
+
+	/**
+	 * Opens the index for the given archive of the given component. Returns
+	 * <code>null</code> if the archive cannot be indexed, i.e. if the plug-in
+	 * is not running, the component is not a binary bundle or the archive
+	 * cannot be read. The index is shared with the other open indexes of the
+	 * same archive contents and must be closed by each of the callers.
+	 *
+	 * @param component the component owning the archive
+	 * @param archiveLocation the location of the archive in the local file
+	 *            system
+	 * @return the index or <code>null</code>
+	 */
+	public static TypeStructureIndex open(IApiComponent component, String archiveLocation) {
+		if (!ApiPlugin.isRunningInFramework() || !(component instanceof BundleComponent) || component instanceof ProjectComponent) {
+			return null;
+		}
+		File archive = new File(archiveLocation);
+		if (!archive.isFile() || !Util.isArchive(archive.getName())) {
+			return null;
+		}
+		try {
+			Path folder = ApiPlugin.getDefault().getStateLocation().append(INDEX_FOLDER).toFile().toPath();
+			String prefix = getIndexPrefix(component, archive);
+			Path file = folder.resolve(prefix + Long.toHexString(computeChecksum(archive)) + INDEX_EXTENSION);
+			synchronized (OPEN_INDEXES) {
+				TypeStructureIndex index = OPEN_INDEXES.get(file);
+				if (index == null) {
+					index = new TypeStructureIndex(file);
+					index.load();
+					OPEN_INDEXES.put(file, index);
+				}
+				index.fReferences++;
+				return index;
+			}
+		} catch (IOException | RuntimeException e) {
+			if (ApiPlugin.DEBUG_BASELINE_MANAGER) {
+				ApiPlugin.log(e);
+			}
+			return null;
+		}
+	}
+
+	private static String getIndexPrefix(IApiComponent component, File archive) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append(component.getSymbolicName()).append('_').append(component.getVersion()).append('_');
+		buffer.append(archive.getName()).append('_');
+		return buffer.toString();
+	}
+
+	/**
+	 * Computes a checksum of the class entries of the given archive. Only the
+	 * central directory of the archive is read: the checksum is computed from
+	 * the name, size and CRC of each class file entry.
+	 */
+	private static long computeChecksum(File archive) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(16);
+		try (ZipFile zipFile = new ZipFile(archive)) {
+			for (Enumeration<? extends ZipEntry> entries = zipFile.entries(); entries.hasMoreElements();) {
+				ZipEntry entry = entries.nextElement();
+				String name = entry.getName();
+				if (!name.endsWith(Util.DOT_CLASS_SUFFIX)) {
+					continue;
+				}
+				crc.update(name.getBytes(StandardCharsets.UTF_8));
+				buffer.clear();
+				buffer.putLong(entry.getCrc()).putLong(entry.getSize()).flip();
+				crc.update(buffer);
+			}
+		}
+		return crc.getValue();
+	}
+
+	/**
+	 * Returns the location of the index file, which may not exist yet.
+	 *
+	 * @return the location of the index file
+	 */
+	public Path getFile() {
+		return fFile;
+	}
+
+	private void load() throws IOException {
+		if (!Files.isRegularFile(fFile)) {
+			return;
+		}
+		FileChannel channel = FileChannel.open(fFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			long size = channel.size();
+			// the stream is not closed, it would close the channel
+			DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+			if (size < HEADER_SIZE || in.readInt() != MAGIC || in.readShort() != VERSION) {
+				// stale format or corrupted header, the index will be rebuilt
+				fChannel = channel;
+				return;
+			}
+			long position = HEADER_SIZE;
+			while (position + Short.BYTES <= size) {
+				byte[] name = new byte[in.readUnsignedShort()];
+				long data = position + Short.BYTES + name.length + Integer.BYTES;
+				if (data > size) {
+					break;
+				}
+				in.readFully(name);
+				int length = in.readInt();
+				if (length < 0 || data + length > size) {
+					// record truncated by an interrupted save
+					break;
+				}
+				in.skipNBytes(length);
+				// a type added again after its record could not be decoded is
+				// found in a later record
+				fEntries.put(new String(name, StandardCharsets.UTF_8), new Entry(data, length));
+				position = data + length;
+			}
+			fEnd = position;
+			fChannel = channel;
+		} finally {
+			if (fChannel != channel) {
+				fEntries.clear();
+				channel.close();
+			}
+		}
+	}
+
+	/**
+	 * Reads the encoded type structure of the given entry from the index file
+	 */
+	private byte[] read(Entry entry) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(entry.length());
+		while (buffer.hasRemaining()) {
+			if (fChannel.read(buffer, entry.position() + buffer.position()) < 0) {
+				throw new EOFException();
+			}
+		}
+		return buffer.array();
+	}
+
+	/**
+	 * Returns the type structure with the given name decoded from the index,
+	 * or <code>null</code> if the index does not contain it.
+	 *
+	 * @param typeName the fully qualified name of the type
+	 * @param component the component the type belongs to
+	 * @param root the type root the type is built for
+	 * @return the type structure or <code>null</code>
+	 */
+	public synchronized IApiType getType(String typeName, IApiComponent component, IApiTypeRoot root) {
+		byte[] bytes = fAdded.get(typeName);
+		try {
+			if (bytes == null) {
+				Entry entry = fEntries.get(typeName);
+				if (entry == null || fChannel == null) {
+					return null;
+				}
+				bytes = read(entry);
+			}
+			return decode(bytes, component, root);
+		} catch (IOException | RuntimeException e) {
+			// corrupted entry, forget it so that it gets rebuilt
+			fEntries.remove(typeName);
+			return null;
+		}
+	}
+
+	/**
+	 * Adds the given type structure to the index. The index is written to disk
+	 * by {@link #save()}, which is called once the added types exceed
+	 * {@link #MAX_ADDED_SIZE} bytes.
+	 *
+	 * @param type the type structure built from the class file
+	 */
+	public synchronized void addType(IApiType type) {
+		String typeName = type.getName();
+		if (fClosed || fEntries.containsKey(typeName) || fAdded.containsKey(typeName)) {
+			return;
+		}
+		try {
+			byte[] bytes = encode(type);
+			if (bytes != null) {
+				fAdded.put(typeName, bytes);
+				fAddedSize += bytes.length;
+			}
+		} catch (IOException e) {
+			// writeUTF rejects the strings longer than 64 KB, such a type is
+			// built from its class file each time
+			ApiPlugin.log(new Status(IStatus.INFO, ApiPlugin.PLUGIN_ID, "Type structure of " + typeName + " cannot be indexed", e)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (fAddedSize > MAX_ADDED_SIZE) {
+			save();
+		}
+	}
+
+	/**
+	 * Appends the types added since the index was last saved to the index
+	 * file. The file is created if needed, or recreated if its format is
+	 * stale, and the index files for other contents of the same archive are
+	 * then removed. The added types are released whether or not they could be
+	 * written.
+	 */
+	synchronized void save() {
+		if (fAdded.isEmpty()) {
+			return;
+		}
+		try {
+			if (fChannel == null) {
+				Files.createDirectories(fFile.getParent());
+				fChannel = FileChannel.open(fFile, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+				fEnd = 0;
+			}
+			boolean created = fEnd == 0;
+			// drops a stale file or a record truncated by an interrupted save
+			fChannel.truncate(fEnd);
+			fChannel.position(fEnd);
+			// the stream is not closed, it would close the channel
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(fChannel)));
+			long position = fEnd;
+			if (created) {
+				out.writeInt(MAGIC);
+				out.writeShort(VERSION);
+				position = HEADER_SIZE;
+			}
+			Map<String, Entry> written = new HashMap<>();
+			for (Map.Entry<String, byte[]> entry : fAdded.entrySet()) {
+				byte[] name = entry.getKey().getBytes(StandardCharsets.UTF_8);
+				byte[] bytes = entry.getValue();
+				out.writeShort(name.length);
+				out.write(name);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+				position += Short.BYTES + name.length + Integer.BYTES;
+				written.put(entry.getKey(), new Entry(position, bytes.length));
+				position += bytes.length;
+			}
+			out.flush();
+			fEnd = position;
+			fEntries.putAll(written);
+			if (created) {
+				removeStaleIndexes();
+			}
+		} catch (IOException e) {
+			ApiPlugin.log("Failed to save the type structure index " + fFile, e); //$NON-NLS-1$
+		} finally {
+			fAdded.clear();
+			fAddedSize = 0;
+		}
+	}
+
+	/**
+	 * Saves the index, and closes the index file once the index was closed as
+	 * many times as it was opened. Types are neither read from nor added to a
+	 * closed index.
+	 */
+	public void close() {
+		synchronized (OPEN_INDEXES) {
+			if (fReferences > 1) {
+				fReferences--;
+				save();
+				return;
+			}
+			fReferences = 0;
+			if (OPEN_INDEXES.get(fFile) == this) {
+				OPEN_INDEXES.remove(fFile);
+			}
+			synchronized (this) {
+				fClosed = true;
+				save();
+				fEntries.clear();
+				if (fChannel != null) {
+					try {
+						fChannel.close();
+					} catch (IOException e) {
+						ApiPlugin.log(e);
+					}
+					fChannel = null;
+				}
+			}
+		}
+	}
+
+	private void removeStaleIndexes() throws IOException {
+		String fileName = fFile.getFileName().toString();
+		String prefix = fileName.substring(0, fileName.lastIndexOf('_') + 1);
+		// the names are not matched with a glob, the prefix holds arbitrary
+		// characters of the archive name
+		try (DirectoryStream<Path> stream = Files.newDirectoryStream(fFile.getParent())) {
+			for (Path path : stream) {
+				String name = path.getFileName().toString();
+				if (name.startsWith(prefix) && name.endsWith(INDEX_EXTENSION) && name.indexOf('_', prefix.length()) == -1 && !path.equals(fFile)) {
+					Files.deleteIfExists(path);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Encodes the given type structure, or returns <code>null</code> if it
+	 * holds data that cannot be persisted.
+	 */
+	private static byte[] encode(IApiType type) throws IOException {
+		if (!(type instanceof ApiType apiType)) {
+			return null;
+		}
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		writeString(out, apiType.getName());
+		writeString(out, apiType.getSignature());
+		writeString(out, apiType.getGenericSignature());
+		out.writeInt(apiType.getModifiers());
+		writeString(out, apiType.getEnclosingTypeName());
+		writeString(out, apiType.getSuperclassName());
+		writeStrings(out, apiType.getSuperInterfaceNames());
+		byte flags = 0;
+		if (apiType.isAnonymous()) {
+			flags |= ANONYMOUS;
+		}
+		if (apiType.isLocal()) {
+			flags |= LOCAL;
+		}
+		if (apiType.isMemberType()) {
+			flags |= MEMBER;
+		}
+		if (apiType.getEnclosingMethodName() != null) {
+			flags |= ENCLOSING_METHOD;
+		}
+		out.writeByte(flags);
+		if (apiType.isLocal() || apiType.isMemberType()) {
+			writeString(out, apiType.getSimpleName());
+		}
+		if (apiType.getEnclosingMethodName() != null) {
+			writeString(out, apiType.getEnclosingMethodName());
+			writeString(out, apiType.getEnclosingMethodSignature());
+		}
+		writeStrings(out, apiType.getMemberTypeNames().toArray(String[]::new));
+		IApiField[] fields = apiType.getFields();
+		out.writeInt(fields.length);
+		for (IApiField field : fields) {
+			writeString(out, field.getName());
+			writeString(out, field.getSignature());
+			writeString(out, field.getGenericSignature());
+			out.writeInt(field.getModifiers());
+			Object value = field.getConstantValue();
+			if (value == null) {
+				out.writeByte(NO_VALUE);
+			} else if (value instanceof Integer i) {
+				out.writeByte(INT_VALUE);
+				out.writeInt(i.intValue());
+			} else if (value instanceof Long l) {
+				out.writeByte(LONG_VALUE);
+				out.writeLong(l.longValue());
+			} else if (value instanceof Float f) {
+				out.writeByte(FLOAT_VALUE);
+				out.writeFloat(f.floatValue());
+			} else if (value instanceof Double d) {
+				out.writeByte(DOUBLE_VALUE);
+				out.writeDouble(d.doubleValue());
+			} else if (value instanceof String s) {
+				out.writeByte(STRING_VALUE);
+				writeString(out, s);
+			} else {
+				return null;
+			}
+		}
+		IApiMethod[] methods = apiType.getMethods();
+		out.writeInt(methods.length);
+		for (IApiMethod method : methods) {
+			writeString(out, method.getName());
+			writeString(out, method.getSignature());
+			writeString(out, method.getGenericSignature());
+			out.writeInt(method.getModifiers());
+			writeStrings(out, method.getExceptionNames());
+			writeString(out, method.getDefaultValue());
+		}
+		out.flush();
+		return bytes.toByteArray();
+	}
+
+	private static IApiType decode(byte[] bytes, IApiComponent component, IApiTypeRoot root) throws IOException {
+		try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+			String name = readString(in);
+			String signature = readString(in);
+			String genericSignature = readString(in);
+			int modifiers = in.readInt();
+			String enclosingName = readString(in);
+			ApiType type = new ApiType(component, name, signature, genericSignature, modifiers, enclosingName, root);
+			type.setSuperclassName(readString(in));
+			String[] superInterfaces = readStrings(in);
+			if (superInterfaces != null) {
+				type.setSuperInterfaceNames(superInterfaces);
+			}
+			byte flags = in.readByte();
+			if ((flags & ANONYMOUS) != 0) {
+				type.setAnonymous();
+			}
+			if ((flags & LOCAL) != 0) {
+				type.setLocal();
+			}
+			if ((flags & MEMBER) != 0) {
+				type.setMemberType();
+			}
+			if ((flags & (LOCAL | MEMBER)) != 0) {
+				type.setSimpleName(readString(in));
+			}
+			if ((flags & ENCLOSING_METHOD) != 0) {
+				type.setEnclosingMethodInfo(readString(in), readString(in));
+			}
+			String[] memberTypes = readStrings(in);
+			if (memberTypes != null) {
+				for (String memberType : memberTypes) {
+					type.addMemberType(name + '$' + memberType);
+				}
+			}
+			int fieldCount = readCount(in);
+			for (int i = 0; i < fieldCount; i++) {
+				String fieldName = readString(in);
+				String fieldSignature = readString(in);
+				String fieldGenericSignature = readString(in);
+				int fieldModifiers = in.readInt();
+				Object value = switch (in.readByte()) {
+					case INT_VALUE -> Integer.valueOf(in.readInt());
+					case LONG_VALUE -> Long.valueOf(in.readLong());
+					case FLOAT_VALUE -> Float.valueOf(in.readFloat());
+					case DOUBLE_VALUE -> Double.valueOf(in.readDouble());
+					case STRING_VALUE -> readString(in);
+					default -> null;
+				};
+				type.addField(fieldName, fieldSignature, fieldGenericSignature, fieldModifiers, value);
+			}
+			int methodCount = readCount(in);
+			for (int i = 0; i < methodCount; i++) {
+				String methodName = readString(in);
+				String methodSignature = readString(in);
+				String methodGenericSignature = readString(in);
+				int methodModifiers = in.readInt();
+				String[] exceptions = readStrings(in);
+				ApiMethod method = type.addMethod(methodName, methodSignature, methodGenericSignature, methodModifiers, exceptions);
+				method.setDefaultValue(readString(in));
+			}
+			return type;
+		}
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+		if (values == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(values.length);
+		for (String value : values) {
+			writeString(out, value);
+		}
+	}
+
+	private static String[] readStrings(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		if (length > in.available()) {
+			throw new IOException("Corrupted type structure: " + length + " strings"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		String[] values = new String[length];
+		for (int i = 0; i < length; i++) {
+			values[i] = readString(in);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads a number of fields or methods, each of them is encoded with at
+	 * least one byte
+	 */
+	private static int readCount(DataInputStream in) throws IOException {
+		int count = in.readInt();
+		if (count < 0 || count > in.available()) {
+			throw new IOException("Corrupted type structure: " + count + " members"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return count;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -198,6 +198,7 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 	private static final String WORKSPACE_DELTA_PROCESSOR = PLUGIN_ID + "/debug/workspacedeltaprocessor"; //$NON-NLS-1$
 	private static final String API_ANALYZER_DEBUG = PLUGIN_ID + "/debug/apianalyzer"; //$NON-NLS-1$
 	private static final String USE_REPORT_CONVERTER_DEBUG = PLUGIN_ID + "/debug/usereportconverter"; //$NON-NLS-1$
+	private static final String MODEL_CACHE_DEBUG = PLUGIN_ID + "/debug/modelcache"; //$NON-NLS-1$
 
 	/**
 	 * Constant used for controlling tracing in the report converter
@@ -267,6 +268,10 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 	 * Constant used for controlling tracing in the API tool builder
 	 */
 	public static boolean DEBUG_BUILDER = false;
+	/**
+	 * Constant used for controlling tracing in the API model cache
+	 */
+	public static boolean DEBUG_MODEL_CACHE = false;
 
 	public static String[] AllCompatibilityKeys = new String[] {
 			IApiProblemTypes.API_COMPONENT_REMOVED_TYPE,
@@ -579,7 +584,7 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 			fBundleContext = context;
 			deltaProcessor = new WorkspaceDeltaProcessor();
 			JavaCore.addElementChangedListener(deltaProcessor, ElementChangedEvent.POST_CHANGE);
-			ResourcesPlugin.getWorkspace().addResourceChangeListener(deltaProcessor, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_BUILD);
+			ResourcesPlugin.getWorkspace().addResourceChangeListener(deltaProcessor, IResourceChangeEvent.PRE_DELETE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_BUILD | IResourceChangeEvent.POST_BUILD);
 			checkForEEDescriptionChanges();
 		}
 	}
@@ -849,5 +854,6 @@ public class ApiPlugin extends Plugin implements ISaveParticipant, DebugOptionsL
 		DEBUG_WORKSPACE_DELTA_PROCESSOR = DEBUG && options.getBooleanOption(WORKSPACE_DELTA_PROCESSOR, false);
 		DEBUG_API_ANALYZER = DEBUG && options.getBooleanOption(API_ANALYZER_DEBUG, false);
 		DEBUG_USE_REPORT_CONVERTER = DEBUG && options.getBooleanOption(USE_REPORT_CONVERTER_DEBUG, false);
+		DEBUG_MODEL_CACHE = DEBUG && options.getBooleanOption(MODEL_CACHE_DEBUG, false);
 	}
 }
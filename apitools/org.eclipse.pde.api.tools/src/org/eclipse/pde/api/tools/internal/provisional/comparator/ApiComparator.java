@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,8 +13,13 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -23,7 +28,9 @@ import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.pde.api.tools.internal.builder.AbstractProblemDetector;
 import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.comparator.ContentFingerprints;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
@@ -38,6 +45,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.osgi.framework.Version;
 
 /**
@@ -52,6 +60,17 @@ public class ApiComparator {
 	 */
 	public static final IDelta NO_DELTA = new Delta();
 
+	/**
+	 * Returns the default number of API components compared concurrently when
+	 * no explicit value is given by the caller.
+	 *
+	 * @return the default degree of parallelism, always at least 1
+	 * @see Parallelism#getDefault()
+	 */
+	public static int getDefaultParallelism() {
+		return Parallelism.getDefault();
+	}
+
 	/**
 	 * Returns a delta for a API component version change
 	 */
@@ -99,6 +118,36 @@ public class ApiComparator {
 	 * @throws IllegalArgumentException if one of the two baselines is null
 	 */
 	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		return compare(referenceBaseline, baseline, visibilityModifiers, force, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the difference between the given
+	 * baseline and the reference.
+	 * <p>
+	 * If <code>parallelism</code> is greater than one, the API components are
+	 * compared concurrently using at most that many worker threads. The
+	 * resulting delta is the same as the one computed sequentially: the
+	 * children are merged in the order of the components of the reference
+	 * baseline.
+	 * </p>
+	 *
+	 * @param referenceBaseline the given API baseline which is used as the
+	 *            reference
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param parallelism the maximum number of components compared at the same
+	 *            time, values lower than 2 mean a sequential comparison
+	 * @param monitor
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 */
+	public static IDelta compare(final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final int parallelism, final IProgressMonitor monitor) {
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
 		if (referenceBaseline == null || baseline == null) {
 			throw new IllegalArgumentException("None of the baselines must be null"); //$NON-NLS-1$
@@ -108,41 +157,44 @@ public class ApiComparator {
 		Set<String> apiComponentsIds = new HashSet<>();
 		final Delta globalDelta = new Delta();
 		SubMonitor apiLoopMonitor = localmonitor.split(1).setWorkRemaining(apiComponents.length);
-		for (IApiComponent apiComponentMainLoop : apiComponents) {
-			apiLoopMonitor.split(1);
-			IApiComponent apiComponent = apiComponentMainLoop;
-			if (!apiComponent.isSystemComponent()) {
-				String id = apiComponent.getSymbolicName();
-				IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
-				IDelta delta = null;
-				if (apiComponentBaseline == null) {
-					// report removal of an API component
-					delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT,
-							null, id, id);
-				} else {
-					apiComponentsIds.add(id);
-					String versionString = apiComponent.getVersion();
-					String versionString2 = apiComponentBaseline.getVersion();
-					IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id,
-							versionString, versionString2);
-					if (bundleVersionChangesDelta != null) {
-						globalDelta.add(bundleVersionChangesDelta);
+		if (parallelism > 1 && apiComponents.length > 1) {
+			ForkJoinPool pool = new ForkJoinPool(parallelism);
+			try {
+				List<ForkJoinTask<Delta>> tasks = new ArrayList<>(apiComponents.length);
+				for (IApiComponent apiComponent : apiComponents) {
+					if (apiComponent.isSystemComponent()) {
+						continue;
 					}
-					if (!versionString.equals(versionString2) || force) {
-						long time = System.currentTimeMillis();
-						try {
-							delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline,
-									visibilityModifiers, localmonitor.split(1));
-						} finally {
-							if (ApiPlugin.DEBUG_API_COMPARATOR) {
-								System.out.println("Time spent for " + id + " " + versionString + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-										+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
-							}
-						}
+					if (baseline.getApiComponent(apiComponent.getSymbolicName()) != null) {
+						apiComponentsIds.add(apiComponent.getSymbolicName());
 					}
+					tasks.add(pool.submit(() -> compareComponent(apiComponent, referenceBaseline, baseline, visibilityModifiers, force, null)));
 				}
-				if (delta != null && delta != NO_DELTA) {
-					globalDelta.add(delta);
+				apiLoopMonitor.setWorkRemaining(tasks.size());
+				// merge in submission order so the resulting delta does not
+				// depend on the scheduling of the tasks
+				for (ForkJoinTask<Delta> task : tasks) {
+					if (apiLoopMonitor.isCanceled()) {
+						tasks.forEach(t -> t.cancel(false));
+					}
+					apiLoopMonitor.split(1);
+					for (IDelta child : task.join().getChildren()) {
+						globalDelta.add(child);
+					}
+				}
+			} finally {
+				pool.shutdownNow();
+			}
+		} else {
+			for (IApiComponent apiComponent : apiComponents) {
+				SubMonitor iterationMonitor = apiLoopMonitor.split(1);
+				if (!apiComponent.isSystemComponent()) {
+					if (baseline.getApiComponent(apiComponent.getSymbolicName()) != null) {
+						apiComponentsIds.add(apiComponent.getSymbolicName());
+					}
+					for (IDelta child : compareComponent(apiComponent, referenceBaseline, baseline, visibilityModifiers, force, iterationMonitor).getChildren()) {
+						globalDelta.add(child);
+					}
 				}
 			}
 		}
@@ -162,6 +214,51 @@ public class ApiComparator {
 		return globalDelta.isEmpty() ? NO_DELTA : globalDelta;
 	}
 
+	/**
+	 * Compares the given component of the reference baseline with its
+	 * counterpart in the given baseline. This method does not share any state
+	 * with other invocations and can be called concurrently for different
+	 * components.
+	 *
+	 * @return a delta holding the bundle version delta, if any, followed by the
+	 *         component delta, if any
+	 */
+	private static Delta compareComponent(final IApiComponent apiComponent, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final IProgressMonitor monitor) {
+		Delta componentDelta = new Delta();
+		String id = apiComponent.getSymbolicName();
+		IApiComponent apiComponentBaseline = baseline.getApiComponent(id);
+		IDelta delta = null;
+		if (apiComponentBaseline == null) {
+			// report removal of an API component
+			delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT,
+					null, id, id);
+		} else {
+			String versionString = apiComponent.getVersion();
+			String versionString2 = apiComponentBaseline.getVersion();
+			IDelta bundleVersionChangesDelta = checkBundleVersionChanges(apiComponentBaseline, id,
+					versionString, versionString2);
+			if (bundleVersionChangesDelta != null) {
+				componentDelta.add(bundleVersionChangesDelta);
+			}
+			if (!versionString.equals(versionString2) || force) {
+				long time = System.currentTimeMillis();
+				try {
+					delta = compare(apiComponent, apiComponentBaseline, referenceBaseline, baseline,
+							visibilityModifiers, monitor);
+				} finally {
+					if (ApiPlugin.DEBUG_API_COMPARATOR) {
+						System.out.println("Time spent for " + id + " " + versionString + " : " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+								+ (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$
+					}
+				}
+			}
+		}
+		if (delta != null && delta != NO_DELTA) {
+			componentDelta.add(delta);
+		}
+		return componentDelta;
+	}
+
 	/**
 	 * Returns a delta that corresponds to the difference between the given
 	 * component and the reference baseline.
@@ -260,6 +357,13 @@ public class ApiComparator {
 				throw new IllegalArgumentException("The baselines cannot be null"); //$NON-NLS-1$
 			}
 			String referenceComponentId = referenceComponent.getSymbolicName();
+			ContentFingerprints fingerprints = new ContentFingerprints();
+			if (fingerprints.isUnchanged(referenceComponent, component2)) {
+				if (ApiPlugin.DEBUG_API_COMPARATOR) {
+					System.out.println("Skipping comparison of unchanged component " + referenceComponentId); //$NON-NLS-1$
+				}
+				return NO_DELTA;
+			}
 			final Delta globalDelta = new Delta();
 
 			// check the EE first
@@ -281,7 +385,7 @@ public class ApiComparator {
 						currentEE,
 						Util.getComponentVersionsId(referenceComponent) }));
 			}
-			return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, globalDelta, localmonitor.split(1));
+			return internalCompare(referenceComponent, component2, referenceBaseline, baseline, visibilityModifiers, globalDelta, fingerprints, localmonitor.split(1));
 		} catch (CoreException e) {
 			// null means an error case
 			return null;
@@ -381,6 +485,13 @@ public class ApiComparator {
 				}
 				return NO_DELTA;
 			}
+			// the fingerprints of workspace projects are not cached, computing
+			// them for a single type would cost more than the comparison
+			if (!(component instanceof ProjectComponent) && !(component2 instanceof ProjectComponent)
+					&& new ContentFingerprints().isUnchanged(typeDescriptor2, component, component2)) {
+				// same class files and API annotations
+				return NO_DELTA;
+			}
 			localmonitor.split(1);
 			IApiType typeDescriptor = typeRoot.getStructure();
 			if ((visibility & visibilityModifiers) == 0) {
@@ -529,15 +640,54 @@ public class ApiComparator {
 	 *             visited
 	 */
 	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final IProgressMonitor monitor) throws CoreException {
+		return compare(scope, baseline, visibilityModifiers, force, continueOnResolverError, 1, monitor);
+	}
+
+	/**
+	 * Returns a delta that corresponds to the comparison of the given scope
+	 * with the given API baseline. Nested API components with the same
+	 * versions are not compared.
+	 * <p>
+	 * If <code>parallelism</code> is greater than one, the API components of
+	 * the scope are compared concurrently using at most that many worker
+	 * threads. The deltas of each component are merged in the order in which
+	 * the components are visited, so the result does not depend on the
+	 * scheduling of the comparisons.
+	 * </p>
+	 *
+	 * @param scope the given scope for the comparison
+	 * @param baseline the given API baseline to compare with
+	 * @param visibilityModifiers the given visibility that triggers what
+	 *            visibility should be used for the comparison
+	 * @param force a flag to force the comparison of nested API components with
+	 *            the same versions
+	 * @param continueOnResolverError if <code>true</code> the comparison will
+	 *            continue even if a component in the scope has a resolver error
+	 * @param parallelism the maximum number of components compared at the same
+	 *            time, values lower than 2 mean a sequential comparison
+	 * @param monitor the given progress monitor to report progress
+	 *
+	 * @return a delta, an empty delta if no difference is found or null if the
+	 *         delta detection failed. If set to continue on resolver error a
+	 *         delta, possibly empty, will always be returned
+	 * @throws IllegalArgumentException if one of the two baselines is null
+	 *             CoreException if one of the element in the scope cannot be
+	 *             visited
+	 */
+	public static IDelta compare(final IApiScope scope, final IApiBaseline baseline, final int visibilityModifiers, final boolean force, final boolean continueOnResolverError, final int parallelism, final IProgressMonitor monitor) throws CoreException {
 
 		if (scope == null || baseline == null) {
 			throw new IllegalArgumentException("None of the scope or the baseline must be null"); //$NON-NLS-1$
 		}
 		SubMonitor localmonitor = SubMonitor.convert(monitor, 2);
-		final Set<IDelta> deltas = new HashSet<>();
+		final Set<IDelta> deltas = new LinkedHashSet<>();
 		final CompareApiScopeVisitor visitor = new CompareApiScopeVisitor(deltas, baseline, force, visibilityModifiers,
-				continueOnResolverError, localmonitor.split(1));
-		scope.accept(visitor);
+				continueOnResolverError, parallelism, localmonitor.split(1));
+		try {
+			scope.accept(visitor);
+		} finally {
+			visitor.endVisitScope();
+		}
 
 		// If set to continue on error, return whatever deltas were
 		// collected
@@ -602,11 +752,12 @@ public class ApiComparator {
 	 * Performs the internal compare of the given {@link IApiComponent}s using
 	 * their type containers
 	 *
+	 * @param fingerprints the fingerprints used to skip unchanged types
 	 * @param monitor
 	 *
 	 * @return a delta of changed API elements
 	 */
-	private static IDelta internalCompare(final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final Delta globalDelta, final IProgressMonitor monitor) throws CoreException {
+	private static IDelta internalCompare(final IApiComponent component, final IApiComponent component2, final IApiBaseline referenceBaseline, final IApiBaseline baseline, final int visibilityModifiers, final Delta globalDelta, final ContentFingerprints fingerprints, final IProgressMonitor monitor) throws CoreException {
 		final Set<String> typeRootBaseLineNames = new HashSet<>();
 		final String id = component.getSymbolicName();
 		final SubMonitor localmonitor = SubMonitor.convert(monitor, 4);
@@ -728,6 +879,10 @@ public class ApiComparator {
 												Util.getComponentVersionsId(component2) }));
 									}
 									typeRootBaseLineNames.add(typeName);
+									if (provider == component2 && fingerprints.isUnchanged(typeDescriptor2, component, component2)) {
+										// same class files and API annotations
+										return;
+									}
 									ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
 									IDelta delta = comparator.getDelta();
 									if (ApiPlugin.DEBUG_API_COMPARATOR) {
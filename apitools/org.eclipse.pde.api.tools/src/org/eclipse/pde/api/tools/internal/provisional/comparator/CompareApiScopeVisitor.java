@@ -13,7 +13,11 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.provisional.comparator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.SubMonitor;
@@ -30,6 +34,11 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 /**
  * ApiScope visitor implementation to run the comparison on all elements of the
  * scope.
+ * <p>
+ * When created with a parallelism greater than one, the comparison of API
+ * components is delegated to a fork join pool. The collected deltas are only
+ * complete once {@link #endVisitScope()} has been called.
+ * </p>
  */
 public class CompareApiScopeVisitor extends ApiScopeVisitor {
 
@@ -40,20 +49,32 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 	boolean continueOnResolverError = false;
 	boolean containsErrors = false;
 	SubMonitor monitor;
+	int parallelism = 1;
+	ForkJoinPool pool;
+	List<ForkJoinTask<List<IDelta>>> pendingComparisons;
 
 	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final SubMonitor monitor) {
+		this(deltas, baseline, force, visibilityModifiers, continueOnResolverError, 1, monitor);
+	}
+
+	public CompareApiScopeVisitor(final Set<IDelta> deltas, final IApiBaseline baseline, final boolean force, final int visibilityModifiers, final boolean continueOnResolverError, final int parallelism, final SubMonitor monitor) {
 		this.deltas = deltas;
 		this.referenceBaseline = baseline;
 		this.visibilityModifiers = visibilityModifiers;
 		this.force = force;
 		this.continueOnResolverError = continueOnResolverError;
+		this.parallelism = parallelism;
 		this.monitor = monitor;
+		if (parallelism > 1) {
+			this.pool = new ForkJoinPool(parallelism);
+			this.pendingComparisons = new ArrayList<>();
+		}
 	}
 
 	@Override
 	public boolean visit(IApiBaseline baseline) throws CoreException {
 		this.monitor.setWorkRemaining(100).split(1);
-		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, null);
+		IDelta delta = ApiComparator.compare(this.referenceBaseline, baseline, this.visibilityModifiers, this.force, this.parallelism, null);
 		if (delta != null) {
 			delta.accept(new DeltaVisitor() {
 				@Override
@@ -109,6 +130,20 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 		}
 
 		subMonitor.split(50);
+		if (this.pool != null) {
+			this.pendingComparisons.add(this.pool.submit(() -> compareApiComponent(referenceComponent, component)));
+		} else {
+			this.deltas.addAll(compareApiComponent(referenceComponent, component));
+		}
+		return false;
+	}
+
+	/**
+	 * Compares the given component against its reference component and
+	 * returns the leaf deltas. Does not modify the state of this visitor so
+	 * that it can run concurrently.
+	 */
+	List<IDelta> compareApiComponent(IApiComponent referenceComponent, IApiComponent component) {
 		final Delta globalDelta = new Delta();
 		globalDelta.add(ApiComparator.compare(referenceComponent, component, this.visibilityModifiers, null));
 		if (referenceComponent != null) {
@@ -119,15 +154,40 @@ public class CompareApiScopeVisitor extends ApiScopeVisitor {
 				globalDelta.add(bundleVersionChangesDelta);
 			}
 		}
+		final List<IDelta> leaves = new ArrayList<>();
 		globalDelta.accept(new DeltaVisitor() {
 			@Override
 			public void endVisit(IDelta localDelta) {
 				if (localDelta.getChildren().length == 0) {
-					CompareApiScopeVisitor.this.deltas.add(localDelta);
+					leaves.add(localDelta);
 				}
 			}
 		});
-		return false;
+		return leaves;
+	}
+
+	/**
+	 * Waits for the pending component comparisons, if any, and collects their
+	 * deltas in the order the components were visited. Must be called once
+	 * the scope has been visited.
+	 */
+	public void endVisitScope() {
+		if (this.pool == null) {
+			return;
+		}
+		try {
+			for (ForkJoinTask<List<IDelta>> comparison : this.pendingComparisons) {
+				if (this.monitor.isCanceled()) {
+					this.pendingComparisons.forEach(c -> c.cancel(false));
+				}
+				this.monitor.setWorkRemaining(100).split(1);
+				this.deltas.addAll(comparison.join());
+			}
+		} finally {
+			this.pendingComparisons.clear();
+			this.pool.shutdownNow();
+			this.pool = null;
+		}
 	}
 
 	@Override
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2018 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -26,12 +26,18 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.StringTokenizer;
 import java.util.TreeMap;
 import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 import java.util.stream.IntStream;
@@ -62,6 +68,7 @@ import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceType
 import org.eclipse.pde.api.tools.internal.provisional.search.IMetadata;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.osgi.framework.Version;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -134,19 +141,25 @@ public class UseReportConverter extends HTMLConvertor {
 		@Override
 		public void endVisitComponent(IComponentDescriptor target) {
 			try {
-				long start = 0;
-				if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-					System.out.println("Writing report for bundle: " + target.getId()); //$NON-NLS-1$
-					start = System.currentTimeMillis();
-				}
 				if (this.currentreport.counts.getTotalRefCount() > 0) {
-					writeReferencedMemberPage(this.currentreport, this.referees);
+					if (pagePool != null) {
+						// hand the references over to the page writer, the
+						// report object is kept to write a sorted index page
+						Report page = new Report();
+						page.name = this.currentreport.name;
+						page.counts = this.currentreport.counts;
+						page.children = this.currentreport.children;
+						this.currentreport.children = new TreeMap<>(compare);
+						schedulePages(target, page, new ArrayList<>(this.referees));
+					} else {
+						writePages(target, this.currentreport, this.referees);
+					}
 				} else {
 					this.reports.remove(this.currentreport);
 				}
-				if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-					System.out.println("done in: " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
-				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				ApiPlugin.log(e);
 			} catch (Exception e) {
 				ApiPlugin.log(e);
 			} finally {
@@ -569,6 +582,11 @@ public class UseReportConverter extends HTMLConvertor {
 	private int filteredCount = -1;
 	Pattern[] topatterns = null;
 	Pattern[] frompatterns = null;
+	private int parallelism = Parallelism.getDefault();
+	ForkJoinPool pagePool = null;
+	private Semaphore pagePermits = null;
+	private final LongAdder pageTime = new LongAdder();
+	private final Map<String, Long> phaseTimes = new LinkedHashMap<>();
 
 	/**
 	 * Constructor
@@ -676,34 +694,127 @@ public class UseReportConverter extends HTMLConvertor {
 				throw new Exception(SearchMessages.UseReportConverter_xslt_file_not_valid);
 			}
 		}
-		long start = 0;
-		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-			start = System.currentTimeMillis();
-		}
+		this.phaseTimes.clear();
+		this.pageTime.reset();
+		long start = System.currentTimeMillis();
 		localmonitor.setTaskName(SearchMessages.UseReportConverter_writing_not_searched);
 		this.hasmissing = writeMissingBundlesPage(htmlRoot);
 		writeNotSearchedPage(htmlRoot);
 		localmonitor.split(1);
+		start = endPhase("not searched pages", start); //$NON-NLS-1$
 		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-			System.out.println("done in: " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
 			System.out.println("Parsing use scan..."); //$NON-NLS-1$
-			start = System.currentTimeMillis();
 		}
 		localmonitor.setTaskName(SearchMessages.UseReportConverter_parsing_use_scan);
-		List<?> result = parse(localmonitor.split(5));
+		List<?> result;
+		if (this.parallelism > 1) {
+			this.pagePool = new ForkJoinPool(this.parallelism);
+			// bounds the number of bundles held in memory while their pages
+			// are being written
+			this.pagePermits = new Semaphore(2 * this.parallelism);
+		}
+		try {
+			result = parse(localmonitor.split(5));
+			start = endPhase("parsing and bundle pages", start); //$NON-NLS-1$
+			if (this.pagePool != null) {
+				awaitPages();
+				start = endPhase("remaining bundle pages", start); //$NON-NLS-1$
+			}
+		} finally {
+			if (this.pagePool != null) {
+				this.pagePool.shutdownNow();
+				this.pagePool = null;
+				this.pagePermits = null;
+			}
+		}
 		localmonitor.split(1);
 		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-			System.out.println("done in: " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
 			System.out.println("Sorting reports and writing index..."); //$NON-NLS-1$
-			start = System.currentTimeMillis();
 		}
 		localmonitor.setTaskName(SearchMessages.UseReportConverter_writing_root_index);
 		writeIndexPage(result);
 		localmonitor.split(1);
+		start = endPhase("index page", start); //$NON-NLS-1$
+		writeMetaPage(htmlRoot);
+		endPhase("meta page", start); //$NON-NLS-1$
 		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
-			System.out.println("done in: " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			System.out.println("Use report conversion timings (parallelism: " + this.parallelism + "):"); //$NON-NLS-1$ //$NON-NLS-2$
+			for (Entry<String, Long> entry : this.phaseTimes.entrySet()) {
+				System.out.println("\t" + entry.getKey() + ": " + entry.getValue() + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			}
+			System.out.println("\ttime spent writing bundle pages: " + TimeUnit.NANOSECONDS.toMillis(this.pageTime.sum()) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
 		}
-		writeMetaPage(htmlRoot);
+	}
+
+	/**
+	 * Records the time spent in a phase of the conversion
+	 *
+	 * @param phase the name of the phase
+	 * @param start the time the phase started at
+	 * @return the time the phase ended at
+	 */
+	private long endPhase(String phase, long start) {
+		long end = System.currentTimeMillis();
+		this.phaseTimes.put(phase, Long.valueOf(end - start));
+		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
+			System.out.println("done in: " + (end - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return end;
+	}
+
+	/**
+	 * Sets the number of bundles whose pages are written concurrently while
+	 * the use scan is parsed. The pages of the types of a bundle are then
+	 * written concurrently as well. The default is given by
+	 * {@link Parallelism#getDefault()}.
+	 *
+	 * @param parallelism the number of bundles written concurrently, 1 or less
+	 *            to write the pages sequentially
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Writes the pages of the given report, used by the visitor once a bundle
+	 * has been visited
+	 */
+	void writePages(IComponentDescriptor target, Report report, List<Type> referees) throws Exception {
+		long start = System.nanoTime();
+		writeReferencedMemberPage(report, referees);
+		long time = System.nanoTime() - start;
+		this.pageTime.add(time);
+		if (ApiPlugin.DEBUG_USE_REPORT_CONVERTER) {
+			System.out.println("Wrote report for bundle: " + target.getId() + " in: " + TimeUnit.NANOSECONDS.toMillis(time) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * Schedules the pages of the given report to be written concurrently.
+	 * Blocks while too many bundles are waiting to be written, so that the
+	 * memory used does not grow with the size of the use scan.
+	 */
+	void schedulePages(IComponentDescriptor target, Report report, List<Type> referees) throws InterruptedException {
+		Semaphore permits = this.pagePermits;
+		permits.acquire();
+		this.pagePool.execute(() -> {
+			try {
+				writePages(target, report, referees);
+			} catch (Exception e) {
+				ApiPlugin.log(e);
+			} finally {
+				permits.release();
+			}
+		});
+	}
+
+	/**
+	 * Waits until all the scheduled pages have been written
+	 */
+	private void awaitPages() throws InterruptedException {
+		int permits = 2 * this.parallelism;
+		this.pagePermits.acquire(permits);
+		this.pagePermits.release(permits);
 	}
 
 	protected List<?> parse(IProgressMonitor monitor) throws Exception {
@@ -917,7 +1028,9 @@ public class UseReportConverter extends HTMLConvertor {
 	protected void writeReferencedMemberPage(final Report report, final List<Type> referees) throws Exception {
 		Path htmlroot = Path.of(getHtmlLocation(), report.name);
 		Path originhtml = htmlroot.resolve("index.html"); //$NON-NLS-1$
+		List<ForkJoinTask<?>> typePages = new ArrayList<>();
 		try {
+			Files.createDirectories(htmlroot);
 			StringBuilder buffer = new StringBuilder();
 			buffer.append(HTML_HEADER);
 			buffer.append(OPEN_HTML).append(OPEN_HEAD).append(CONTENT_TYPE_META);
@@ -943,7 +1056,14 @@ public class UseReportConverter extends HTMLConvertor {
 				Path typefile = htmlroot.resolve(fqname + HTML_EXTENSION);
 				String link = extractLinkFrom(htmlroot.toFile(), typefile.toAbsolutePath().toString());
 				buffer.append(getReferenceTableEntry(counts, link, fqname, false));
-				writeTypePage(map, type, typefile, fqname);
+				if (this.pagePool != null) {
+					typePages.add(this.pagePool.submit(() -> {
+						writeTypePage(map, type, typefile, fqname);
+						return null;
+					}));
+				} else {
+					writeTypePage(map, type, typefile, fqname);
+				}
 			}
 			buffer.append(CLOSE_TABLE);
 			buffer.append(BR);
@@ -970,8 +1090,13 @@ public class UseReportConverter extends HTMLConvertor {
 			buffer.append(W3C_FOOTER);
 
 			writeString(originhtml, buffer);
+			for (ForkJoinTask<?> typePage : typePages) {
+				typePage.join();
+			}
 		} catch (IOException ioe) {
 			throw new Exception(NLS.bind(SearchMessages.ioexception_writing_html_file, originhtml.toAbsolutePath()));
+		} finally {
+			typePages.forEach(typePage -> typePage.cancel(false));
 		}
 	}
 
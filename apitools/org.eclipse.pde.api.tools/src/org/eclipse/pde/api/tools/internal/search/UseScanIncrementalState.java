@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.Util;
+
+/**
+ * Remembers the XML reference output of each bundle scanned by a use scan so
+ * that it can be reused by the next scan if the bundle did not change.
+ * <p>
+ * A bundle is rescanned if its own content, the content of one of its
+ * prerequisites or the settings of the scan changed, otherwise its output is
+ * copied from the state folder to the report location. The state folder
+ * contains a <code>state.properties</code> file mapping each bundle to the key
+ * of its last scan and its reference counts, and a <code>bundles</code>
+ * folder holding the output of each bundle, organized as
+ * <code>&lt;bundle&gt;/&lt;referenced bundle&gt;/&lt;visibility&gt;/*.xml</code>.
+ * </p>
+ * <p>
+ * Problems filtered while scanning a bundle are not remembered, so the count
+ * of filtered problems only accounts for the bundles actually scanned.
+ * </p>
+ *
+ * @since 1.3.600
+ */
+public class UseScanIncrementalState {
+
+	private static final String STATE_FILE = "state.properties"; //$NON-NLS-1$
+	private static final String BUNDLES_FOLDER = "bundles"; //$NON-NLS-1$
+	private static final String KEY_SUFFIX = ".key"; //$NON-NLS-1$
+	private static final String COUNTS_SUFFIX = ".counts"; //$NON-NLS-1$
+
+	private final Path fLocation;
+	private final String fSettings;
+	private final Properties fState = new Properties();
+	/**
+	 * Fingerprints of the components computed during this scan, by component
+	 * id, since most components are prerequisites of many others
+	 */
+	private final Map<String, String> fFingerprints = new HashMap<>();
+
+	/**
+	 * Constructor
+	 *
+	 * @param location the folder to keep the state in, must not be inside
+	 *            the report location
+	 * @param settings a description of the settings of the scan, the outputs
+	 *            of a scan run with different settings are never reused
+	 */
+	public UseScanIncrementalState(String location, String settings) {
+		fLocation = Path.of(location);
+		fSettings = settings;
+	}
+
+	/**
+	 * Loads the state saved by the previous scan, if any.
+	 *
+	 * @throws IOException if the state cannot be read
+	 */
+	public void load() throws IOException {
+		Path file = fLocation.resolve(STATE_FILE);
+		if (Files.isRegularFile(file)) {
+			try (InputStream in = Files.newInputStream(file)) {
+				fState.load(in);
+			}
+		}
+	}
+
+	/**
+	 * Saves the state for the next scan.
+	 *
+	 * @throws IOException if the state cannot be written
+	 */
+	public void save() throws IOException {
+		Files.createDirectories(fLocation);
+		try (OutputStream out = Files.newOutputStream(fLocation.resolve(STATE_FILE))) {
+			fState.store(out, null);
+		}
+	}
+
+	/**
+	 * Computes the key of a scan of the given component. The key changes when
+	 * the content of the component or of one of its prerequisites or the
+	 * settings of the scan change.
+	 *
+	 * @param component the component to scan
+	 * @param baseline the baseline the component belongs to
+	 * @return the key of the scan of the component
+	 * @throws CoreException if the prerequisites cannot be computed
+	 */
+	public String computeKey(IApiComponent component, IApiBaseline baseline) throws CoreException {
+		MessageDigest digest = newDigest();
+		update(digest, fSettings);
+		update(digest, getFingerprint(component));
+		IApiComponent[] prerequisites = baseline.getPrerequisiteComponents(new IApiComponent[] { component });
+		Arrays.sort(prerequisites, Comparator.comparing(IApiComponent::getSymbolicName).thenComparing(c -> String.valueOf(c.getVersion())));
+		for (IApiComponent prerequisite : prerequisites) {
+			update(digest, getFingerprint(prerequisite));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Returns the fingerprint of the identity and the content of the files of
+	 * the given component, computing it only once per scan.
+	 */
+	private String getFingerprint(IApiComponent component) {
+		return fFingerprints.computeIfAbsent(getId(component), id -> {
+			MessageDigest digest = newDigest();
+			updateFingerprint(digest, component);
+			return HexFormat.of().formatHex(digest.digest());
+		});
+	}
+
+	/**
+	 * Computes a fingerprint of the content of the given file or folder.
+	 * Archives are fingerprinted by the names, sizes and CRCs of their
+	 * entries, other files by their bytes. Time stamps are not taken into
+	 * account, so that a baseline extracted again has the same fingerprints.
+	 *
+	 * @param location the file or folder, may be <code>null</code>
+	 * @return the fingerprint of the content of the location
+	 */
+	public static String computeFingerprint(String location) {
+		MessageDigest digest = newDigest();
+		if (location != null) {
+			updateFingerprint(digest, Path.of(location));
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Adds the identity and the content of the files of the given component to
+	 * the given digest.
+	 */
+	private static void updateFingerprint(MessageDigest digest, IApiComponent component) {
+		update(digest, getId(component));
+		String location = component.getLocation();
+		if (location != null) {
+			updateFingerprint(digest, Path.of(location));
+		}
+	}
+
+	private static void updateFingerprint(MessageDigest digest, Path path) {
+		try {
+			if (Files.isDirectory(path)) {
+				List<Path> files;
+				try (Stream<Path> walk = Files.walk(path)) {
+					files = walk.filter(Files::isRegularFile).sorted().toList();
+				}
+				for (Path file : files) {
+					update(digest, path.relativize(file).toString().replace(File.separatorChar, '/'));
+					updateFileFingerprint(digest, file);
+				}
+			} else if (Files.isRegularFile(path)) {
+				update(digest, path.getFileName().toString());
+				updateFileFingerprint(digest, path);
+			}
+		} catch (IOException | RuntimeException e) {
+			// an unreadable component is always rescanned
+			update(digest, Long.toString(System.nanoTime()));
+		}
+	}
+
+	private static void updateFileFingerprint(MessageDigest digest, Path file) throws IOException {
+		if (Util.isArchive(file.getFileName().toString())) {
+			try (ZipFile zip = new ZipFile(file.toFile())) {
+				List<? extends ZipEntry> entries = zip.stream().sorted(Comparator.comparing(ZipEntry::getName)).toList();
+				for (ZipEntry entry : entries) {
+					update(digest, entry.getName() + ':' + entry.getSize() + ':' + entry.getCrc());
+				}
+				return;
+			} catch (ZipException e) {
+				// not an archive after all, use its bytes
+			}
+		}
+		try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+			in.transferTo(OutputStream.nullOutputStream());
+		}
+		digest.update((byte) 0);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * Returns if the output of the previous scan of the given component can be
+	 * reused.
+	 *
+	 * @param component the component to scan
+	 * @param key the key of the scan, see
+	 *            {@link #computeKey(IApiComponent, IApiBaseline)}
+	 * @return true if the previous output can be reused, false otherwise
+	 */
+	public boolean canReuse(IApiComponent component, String key) {
+		String id = getId(component);
+		return key.equals(fState.getProperty(id + KEY_SUFFIX)) && fState.getProperty(id + COUNTS_SUFFIX) != null;
+	}
+
+	/**
+	 * Copies the output of the previous scan of the given component into the
+	 * given report location.
+	 *
+	 * @param component the component whose output is reused
+	 * @param reportLocation the report location of the current scan
+	 * @return the total, illegal and internal reference counts of the reused
+	 *         output
+	 * @throws IOException if the output cannot be copied
+	 */
+	public int[] restore(IApiComponent component, String reportLocation) throws IOException {
+		String id = getId(component);
+		Path bundle = fLocation.resolve(BUNDLES_FOLDER).resolve(id);
+		Path report = Path.of(reportLocation);
+		if (Files.isDirectory(bundle)) {
+			try (DirectoryStream<Path> referees = Files.newDirectoryStream(bundle)) {
+				for (Path referee : referees) {
+					copy(referee, report.resolve(referee.getFileName().toString()).resolve(id));
+				}
+			}
+		}
+		return parseCounts(fState.getProperty(id + COUNTS_SUFFIX));
+	}
+
+	/**
+	 * Remembers the output of the scan of the given component, found in the
+	 * given report location.
+	 *
+	 * @param component the scanned component
+	 * @param key the key of the scan
+	 * @param reportLocation the report location of the current scan
+	 * @param counts the total, illegal and internal reference counts of the
+	 *            component
+	 * @throws IOException if the output cannot be copied
+	 */
+	public void store(IApiComponent component, String key, String reportLocation, int[] counts) throws IOException {
+		String id = getId(component);
+		Path bundle = fLocation.resolve(BUNDLES_FOLDER).resolve(id);
+		if (Files.exists(bundle)) {
+			Util.delete(bundle.toFile());
+		}
+		// forget the previous output until the new one is complete
+		fState.remove(id + KEY_SUFFIX);
+		File[] referees = new File(reportLocation).listFiles(File::isDirectory);
+		if (referees != null) {
+			for (File referee : referees) {
+				Path output = referee.toPath().resolve(id);
+				if (Files.isDirectory(output)) {
+					copy(output, bundle.resolve(referee.getName()));
+				}
+			}
+		}
+		fState.setProperty(id + COUNTS_SUFFIX, counts[0] + "," + counts[1] + "," + counts[2]); //$NON-NLS-1$ //$NON-NLS-2$
+		fState.setProperty(id + KEY_SUFFIX, key);
+	}
+
+	/**
+	 * Forgets the output of the scan of the given component, it will be
+	 * rescanned next time.
+	 *
+	 * @param component the component
+	 */
+	public void forget(IApiComponent component) {
+		String id = getId(component);
+		fState.remove(id + KEY_SUFFIX);
+		fState.remove(id + COUNTS_SUFFIX);
+	}
+
+	private static int[] parseCounts(String value) {
+		int[] counts = new int[3];
+		if (value != null) {
+			String[] values = value.split(","); //$NON-NLS-1$
+			for (int i = 0; i < counts.length && i < values.length; i++) {
+				try {
+					counts[i] = Integer.parseInt(values[i]);
+				} catch (NumberFormatException e) {
+					// keep 0
+				}
+			}
+		}
+		return counts;
+	}
+
+	private static void copy(Path source, Path target) throws IOException {
+		List<Path> files;
+		try (Stream<Path> walk = Files.walk(source)) {
+			files = walk.toList();
+		}
+		for (Path file : files) {
+			Path destination = target.resolve(source.relativize(file).toString());
+			if (Files.isDirectory(file)) {
+				Files.createDirectories(destination);
+			} else {
+				Files.createDirectories(destination.getParent());
+				Files.copy(file, destination, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+	}
+
+	/**
+	 * Returns the id of the given component, matching the name of the folders
+	 * written by {@link XmlReferenceDescriptorWriter}
+	 */
+	private static String getId(IApiComponent component) {
+		return component.getSymbolicName() + " (" + component.getVersion() + ')'; //$NON-NLS-1$
+	}
+}
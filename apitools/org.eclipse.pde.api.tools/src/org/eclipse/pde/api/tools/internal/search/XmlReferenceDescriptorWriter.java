@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,19 +13,31 @@
  *******************************************************************************/
 package org.eclipse.pde.api.tools.internal.search;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.FactoryConfigurationError;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.pde.api.tools.internal.IApiXmlConstants;
@@ -41,15 +53,14 @@ import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescrip
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
-import org.eclipse.pde.api.tools.internal.util.Util;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
-import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Writes reference descriptions to XML files.
+ * <p>
+ * The files are written with a streaming XML writer. When references are added
+ * to an existing file, the file is streamed through and rewritten rather than
+ * loaded in memory, so that reports of any size can be produced.
+ * </p>
  *
  * @since 1.0.1
  */
@@ -64,7 +75,8 @@ public class XmlReferenceDescriptorWriter {
 	private static final Integer V_ILLEGAL = Integer.valueOf(VisibilityModifiers.ILLEGAL_API);
 	private String fLocation = null;
 	private Map<String, Map<String, Map<Integer, Map<Integer, Map<String, Set<IReferenceDescriptor>>>>>> fReferenceMap = null;
-	private DocumentBuilder parser = null;
+	private final XMLInputFactory fInputFactory;
+	private final XMLOutputFactory fOutputFactory;
 
 	/**
 	 * Alternate API component where references were unresolved, or
@@ -72,21 +84,88 @@ public class XmlReferenceDescriptorWriter {
 	 */
 	private IComponentDescriptor alternate;
 
+	/**
+	 * The new references to one target, grouped by reference kind in the order
+	 * the kinds are first encountered
+	 */
+	private static final class TargetGroup {
+		final Map<String, List<IReferenceDescriptor>> kinds = new LinkedHashMap<>();
+		IMemberDescriptor resolved;
+	}
+
+	/**
+	 * Indents the elements written to an {@link XMLStreamWriter} by four
+	 * spaces per level
+	 */
+	private static final class IndentingWriter {
+		private static final String INDENT = "    "; //$NON-NLS-1$
+		private final XMLStreamWriter writer;
+		private int depth;
+		private boolean endedChild;
+
+		IndentingWriter(XMLStreamWriter writer) throws XMLStreamException {
+			this.writer = writer;
+			writer.writeStartDocument(StandardCharsets.UTF_8.name(), "1.0"); //$NON-NLS-1$
+		}
+
+		void start(String name) throws XMLStreamException {
+			newLine();
+			writer.writeStartElement(name);
+			depth++;
+			endedChild = false;
+		}
+
+		void empty(String name) throws XMLStreamException {
+			newLine();
+			writer.writeEmptyElement(name);
+			endedChild = true;
+		}
+
+		void attribute(String name, String value) throws XMLStreamException {
+			if (value != null) {
+				writer.writeAttribute(name, value);
+			}
+		}
+
+		void characters(String text) throws XMLStreamException {
+			writer.writeCharacters(text);
+		}
+
+		void end() throws XMLStreamException {
+			depth--;
+			if (endedChild) {
+				newLine();
+			}
+			writer.writeEndElement();
+			endedChild = true;
+		}
+
+		void close() throws XMLStreamException {
+			writer.writeEndDocument();
+			writer.writeCharacters("\n"); //$NON-NLS-1$
+			writer.close();
+		}
+
+		private void newLine() throws XMLStreamException {
+			writer.writeCharacters("\n"); //$NON-NLS-1$
+			for (int i = 0; i < depth; i++) {
+				writer.writeCharacters(INDENT);
+			}
+		}
+	}
+
 	/**
 	 * Constructor
 	 *
 	 * @param location the absolute path in the local file system to the folder
 	 *            to write the reports to
 	 */
-	@SuppressWarnings("restriction")
 	public XmlReferenceDescriptorWriter(String location) {
 		fLocation = location;
-		try {
-			parser = org.eclipse.core.internal.runtime.XmlProcessorFactory.createDocumentBuilderWithErrorOnDOCTYPE();
-			parser.setErrorHandler(new DefaultHandler());
-		} catch (FactoryConfigurationError | ParserConfigurationException pce) {
-			ApiPlugin.log(pce);
-		}
+		fInputFactory = XMLInputFactory.newInstance();
+		fInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		fInputFactory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		fOutputFactory = XMLOutputFactory.newInstance();
 	}
 
 	/**
@@ -226,7 +305,9 @@ public class XmlReferenceDescriptorWriter {
 
 	/**
 	 * Writes out a group of references under the newly created element with the
-	 * given name
+	 * given name. If the file of the group already exists, its content is
+	 * streamed to a new file and the references are merged into it on the fly,
+	 * so that the memory needed does not depend on the size of the file.
 	 *
 	 * @param origin the name of the bundle that has the references in it
 	 * @param referee the name of the bundle that is referenced
@@ -234,156 +315,218 @@ public class XmlReferenceDescriptorWriter {
 	private void writeGroup(String origin, String referee, File parent, String name,
 			Map<String, Set<IReferenceDescriptor>> map, int visibility)
 			throws CoreException, IOException {
-		if (parent.exists()) {
-			Document doc = null;
-			Element root = null;
-			int count = 0;
-			File out = new File(parent, name + ".xml"); //$NON-NLS-1$
-			if (out.exists()) {
-				try {
-					try (FileInputStream inputStream = new FileInputStream(out)) {
-						doc = this.parser.parse(inputStream);
-					} catch (IOException e) {
-						e.printStackTrace();
-					}
-					if (doc == null) {
-						return;
+		if (!parent.exists()) {
+			return;
+		}
+		Map<String, TargetGroup> targets = new LinkedHashMap<>();
+		int added = 0;
+		for (Entry<String, Set<IReferenceDescriptor>> entry : map.entrySet()) {
+			TargetGroup target = new TargetGroup();
+			IReferenceDescriptor last = null;
+			for (IReferenceDescriptor ref : entry.getValue()) {
+				target.kinds.computeIfAbsent(Integer.toString(ref.getReferenceKind()), k -> new ArrayList<>()).add(ref);
+				last = ref;
+				added++;
+			}
+			if (last != null) {
+				// set qualified referenced attributes
+				target.resolved = last.getReferencedMember();
+			}
+			targets.put(entry.getKey(), target);
+		}
+		Path out = parent.toPath().resolve(name + ".xml"); //$NON-NLS-1$
+		Path temp = Files.createTempFile(parent.toPath(), name, ".tmp"); //$NON-NLS-1$
+		boolean written = false;
+		try {
+			try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temp))) {
+				IndentingWriter writer = new IndentingWriter(fOutputFactory.createXMLStreamWriter(stream, StandardCharsets.UTF_8.name()));
+				if (Files.exists(out)) {
+					merge(out, writer, targets, added);
+				} else {
+					writer.start(IApiXmlConstants.REFERENCES);
+					writer.attribute(IApiXmlConstants.ATTR_REFERENCE_VISIBILITY, Integer.toString(visibility));
+					writer.attribute(IApiXmlConstants.ATTR_ORIGIN, origin);
+					writer.attribute(IApiXmlConstants.ATTR_REFEREE, referee);
+					writer.attribute(IApiXmlConstants.ATTR_NAME, getFormattedTypeName(name));
+					if (alternate != null) {
+						writer.attribute(IApiXmlConstants.ATTR_ALTERNATE, getId(alternate));
 					}
-					root = doc.getDocumentElement();
-					String value = root.getAttribute(IApiXmlConstants.ATTR_REFERENCE_COUNT);
-					count = Integer.parseInt(value);
-				} catch (SAXException se) {
-					se.printStackTrace();
-				}
-			} else {
-				doc = Util.newDocument();
-				root = doc.createElement(IApiXmlConstants.REFERENCES);
-				doc.appendChild(root);
-				root.setAttribute(IApiXmlConstants.ATTR_REFERENCE_VISIBILITY, Integer.toString(visibility));
-				root.setAttribute(IApiXmlConstants.ATTR_ORIGIN, origin);
-				root.setAttribute(IApiXmlConstants.ATTR_REFEREE, referee);
-				root.setAttribute(IApiXmlConstants.ATTR_NAME, getFormattedTypeName(name));
-				if (alternate != null) {
-					root.setAttribute(IApiXmlConstants.ATTR_ALTERNATE, getId(alternate));
+					writer.attribute(IApiXmlConstants.ATTR_REFERENCE_COUNT, Integer.toString(added));
+					writeTargets(writer, targets);
+					writer.end();
 				}
+				writer.close();
 			}
-			if (doc == null || root == null) {
-				return;
+			Files.move(temp, out, StandardCopyOption.REPLACE_EXISTING);
+			written = true;
+		} catch (XMLStreamException e) {
+			ApiPlugin.log(e);
+		} finally {
+			if (!written) {
+				Files.deleteIfExists(temp);
 			}
-			for (Entry<String, Set<IReferenceDescriptor>> entry : map.entrySet()) {
-				String tname = entry.getKey();
-				Element telement = findTypeElement(root, tname);
-				if (telement == null) {
-					telement = doc.createElement(IApiXmlConstants.ELEMENT_TARGET);
-					telement.setAttribute(IApiXmlConstants.ATTR_NAME, tname);
-					root.appendChild(telement);
-				}
-				Set<IReferenceDescriptor> refs = entry.getValue();
-				if (refs != null) {
-					for (Iterator<IReferenceDescriptor> iter2 = refs.iterator(); iter2.hasNext();) {
-						count++;
-						IReferenceDescriptor ref = iter2.next();
-						writeReference(doc, telement, ref);
-						if (!iter2.hasNext()) {
-							// set qualified referenced attributes
-							IMemberDescriptor resolved = ref.getReferencedMember();
-							if (resolved != null) {
-								addMemberDetails(telement, resolved);
+		}
+	}
+
+	/**
+	 * Copies the given existing file of references to the given writer, adding
+	 * the new references to their target and reference kind elements as they
+	 * are encountered. References to targets or of kinds not found in the file
+	 * are appended at the end of their parent element.
+	 */
+	private void merge(Path file, IndentingWriter writer, Map<String, TargetGroup> targets, int added) throws CoreException, IOException, XMLStreamException {
+		try (InputStream stream = new BufferedInputStream(Files.newInputStream(file))) {
+			XMLStreamReader reader = fInputFactory.createXMLStreamReader(stream);
+			try {
+				TargetGroup target = null;
+				List<IReferenceDescriptor> kind = null;
+				int depth = 0;
+				while (reader.hasNext()) {
+					switch (reader.next()) {
+						case XMLStreamConstants.START_ELEMENT -> {
+							depth++;
+							String element = reader.getLocalName();
+							writer.start(element);
+							if (depth == 1) {
+								copyAttributes(reader, writer, IApiXmlConstants.ATTR_REFERENCE_COUNT);
+								int count = Integer.parseInt(reader.getAttributeValue(null, IApiXmlConstants.ATTR_REFERENCE_COUNT));
+								writer.attribute(IApiXmlConstants.ATTR_REFERENCE_COUNT, Integer.toString(count + added));
+							} else if (depth == 2 && IApiXmlConstants.ELEMENT_TARGET.equals(element)) {
+								target = targets.remove(reader.getAttributeValue(null, IApiXmlConstants.ATTR_NAME));
+								if (target != null && target.resolved != null) {
+									copyAttributes(reader, writer, IApiXmlConstants.ATTR_TYPE, IApiXmlConstants.ATTR_MEMBER_NAME, IApiXmlConstants.ATTR_SIGNATURE);
+									addMemberDetails(writer, target.resolved);
+								} else {
+									copyAttributes(reader, writer);
+								}
+							} else if (depth == 3 && target != null && IApiXmlConstants.REFERENCE_KIND.equals(element)) {
+								kind = target.kinds.remove(reader.getAttributeValue(null, IApiXmlConstants.ATTR_KIND));
+								copyAttributes(reader, writer);
+							} else {
+								copyAttributes(reader, writer);
+							}
+						}
+						case XMLStreamConstants.END_ELEMENT -> {
+							if (depth == 3 && kind != null) {
+								writeReferences(writer, kind);
+								kind = null;
+							} else if (depth == 2 && target != null) {
+								writeKinds(writer, target);
+								target = null;
+							} else if (depth == 1) {
+								writeTargets(writer, targets);
 							}
+							writer.end();
+							depth--;
 						}
+						case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+							if (!reader.isWhiteSpace()) {
+								writer.characters(reader.getText());
+							}
+						}
+						default -> { /**/ }
 					}
 				}
+			} finally {
+				reader.close();
 			}
-			root.setAttribute(IApiXmlConstants.ATTR_REFERENCE_COUNT, Integer.toString(count));
-			Util.writeDocumentToFile(doc, out.toPath());
 		}
 	}
 
 	/**
-	 * Add member descriptor details to the given element.
-	 *
-	 * @param element XML element
-	 * @param member member to add details for
+	 * Copies the attributes of the current element of the given reader, except
+	 * the given ones
 	 */
-	private void addMemberDetails(Element element, IMemberDescriptor member) {
-		switch (member.getElementType()) {
-			case IElementDescriptor.TYPE -> element.setAttribute(IApiXmlConstants.ATTR_TYPE,
-					((IReferenceTypeDescriptor) member).getQualifiedName());
-			case IElementDescriptor.FIELD -> {
-				IReferenceTypeDescriptor encl = member.getEnclosingType();
-				element.setAttribute(IApiXmlConstants.ATTR_TYPE, encl.getQualifiedName());
-				element.setAttribute(IApiXmlConstants.ATTR_MEMBER_NAME, member.getName());
-			}
-			case IElementDescriptor.METHOD -> {
-				IReferenceTypeDescriptor encl = member.getEnclosingType();
-				element.setAttribute(IApiXmlConstants.ATTR_TYPE, encl.getQualifiedName());
-				element.setAttribute(IApiXmlConstants.ATTR_MEMBER_NAME, member.getName());
-				element.setAttribute(IApiXmlConstants.ATTR_SIGNATURE, ((IMethodDescriptor) member).getSignature());
+	private void copyAttributes(XMLStreamReader reader, IndentingWriter writer, String... skipped) throws XMLStreamException {
+		attributes: for (int i = 0; i < reader.getAttributeCount(); i++) {
+			String name = reader.getAttributeLocalName(i);
+			for (String skip : skipped) {
+				if (skip.equals(name)) {
+					continue attributes;
+				}
 			}
-			default -> { /**/ }
+			writer.attribute(name, reader.getAttributeValue(i));
 		}
 	}
 
 	/**
-	 * gets the root kind element
+	 * Writes new target elements for the given targets
 	 */
-	private Element findTypeElement(Element root, String tname) {
-		if (tname == null) {
-			return null;
-		}
-		Element kelement = null;
-		NodeList nodes = root.getElementsByTagName(IApiXmlConstants.ELEMENT_TARGET);
-		for (int i = 0; i < nodes.getLength(); i++) {
-			kelement = (Element) nodes.item(i);
-			if (tname.equals(kelement.getAttribute(IApiXmlConstants.ATTR_NAME))) {
-				return kelement;
+	private void writeTargets(IndentingWriter writer, Map<String, TargetGroup> targets) throws CoreException, XMLStreamException {
+		for (Entry<String, TargetGroup> entry : targets.entrySet()) {
+			TargetGroup target = entry.getValue();
+			writer.start(IApiXmlConstants.ELEMENT_TARGET);
+			writer.attribute(IApiXmlConstants.ATTR_NAME, entry.getKey());
+			if (target.resolved != null) {
+				addMemberDetails(writer, target.resolved);
 			}
+			writeKinds(writer, target);
+			writer.end();
 		}
-		return null;
+		targets.clear();
 	}
 
 	/**
-	 * gets the root kind element
+	 * Writes new reference kind elements for the remaining kinds of the given
+	 * target
 	 */
-	private Element findKindElement(Element root, Integer kind) {
-		Element kelement = null;
-		NodeList nodes = root.getElementsByTagName(IApiXmlConstants.REFERENCE_KIND);
-		for (int i = 0; i < nodes.getLength(); i++) {
-			kelement = (Element) nodes.item(i);
-			if (kind.toString().equals(kelement.getAttribute(IApiXmlConstants.ATTR_KIND))) {
-				return kelement;
-			}
+	private void writeKinds(IndentingWriter writer, TargetGroup target) throws CoreException, XMLStreamException {
+		for (List<IReferenceDescriptor> refs : target.kinds.values()) {
+			IReferenceDescriptor first = refs.get(0);
+			writer.start(IApiXmlConstants.REFERENCE_KIND);
+			writer.attribute(IApiXmlConstants.ATTR_REFERENCE_KIND_NAME, Reference.getReferenceText(first.getReferenceKind()));
+			writer.attribute(IApiXmlConstants.ATTR_KIND, Integer.toString(first.getReferenceKind()));
+			writer.attribute(IApiXmlConstants.ATTR_FLAGS, Integer.toString(first.getReferenceFlags()));
+			writeReferences(writer, refs);
+			writer.end();
 		}
-		return null;
+		target.kinds.clear();
 	}
 
 	/**
-	 * Writes the attributes from the given {@link IReference} into a new
-	 * {@link Element} that is added to the given parent.
+	 * Add member descriptor details to the current element.
+	 *
+	 * @param writer the XML writer
+	 * @param member member to add details for
 	 */
-	private void writeReference(Document document, Element parent, IReferenceDescriptor reference) throws CoreException {
-		Integer kind = Integer.valueOf(reference.getReferenceKind());
-		Element kelement = findKindElement(parent, kind);
-		if (kelement == null) {
-			kelement = document.createElement(IApiXmlConstants.REFERENCE_KIND);
-			kelement.setAttribute(IApiXmlConstants.ATTR_REFERENCE_KIND_NAME, Reference.getReferenceText(kind.intValue()));
-			kelement.setAttribute(IApiXmlConstants.ATTR_KIND, kind.toString());
-			kelement.setAttribute(IApiXmlConstants.ATTR_FLAGS, Integer.toString(reference.getReferenceFlags()));
-			parent.appendChild(kelement);
-		}
-		Element relement = document.createElement(IApiXmlConstants.ATTR_REFERENCE);
-		IMemberDescriptor member = reference.getMember();
-		relement.setAttribute(IApiXmlConstants.ATTR_ORIGIN, getText(member));
-		String[] messages = reference.getProblemMessages();
-		if (messages != null) {
-			relement.setAttribute(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENTS, getText(messages));
+	private void addMemberDetails(IndentingWriter writer, IMemberDescriptor member) throws XMLStreamException {
+		switch (member.getElementType()) {
+			case IElementDescriptor.TYPE -> writer.attribute(IApiXmlConstants.ATTR_TYPE,
+					((IReferenceTypeDescriptor) member).getQualifiedName());
+			case IElementDescriptor.FIELD -> {
+				IReferenceTypeDescriptor encl = member.getEnclosingType();
+				writer.attribute(IApiXmlConstants.ATTR_TYPE, encl.getQualifiedName());
+				writer.attribute(IApiXmlConstants.ATTR_MEMBER_NAME, member.getName());
+			}
+			case IElementDescriptor.METHOD -> {
+				IReferenceTypeDescriptor encl = member.getEnclosingType();
+				writer.attribute(IApiXmlConstants.ATTR_TYPE, encl.getQualifiedName());
+				writer.attribute(IApiXmlConstants.ATTR_MEMBER_NAME, member.getName());
+				writer.attribute(IApiXmlConstants.ATTR_SIGNATURE, ((IMethodDescriptor) member).getSignature());
+			}
+			default -> { /**/ }
 		}
-		// add detailed information about origin
-		addMemberDetails(relement, member);
-		member = reference.getReferencedMember();
-		if (member != null) {
-			relement.setAttribute(IApiXmlConstants.ATTR_LINE_NUMBER, Integer.toString(reference.getLineNumber()));
-			kelement.appendChild(relement);
+	}
+
+	/**
+	 * Writes the attributes from the given {@link IReference}s into new
+	 * reference elements. References that were not resolved are skipped.
+	 */
+	private void writeReferences(IndentingWriter writer, List<IReferenceDescriptor> references) throws CoreException, XMLStreamException {
+		for (IReferenceDescriptor reference : references) {
+			if (reference.getReferencedMember() == null) {
+				continue;
+			}
+			writer.empty(IApiXmlConstants.ATTR_REFERENCE);
+			IMemberDescriptor member = reference.getMember();
+			writer.attribute(IApiXmlConstants.ATTR_ORIGIN, getText(member));
+			String[] messages = reference.getProblemMessages();
+			if (messages != null) {
+				writer.attribute(IApiXmlConstants.ELEMENT_PROBLEM_MESSAGE_ARGUMENTS, getText(messages));
+			}
+			// add detailed information about origin
+			addMemberDetails(writer, member);
+			writer.attribute(IApiXmlConstants.ATTR_LINE_NUMBER, Integer.toString(reference.getLineNumber()));
 		}
 	}
 
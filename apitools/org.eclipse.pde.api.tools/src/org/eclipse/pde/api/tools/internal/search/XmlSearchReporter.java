@@ -16,8 +16,10 @@ package org.eclipse.pde.api.tools.internal.search;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.FactoryConfigurationError;
@@ -52,6 +54,10 @@ public class XmlSearchReporter implements IApiSearchReporter {
 	private int referenceCount = 0;
 	private int illegalCount = 0;
 	private int internalCount = 0;
+	/**
+	 * Total, illegal and internal reference counts by component id
+	 */
+	private final Map<String, int[]> componentCounts = new HashMap<>();
 
 	/**
 	 * Constructor
@@ -82,6 +88,8 @@ public class XmlSearchReporter implements IApiSearchReporter {
 		// Use a hashset for counting to remove any duplicate references that
 		// the writer would remove
 		HashSet<IReferenceDescriptor> writtenReferences = new HashSet<>();
+		IApiComponent component = element.getApiComponent();
+		int[] counts = component == null ? new int[3] : componentCounts.computeIfAbsent(getId(component), id -> new int[3]);
 		XmlReferenceDescriptorWriter writer = new XmlReferenceDescriptorWriter(fLocation);
 		List<IReferenceDescriptor> descriptors = new ArrayList<>(references.length + 1);
 		for (IReference referenceInterface : references) {
@@ -93,14 +101,17 @@ public class XmlSearchReporter implements IApiSearchReporter {
 				// Update counters
 				if (!writtenReferences.contains(descriptor)) {
 					referenceCount++;
+					counts[0]++;
 					if ((referenceInterface.getReferenceFlags() & IReference.F_ILLEGAL) > 0) {
 						illegalCount++;
+						counts[1]++;
 					}
 					// Though visibility is a bit flag, we want to match the xml
 					// output exactly, which separates into folders by
 					// visibility equality
 					if (descriptor.getVisibility() == VisibilityModifiers.PRIVATE) {
 						internalCount++;
+						counts[2]++;
 					}
 					writtenReferences.add(descriptor);
 				}
@@ -113,6 +124,35 @@ public class XmlSearchReporter implements IApiSearchReporter {
 		writer.writeReferences(descriptors.toArray(new IReferenceDescriptor[descriptors.size()]));
 	}
 
+	/**
+	 * Returns the total, illegal and internal counts of the references reported
+	 * so far for the given component.
+	 *
+	 * @param component the component the references were reported for
+	 * @return the reference counts of the component
+	 */
+	public int[] getCounts(IApiComponent component) {
+		int[] counts = componentCounts.get(getId(component));
+		return counts == null ? new int[3] : counts.clone();
+	}
+
+	/**
+	 * Adds the given total, illegal and internal counts of references reported
+	 * by an earlier scan to the counts of this reporter.
+	 *
+	 * @param component the component the references were reported for
+	 * @param counts the reference counts of the component
+	 */
+	public void addCounts(IApiComponent component, int[] counts) {
+		referenceCount += counts[0];
+		illegalCount += counts[1];
+		internalCount += counts[2];
+		int[] current = componentCounts.computeIfAbsent(getId(component), id -> new int[3]);
+		for (int i = 0; i < current.length; i++) {
+			current[i] += counts[i];
+		}
+	}
+
 	/**
 	 * Resolves the id to use for the component in the mapping
 	 *
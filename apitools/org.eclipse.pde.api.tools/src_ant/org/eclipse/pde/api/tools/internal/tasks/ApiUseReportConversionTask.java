@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2012 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.search.UseReportConverter;
 import org.eclipse.pde.api.tools.internal.util.Util;
+import org.eclipse.pde.internal.core.util.Parallelism;
 
 /**
  * Default task for converting the XML output from the apitooling.apiuse ant
@@ -35,6 +36,11 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 	private String xsltFileLocation = null;
 	private String[] filterPatterns = null;
 	private String[] toPatterns = null;
+	/**
+	 * Number of bundles written concurrently, <code>0</code> if not set to
+	 * use the default of the converter
+	 */
+	private int parallelism = 0;
 
 	/**
 	 * Set the debug value.
@@ -116,6 +122,32 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 		this.xsltFileLocation = xsltFileLocation;
 	}
 
+	/**
+	 * Set the number of bundles whose HTML pages are written concurrently.
+	 *
+	 * <p>
+	 * The value is either a positive integer or <code>"auto"</code> to use the
+	 * number of available processors.
+	 * </p>
+	 *
+	 * <p>
+	 * This is optional. If not set, the default of {@link Parallelism} is
+	 * used, which writes the pages sequentially unless the
+	 * {@value Parallelism#PROPERTY} system property is set.
+	 * </p>
+	 *
+	 * @param parallelism the number of bundles written concurrently
+	 * @throws BuildException if the given value is neither a positive integer
+	 *             nor "auto".
+	 */
+	public void setParallelism(String parallelism) {
+		int value = Parallelism.parse(parallelism, 0);
+		if (value < 1) {
+			throw new BuildException(NLS.bind(Messages.ApiUseReportConversionTask_invalid_parallelism, parallelism));
+		}
+		this.parallelism = value;
+	}
+
 	@Override
 	public void execute() throws BuildException {
 		if (this.debug) {
@@ -130,6 +162,9 @@ public final class ApiUseReportConversionTask extends CommonUtilsTask {
 		try {
 			Util.delete(new File(this.htmlReportsLocation));
 			UseReportConverter converter = new UseReportConverter(this.htmlReportsLocation, this.xmlReportsLocation, this.toPatterns, this.filterPatterns);
+			if (this.parallelism > 0) {
+				converter.setParallelism(this.parallelism);
+			}
 			ApiPlugin.DEBUG_USE_REPORT_CONVERTER = this.debug;
 			converter.convert(this.xsltFileLocation, null);
 			File index = converter.getReportIndex();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2013 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,11 +15,18 @@
 package org.eclipse.pde.api.tools.internal.tasks;
 
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.text.DateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
@@ -33,11 +40,11 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
 import org.eclipse.pde.api.tools.internal.provisional.search.ApiSearchEngine;
-import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchReporter;
 import org.eclipse.pde.api.tools.internal.provisional.search.IApiSearchRequestor;
 import org.eclipse.pde.api.tools.internal.search.ApiDescriptionModifier;
 import org.eclipse.pde.api.tools.internal.search.SkippedComponent;
 import org.eclipse.pde.api.tools.internal.search.UseMetadata;
+import org.eclipse.pde.api.tools.internal.search.UseScanIncrementalState;
 import org.eclipse.pde.api.tools.internal.search.UseSearchRequestor;
 import org.eclipse.pde.api.tools.internal.search.XmlSearchReporter;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
@@ -118,6 +125,12 @@ public final class ApiUseTask extends CommonUtilsTask {
 	 */
 	private String filters = null;
 
+	/**
+	 * Location of the state of incremental scans or <code>null</code> to scan
+	 * all bundles
+	 */
+	private String incrementalState = null;
+
 	/**
 	 * Set the location of the current product you want to search.
 	 *
@@ -286,6 +299,10 @@ public final class ApiUseTask extends CommonUtilsTask {
 		if (!considerapi && !considerinternal && !considerillegaluse) {
 			throw new BuildException(Messages.UseTask_no_scan_both_types_not_searched_for);
 		}
+		// the report location is cleaned before each scan
+		if (this.incrementalState != null && new File(this.incrementalState).getAbsoluteFile().toPath().startsWith(new File(this.reportLocation).getAbsoluteFile().toPath())) {
+			throw new BuildException(NLS.bind(Messages.ApiUseTask_incremental_state_in_report_location, this.incrementalState));
+		}
 	}
 
 	@Override
@@ -295,12 +312,32 @@ public final class ApiUseTask extends CommonUtilsTask {
 		cleanReportLocation();
 		UseMetadata data = new UseMetadata(getSearchFlags(), this.scopepattern, this.referencepattern, this.currentBaselineLocation, this.reportLocation, this.apiPatterns, this.internalPatterns, this.archivePatterns, DateFormat.getDateTimeInstance().format(Calendar.getInstance().getTime()), getDescription());
 		IApiBaseline baseline = getBaseline(CURRENT_BASELINE_NAME, this.currentBaselineLocation);
-		IApiSearchReporter reporter = new XmlSearchReporter(this.reportLocation, this.debug);
-
+		XmlSearchReporter reporter = new XmlSearchReporter(this.reportLocation, this.debug);
+		UseScanIncrementalState state = null;
+		Map<IApiComponent, String> scanned = new LinkedHashMap<>();
+		List<IApiComponent> reused = new ArrayList<>();
+		boolean completed = false;
 		try {
 			Set<String> ids = new HashSet<>();
 			TreeSet<IApiComponent> scope = new TreeSet<>(Util.componentsorter);
 			getContext(baseline, ids, scope);
+			if (this.incrementalState != null) {
+				state = new UseScanIncrementalState(this.incrementalState, getIncrementalSettings());
+				loadIncrementalState(state);
+				for (Iterator<IApiComponent> iterator = scope.iterator(); iterator.hasNext();) {
+					IApiComponent component = iterator.next();
+					String key = state.computeKey(component, baseline);
+					if (state.canReuse(component, key)) {
+						reused.add(component);
+						iterator.remove();
+					} else {
+						scanned.put(component, key);
+					}
+				}
+				if (this.debug) {
+					System.out.println("Incremental scan: reusing the results of " + reused.size() + " bundles, scanning " + scanned.size() + " bundles"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				}
+			}
 			ApiSearchEngine engine = new ApiSearchEngine();
 			UseSearchRequestor requestor = new UseSearchRequestor(ids, scope.toArray(new IApiElement[scope.size()]), getSearchFlags());
 			requestor.setJarPatterns(archivePatterns);
@@ -320,9 +357,13 @@ public final class ApiUseTask extends CommonUtilsTask {
 
 			ApiPlugin.DEBUG_SEARCH_ENGINE = this.debug;
 			engine.search(baseline, requestor, reporter, null);
+			completed = true;
 		} catch (CoreException ce) {
 			throw new BuildException(Messages.ApiUseTask_search_engine_problem, ce);
 		} finally {
+			if (state != null) {
+				updateIncrementalState(state, reporter, scanned, reused, completed);
+			}
 			if (baseline != null) {
 				baseline.dispose();
 				deleteBaseline(this.currentBaselineLocation, this.baselinedir);
@@ -333,6 +374,64 @@ public final class ApiUseTask extends CommonUtilsTask {
 		}
 	}
 
+	/**
+	 * Returns a description of the settings of the scan, the results of a scan
+	 * run with different settings are never reused.
+	 *
+	 * @return the settings of the scan
+	 */
+	private String getIncrementalSettings() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append(getSearchFlags()).append('|');
+		buffer.append(this.scopepattern).append('|');
+		buffer.append(this.referencepattern).append('|');
+		buffer.append(Arrays.toString(this.apiPatterns)).append('|');
+		buffer.append(Arrays.toString(this.internalPatterns)).append('|');
+		buffer.append(Arrays.toString(this.archivePatterns)).append('|');
+		buffer.append(UseScanIncrementalState.computeFingerprint(this.filters)).append('|');
+		buffer.append(UseScanIncrementalState.computeFingerprint(this.excludeListLocation)).append('|');
+		buffer.append(UseScanIncrementalState.computeFingerprint(this.includeListLocation));
+		return buffer.toString();
+	}
+
+	private void loadIncrementalState(UseScanIncrementalState state) {
+		try {
+			state.load();
+		} catch (IOException e) {
+			ApiPlugin.log(NLS.bind(Messages.ApiUseTask_incremental_state_problem, this.incrementalState), e);
+		}
+	}
+
+	/**
+	 * Copies the results of the reused bundles into the report location and
+	 * remembers the results of the scanned bundles, if the scan completed.
+	 */
+	private void updateIncrementalState(UseScanIncrementalState state, XmlSearchReporter reporter, Map<IApiComponent, String> scanned, List<IApiComponent> reused, boolean completed) {
+		long time = 0;
+		if (this.debug) {
+			time = System.currentTimeMillis();
+			System.out.println("Updating incremental scan state..."); //$NON-NLS-1$
+		}
+		try {
+			for (IApiComponent component : reused) {
+				reporter.addCounts(component, state.restore(component, this.reportLocation));
+			}
+			for (Map.Entry<IApiComponent, String> entry : scanned.entrySet()) {
+				if (completed) {
+					state.store(entry.getKey(), entry.getValue(), this.reportLocation, reporter.getCounts(entry.getKey()));
+				} else {
+					state.forget(entry.getKey());
+				}
+			}
+			state.save();
+		} catch (IOException e) {
+			ApiPlugin.log(NLS.bind(Messages.ApiUseTask_incremental_state_problem, this.incrementalState), e);
+		}
+		if (this.debug) {
+			System.out.println("done in: " + (System.currentTimeMillis() - time) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
 	/**
 	 * Returns if we should add the given component to our search scope
 	 *
@@ -510,6 +609,9 @@ public final class ApiUseTask extends CommonUtilsTask {
 			} else {
 				System.out.println("No API filter location"); //$NON-NLS-1$
 			}
+			if (this.incrementalState != null) {
+				System.out.println("Incremental state location : " + this.incrementalState); //$NON-NLS-1$
+			}
 			if (this.scopepattern == null) {
 				System.out.println("No scope pattern defined - searching all bundles"); //$NON-NLS-1$
 			} else {
@@ -623,4 +725,25 @@ public final class ApiUseTask extends CommonUtilsTask {
 	public void setFilters(String filters) {
 		this.filters = filters;
 	}
+
+	/**
+	 * Set the location of the state of incremental scans.
+	 *
+	 * <p>
+	 * When set, the results of each scanned bundle are remembered in this
+	 * location. The next scan only rescans the bundles that changed, whose
+	 * prerequisites changed, or all of them if the settings of the scan
+	 * changed, and copies the results of the other bundles into the report
+	 * location.
+	 * </p>
+	 * <p>
+	 * The location is set using an absolute path and must not be inside the
+	 * report location.
+	 * </p>
+	 *
+	 * @param location the location of the incremental state
+	 */
+	public void setIncrementalState(String location) {
+		this.incrementalState = location;
+	}
 }
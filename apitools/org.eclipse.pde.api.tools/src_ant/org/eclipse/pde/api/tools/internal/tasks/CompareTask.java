@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -35,6 +35,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.internal.util.UtilMessages;
+import org.eclipse.pde.internal.core.util.Parallelism;
 
 /**
  * Ant task to compare API scopes.
@@ -49,6 +50,7 @@ public class CompareTask extends CommonUtilsTask {
 	private String componentsList;
 	private String excludeListLocation;
 	private String includeListLocation;
+	private int parallelism = Parallelism.getDefault();
 
 	@Override
 	public void execute() throws BuildException {
@@ -65,6 +67,7 @@ public class CompareTask extends CommonUtilsTask {
 			System.out.println("Baseline to compare : " + this.currentBaselineLocation); //$NON-NLS-1$
 			System.out.println("Report location : " + this.reportLocation); //$NON-NLS-1$
 			System.out.println("Component's list : " + this.componentsList); //$NON-NLS-1$
+			System.out.println("Parallelism : " + this.parallelism); //$NON-NLS-1$
 			if (this.excludeListLocation != null) {
 				System.out.println("exclude list location : " + this.excludeListLocation); //$NON-NLS-1$
 			} else {
@@ -142,7 +145,7 @@ public class CompareTask extends CommonUtilsTask {
 			scope.addElement(currentBaseline);
 		}
 		try {
-			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
+			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, false, this.parallelism, null);
 		} catch (CoreException e) {
 			// an error occurred during the comparison
 			throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
@@ -301,6 +304,31 @@ public class CompareTask extends CommonUtilsTask {
 		this.componentsList = componentsList;
 	}
 
+	/**
+	 * Set the number of API components that are compared concurrently.
+	 *
+	 * <p>
+	 * The value is either a positive integer or <code>"auto"</code> to use the
+	 * number of available processors.
+	 * </p>
+	 *
+	 * <p>
+	 * This is optional. If not set, the default of {@link Parallelism} is
+	 * used, which compares the components sequentially unless the
+	 * {@value Parallelism#PROPERTY} system property is set.
+	 * </p>
+	 *
+	 * @param value the given degree of parallelism
+	 * @throws BuildException if the given value is neither a positive integer
+	 *             nor "auto".
+	 */
+	public void setParallelism(String value) {
+		this.parallelism = Parallelism.parse(value, 0);
+		if (this.parallelism < 1) {
+			throw new BuildException(NLS.bind(Messages.CompareTask_invalid_parallelism, value));
+		}
+	}
+
 	/**
 	 * Set the exclude list location.
 	 *
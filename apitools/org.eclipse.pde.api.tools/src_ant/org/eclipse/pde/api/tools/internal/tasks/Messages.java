@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2013 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -90,10 +90,14 @@ public class Messages extends NLS {
 	public static String ApiMigrationTask_scan_location_not_exist;
 	public static String ApiMigrationTask_scan_locatoin_same_as_report_location;
 
+	public static String CompareTask_invalid_parallelism;
 	public static String ApiUseReportConversionTask_conversion_complete;
+	public static String ApiUseReportConversionTask_invalid_parallelism;
 	public static String ApiUseTask_missing_baseline_argument;
 	public static String ApiUseTask_missing_report_location;
 	public static String ApiUseTask_search_engine_problem;
+	public static String ApiUseTask_incremental_state_in_report_location;
+	public static String ApiUseTask_incremental_state_problem;
 	public static String UseTask_no_scan_both_types_not_searched_for;
 
 	public static String AddedElement;
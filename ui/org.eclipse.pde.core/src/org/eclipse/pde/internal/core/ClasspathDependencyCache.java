@@ -0,0 +1,262 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.osgi.service.resolver.BaseDescription;
+import org.eclipse.osgi.service.resolver.BundleDelta;
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.BundleSpecification;
+import org.eclipse.osgi.service.resolver.ExportPackageDescription;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
+import org.eclipse.pde.internal.core.PDEClasspathContainer.Rule;
+
+/**
+ * Caches the computations on the resolver state shared by the classpath
+ * containers of the workspace plug-ins, so that bundles many plug-ins depend
+ * on are only processed once per state version rather than once per
+ * plug-in.
+ * <p>
+ * The cache is bound to one {@link State} and discarded when another state is
+ * used. It is invalidated by the {@link StateDelta} of each resolution of the
+ * state: the values of the changed bundles are evicted, as well as the
+ * dependency closures and visible packages that include a changed bundle. The
+ * values of the bundles that do not depend on the changes are kept. Each
+ * invalidation starts a new generation of the cache, computations running
+ * concurrently with an invalidation store their results in the discarded
+ * generation.
+ * </p>
+ */
+public final class ClasspathDependencyCache {
+
+	/**
+	 * A package exported by a bundle, with the access rule path of its
+	 * classes
+	 */
+	public record ExportedPackage(IPath path, String[] friends, boolean internal) {
+
+		/**
+		 * Returns whether the access to the package is discouraged for the
+		 * given bundle.
+		 */
+		boolean isDiscouraged(BundleDescription bundle) {
+			if (friends != null) {
+				String symbolicName = bundle.getSymbolicName();
+				return Arrays.stream(friends).noneMatch(symbolicName::equals);
+			}
+			return internal;
+		}
+	}
+
+	/**
+	 * The cached values of one version of the state
+	 */
+	private static final class Generation {
+		final Map<BundleDescription, List<ExportedPackage>> exportedPackages = new ConcurrentHashMap<>();
+		final Map<BundleDescription, List<BundleDescription>> reexportClosures = new ConcurrentHashMap<>();
+		final Map<BundleDescription, Map<BundleDescription, List<Rule>>> visiblePackages = new ConcurrentHashMap<>();
+		volatile List<BundleDescription> junit5RuntimeClosure;
+
+		Generation() {
+		}
+
+		/**
+		 * Creates the generation following the given one, keeping the values
+		 * that do not depend on the bundles of the given ids. The JUnit 5
+		 * runtime closure, which looks bundles up by name, is discarded.
+		 */
+		Generation(Generation previous, Set<Long> changed) {
+			previous.exportedPackages.forEach((bundle, packages) -> {
+				if (!changed.contains(bundle.getBundleId())) {
+					exportedPackages.put(bundle, packages);
+				}
+			});
+			previous.reexportClosures.forEach((bundle, closure) -> {
+				if (!dependsOn(closure, changed)) {
+					reexportClosures.put(bundle, closure);
+				}
+			});
+			previous.visiblePackages.forEach((bundle, packages) -> {
+				if (!changed.contains(bundle.getBundleId()) && !dependsOn(packages.keySet(), changed)) {
+					visiblePackages.put(bundle, packages);
+				}
+			});
+		}
+
+		private static boolean dependsOn(Collection<BundleDescription> bundles, Set<Long> changed) {
+			for (BundleDescription bundle : bundles) {
+				if (changed.contains(bundle.getBundleId())) {
+					return true;
+				}
+			}
+			return false;
+		}
+	}
+
+	private static final Object LOCK = new Object();
+
+	private static State fState;
+
+	private static Generation fGeneration = new Generation();
+
+	private final Generation fValues;
+
+	private ClasspathDependencyCache(Generation values) {
+		fValues = values;
+	}
+
+	/**
+	 * Returns the cache of the given state, discarding the cached values of
+	 * any other state.
+	 *
+	 * @param state the state the dependencies are computed on
+	 * @return the cache of the current version of the state
+	 */
+	public static ClasspathDependencyCache get(State state) {
+		if (state == null) {
+			// bundles removed from the state are not cached
+			return new ClasspathDependencyCache(new Generation());
+		}
+		synchronized (LOCK) {
+			if (state != fState) {
+				fState = state;
+				fGeneration = new Generation();
+			}
+			return new ClasspathDependencyCache(fGeneration);
+		}
+	}
+
+	/**
+	 * Invalidates the values affected by the given resolution of the state.
+	 *
+	 * @param delta the delta of the resolution, or <code>null</code> if the
+	 *            whole state changed
+	 */
+	public static void invalidate(StateDelta delta) {
+		synchronized (LOCK) {
+			if (delta == null) {
+				fGeneration = new Generation();
+				return;
+			}
+			BundleDelta[] changes = delta.getChanges();
+			if (changes.length == 0 || delta.getState() != fState) {
+				return;
+			}
+			// an updated bundle is replaced by a new description with the same id
+			Set<Long> changed = new HashSet<>();
+			for (BundleDelta change : changes) {
+				changed.add(change.getBundle().getBundleId());
+			}
+			fGeneration = new Generation(fGeneration, changed);
+		}
+	}
+
+	/**
+	 * Returns the packages exported by the given bundle.
+	 *
+	 * @param bundle the exporting bundle
+	 * @return the exported packages, in the order of the manifest
+	 */
+	public List<ExportedPackage> getExportedPackages(BundleDescription bundle) {
+		return fValues.exportedPackages.computeIfAbsent(bundle, b -> {
+			List<ExportedPackage> packages = new ArrayList<>();
+			for (ExportPackageDescription export : b.getExportPackages()) {
+				IPath path = IPath.fromOSString(export.getName().replace('.', '/') + "/*"); //$NON-NLS-1$
+				String[] friends = (String[]) export.getDirective(ICoreConstants.FRIENDS_DIRECTIVE);
+				boolean internal = ((Boolean) export.getDirective(ICoreConstants.INTERNAL_DIRECTIVE)).booleanValue();
+				packages.add(new ExportedPackage(path, friends, internal));
+			}
+			return List.copyOf(packages);
+		});
+	}
+
+	/**
+	 * Returns the given bundle followed by the bundles it re-exports, directly
+	 * or through other re-exported bundles.
+	 *
+	 * @param bundle the root bundle
+	 * @return the re-export closure of the bundle, in breadth first order
+	 */
+	public List<BundleDescription> getReexportClosure(BundleDescription bundle) {
+		return fValues.reexportClosures.computeIfAbsent(bundle, b -> {
+			Set<BundleDescription> closure = new LinkedHashSet<>();
+			Queue<BundleDescription> queue = new ArrayDeque<>();
+			queue.add(b);
+			while (!queue.isEmpty()) {
+				BundleDescription current = queue.remove();
+				if (!closure.add(current)) {
+					continue;
+				}
+				for (BundleSpecification required : current.getRequiredBundles()) {
+					if (required.isExported()) {
+						BaseDescription supplier = required.getSupplier();
+						if (supplier instanceof BundleDescription description) {
+							queue.add(description);
+						}
+					}
+				}
+			}
+			return List.copyOf(closure);
+		});
+	}
+
+	/**
+	 * Returns the access rules of the packages visible to the given bundle,
+	 * by exporter.
+	 *
+	 * @param bundle the bundle to get the visible packages of
+	 * @param computer computes the visible packages if they are not cached
+	 * @return the read-only rules of the visible packages, by exporter
+	 */
+	Map<BundleDescription, List<Rule>> getVisiblePackages(BundleDescription bundle,
+			Function<BundleDescription, Map<BundleDescription, List<Rule>>> computer) {
+		return fValues.visiblePackages.computeIfAbsent(bundle, b -> {
+			Map<BundleDescription, List<Rule>> visiblePackages = new HashMap<>();
+			computer.apply(b).forEach((exporter, rules) -> visiblePackages.put(exporter, List.copyOf(rules)));
+			return Collections.unmodifiableMap(visiblePackages);
+		});
+	}
+
+	/**
+	 * Returns the closure of the bundles needed at runtime by JUnit 5.
+	 *
+	 * @param computer computes the closure if it is not cached
+	 * @return the read-only closure
+	 */
+	List<BundleDescription> getJunit5RuntimeClosure(Supplier<List<BundleDescription>> computer) {
+		List<BundleDescription> closure = fValues.junit5RuntimeClosure;
+		if (closure == null) {
+			closure = computer.get();
+			fValues.junit5RuntimeClosure = closure;
+		}
+		return closure;
+	}
+}
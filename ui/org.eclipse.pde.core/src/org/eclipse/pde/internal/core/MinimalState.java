@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2024 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -204,7 +204,17 @@ public class MinimalState {
 		return addBundle(bundleLocation, bundleId, manifest);
 	}
 
-	private BundleDescription addBundle(File bundleLocation, long bundleId, Map<String, String> manifest)
+	/**
+	 * Adds the bundle at the given location to the state using the given
+	 * manifest headers, which must have been read from the bundle.
+	 *
+	 * @param bundleLocation location of the bundle
+	 * @param bundleId id of the bundle to update, or -1 to add a new bundle
+	 * @param manifest headers of the manifest of the bundle
+	 * @return the description of the bundle or <code>null</code>
+	 * @throws CoreException if the manifest is invalid
+	 */
+	protected BundleDescription addBundle(File bundleLocation, long bundleId, Map<String, String> manifest)
 			throws CoreException {
 		// update for development mode
 		TargetWeaver.weaveManifest(manifest, bundleLocation);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,11 +17,10 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.FactoryConfigurationError;
 import javax.xml.parsers.ParserConfigurationException;
 
 import org.eclipse.osgi.service.resolver.BundleDescription;
@@ -42,7 +41,7 @@ import org.xml.sax.helpers.DefaultHandler;
 
 /**
  * Stores additional information from the manifest files of plugins and stores
- * this information in separate xml file.  Accessed through PDEState.
+ * this information in a separate binary file.  Accessed through PDEState.
  */
 public class PDEAuxiliaryState {
 
@@ -51,7 +50,6 @@ public class PDEAuxiliaryState {
 	private static String ATTR_BUNDLE_ID = "bundleID"; //$NON-NLS-1$
 	private static String ATTR_BUNDLE_STRUCTURE = "isBundle"; //$NON-NLS-1$
 	private static String ATTR_CLASS = "class"; //$NON-NLS-1$
-	private static String ATTR_EXPORTED = "exported"; //$NON-NLS-1$
 	private static String ATTR_EXTENSIBLE_API = "hasExtensibleAPI"; //$NON-NLS-1$
 	private static String ATTR_LOCALIZATION = "localization"; //$NON-NLS-1$
 	private static String ATTR_NAME = "name"; //$NON-NLS-1$
@@ -60,12 +58,14 @@ public class PDEAuxiliaryState {
 	private static String ATTR_PROVIDER = "provider"; //$NON-NLS-1$
 	private static String ATTR_BUNDLE_SOURCE = "bundleSource"; //$NON-NLS-1$
 
-	private static String ELEMENT_BUNDLE = "bundle"; //$NON-NLS-1$
-	private static String ELEMENT_LIB = "library"; //$NON-NLS-1$
-	private static String ELEMENT_ROOT = "map"; //$NON-NLS-1$
-
 	protected Map<String, PluginInfo> fPluginInfos;
 
+	/**
+	 * Binary cache holding the plugin infos not decoded yet, possibly
+	 * <code>null</code>
+	 */
+	private PluginInfoCache fCache;
+
 	/**
 	 * Constructor
 	 */
@@ -79,7 +79,7 @@ public class PDEAuxiliaryState {
 	 * @param state state containing plugin infos to initialize this state with
 	 */
 	protected PDEAuxiliaryState(PDEAuxiliaryState state) {
-		fPluginInfos = new HashMap<>(state.fPluginInfos);
+		fPluginInfos = new HashMap<>(state.getAllInfos());
 	}
 
 	/**
@@ -136,127 +136,136 @@ public class PDEAuxiliaryState {
 			}
 		}
 		info.libraries = list.toArray(new String[list.size()]);
-		fPluginInfos.put(element.getAttribute(ATTR_BUNDLE_ID), info);
+		putInfo(element.getAttribute(ATTR_BUNDLE_ID), info);
+	}
+
+	/**
+	 * Sets the plugin info of the given bundle, replacing the one that may
+	 * still be in the binary cache.
+	 */
+	private synchronized void putInfo(String key, PluginInfo info) {
+		fPluginInfos.put(key, info);
+		if (fCache != null) {
+			fCache.remove(key);
+		}
+	}
+
+	/**
+	 * Returns the plugin info of the given bundle, decoding it from the
+	 * binary cache if needed.
+	 */
+	private synchronized PluginInfo getInfo(long bundleID) {
+		String key = Long.toString(bundleID);
+		PluginInfo info = fPluginInfos.get(key);
+		if (info == null && fCache != null) {
+			info = fCache.decode(key);
+			if (info != null) {
+				fPluginInfos.put(key, info);
+			}
+		}
+		return info;
+	}
+
+	/**
+	 * Returns all plugin infos, decoding the ones still in the binary cache.
+	 */
+	private synchronized Map<String, PluginInfo> getAllInfos() {
+		if (fCache != null) {
+			fCache.decodeAll(fPluginInfos);
+			fCache = null;
+		}
+		return fPluginInfos;
 	}
 
 	public String getClassName(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.className;
 	}
 
 	public boolean hasExtensibleAPI(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? false : info.hasExtensibleAPI;
 	}
 
 	public boolean isPatchFragment(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? false : info.isPatchFragment;
 	}
 
 	public boolean hasBundleStructure(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? false : info.hasBundleStructure;
 	}
 
 	public String getPluginName(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.name;
 	}
 
 	public String getProviderName(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.providerName;
 	}
 
 	public String[] getLibraryNames(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? new String[0] : info.libraries;
 	}
 
 	public String getBundleLocalization(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.localization;
 	}
 
 	public String getProject(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.project;
 	}
 
 	public String getBundleSourceEntry(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? null : info.bundleSourceEntry;
 	}
 
 	public boolean exportsExternalAnnotations(long bundleID) {
-		PluginInfo info = fPluginInfos.get(Long.toString(bundleID));
+		PluginInfo info = getInfo(bundleID);
 		return info == null ? false : info.exportsExternalAnnotations;
 	}
 
 	/**
-	 * Builds an xml document storing the auxiliary plugin info.
+	 * Writes the auxiliary plugin info to the binary cache file.
 	 * @param dir directory location to create the file
 	 */
 	protected void savePluginInfo(File dir) {
 		try {
-			@SuppressWarnings("restriction")
-			Document doc = org.eclipse.core.internal.runtime.XmlProcessorFactory.newDocumentWithErrorOnDOCTYPE();
-			Element root = doc.createElement(ELEMENT_ROOT);
-
-			Iterator<String> iter = fPluginInfos.keySet().iterator();
-			while (iter.hasNext()) {
-				String key = iter.next();
-				Element element = doc.createElement(ELEMENT_BUNDLE);
-				element.setAttribute(ATTR_BUNDLE_ID, key);
-				PluginInfo info = fPluginInfos.get(key);
-				if (info.className != null) {
-					element.setAttribute(ATTR_CLASS, info.className);
-				}
-				if (info.providerName != null) {
-					element.setAttribute(ATTR_PROVIDER, info.providerName);
-				}
-				if (info.name != null) {
-					element.setAttribute(ATTR_NAME, info.name);
-				}
-				if (info.hasExtensibleAPI) {
-					element.setAttribute(ATTR_EXTENSIBLE_API, "true"); //$NON-NLS-1$
-				}
-				if (info.isPatchFragment) {
-					element.setAttribute(ATTR_PATCH, "true"); //$NON-NLS-1$
-				}
-				if (!info.hasBundleStructure) {
-					element.setAttribute(ATTR_BUNDLE_STRUCTURE, "false"); //$NON-NLS-1$
-				}
-				if (info.localization != null) {
-					element.setAttribute(ATTR_LOCALIZATION, info.localization);
-				}
-				if (info.bundleSourceEntry != null) {
-					element.setAttribute(ATTR_BUNDLE_SOURCE, info.bundleSourceEntry);
-				}
-				if (info.libraries != null) {
-					for (String library : info.libraries) {
-						Element lib = doc.createElement(ELEMENT_LIB);
-						lib.setAttribute(ATTR_NAME, library);
-						element.appendChild(lib);
-					}
-				}
-				root.appendChild(element);
-			}
-			doc.appendChild(root);
-			XMLPrintHandler.writeFile(doc, new File(dir, CACHE_EXTENSION));
-		} catch (Exception e) {
+			PluginInfoCache.write(getAllInfos(), new File(dir, PluginInfoCache.FILE_NAME));
+		} catch (IOException e) {
 			PDECore.log(e);
 		}
 	}
 
 	/**
-	 * Loads plugin info objects from the pluginInfo xml file stored in the
-	 * given directory.
-	 * @param dir location to look for the pluginInfo file
+	 * Loads plugin info objects from the binary cache file stored in the
+	 * given directory, the records of the plugins are decoded when first
+	 * accessed. The pluginInfo xml file written by previous releases is read
+	 * if there is no binary cache.
+	 * @param dir location to look for the cache file
 	 * @return true if the file was read successfully, false otherwise
 	 */
 	protected boolean readPluginInfoCache(File dir) {
+		File cacheFile = new File(dir, PluginInfoCache.FILE_NAME);
+		if (cacheFile.isFile()) {
+			try {
+				PluginInfoCache cache = PluginInfoCache.read(cacheFile);
+				synchronized (this) {
+					fCache = cache;
+				}
+				return true;
+			} catch (IOException e) {
+				PDECore.log(e);
+				return false;
+			}
+		}
 		File file = new File(dir, CACHE_EXTENSION);
 		if (file.exists() && file.isFile()) {
 			try {
@@ -289,77 +298,53 @@ public class PDEAuxiliaryState {
 	 * @return whether the state file exist
 	 */
 	protected boolean exists(File dir) {
-		File file = new File(dir, CACHE_EXTENSION);
-		return file.exists() && file.isFile();
+		return new File(dir, PluginInfoCache.FILE_NAME).isFile() || new File(dir, CACHE_EXTENSION).isFile();
 	}
 
 	/**
-	 * Writes out auxiliary information from the given models to an xml file
-	 * in the given destination directory.
+	 * Writes out auxiliary information from the given models to the binary
+	 * cache file in the given destination directory.
 	 * @param models models to collect information from
-	 * @param destination directory to create the xml file in
+	 * @param destination directory to create the cache file in
 	 */
 	public static void writePluginInfo(IPluginModelBase[] models, File destination) {
-		try {
-			@SuppressWarnings("restriction")
-			Document doc = org.eclipse.core.internal.runtime.XmlProcessorFactory
-					.newDocumentWithErrorOnDOCTYPE();
-			Element root = doc.createElement(ELEMENT_ROOT);
-			doc.appendChild(root);
-			for (int i = 0; i < models.length; i++) {
-				IPluginBase plugin = models[i].getPluginBase();
-				BundleDescription desc = models[i].getBundleDescription();
-				if (desc == null) {
-					continue;
-				}
-				Element element = doc.createElement(ELEMENT_BUNDLE);
-				element.setAttribute(ATTR_BUNDLE_ID, Long.toString(desc.getBundleId()));
-				element.setAttribute(ATTR_PROJECT, models[i].getUnderlyingResource().getProject().getName());
-				if (plugin instanceof IPlugin && ((IPlugin) plugin).getClassName() != null) {
-					element.setAttribute(ATTR_CLASS, ((IPlugin) plugin).getClassName());
-				}
-				if (plugin.getProviderName() != null) {
-					element.setAttribute(ATTR_PROVIDER, plugin.getProviderName());
-				}
-				if (plugin.getName() != null) {
-					element.setAttribute(ATTR_NAME, plugin.getName());
-				}
-				if (ClasspathUtilCore.hasExtensibleAPI(models[i])) {
-					element.setAttribute(ATTR_EXTENSIBLE_API, "true"); //$NON-NLS-1$
-				} else if (ClasspathUtilCore.isPatchFragment(models[i])) {
-					element.setAttribute(ATTR_PATCH, "true"); //$NON-NLS-1$
-				}
-				if (!(models[i] instanceof IBundlePluginModelBase)) {
-					element.setAttribute(ATTR_BUNDLE_STRUCTURE, "false"); //$NON-NLS-1$
-				}
-				if (models[i] instanceof IBundlePluginModelBase) {
-					String localization = ((IBundlePluginModelBase) models[i]).getBundleLocalization();
-					if (localization != null) {
-						element.setAttribute(ATTR_LOCALIZATION, localization);
-					}
-				}
-				if (models[i] instanceof IBundlePluginModelBase) {
-					IBundleModel bundleModel = ((IBundlePluginModelBase) models[i]).getBundleModel();
-					if (bundleModel != null) {
-						String bundleSourceEntry = bundleModel.getBundle().getHeader(ICoreConstants.ECLIPSE_SOURCE_BUNDLE);
-						if (bundleSourceEntry != null) {
-							element.setAttribute(ATTR_BUNDLE_SOURCE, bundleSourceEntry);
-						}
-					}
-				}
-				IPluginLibrary[] libraries = plugin.getLibraries();
-				for (int j = 0; j < libraries.length; j++) {
-					Element lib = doc.createElement(ELEMENT_LIB);
-					lib.setAttribute(ATTR_NAME, libraries[j].getName());
-					if (!libraries[j].isExported()) {
-						lib.setAttribute(ATTR_EXPORTED, "false"); //$NON-NLS-1$
-					}
-					element.appendChild(lib);
+		Map<String, PluginInfo> infos = new LinkedHashMap<>();
+		for (IPluginModelBase model : models) {
+			IPluginBase plugin = model.getPluginBase();
+			BundleDescription desc = model.getBundleDescription();
+			if (desc == null) {
+				continue;
+			}
+			PluginInfo info = new PluginInfo();
+			info.project = model.getUnderlyingResource().getProject().getName();
+			if (plugin instanceof IPlugin && ((IPlugin) plugin).getClassName() != null) {
+				info.className = ((IPlugin) plugin).getClassName();
+			}
+			info.providerName = plugin.getProviderName();
+			info.name = plugin.getName();
+			if (ClasspathUtilCore.hasExtensibleAPI(model)) {
+				info.hasExtensibleAPI = true;
+			} else if (ClasspathUtilCore.isPatchFragment(model)) {
+				info.isPatchFragment = true;
+			}
+			if (model instanceof IBundlePluginModelBase bundlePluginModel) {
+				info.hasBundleStructure = true;
+				info.localization = bundlePluginModel.getBundleLocalization();
+				IBundleModel bundleModel = bundlePluginModel.getBundleModel();
+				if (bundleModel != null) {
+					info.bundleSourceEntry = bundleModel.getBundle().getHeader(ICoreConstants.ECLIPSE_SOURCE_BUNDLE);
 				}
-				root.appendChild(element);
 			}
-			XMLPrintHandler.writeFile(doc, new File(destination, CACHE_EXTENSION));
-		} catch (ParserConfigurationException | FactoryConfigurationError | IOException e) {
+			IPluginLibrary[] libraries = plugin.getLibraries();
+			info.libraries = new String[libraries.length];
+			for (int i = 0; i < libraries.length; i++) {
+				info.libraries[i] = libraries[i].getName();
+			}
+			infos.put(Long.toString(desc.getBundleId()), info);
+		}
+		try {
+			PluginInfoCache.write(infos, new File(destination, PluginInfoCache.FILE_NAME));
+		} catch (IOException e) {
 		}
 	}
 
@@ -384,7 +369,7 @@ public class PDEAuxiliaryState {
 		info.bundleSourceEntry = manifest.get(ICoreConstants.ECLIPSE_SOURCE_BUNDLE);
 		info.exportsExternalAnnotations = "true" //$NON-NLS-1$
 				.equals(manifest.get(ICoreConstants.ECLIPSE_EXPORT_EXTERNAL_ANNOTATIONS));
-		fPluginInfos.put(Long.toString(desc.getBundleId()), info);
+		putInfo(Long.toString(desc.getBundleId()), info);
 	}
 
 	/**
@@ -411,8 +396,9 @@ public class PDEAuxiliaryState {
 	/**
 	 * Clears the plugin info object map.
 	 */
-	protected void clear() {
+	protected synchronized void clear() {
 		fPluginInfos.clear();
+		fCache = null;
 	}
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,7 +21,13 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 
 import org.eclipse.core.filesystem.URIUtil;
@@ -30,17 +36,20 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.service.resolver.BaseDescription;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.State;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
+import org.eclipse.pde.internal.build.BundleHelper;
 import org.eclipse.pde.internal.core.plugin.ExternalFragmentModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModel;
 import org.eclipse.pde.internal.core.plugin.ExternalPluginModelBase;
 import org.eclipse.pde.internal.core.util.CoreUtility;
 import org.eclipse.pde.internal.core.util.ManifestUtils;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.osgi.framework.Version;
 
 public class PDEState extends MinimalState {
@@ -57,14 +66,48 @@ public class PDEState extends MinimalState {
 	 * @param monitor progress monitor
 	 */
 	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, IProgressMonitor monitor) {
+		this(target, addResolver, removeDuplicates, false, monitor);
+	}
+
+	/**
+	 * Creates a new PDE State containing bundles from the given URLs,
+	 * optionally restoring the bundles from the snapshot saved by the previous
+	 * session if the target did not change.
+	 *
+	 * @param target urls of target bundles
+	 * @param addResolver whether to add a resolver to the state
+	 * @param removeDuplicates whether to remove duplicate conflicting bundles from the state
+	 * @param useSnapshot whether to restore the state from the snapshot of the
+	 *            target and to save it when it is not up to date, should only
+	 *            be used for the state of the workspace target
+	 * @param monitor progress monitor
+	 */
+	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, boolean useSnapshot,
+			IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
 		fAuxiliaryState = new PDEAuxiliaryState();
 
-		// We no longer try and restore from a cached state as it had no performance benefit
-		createNewTargetState(addResolver, target, monitor);
+		TargetStateSnapshot snapshot = useSnapshot ? new TargetStateSnapshot(target, addResolver, removeDuplicates)
+				: null;
+		if (snapshot != null && snapshot.restore(stateObjectFactory, fAuxiliaryState)) {
+			fState = snapshot.getState();
+			fId = snapshot.getNextId();
+			fSystemBundle = snapshot.getSystemBundle();
+			if (addResolver) {
+				setResolver();
+			}
+			if (PDECore.DEBUG_MODEL) {
+				System.out.println("Restored target state from snapshot in " + (System.currentTimeMillis() - start) + " ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		} else {
+			createNewTargetState(addResolver, target, monitor);
 
-		if (removeDuplicates) {
-			removeDuplicatesFromState(fState);
+			if (removeDuplicates) {
+				removeDuplicatesFromState(fState);
+			}
+			if (snapshot != null) {
+				snapshot.save(stateObjectFactory, fState, fAuxiliaryState, fId, getSystemBundle());
+			}
 		}
 
 		initializePlatformProperties();
@@ -79,22 +122,26 @@ public class PDEState extends MinimalState {
 	private void createNewTargetState(boolean resolve, URI[] uris, IProgressMonitor monitor) {
 		fState = stateObjectFactory.createState(resolve);
 		if (resolve) {
-			final String systemBSN = getSystemBundle();
-			Comparator<BaseDescription> policy = systemBundlesFirst(systemBSN)
-					.thenComparing(BaseDescription::getVersion, HIGHER_VERSION_FIRST)
-					.thenComparing(BaseDescription::getSupplier, HIGHER_LOCAL_VERSION_FIRST);
-			fState.getResolver().setSelectionPolicy(policy);
+			setSelectionPolicy();
 		}
 		SubMonitor subMonitor = SubMonitor.convert(monitor, PDECoreMessages.PDEState_CreatingTargetModelState,
-				uris.length);
-		for (URI uri : uris) {
-			File file = toFile(uri);
-			if (file == null) {
+				uris.length * 2);
+		long start = System.currentTimeMillis();
+		// reading the manifests is independent I/O, only adding the bundles to the state is not
+		LoadedManifest[] manifests = loadManifests(uris, subMonitor);
+		subMonitor.split(uris.length);
+		long read = System.currentTimeMillis();
+		// add the bundles in the order of the target, so that their ids do not change
+		for (LoadedManifest manifest : manifests) {
+			if (manifest == null) {
 				continue;
 			}
 			try {
-				subMonitor.subTask(file.getName());
-				addBundle(file, -1);
+				subMonitor.subTask(manifest.file().getName());
+				if (manifest.error() != null) {
+					throw manifest.error();
+				}
+				addBundle(manifest.file(), -1, manifest.headers());
 			} catch (CoreException e) {
 				if (e.getStatus().getCode() != ManifestUtils.STATUS_CODE_NOT_A_BUNDLE_MANIFEST) {
 					PDECore.log(e);
@@ -102,6 +149,99 @@ public class PDEState extends MinimalState {
 			}
 			subMonitor.split(1);
 		}
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println(uris.length + " target manifests read in " + (read - start) + " ms, added to the state in " //$NON-NLS-1$ //$NON-NLS-2$
+					+ (System.currentTimeMillis() - read) + " ms"); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * The manifest headers of a target bundle, or the error raised while
+	 * reading them
+	 */
+	private record LoadedManifest(File file, Map<String, String> headers, CoreException error) {
+	}
+
+	/**
+	 * Reads the manifests of the bundles at the given locations, on a pool
+	 * bounded by the default degree of {@link Parallelism} or in the calling
+	 * thread.
+	 *
+	 * @return the manifests in the order of the locations, <code>null</code>
+	 *         for the locations that are not files
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	private static LoadedManifest[] loadManifests(URI[] uris, IProgressMonitor monitor) {
+		LoadedManifest[] manifests = new LoadedManifest[uris.length];
+		int parallelism = Math.min(Parallelism.getDefault(), uris.length);
+		if (parallelism < 2) {
+			for (int i = 0; i < uris.length; i++) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				manifests[i] = loadManifest(uris[i]);
+			}
+			return manifests;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<Callable<LoadedManifest>> tasks = new ArrayList<>(uris.length);
+			for (URI uri : uris) {
+				// the remaining manifests are skipped once the monitor is canceled
+				tasks.add(() -> monitor.isCanceled() ? null : loadManifest(uri));
+			}
+			List<Future<LoadedManifest>> results = executor.invokeAll(tasks);
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			for (int i = 0; i < manifests.length; i++) {
+				manifests[i] = results.get(i).get();
+			}
+			return manifests;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			// loadManifest reports the failures to read a manifest in its result
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Reads the manifest of the bundle at the given location, may be called
+	 * concurrently.
+	 *
+	 * @return the manifest of the bundle or <code>null</code> if the location
+	 *         is not a file
+	 */
+	private static LoadedManifest loadManifest(URI uri) {
+		File file = toFile(uri);
+		if (file == null) {
+			return null;
+		}
+		try {
+			return new LoadedManifest(file, ManifestUtils.loadManifest(file), null);
+		} catch (CoreException e) {
+			return new LoadedManifest(file, null, e);
+		}
+	}
+
+	private void setResolver() {
+		fState.setResolver(BundleHelper.getPlatformAdmin().createResolver());
+		setSelectionPolicy();
+	}
+
+	private void setSelectionPolicy() {
+		final String systemBSN = getSystemBundle();
+		Comparator<BaseDescription> policy = systemBundlesFirst(systemBSN)
+				.thenComparing(BaseDescription::getVersion, HIGHER_VERSION_FIRST)
+				.thenComparing(BaseDescription::getSupplier, HIGHER_LOCAL_VERSION_FIRST);
+		fState.getResolver().setSelectionPolicy(policy);
 	}
 
 	private Comparator<BaseDescription> systemBundlesFirst(String systemBSN) {
@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.eclipse.pde.internal.core.PDEAuxiliaryState.PluginInfo;
+
+/**
+ * Binary cache of the plug-in info of {@link PDEAuxiliaryState}.
+ * <p>
+ * The file starts with a table of all distinct strings, followed by an index
+ * mapping each bundle id to the offset of its record. A record holds the
+ * flags of the plug-in and the indexes of its strings in the table. Records
+ * are only decoded when the plug-in info of their bundle is requested.
+ * </p>
+ */
+final class PluginInfoCache {
+
+	/**
+	 * Name of the cache file
+	 */
+	static final String FILE_NAME = ".pluginInfo.bin"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x50444549;
+	private static final int VERSION = 1;
+
+	private static final int NULL_STRING = -1;
+
+	/**
+	 * Number of string indexes of a record before its libraries
+	 */
+	private static final int STRING_FIELDS = 6;
+
+	private static final int FLAG_EXTENSIBLE_API = 1;
+	private static final int FLAG_PATCH = 1 << 1;
+	private static final int FLAG_BUNDLE_STRUCTURE = 1 << 2;
+	private static final int FLAG_EXTERNAL_ANNOTATIONS = 1 << 3;
+
+	private final ByteBuffer fRecords;
+	private final String[] fStrings;
+
+	/**
+	 * Offsets of the records not decoded yet, by bundle id
+	 */
+	private final Map<String, Integer> fOffsets;
+
+	private PluginInfoCache(ByteBuffer records, String[] strings, Map<String, Integer> offsets) {
+		fRecords = records;
+		fStrings = strings;
+		fOffsets = offsets;
+	}
+
+	/**
+	 * Writes the given plug-in infos to the given file. The file is written
+	 * to a temporary file first and then moved into place, so that an
+	 * interrupted write does not leave a truncated cache behind.
+	 *
+	 * @param infos plug-in infos by bundle id
+	 * @param file the file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	static void write(Map<String, PluginInfo> infos, File file) throws IOException {
+		Map<String, Integer> strings = new LinkedHashMap<>();
+		ByteArrayOutputStream records = new ByteArrayOutputStream();
+		DataOutputStream recordsOut = new DataOutputStream(records);
+		Map<String, Integer> offsets = new LinkedHashMap<>();
+		for (Entry<String, PluginInfo> entry : infos.entrySet()) {
+			PluginInfo info = entry.getValue();
+			offsets.put(entry.getKey(), Integer.valueOf(recordsOut.size()));
+			int flags = 0;
+			if (info.hasExtensibleAPI) {
+				flags |= FLAG_EXTENSIBLE_API;
+			}
+			if (info.isPatchFragment) {
+				flags |= FLAG_PATCH;
+			}
+			if (info.hasBundleStructure) {
+				flags |= FLAG_BUNDLE_STRUCTURE;
+			}
+			if (info.exportsExternalAnnotations) {
+				flags |= FLAG_EXTERNAL_ANNOTATIONS;
+			}
+			recordsOut.writeByte(flags);
+			recordsOut.writeInt(index(strings, info.name));
+			recordsOut.writeInt(index(strings, info.providerName));
+			recordsOut.writeInt(index(strings, info.className));
+			recordsOut.writeInt(index(strings, info.project));
+			recordsOut.writeInt(index(strings, info.localization));
+			recordsOut.writeInt(index(strings, info.bundleSourceEntry));
+			String[] libraries = info.libraries == null ? new String[0] : info.libraries;
+			recordsOut.writeInt(libraries.length);
+			for (String library : libraries) {
+				recordsOut.writeInt(index(strings, library));
+			}
+		}
+		Path target = file.toPath();
+		Path temp = Files.createTempFile(target.getParent(), FILE_NAME, ".tmp"); //$NON-NLS-1$
+		boolean written = false;
+		try {
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				write(out, strings, offsets, records);
+			}
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+			written = true;
+		} finally {
+			if (!written) {
+				Files.deleteIfExists(temp);
+			}
+		}
+	}
+
+	private static void write(DataOutputStream out, Map<String, Integer> strings, Map<String, Integer> offsets,
+			ByteArrayOutputStream records) throws IOException {
+		out.writeInt(MAGIC);
+		out.writeInt(VERSION);
+		out.writeInt(strings.size());
+		for (String string : strings.keySet()) {
+			byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+			out.writeInt(bytes.length);
+			out.write(bytes);
+		}
+		out.writeInt(offsets.size());
+		for (Entry<String, Integer> entry : offsets.entrySet()) {
+			out.writeLong(Long.parseLong(entry.getKey()));
+			out.writeInt(entry.getValue().intValue());
+		}
+		out.writeInt(records.size());
+		records.writeTo(out);
+	}
+
+	private static int index(Map<String, Integer> strings, String string) {
+		if (string == null) {
+			return NULL_STRING;
+		}
+		return strings.computeIfAbsent(string, s -> Integer.valueOf(strings.size())).intValue();
+	}
+
+	/**
+	 * Reads the string table and the index of the given cache file. The
+	 * records are checked against the string table, but only decoded later on
+	 * by {@link #decode(String)}.
+	 *
+	 * @param file the file to read
+	 * @return the cache read from the file
+	 * @throws IOException if the file cannot be read or is not a valid cache
+	 */
+	static PluginInfoCache read(File file) throws IOException {
+		ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Unsupported plug-in info cache: " + file); //$NON-NLS-1$
+			}
+			// each string takes at least its length
+			String[] strings = new String[checkCount(buffer.getInt(), buffer.remaining() / Integer.BYTES, file)];
+			for (int i = 0; i < strings.length; i++) {
+				int length = checkCount(buffer.getInt(), buffer.remaining(), file);
+				strings[i] = new String(buffer.array(), buffer.position(), length, StandardCharsets.UTF_8);
+				buffer.position(buffer.position() + length);
+			}
+			int count = checkCount(buffer.getInt(), buffer.remaining() / (Long.BYTES + Integer.BYTES), file);
+			Map<String, Integer> offsets = new HashMap<>(count * 4 / 3 + 1);
+			for (int i = 0; i < count; i++) {
+				offsets.put(Long.toString(buffer.getLong()), Integer.valueOf(buffer.getInt()));
+			}
+			int length = checkCount(buffer.getInt(), buffer.remaining(), file);
+			ByteBuffer records = buffer.slice(buffer.position(), length);
+			for (Integer offset : offsets.values()) {
+				checkRecord(records.duplicate().position(offset.intValue()), strings.length, file);
+			}
+			return new PluginInfoCache(records, strings, offsets);
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Corrupted plug-in info cache: " + file, e); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Checks that the given count of elements is not negative and not greater
+	 * than the given maximum.
+	 */
+	private static int checkCount(int count, int max, File file) throws IOException {
+		if (count < 0 || count > max) {
+			throw new IOException("Corrupted plug-in info cache: " + file); //$NON-NLS-1$
+		}
+		return count;
+	}
+
+	/**
+	 * Checks that the record at the position of the given buffer fits in the
+	 * buffer and only refers to strings of the string table.
+	 */
+	private static void checkRecord(ByteBuffer buffer, int stringCount, File file) throws IOException {
+		buffer.get();
+		for (int i = 0; i < STRING_FIELDS; i++) {
+			checkString(buffer.getInt(), stringCount, file);
+		}
+		int libraries = checkCount(buffer.getInt(), buffer.remaining() / Integer.BYTES, file);
+		for (int i = 0; i < libraries; i++) {
+			checkString(buffer.getInt(), stringCount, file);
+		}
+	}
+
+	private static void checkString(int index, int stringCount, File file) throws IOException {
+		if (index != NULL_STRING && (index < 0 || index >= stringCount)) {
+			throw new IOException("Corrupted plug-in info cache: " + file); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Decodes the plug-in info of the given bundle, each record is only
+	 * decoded once.
+	 *
+	 * @param bundleId the id of the bundle
+	 * @return the plug-in info of the bundle or <code>null</code> if it is not
+	 *         in the cache or was already decoded
+	 */
+	synchronized PluginInfo decode(String bundleId) {
+		Integer offset = fOffsets.remove(bundleId);
+		if (offset == null) {
+			return null;
+		}
+		ByteBuffer buffer = fRecords.duplicate().position(offset.intValue());
+		PluginInfo info = new PluginInfo();
+		int flags = buffer.get();
+		info.hasExtensibleAPI = (flags & FLAG_EXTENSIBLE_API) != 0;
+		info.isPatchFragment = (flags & FLAG_PATCH) != 0;
+		info.hasBundleStructure = (flags & FLAG_BUNDLE_STRUCTURE) != 0;
+		info.exportsExternalAnnotations = (flags & FLAG_EXTERNAL_ANNOTATIONS) != 0;
+		info.name = string(buffer.getInt());
+		info.providerName = string(buffer.getInt());
+		info.className = string(buffer.getInt());
+		info.project = string(buffer.getInt());
+		info.localization = string(buffer.getInt());
+		info.bundleSourceEntry = string(buffer.getInt());
+		String[] libraries = new String[buffer.getInt()];
+		for (int i = 0; i < libraries.length; i++) {
+			libraries[i] = string(buffer.getInt());
+		}
+		info.libraries = libraries;
+		return info;
+	}
+
+	/**
+	 * Forgets the record of the given bundle, whose plug-in info has been
+	 * replaced by a newer one.
+	 *
+	 * @param bundleId the id of the bundle
+	 */
+	synchronized void remove(String bundleId) {
+		fOffsets.remove(bundleId);
+	}
+
+	/**
+	 * Decodes all the records that were not decoded yet into the given map.
+	 * The plug-in infos already in the map are kept.
+	 *
+	 * @param infos the map to add the plug-in infos to, by bundle id
+	 */
+	synchronized void decodeAll(Map<String, PluginInfo> infos) {
+		for (String bundleId : fOffsets.keySet().toArray(new String[fOffsets.size()])) {
+			if (infos.containsKey(bundleId)) {
+				fOffsets.remove(bundleId);
+			} else {
+				infos.put(bundleId, decode(bundleId));
+			}
+		}
+	}
+
+	private String string(int index) {
+		return index == NULL_STRING ? null : fStrings[index];
+	}
+}
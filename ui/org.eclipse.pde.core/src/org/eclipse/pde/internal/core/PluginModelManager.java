@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2024 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,7 +34,6 @@ import java.util.TreeMap;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
-import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Adapters;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -42,11 +41,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
-import org.eclipse.core.runtime.jobs.Job;
-import org.eclipse.jdt.core.IClasspathContainer;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.osgi.service.resolver.BundleDelta;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.osgi.service.resolver.HostSpecification;
@@ -70,62 +66,6 @@ public class PluginModelManager implements IModelProviderListener {
 	private static final String fExternalPluginListFile = "SavedExternalPluginList.txt"; //$NON-NLS-1$
 	private static PluginModelManager fModelManager;
 
-	/**
-	 * Job to update class path containers asynchronously. Avoids blocking the UI thread
-	 * while saving the manifest editor. The job is given a workspace lock so other jobs can't
-	 * run on a stale classpath.
-	 */
-	class UpdateClasspathsJob extends Job {
-
-		private final List<IJavaProject> fProjects = new ArrayList<>();
-		private final List<IClasspathContainer> fContainers = new ArrayList<>();
-
-		/**
-		 * Constructs a new job.
-		 */
-		public UpdateClasspathsJob() {
-			super(PDECoreMessages.PluginModelManager_1);
-			// The job is given a workspace lock so other jobs can't run on a stale classpath (bug 354993)
-			setRule(ResourcesPlugin.getWorkspace().getRoot());
-		}
-
-		@Override
-		protected IStatus run(IProgressMonitor monitor) {
-			try {
-				boolean more = false;
-				do {
-					IJavaProject[] projects = null;
-					IClasspathContainer[] containers = null;
-					synchronized (fProjects) {
-						projects = fProjects.toArray(new IJavaProject[fProjects.size()]);
-						containers = fContainers.toArray(new IClasspathContainer[fContainers.size()]);
-						fProjects.clear();
-						fContainers.clear();
-					}
-					JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, projects, containers, monitor);
-					synchronized (fProjects) {
-						more = !fProjects.isEmpty();
-					}
-				} while (more);
-
-			} catch (JavaModelException e) {
-				return e.getStatus();
-			}
-			return Status.OK_STATUS;
-		}
-
-		/**
-		 * Queues more projects/containers.
-		 */
-		void add(IJavaProject project, IClasspathContainer container) {
-			synchronized (fProjects) {
-				fProjects.add(project);
-				fContainers.add(container);
-			}
-		}
-
-	}
-
 	/**
 	 * Job used to update class path containers.
 	 */
@@ -314,6 +254,7 @@ public class PluginModelManager implements IModelProviderListener {
 	 * 				changes, may be <code>null</code> to indicate the entire target has changed
 	 */
 	private void updateAffectedEntries(StateDelta delta) {
+		ClasspathDependencyCache.invalidate(delta);
 		Map<IJavaProject, RequiredPluginsClasspathContainer> map = new HashMap<>();
 		if (delta == null) {
 			// if the delta is null, then the entire target changed.
@@ -575,7 +516,8 @@ public class PluginModelManager implements IModelProviderListener {
 			fCancelled = true;
 		}
 
-		fState = new PDEState(externalUris, true, true, subMon.split(15));
+		// a canceled resolution must not replace the snapshot of the target
+		fState = new PDEState(externalUris, true, true, !fCancelled, subMon.split(15));
 		fExternalManager.setModels(fState.getTargetModels());
 		addToTable(entries, fExternalManager.getAllModels());
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2023 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -17,9 +17,7 @@ package org.eclipse.pde.internal.core;
 import static org.eclipse.pde.internal.core.DependencyManager.Options.INCLUDE_OPTIONAL_DEPENDENCIES;
 
 import java.io.File;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -27,7 +25,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Queue;
 import java.util.Set;
 import java.util.TreeMap;
 import java.util.stream.Stream;
@@ -58,6 +55,7 @@ import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.PluginRegistry;
 import org.eclipse.pde.internal.build.BundleHelper;
 import org.eclipse.pde.internal.build.IBuildPropertiesConstants;
+import org.eclipse.pde.internal.core.ClasspathDependencyCache.ExportedPackage;
 import org.eclipse.pde.internal.core.bnd.BndProjectManager;
 import org.eclipse.pde.internal.core.ibundle.IBundlePluginModelBase;
 import org.eclipse.pde.internal.core.natures.BndProject;
@@ -82,7 +80,6 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	private final IPluginModelBase fModel;
 	private IBuild fBuild;
 
-	private List<BundleDescription> junit5RuntimeClosure;
 	private IClasspathEntry[] fEntries;
 	private boolean addImportedPackages;
 
@@ -202,7 +199,9 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				return List.of();
 			}
 
-			Map<BundleDescription, List<Rule>> map = retrieveVisiblePackagesFromState(desc);
+			ClasspathDependencyCache cache = ClasspathDependencyCache.get(desc.getContainingState());
+			Map<BundleDescription, List<Rule>> map = cache.getVisiblePackages(desc,
+					RequiredPluginsClasspathContainer::retrieveVisiblePackagesFromState);
 
 			// Add any library entries contributed via classpath contributor
 			// extension (Bug 363733)
@@ -236,9 +235,9 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				fBuild = ClasspathUtilCore.getBuild(fModel);
 			}
 			if (fBuild != null) {
-				addSecondaryDependencies(desc, added, entries);
+				addSecondaryDependencies(desc, added, entries, cache);
 			}
-			addBndClasspath(desc, added, entries);
+			addBndClasspath(desc, added, entries, cache);
 
 			// add Import-Package
 			// sort by symbolicName_version to get a consistent order
@@ -257,23 +256,24 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				addExtraClasspathEntries(entries);
 			}
 
-			addJunit5RuntimeDependencies(added, entries);
+			addJunit5RuntimeDependencies(added, entries, cache);
 
 		} catch (CoreException e) {
 		}
 		return entries;
 	}
 
-	private void addBndClasspath(BundleDescription desc, Set<BundleDescription> added, List<IClasspathEntry> entries) {
+	private void addBndClasspath(BundleDescription desc, Set<BundleDescription> added, List<IClasspathEntry> entries,
+			ClasspathDependencyCache cache) {
 		try {
 			Optional<Project> bndProject = BndProjectManager.getBndProject(project);
 			if (bndProject.isPresent()) {
 				Project bnd = bndProject.get();
 				for (Container container : bnd.getBuildpath()) {
-					addExtraModel(desc, added, entries, container.getBundleSymbolicName());
+					addExtraModel(desc, added, entries, container.getBundleSymbolicName(), cache);
 				}
 				for (Container container : bnd.getTestpath()) {
-					addExtraModel(desc, added, entries, container.getBundleSymbolicName());
+					addExtraModel(desc, added, entries, container.getBundleSymbolicName(), cache);
 				}
 				String cp = bnd.getProperty(Constants.CLASSPATH);
 				if (cp != null) {
@@ -313,7 +313,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		return Stream.concat(fClasspathContributors.stream(), PDECore.getDefault().getClasspathContributors());
 	}
 
-	private Map<BundleDescription, List<Rule>> retrieveVisiblePackagesFromState(BundleDescription desc) {
+	private static Map<BundleDescription, List<Rule>> retrieveVisiblePackagesFromState(BundleDescription desc) {
 		Map<BundleDescription, List<Rule>> visiblePackages = new HashMap<>();
 		StateHelper helper = BundleHelper.getPlatformAdmin().getStateHelper();
 		addVisiblePackagesFromState(helper, desc, visiblePackages);
@@ -323,7 +323,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		return visiblePackages;
 	}
 
-	private void addVisiblePackagesFromState(StateHelper helper, BundleDescription desc,
+	private static void addVisiblePackagesFromState(StateHelper helper, BundleDescription desc,
 			Map<BundleDescription, List<Rule>> visiblePackages) {
 		if (desc == null) {
 			return;
@@ -342,7 +342,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 		}
 	}
 
-	private Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
+	private static Rule getRule(StateHelper helper, BundleDescription desc, ExportPackageDescription export) {
 		boolean discouraged = helper.getAccessCode(desc, export) == StateHelper.ACCESS_DISCOURAGED;
 		String name = export.getName();
 		IPath path = name.equals(".") ? IPath.fromOSString("*") : IPath.fromOSString(name.replace('.', '/') + "/*"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
@@ -551,15 +551,14 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	 * Adds JUnit5 dependencies that are required at runtime in eclipse, but not
 	 * at compile-time or in tycho.
 	 */
-	private void addJunit5RuntimeDependencies(Set<BundleDescription> added, List<IClasspathEntry> entries)
-			throws CoreException {
+	private void addJunit5RuntimeDependencies(Set<BundleDescription> added, List<IClasspathEntry> entries,
+			ClasspathDependencyCache cache) throws CoreException {
 		if (!containsJunit5Dependency(added)) {
 			return;
 		}
 
-		if (junit5RuntimeClosure == null) {
-			junit5RuntimeClosure = collectJunit5RuntimeRequirements();
-		}
+		List<BundleDescription> junit5RuntimeClosure = cache
+				.getJunit5RuntimeClosure(RequiredPluginsClasspathContainer::collectJunit5RuntimeRequirements);
 
 		String id = fModel.getPluginBase().getId();
 		if (id != null && junit5RuntimeClosure.stream().map(BundleDescription::getSymbolicName).anyMatch(id::equals)) {
@@ -592,7 +591,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	}
 
 	private void addSecondaryDependencies(BundleDescription desc, Set<BundleDescription> added,
-			List<IClasspathEntry> entries) {
+			List<IClasspathEntry> entries, ClasspathDependencyCache cache) {
 		try {
 			IBuildEntry entry = fBuild.getEntry(IBuildEntry.SECONDARY_DEPENDENCIES);
 			if (entry != null) {
@@ -600,7 +599,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				for (String pluginId : tokens) {
 					// Get PluginModelBase first to resolve system.bundle entry
 					// if it exists
-					addExtraModel(desc, added, entries, pluginId);
+					addExtraModel(desc, added, entries, pluginId, cache);
 				}
 			}
 		} catch (CoreException e) {
@@ -609,7 +608,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	}
 
 	private void addExtraModel(BundleDescription desc, Set<BundleDescription> added, List<IClasspathEntry> entries,
-			String pluginId) throws CoreException {
+			String pluginId, ClasspathDependencyCache cache) throws CoreException {
 		IPluginModelBase model = PluginRegistry.findModel(pluginId);
 		if (model != null) {
 			BundleDescription bundleDesc = model.getBundleDescription();
@@ -617,7 +616,7 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 				return;
 			}
 			Map<BundleDescription, List<Rule>> rules = new HashMap<>();
-			findExportedPackages(bundleDesc, desc, rules);
+			findExportedPackages(bundleDesc, desc, rules, cache);
 			addDependency(bundleDesc, added, rules, entries, true);
 		}
 	}
@@ -625,43 +624,25 @@ public class RequiredPluginsClasspathContainer extends PDEClasspathContainer imp
 	protected final void findExportedPackages(BundleDescription desc, BundleDescription projectDesc,
 			Map<BundleDescription, List<Rule>> map) {
 		if (desc != null) {
-			Queue<BundleDescription> queue = new ArrayDeque<>();
-			queue.add(desc);
-			while (!queue.isEmpty()) {
-				BundleDescription bdesc = queue.remove();
-				ExportPackageDescription[] expkgs = bdesc.getExportPackages();
+			findExportedPackages(desc, projectDesc, map, ClasspathDependencyCache.get(desc.getContainingState()));
+		}
+	}
+
+	private void findExportedPackages(BundleDescription desc, BundleDescription projectDesc,
+			Map<BundleDescription, List<Rule>> map, ClasspathDependencyCache cache) {
+		if (desc != null) {
+			// look at re-exported Require-Bundles for any other exported
+			// packages
+			for (BundleDescription bdesc : cache.getReexportClosure(desc)) {
 				List<Rule> rules = new ArrayList<>();
-				for (ExportPackageDescription expkg : expkgs) {
-					boolean discouraged = restrictPackage(projectDesc, expkg);
-					IPath path = IPath.fromOSString(expkg.getName().replace('.', '/') + "/*"); //$NON-NLS-1$
-					rules.add(new Rule(path, discouraged));
+				for (ExportedPackage expkg : cache.getExportedPackages(bdesc)) {
+					rules.add(new Rule(expkg.path(), expkg.isDiscouraged(projectDesc)));
 				}
 				map.put(bdesc, rules);
-
-				// Look at re-exported Require-Bundles for any other exported
-				// packages
-				BundleSpecification[] requiredBundles = bdesc.getRequiredBundles();
-				for (BundleSpecification requiredBundle : requiredBundles) {
-					if (requiredBundle.isExported()) {
-						BaseDescription bd = requiredBundle.getSupplier();
-						if (bd instanceof BundleDescription description) {
-							queue.add(description);
-						}
-					}
-				}
 			}
 		}
 	}
 
-	private boolean restrictPackage(BundleDescription desc, ExportPackageDescription pkg) {
-		String[] friends = (String[]) pkg.getDirective(ICoreConstants.FRIENDS_DIRECTIVE);
-		if (friends != null) {
-			String symbolicName = desc.getSymbolicName();
-			return Arrays.stream(friends).noneMatch(symbolicName::equals);
-		}
-		return (((Boolean) pkg.getDirective(ICoreConstants.INTERNAL_DIRECTIVE)).booleanValue());
-	}
-
 	private void addExtraLibrary(IPath path, IPluginModelBase model, List<IClasspathEntry> entries) {
 		if (path.segmentCount() > 1) {
 			IPath srcPath = null;
@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+import org.eclipse.core.filesystem.URIUtil;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.internal.core.util.CoreUtility;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Persists the target state built from the manifests of the target bundles,
+ * along with its auxiliary data, so that the next session can load it
+ * directly instead of reading every manifest again when the target did not
+ * change.
+ * <p>
+ * A snapshot is keyed by a hash of the target bundle locations and of the
+ * size and time stamp of their manifest files, along with the version of the
+ * snapshot format and of the bundles writing it, so that a snapshot written by
+ * another version of PDE or of the framework is never read. Each snapshot
+ * lives in its own
+ * folder named after its key, the folders of other keys are deleted when a
+ * new snapshot is saved. The state is saved before any workspace bundle is
+ * added to it and before it is resolved, since both change from one session
+ * to the next.
+ * </p>
+ */
+final class TargetStateSnapshot {
+
+	private static final String SNAPSHOTS_FOLDER = "targetStateSnapshots"; //$NON-NLS-1$
+	private static final String PROPERTIES_FILE = "snapshot.properties"; //$NON-NLS-1$
+	private static final String PROPERTY_VERSION = "version"; //$NON-NLS-1$
+	private static final String PROPERTY_KEY = "key"; //$NON-NLS-1$
+	private static final String PROPERTY_NEXT_ID = "nextId"; //$NON-NLS-1$
+	private static final String PROPERTY_SYSTEM_BUNDLE = "systemBundle"; //$NON-NLS-1$
+
+	/**
+	 * Version of the snapshot format, to be increased whenever what is saved in
+	 * a snapshot changes
+	 */
+	private static final int FORMAT_VERSION = 1;
+
+	/**
+	 * Files whose size and time stamp are part of the key of a bundle folder
+	 */
+	private static final String[] MANIFEST_FILES = { ICoreConstants.BUNDLE_FILENAME_DESCRIPTOR,
+			ICoreConstants.PLUGIN_FILENAME_DESCRIPTOR, ICoreConstants.FRAGMENT_FILENAME_DESCRIPTOR };
+
+	private final File fFolder;
+	private final String fKey;
+
+	// restored values
+	private State fState;
+	private long fNextId;
+	private String fSystemBundle;
+
+	/**
+	 * Creates the snapshot of a target made of the given bundles.
+	 *
+	 * @param target locations of the target bundles
+	 * @param resolve whether the state has a resolver
+	 * @param removeDuplicates whether duplicate bundles are removed from the
+	 *            state
+	 */
+	TargetStateSnapshot(URI[] target, boolean resolve, boolean removeDuplicates) {
+		fKey = computeKey(target, resolve, removeDuplicates);
+		fFolder = getSnapshotsFolder().toPath().resolve(fKey.substring(0, 16)).toFile();
+	}
+
+	private static File getSnapshotsFolder() {
+		IPath location = PDECore.getDefault().getStateLocation();
+		return new File(location.toFile(), SNAPSHOTS_FOLDER);
+	}
+
+	/**
+	 * Reads the snapshot into the given auxiliary state.
+	 *
+	 * @param factory the factory to read the state with
+	 * @param auxiliaryState the auxiliary state to read the plug-in info into
+	 * @return whether the snapshot exists and could be read
+	 */
+	boolean restore(StateObjectFactory factory, PDEAuxiliaryState auxiliaryState) {
+		File file = new File(fFolder, PROPERTIES_FILE);
+		if (!file.isFile()) {
+			return false;
+		}
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+			if (!getVersion().equals(properties.getProperty(PROPERTY_VERSION))
+					|| !fKey.equals(properties.getProperty(PROPERTY_KEY))) {
+				return false;
+			}
+			fNextId = Long.parseLong(properties.getProperty(PROPERTY_NEXT_ID));
+			fSystemBundle = properties.getProperty(PROPERTY_SYSTEM_BUNDLE);
+			State state = factory.readState(fFolder);
+			if (state == null || !auxiliaryState.readPluginInfoCache(fFolder)) {
+				auxiliaryState.clear();
+				return false;
+			}
+			fState = state;
+			return true;
+		} catch (IOException | RuntimeException e) {
+			PDECore.log(e);
+			auxiliaryState.clear();
+			return false;
+		}
+	}
+
+	/**
+	 * Saves the given state as the snapshot of the target, replacing the
+	 * snapshots of other targets.
+	 *
+	 * @param factory the factory to write the state with
+	 * @param state the state of the target bundles, not resolved
+	 * @param auxiliaryState the auxiliary data of the bundles of the state
+	 * @param nextId the last bundle id used in the state
+	 * @param systemBundle the symbolic name of the system bundle
+	 */
+	void save(StateObjectFactory factory, State state, PDEAuxiliaryState auxiliaryState, long nextId,
+			String systemBundle) {
+		File[] others = getSnapshotsFolder().listFiles(File::isDirectory);
+		if (others != null) {
+			for (File other : others) {
+				CoreUtility.deleteContent(other);
+			}
+		}
+		try {
+			Files.createDirectories(fFolder.toPath());
+			factory.writeState(state, fFolder);
+			auxiliaryState.savePluginInfo(fFolder);
+			Properties properties = new Properties();
+			properties.setProperty(PROPERTY_VERSION, getVersion());
+			properties.setProperty(PROPERTY_NEXT_ID, Long.toString(nextId));
+			properties.setProperty(PROPERTY_SYSTEM_BUNDLE, systemBundle);
+			// written last, the snapshot is only valid once complete
+			properties.setProperty(PROPERTY_KEY, fKey);
+			try (OutputStream out = Files.newOutputStream(fFolder.toPath().resolve(PROPERTIES_FILE))) {
+				properties.store(out, null);
+			}
+		} catch (IOException | RuntimeException e) {
+			PDECore.log(e);
+			CoreUtility.deleteContent(fFolder);
+		}
+	}
+
+	/**
+	 * @return the restored state
+	 */
+	State getState() {
+		return fState;
+	}
+
+	/**
+	 * @return the last bundle id used in the restored state
+	 */
+	long getNextId() {
+		return fNextId;
+	}
+
+	/**
+	 * @return the symbolic name of the system bundle of the restored state
+	 */
+	String getSystemBundle() {
+		return fSystemBundle;
+	}
+
+	private static String computeKey(URI[] target, boolean resolve, boolean removeDuplicates) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+		update(digest, getVersion());
+		update(digest, resolve + "," + removeDuplicates + "," + System.getProperty("osgi.dev")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		// the order of the bundles determines their ids
+		for (URI uri : target) {
+			update(digest, uri.toString());
+			IPath path = URIUtil.toPath(uri);
+			if (path == null) {
+				continue;
+			}
+			File file = path.toFile();
+			if (file.isDirectory()) {
+				for (String manifest : MANIFEST_FILES) {
+					update(digest, new File(file, manifest));
+				}
+			} else {
+				update(digest, file);
+			}
+		}
+		return HexFormat.of().formatHex(digest.digest());
+	}
+
+	/**
+	 * Returns the version of the snapshots written by this session: the
+	 * version of the snapshot format, of PDE, which saves the auxiliary data,
+	 * and of the framework, which saves the state.
+	 */
+	static String getVersion() {
+		return FORMAT_VERSION + "," + getVersion(PDECore.getDefault().getBundle()) + "," //$NON-NLS-1$ //$NON-NLS-2$
+				+ getVersion(FrameworkUtil.getBundle(StateObjectFactory.class));
+	}
+
+	private static String getVersion(Bundle bundle) {
+		return bundle == null ? "" : bundle.getVersion().toString(); //$NON-NLS-1$
+	}
+
+	private static void update(MessageDigest digest, File file) {
+		update(digest, file.length() + ":" + file.lastModified()); //$NON-NLS-1$
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		digest.update(value.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+	}
+}
@@ -0,0 +1,179 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.pde.internal.core.util.Parallelism;
+
+/**
+ * Job to update class path containers asynchronously. Avoids blocking the UI thread
+ * while saving the manifest editor.
+ * <p>
+ * Containers queued while the job is waiting or running are coalesced, only the
+ * last container queued for a project is kept. The entries of the queued containers
+ * are computed without any lock, concurrently up to the default degree of
+ * {@link Parallelism}, then the containers whose entries changed are set in one
+ * batch under a workspace lock so other jobs can't run on a stale classpath.
+ * </p>
+ */
+public class UpdateClasspathsJob extends Job {
+
+	private final Map<IJavaProject, IClasspathContainer> fContainers = new LinkedHashMap<>();
+
+	/**
+	 * Constructs a new job.
+	 */
+	public UpdateClasspathsJob() {
+		super(PDECoreMessages.PluginModelManager_1);
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		try {
+			Map<IJavaProject, IClasspathContainer> containers;
+			while (!(containers = takeQueued()).isEmpty()) {
+				if (monitor.isCanceled()) {
+					// leave the remaining containers for the next run
+					requeue(containers);
+					return Status.CANCEL_STATUS;
+				}
+				update(containers, monitor);
+			}
+		} catch (CoreException e) {
+			return e.getStatus();
+		}
+		return Status.OK_STATUS;
+	}
+
+	private void update(Map<IJavaProject, IClasspathContainer> containers, IProgressMonitor monitor)
+			throws CoreException {
+		long start = System.currentTimeMillis();
+		// compute the entries, the containers cache them for JDT
+		computeEntries(containers.values());
+		// The job is given a workspace lock so other jobs can't run on a stale classpath (bug 354993)
+		ResourcesPlugin.getWorkspace().run(m -> {
+			List<IJavaProject> projects = new ArrayList<>();
+			List<IClasspathContainer> changed = new ArrayList<>();
+			synchronized (fContainers) {
+				// containers queued meanwhile supersede the computed ones
+				containers.keySet().removeAll(fContainers.keySet());
+			}
+			for (Entry<IJavaProject, IClasspathContainer> entry : containers.entrySet()) {
+				if (!hasSameEntries(entry.getKey(), entry.getValue())) {
+					projects.add(entry.getKey());
+					changed.add(entry.getValue());
+				}
+			}
+			if (!projects.isEmpty()) {
+				JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH,
+						projects.toArray(IJavaProject[]::new), changed.toArray(IClasspathContainer[]::new), m);
+			}
+			if (PDECore.DEBUG_CLASSPATH) {
+				System.out.println("Updated " + projects.size() + " of " + containers.size() //$NON-NLS-1$ //$NON-NLS-2$
+						+ " classpath containers in " + (System.currentTimeMillis() - start) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}, ResourcesPlugin.getWorkspace().getRoot(), IWorkspace.AVOID_UPDATE, monitor);
+	}
+
+	/**
+	 * Computes the entries of the given containers, on a pool bounded by the
+	 * default degree of {@link Parallelism} or in the calling thread.
+	 */
+	private static void computeEntries(Collection<IClasspathContainer> containers) {
+		int parallelism = Math.min(Parallelism.getDefault(), containers.size());
+		if (parallelism < 2) {
+			containers.forEach(IClasspathContainer::getClasspathEntries);
+			return;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+		try {
+			List<Callable<IClasspathEntry[]>> tasks = new ArrayList<>();
+			for (IClasspathContainer container : containers) {
+				tasks.add(container::getClasspathEntries);
+			}
+			// a failure is reported again when the entries are read under the
+			// workspace lock
+			executor.invokeAll(tasks);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns whether the container currently set on the given project has the same
+	 * entries as the given container.
+	 */
+	private static boolean hasSameEntries(IJavaProject project, IClasspathContainer container) {
+		if (!project.getProject().isOpen()) {
+			return false;
+		}
+		try {
+			IClasspathContainer current = JavaCore.getClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH,
+					project);
+			return current == container || current != null
+					&& Arrays.equals(current.getClasspathEntries(), container.getClasspathEntries());
+		} catch (JavaModelException e) {
+			return false;
+		}
+	}
+
+	private Map<IJavaProject, IClasspathContainer> takeQueued() {
+		synchronized (fContainers) {
+			Map<IJavaProject, IClasspathContainer> containers = new LinkedHashMap<>(fContainers);
+			fContainers.clear();
+			return containers;
+		}
+	}
+
+	private void requeue(Map<IJavaProject, IClasspathContainer> containers) {
+		synchronized (fContainers) {
+			containers.forEach(fContainers::putIfAbsent);
+		}
+	}
+
+	/**
+	 * Queues more projects/containers, replacing the container queued for the same
+	 * project if any.
+	 */
+	public void add(IJavaProject project, IClasspathContainer container) {
+		synchronized (fContainers) {
+			fContainers.put(project, container);
+		}
+	}
+
+}
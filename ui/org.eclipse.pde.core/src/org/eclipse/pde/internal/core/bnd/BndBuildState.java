@@ -0,0 +1,292 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.bnd;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.internal.core.project.PDEProject;
+
+import aQute.bnd.osgi.Jar;
+import aQute.bnd.osgi.Resource;
+
+/**
+ * State of the bnd projects as of their last full bnd build, used to skip the
+ * builds that would produce the same bundle.
+ * <p>
+ * The digest of a class file covers everything bnd analyzes to compute the
+ * manifest and the generated resources of a bundle: the constant pool, which
+ * holds all the referenced types, and the declarations of the class, of its
+ * fields and of its methods with all their attributes, including annotations,
+ * but not the code of the methods. When all the class files changed since the
+ * last build have the same digest as before, building the bundle again would
+ * produce the same result, since the classes themselves are not copied but
+ * used from the output folder.
+ * </p>
+ * <p>
+ * The modification stamps of the manifests written by the build are recorded
+ * as well, so that the next build does not consider them as changed.
+ * </p>
+ */
+public final class BndBuildState {
+
+	private static final byte[] CODE_ATTRIBUTE = "Code".getBytes(StandardCharsets.UTF_8); //$NON-NLS-1$
+
+	private static final int CONSTANT_UTF8 = 1;
+	private static final int CONSTANT_INTEGER = 3;
+	private static final int CONSTANT_FLOAT = 4;
+	private static final int CONSTANT_LONG = 5;
+	private static final int CONSTANT_DOUBLE = 6;
+	private static final int CONSTANT_CLASS = 7;
+	private static final int CONSTANT_STRING = 8;
+	private static final int CONSTANT_FIELDREF = 9;
+	private static final int CONSTANT_METHODREF = 10;
+	private static final int CONSTANT_INTERFACE_METHODREF = 11;
+	private static final int CONSTANT_NAME_AND_TYPE = 12;
+	private static final int CONSTANT_METHOD_HANDLE = 15;
+	private static final int CONSTANT_METHOD_TYPE = 16;
+	private static final int CONSTANT_DYNAMIC = 17;
+	private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+	private static final int CONSTANT_MODULE = 19;
+	private static final int CONSTANT_PACKAGE = 20;
+
+	private static final Map<IProject, BndBuildState> stateMap = new ConcurrentHashMap<>();
+
+	/**
+	 * Digests by full path of the class files
+	 */
+	private final Map<IPath, byte[]> digests;
+
+	/**
+	 * Modification stamps by full path of the written manifests
+	 */
+	private final Map<IPath, Long> manifestStamps;
+
+	private BndBuildState(Map<IPath, byte[]> digests, Map<IPath, Long> manifestStamps) {
+		this.digests = digests;
+		this.manifestStamps = manifestStamps;
+	}
+
+	/**
+	 * Records the state of the given project after a full build.
+	 *
+	 * @param project
+	 *            the project that was built
+	 * @param jar
+	 *            the main jar of the project
+	 */
+	static void record(IProject project, Jar jar) {
+		Map<IPath, byte[]> digests = new HashMap<>();
+		Map<IPath, Long> manifestStamps = new HashMap<>();
+		for (Entry<String, Resource> entry : jar.getResources().entrySet()) {
+			if (!(entry.getValue() instanceof FileResource resource)) {
+				continue;
+			}
+			IFile file = resource.getFile();
+			if (entry.getKey().endsWith(".class")) { //$NON-NLS-1$
+				byte[] digest = digest(file);
+				if (digest == null) {
+					// can't tell if this class changed later on
+					forget(project);
+					return;
+				}
+				digests.put(file.getFullPath(), digest);
+			} else if (entry.getKey().equals(JarFile.MANIFEST_NAME)) {
+				manifestStamps.put(file.getFullPath(), Long.valueOf(file.getModificationStamp()));
+			}
+		}
+		IFile manifest = PDEProject.getManifest(project);
+		manifestStamps.put(manifest.getFullPath(), Long.valueOf(manifest.getModificationStamp()));
+		stateMap.put(project, new BndBuildState(digests, manifestStamps));
+	}
+
+	/**
+	 * Forgets the state of the given project, its next build is a full one.
+	 * Called as well when the project is closed or deleted.
+	 *
+	 * @param project
+	 *            the project
+	 */
+	static void forget(IProject project) {
+		stateMap.remove(project);
+	}
+
+	/**
+	 * Returns whether the given changed class file of the given project has
+	 * the same digest as in the last full build of the project, and can be
+	 * ignored by the next build.
+	 *
+	 * @param project
+	 *            the project
+	 * @param file
+	 *            a class file whose content changed
+	 * @return <code>true</code> if the class file was part of the last build
+	 *         and has the same digest, <code>false</code> otherwise
+	 */
+	static boolean isUnchangedClass(IProject project, IFile file) {
+		BndBuildState state = stateMap.get(project);
+		if (state == null) {
+			return false;
+		}
+		byte[] digest = state.digests.get(file.getFullPath());
+		return digest != null && Arrays.equals(digest, digest(file));
+	}
+
+	/**
+	 * Returns whether the given manifest of the given project was written by
+	 * the last full build of the project and not modified since.
+	 *
+	 * @param project
+	 *            the project
+	 * @param file
+	 *            a manifest file
+	 * @return <code>true</code> if the manifest is the one written by the last
+	 *         build, <code>false</code> otherwise
+	 */
+	static boolean isBuiltManifest(IProject project, IFile file) {
+		BndBuildState state = stateMap.get(project);
+		if (state == null) {
+			return false;
+		}
+		Long stamp = state.manifestStamps.get(file.getFullPath());
+		return stamp != null && stamp.longValue() == file.getModificationStamp();
+	}
+
+	private static byte[] digest(IFile file) {
+		try (InputStream stream = file.getContents(true)) {
+			return digest(stream.readAllBytes());
+		} catch (CoreException | IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Computes the digest of the given class file, skipping the code
+	 * attributes of the methods
+	 *
+	 * @param classFile
+	 *            the content of a class file
+	 * @return the digest or <code>null</code> if the class file is malformed
+	 */
+	public static byte[] digest(byte[] classFile) {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(classFile);
+			buffer.position(8);
+			int count = Short.toUnsignedInt(buffer.getShort());
+			// offsets of the utf8 constants, to find the names of the
+			// attributes
+			int[] utf8 = new int[count];
+			for (int i = 1; i < count; i++) {
+				int tag = buffer.get();
+				switch (tag) {
+					case CONSTANT_UTF8 -> {
+						utf8[i] = buffer.position();
+						buffer.position(buffer.position() + 2 + Short.toUnsignedInt(buffer.getShort(buffer.position())));
+					}
+					case CONSTANT_INTEGER, CONSTANT_FLOAT -> buffer.position(buffer.position() + 4);
+					case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+						buffer.position(buffer.position() + 8);
+						// takes two entries
+						i++;
+					}
+					case CONSTANT_CLASS, CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> buffer
+							.position(buffer.position() + 2);
+					case CONSTANT_FIELDREF, CONSTANT_METHODREF, CONSTANT_INTERFACE_METHODREF, CONSTANT_NAME_AND_TYPE,
+							CONSTANT_DYNAMIC, CONSTANT_INVOKE_DYNAMIC -> buffer.position(buffer.position() + 4);
+					case CONSTANT_METHOD_HANDLE -> buffer.position(buffer.position() + 3);
+					default -> {
+						return null;
+					}
+				}
+			}
+			// access flags, this class and super class
+			buffer.position(buffer.position() + 6);
+			int interfaces = Short.toUnsignedInt(buffer.getShort());
+			buffer.position(buffer.position() + interfaces * 2);
+			int start = 0;
+			// fields, then methods
+			for (int members = 0; members < 2; members++) {
+				int memberCount = Short.toUnsignedInt(buffer.getShort());
+				for (int i = 0; i < memberCount; i++) {
+					// access flags, name and descriptor
+					buffer.position(buffer.position() + 6);
+					start = skipAttributes(buffer, classFile, utf8, digest, start);
+				}
+			}
+			start = skipAttributes(buffer, classFile, utf8, digest, start);
+			if (buffer.hasRemaining()) {
+				return null;
+			}
+			digest.update(classFile, start, classFile.length - start);
+			return digest.digest();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Reads the attributes at the position of the buffer, adding the bytes
+	 * from the given start to the digest before each code attribute
+	 *
+	 * @return the start of the bytes not added to the digest yet
+	 */
+	private static int skipAttributes(ByteBuffer buffer, byte[] classFile, int[] utf8, MessageDigest digest,
+			int start) {
+		int count = Short.toUnsignedInt(buffer.getShort());
+		for (int i = 0; i < count; i++) {
+			int name = Short.toUnsignedInt(buffer.getShort());
+			int length = buffer.getInt();
+			if (length < 0) {
+				throw new IllegalArgumentException();
+			}
+			int end = buffer.position() + length;
+			if (isCode(classFile, utf8[name])) {
+				// keep the name of the attribute
+				digest.update(classFile, start, buffer.position() - 6 + 2 - start);
+				start = end;
+			}
+			buffer.position(end);
+		}
+		return start;
+	}
+
+	private static boolean isCode(byte[] classFile, int offset) {
+		if (offset == 0) {
+			return false;
+		}
+		int length = ((classFile[offset] & 0xFF) << 8) | (classFile[offset + 1] & 0xFF);
+		return Arrays.equals(classFile, offset + 2, offset + 2 + length, CODE_ATTRIBUTE, 0, CODE_ATTRIBUTE.length);
+	}
+}
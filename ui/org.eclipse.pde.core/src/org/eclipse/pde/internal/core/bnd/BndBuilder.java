@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2023, 2024 Christoph Läubrich and others.
+ *  Copyright (c) 2023, 2026 Christoph Läubrich and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -71,7 +71,7 @@ public class BndBuilder extends IncrementalProjectBuilder {
 	@Override
 	protected IProject[] build(int kind, Map<String, String> args, IProgressMonitor monitor) throws CoreException {
 		IProject project = getProject();
-		if (BndProject.isBndProject(project) && (requireBuild(project) || hasRelevantDelta(getDelta(project)))) {
+		if (BndProject.isBndProject(project) && (requireBuild(project) || hasRelevantDelta(project, getDelta(project)))) {
 			if (USE_JOB) {
 				Job buildJob = buildJobMap.compute(project, (p, oldJob) -> {
 					Job job = Job.create(NLS.bind(PDECoreMessages.BundleBuilder_building, project.getName()),
@@ -94,6 +94,7 @@ public class BndBuilder extends IncrementalProjectBuilder {
 
 	@Override
 	protected void clean(IProgressMonitor monitor) throws CoreException {
+		BndBuildState.forget(getProject());
 		IFile file = getProject().getFile(BndProject.INSTRUCTIONS_FILE);
 		if (file.exists()) {
 			file.deleteMarkers(PDEMarkerFactory.MARKER_ID, true, IResource.DEPTH_ZERO);
@@ -167,6 +168,12 @@ public class BndBuilder extends IncrementalProjectBuilder {
 						.validateContent(monitor);
 				// now build sub jars
 				List<Builder> subBuilders = builder.getSubBuilders();
+				if (builder.isOk() && subBuilders.stream().allMatch(subBuilder -> subBuilder == builder)) {
+					BndBuildState.record(project, jar);
+				} else {
+					// sub jars contain the classes themselves
+					BndBuildState.forget(project);
+				}
 				for (Builder subBuilder : subBuilders) {
 					if (subBuilder == builder) {
 						continue;
@@ -202,18 +209,37 @@ public class BndBuilder extends IncrementalProjectBuilder {
 		return !PDEProject.getManifest(project).exists();
 	}
 
-	private static boolean hasRelevantDelta(IResourceDelta delta) throws CoreException {
+	/**
+	 * Checks if the given delta requires to build the project again. Class
+	 * files whose content changed are only relevant if they differ from the
+	 * last full build in more than the code of their methods, otherwise the
+	 * manifest and the generated resources would be the same. Manifests are
+	 * only relevant if they changed since the last build wrote them.
+	 */
+	private static boolean hasRelevantDelta(IProject project, IResourceDelta delta) throws CoreException {
 		if (delta != null) {
 			AtomicBoolean result = new AtomicBoolean();
 			delta.accept(new IResourceDeltaVisitor() {
 
 				@Override
 				public boolean visit(IResourceDelta delta) throws CoreException {
+					if (result.get()) {
+						return false;
+					}
 					IResource resource = delta.getResource();
 					if (resource instanceof IFile file) {
 						String name = file.getName();
-						if (name.endsWith(CLASS_EXTENSION) || file.getName().equals(BndProject.INSTRUCTIONS_FILE)
-								|| name.equals(ICoreConstants.MANIFEST_FILENAME)) {
+						if (name.endsWith(CLASS_EXTENSION)) {
+							if (delta.getKind() != IResourceDelta.CHANGED
+									|| (delta.getFlags() & IResourceDelta.CONTENT) == 0
+									|| !BndBuildState.isUnchangedClass(project, file)) {
+								result.set(true);
+							}
+							return false;
+						}
+						if (file.getName().equals(BndProject.INSTRUCTIONS_FILE)
+								|| (name.equals(ICoreConstants.MANIFEST_FILENAME)
+										&& !BndBuildState.isBuiltManifest(project, file))) {
 							result.set(true);
 							return false;
 						}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2023 Christoph Läubrich and others.
+ *  Copyright (c) 2023, 2026 Christoph Läubrich and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,12 @@ public class BndResourceChangeListener implements IResourceChangeListener {
 
 	@Override
 	public void resourceChanged(IResourceChangeEvent event) {
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			if (event.getResource() instanceof IProject project) {
+				BndBuildState.forget(project);
+			}
+			return;
+		}
 		IResourceDelta delta = event.getDelta();
 		if (delta != null) {
 			Set<IProject> updateProjects = new HashSet<>();
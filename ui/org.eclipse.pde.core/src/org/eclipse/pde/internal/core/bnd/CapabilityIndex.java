@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.bnd;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+import org.osgi.resource.Capability;
+import org.osgi.resource.Namespace;
+import org.osgi.resource.Requirement;
+import org.osgi.resource.Resource;
+
+/**
+ * Index of the capabilities of a list of resources, by namespace and by the
+ * value of the attribute named after the namespace, like the package name of a
+ * package capability or the symbolic name of an identity capability.
+ * Requirements whose filter requires an exact value for this attribute only
+ * need to be matched against the capabilities with this value.
+ * <p>
+ * The index only narrows the candidates of a requirement, they must still be
+ * matched against its filter. The candidates are returned in the order of the
+ * resources and of their capabilities.
+ * </p>
+ */
+public final class CapabilityIndex {
+
+	/**
+	 * A capability and its position in the resources, used to return the
+	 * candidates in the order of the resources
+	 */
+	private record IndexedCapability(int position, Capability capability) {
+	}
+
+	private record NamespaceIndex(Map<String, List<IndexedCapability>> byValue, List<IndexedCapability> unkeyed,
+			List<Capability> all) {
+	}
+
+	private final List<? extends Resource> resources;
+	private final Map<String, NamespaceIndex> namespaces = new ConcurrentHashMap<>();
+
+	/**
+	 * Creates an index of the capabilities of the given resources, the
+	 * capabilities of a namespace are indexed on the first lookup in this
+	 * namespace
+	 *
+	 * @param resources the resources to index
+	 */
+	public CapabilityIndex(List<? extends Resource> resources) {
+		this.resources = List.copyOf(resources);
+	}
+
+	/**
+	 * Returns the capabilities that may match the given requirement
+	 *
+	 * @param requirement the requirement
+	 * @return the candidate capabilities in the order of the resources
+	 */
+	public Stream<Capability> candidates(Requirement requirement) {
+		String namespace = requirement.getNamespace();
+		NamespaceIndex index = namespaces.computeIfAbsent(namespace, this::index);
+		String value = getRequiredValue(requirement);
+		if (value == null) {
+			return index.all().stream();
+		}
+		List<IndexedCapability> keyed = index.byValue().getOrDefault(value, List.of());
+		if (index.unkeyed().isEmpty()) {
+			return keyed.stream().map(IndexedCapability::capability);
+		}
+		return Stream.concat(keyed.stream(), index.unkeyed().stream())
+				.sorted(Comparator.comparingInt(IndexedCapability::position))
+				.map(IndexedCapability::capability);
+	}
+
+	private NamespaceIndex index(String namespace) {
+		Map<String, List<IndexedCapability>> byValue = new HashMap<>();
+		List<IndexedCapability> unkeyed = new ArrayList<>();
+		List<Capability> all = new ArrayList<>();
+		for (Resource resource : resources) {
+			for (Capability capability : resource.getCapabilities(namespace)) {
+				IndexedCapability indexed = new IndexedCapability(all.size(), capability);
+				all.add(capability);
+				Object value = capability.getAttributes().get(namespace);
+				if (value instanceof String string) {
+					byValue.computeIfAbsent(string, v -> new ArrayList<>()).add(indexed);
+				} else if (value instanceof Collection<?> values
+						&& values.stream().allMatch(String.class::isInstance)) {
+					values.stream().distinct()
+							.forEach(v -> byValue.computeIfAbsent((String) v, k -> new ArrayList<>()).add(indexed));
+				} else if (value != null) {
+					// other types may match values that are not equal strings
+					unkeyed.add(indexed);
+				}
+			}
+		}
+		return new NamespaceIndex(byValue, unkeyed, all);
+	}
+
+	/**
+	 * Returns the value the attribute named after the namespace of the given
+	 * requirement must be equal to for a capability to match the filter of the
+	 * requirement
+	 *
+	 * @param requirement the requirement
+	 * @return the required value or <code>null</code> if the filter does not
+	 *         require a single value
+	 */
+	public static String getRequiredValue(Requirement requirement) {
+		String filter = requirement.getDirectives().get(Namespace.REQUIREMENT_FILTER_DIRECTIVE);
+		if (filter == null) {
+			return null;
+		}
+		return getRequiredValue(filter.strip(), "(" + requirement.getNamespace() + "="); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static String getRequiredValue(String filter, String prefix) {
+		if (!filter.startsWith("(&") || !filter.endsWith(")")) { //$NON-NLS-1$ //$NON-NLS-2$
+			return getEqualValue(filter, prefix);
+		}
+		// all the operands of a conjunction, and of the conjunctions it
+		// contains, must match
+		int depth = 0;
+		int start = -1;
+		for (int i = 2; i < filter.length() - 1; i++) {
+			char c = filter.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == '(') {
+				if (depth++ == 0) {
+					start = i;
+				}
+			} else if (c == ')' && --depth == 0) {
+				String value = getRequiredValue(filter.substring(start, i + 1), prefix);
+				if (value != null) {
+					return value;
+				}
+			}
+		}
+		return null;
+	}
+
+	private static String getEqualValue(String operand, String prefix) {
+		if (!operand.startsWith(prefix) || !operand.endsWith(")")) { //$NON-NLS-1$
+			return null;
+		}
+		String value = operand.substring(prefix.length(), operand.length() - 1);
+		if (value.isEmpty() || !value.equals(value.strip())) {
+			return null;
+		}
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '*' || c == '\\' || c == '(' || c == ')') {
+				// substring or escaped values are matched by the filter
+				return null;
+			}
+		}
+		return value;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2023 Christoph Läubrich and others.
+ * Copyright (c) 2023, 2026 Christoph Läubrich and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -48,6 +48,10 @@ public class FileResource implements Resource {
 		this.file = file;
 	}
 
+	IFile getFile() {
+		return file;
+	}
+
 	@Override
 	public long lastModified() {
 		return file.getLocalTimeStamp();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2023 Christoph Läubrich and others.
+ *  Copyright (c) 2023, 2026 Christoph Läubrich and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -67,6 +67,8 @@ public class TargetRepository extends BaseRepository implements RepositoryPlugin
 	private static final TargetRepository instance = new TargetRepository();
 	private static final Map<File, ContentCapabilityCache> contentCapabilityMap = new ConcurrentHashMap<>();
 
+	private StateIndex stateIndex;
+
 	private TargetRepository() {
 	}
 
@@ -133,6 +135,9 @@ public class TargetRepository extends BaseRepository implements RepositoryPlugin
 		if (!result.alreadyReleased) {
 			state.addBundle(description);
 		}
+		synchronized (this) {
+			stateIndex = null;
+		}
 		result.digest = options.digest;
 		return result;
 	}
@@ -171,12 +176,40 @@ public class TargetRepository extends BaseRepository implements RepositoryPlugin
 
 	public List<Capability> findProvider(Requirement requirement) {
 		String namespace = requirement.getNamespace();
-		return bundles(null).map(r -> new BundleDescriptionRepositoryResource(this, r))
-				.flatMap(resource -> ResourceUtils.capabilityStream(resource, namespace))
-				.filter(ResourceUtils.matcher(requirement, ResourceUtils::filterPredicate))
+		Stream<Capability> candidates;
+		if (ContentNamespace.CONTENT_NAMESPACE.equals(namespace)) {
+			// content capabilities are computed from the bundle files on
+			// demand, they are not indexed
+			candidates = bundles(null).map(r -> new BundleDescriptionRepositoryResource(this, r))
+					.flatMap(resource -> ResourceUtils.capabilityStream(resource, namespace));
+		} else {
+			candidates = getCapabilityIndex().map(index -> index.candidates(requirement)).orElseGet(Stream::empty);
+		}
+		return candidates.filter(ResourceUtils.matcher(requirement, ResourceUtils::filterPredicate))
 				.collect(ResourceUtils.toCapabilities());
 	}
 
+	/**
+	 * Acquires the capability index of the current state, the index is rebuilt
+	 * whenever the state is replaced or modified
+	 *
+	 * @return an {@link Optional} describing the index of the current PDE
+	 *         target platform state or an empty optional if no state is
+	 *         currently available
+	 */
+	private Optional<CapabilityIndex> getCapabilityIndex() {
+		Optional<State> state = getTargetPlatformState();
+		if (state.isEmpty()) {
+			return Optional.empty();
+		}
+		synchronized (this) {
+			if (stateIndex == null || !stateIndex.isIndexOf(state.get())) {
+				stateIndex = new StateIndex(this, state.get());
+			}
+			return Optional.of(stateIndex.index());
+		}
+	}
+
 	/**
 	 * Aquires a stream of bundles from the current state
 	 *
@@ -236,6 +269,22 @@ public class TargetRepository extends BaseRepository implements RepositoryPlugin
 		return instance;
 	}
 
+	/**
+	 * The capability index of one version of a state
+	 */
+	private record StateIndex(State state, long timeStamp, CapabilityIndex index) {
+
+		StateIndex(Repository repository, State state) {
+			// read first, a modification while indexing makes the index stale
+			this(state, state.getTimeStamp(), new CapabilityIndex(Arrays.stream(state.getBundles())
+					.map(bundle -> new BundleDescriptionRepositoryResource(repository, bundle)).toList()));
+		}
+
+		boolean isIndexOf(State other) {
+			return state == other && timeStamp == other.getTimeStamp();
+		}
+	}
+
 	private static final class BundleDescriptionRepositoryResource implements RepositoryContent, Resource, IAdaptable {
 
 		private BundleDescription bundle;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2019 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,7 +18,6 @@ package org.eclipse.pde.internal.core.builders;
 
 import java.io.File;
 import java.io.FilenameFilter;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -36,7 +35,6 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.ISchedulingRule;
-import org.eclipse.core.runtime.jobs.MultiRule;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.internal.core.ICoreConstants;
 import org.eclipse.pde.internal.core.PDECore;
@@ -473,9 +471,14 @@ public class ManifestConsistencyChecker extends IncrementalProjectBuilder {
 		}
 	}
 
+	/**
+	 * The validation only creates markers on the resources of the project
+	 * being built. The models of the other plug-ins are only read, through
+	 * the model managers which synchronize their own access, so locking the
+	 * project allows PDE projects to be built in parallel.
+	 */
 	@Override
 	public ISchedulingRule getRule(int kind, Map<String, String> args) {
-		return new MultiRule(Arrays.stream(getProject().getWorkspace().getRoot().getProjects())
-				.filter(PDEBuilderHelper::isPDEProject).toArray(ISchedulingRule[]::new));
+		return getProject();
 	}
 }
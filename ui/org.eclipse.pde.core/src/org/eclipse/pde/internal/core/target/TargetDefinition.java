@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,10 +28,17 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import javax.xml.parsers.DocumentBuilder;
@@ -43,6 +50,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.MultiStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
@@ -63,6 +71,7 @@ import org.eclipse.pde.internal.core.ExternalFeatureModelManager;
 import org.eclipse.pde.internal.core.ICoreConstants;
 import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.TargetPlatformHelper;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.w3c.dom.DOMException;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -77,6 +86,7 @@ import org.xml.sax.SAXException;
  * @since 3.5
  */
 public class TargetDefinition implements ITargetDefinition {
+
 	// xml document making the targetDefinition
 	private Document fDocument;
 	private Element fRoot;
@@ -118,7 +128,7 @@ public class TargetDefinition implements ITargetDefinition {
 	public static final int MODE_FEATURE = 1;
 
 	// cache of features found for a given location, maps a string path location to a array of IFeatureModels (IFeatureModel[])
-	private static Map<String, TargetFeature[]> fFeaturesInLocation = new HashMap<>();
+	private static Map<String, TargetFeature[]> fFeaturesInLocation = new ConcurrentHashMap<>();
 
 	// internal cache for features.  A target managed by features will contain a set of features as well as a set of plug-ins that don't belong to a feature
 	private TargetFeature[] fFeatures;
@@ -371,50 +381,55 @@ public class TargetDefinition implements ITargetDefinition {
 		}
 		fResolutionStatus = null;
 		SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.TargetDefinition_1, targetLocations.length * 100);
+		ExecutorService executor = null;
 		try {
 			MultiStatus status = new MultiStatus(PDECore.PLUGIN_ID, 0, Messages.TargetDefinition_2);
-			Map<P2TargetUtils, List<ITargetLocation>> synchronizers = new HashMap<>();
+			List<ITargetLocation> locations = new ArrayList<>();
+			Map<P2TargetUtils, List<ITargetLocation>> synchronizers = new LinkedHashMap<>();
 			// clear all previous maps
 			P2TargetUtils.fgTargetArtifactRepo.clear();
 			P2TargetUtils.fgArtifactKeyRepoFile.clear();
 			for (ITargetLocation location : targetLocations) {
-				subMonitor.checkCanceled();
-				subMonitor.subTask(Messages.TargetDefinition_4);
 				P2TargetUtils synchronizer = location.getAdapter(P2TargetUtils.class);
 				if (synchronizer == null) {
 					// a usual target definition location
-					IStatus s = location.resolve(this, subMonitor.split(100));
-					if (!s.isOK()) {
-						status.add(s);
-					}
+					locations.add(location);
 				} else {
 					// has to be performed later on in a separate batch
 					synchronizers.computeIfAbsent(synchronizer, nil -> new ArrayList<>()).add(location);
 				}
 			}
-			if (!synchronizers.isEmpty()) {
-				List<ITargetLocation> delayedLocations = synchronizers.values().stream().flatMap(Collection::stream)
-						.toList();
-				subMonitor.setWorkRemaining(synchronizers.size() * 100 + delayedLocations.size());
-				synchronizers.forEach((synchronizer, locations) -> {
-					subMonitor.checkCanceled();
-					try {
-						synchronizer.synchronize(this, subMonitor.split(100));
-						locations.stream().map(ITargetLocation::getStatus).filter(s -> s != null && !s.isOK())
-								.forEach(status::add);
-					} catch (CoreException e) {
-						PDECore.log(e.getStatus());
-						status.add(e.getStatus());
-					}
-				});
-				for (ITargetLocation location : delayedLocations) {
-					subMonitor.checkCanceled();
-					IStatus s = location.resolve(this, subMonitor.split(1));
-					if (!s.isOK()) {
-						status.add(s);
-					}
+			List<ITargetLocation> delayedLocations = synchronizers.values().stream().flatMap(Collection::stream)
+					.toList();
+			subMonitor.setWorkRemaining((locations.size() + synchronizers.size()) * 100 + delayedLocations.size());
+			subMonitor.subTask(Messages.TargetDefinition_4);
+			int parallelism = Math.min(Parallelism.getDefault(), locations.size() + synchronizers.size());
+			if (parallelism > 1) {
+				executor = Executors.newFixedThreadPool(parallelism);
+			}
+			// the usual locations and the synchronizers do not depend on each other
+			List<Function<IProgressMonitor, List<IStatus>>> tasks = new ArrayList<>();
+			for (ITargetLocation location : locations) {
+				tasks.add(m -> List.of(location.resolve(this, m)));
+			}
+			synchronizers.forEach((synchronizer, synchronizerLocations) -> tasks.add(m -> {
+				try {
+					synchronizer.synchronize(this, m);
+					return synchronizerLocations.stream().map(ITargetLocation::getStatus).filter(Objects::nonNull)
+							.toList();
+				} catch (CoreException e) {
+					PDECore.log(e.getStatus());
+					return List.of(e.getStatus());
 				}
+			}));
+			List<IStatus> statuses = new ArrayList<>(runAll(tasks, 100, subMonitor, executor));
+			// locations of a synchronizer are only resolved once it has synchronized
+			List<Function<IProgressMonitor, List<IStatus>>> delayedTasks = new ArrayList<>();
+			for (ITargetLocation location : delayedLocations) {
+				delayedTasks.add(m -> List.of(location.resolve(this, m)));
 			}
+			statuses.addAll(runAll(delayedTasks, 1, subMonitor, executor));
+			statuses.stream().filter(s -> !s.isOK()).forEach(status::add);
 			if (status.isOK()) {
 				return fResolutionStatus = Status.OK_STATUS;
 			}
@@ -422,12 +437,72 @@ public class TargetDefinition implements ITargetDefinition {
 		} catch (OperationCanceledException e) {
 			return Status.CANCEL_STATUS;
 		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 			// keep a list of resolved targets with key as handle
 			TargetPlatformHelper.addTargetDefinitionMap(this);
 			subMonitor.done();
 		}
 	}
 
+	/**
+	 * Runs the given resolution tasks, concurrently if an executor is given,
+	 * and returns their statuses in the order of the tasks.
+	 *
+	 * @param tasks the tasks to run, each one given its own progress monitor
+	 * @param work the amount of work of each task in the given monitor
+	 * @param subMonitor the monitor to report progress and poll cancellation
+	 * @param executor the executor to run the tasks with, or <code>null</code>
+	 *            to run them in the calling thread
+	 * @return the statuses of all tasks
+	 * @throws OperationCanceledException if the monitor is canceled
+	 */
+	private static List<IStatus> runAll(List<Function<IProgressMonitor, List<IStatus>>> tasks, int work,
+			SubMonitor subMonitor, ExecutorService executor) {
+		List<IStatus> statuses = new ArrayList<>();
+		if (executor == null || tasks.size() < 2) {
+			for (Function<IProgressMonitor, List<IStatus>> task : tasks) {
+				subMonitor.checkCanceled();
+				statuses.addAll(task.apply(subMonitor.split(work)));
+			}
+			return statuses;
+		}
+		// progress monitors are not thread safe, the workers only poll for
+		// cancellation while the progress is reported as the tasks complete
+		IProgressMonitor workerMonitor = new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return subMonitor.isCanceled();
+			}
+		};
+		List<Future<List<IStatus>>> futures = new ArrayList<>();
+		try {
+			for (Function<IProgressMonitor, List<IStatus>> task : tasks) {
+				futures.add(executor.submit(() -> task.apply(workerMonitor)));
+			}
+			for (Future<List<IStatus>> future : futures) {
+				subMonitor.checkCanceled();
+				statuses.addAll(future.get());
+				subMonitor.split(work);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			futures.forEach(future -> future.cancel(false));
+		}
+		return statuses;
+	}
+
 	@Override
 	public boolean isResolved() {
 		ITargetLocation[] containers = getTargetLocations();
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.util;
+
+/**
+ * Default degree of parallelism of the PDE and API tools operations that can
+ * split their work in concurrent tasks: the resolution of target locations,
+ * the reading of the target bundle manifests when creating the target state,
+ * the computation of the classpath containers of plug-in projects, the
+ * comparison of API components, the reference analysis, the parsing of
+ * compilation units to validate API tags and the conversion of use reports.
+ * <p>
+ * All these operations read the {@link #PROPERTY} system property, set to the
+ * maximum number of concurrent tasks or to {@value #AUTO} for the number of
+ * available processors. The default is {@value #DEFAULT}, which runs every
+ * operation sequentially in the calling thread. Invalid values are ignored.
+ * Callers that accept an explicit degree of parallelism, such as Ant tasks,
+ * take precedence over the system property.
+ * </p>
+ */
+public final class Parallelism {
+
+	/**
+	 * System property for the default degree of parallelism
+	 */
+	public static final String PROPERTY = "org.eclipse.pde.parallelism"; //$NON-NLS-1$
+
+	/**
+	 * Value of {@link #PROPERTY} using one task per available processor
+	 */
+	public static final String AUTO = "auto"; //$NON-NLS-1$
+
+	/**
+	 * Default degree of parallelism, operations run sequentially
+	 */
+	public static final int DEFAULT = 1;
+
+	private Parallelism() {
+	}
+
+	/**
+	 * Returns the default degree of parallelism, read from the
+	 * {@link #PROPERTY} system property.
+	 *
+	 * @return the default degree of parallelism, always at least 1
+	 */
+	public static int getDefault() {
+		return parse(System.getProperty(PROPERTY));
+	}
+
+	/**
+	 * Parses the given degree of parallelism.
+	 *
+	 * @param value a positive number, {@value #AUTO} or <code>null</code>
+	 * @return the parsed degree of parallelism, {@value #DEFAULT} if the value
+	 *         is <code>null</code> or invalid
+	 */
+	public static int parse(String value) {
+		return parse(value, DEFAULT);
+	}
+
+	/**
+	 * Parses the given degree of parallelism.
+	 *
+	 * @param value a positive number, {@value #AUTO} or <code>null</code>
+	 * @param invalid the value returned if the given value is
+	 *            <code>null</code> or invalid
+	 * @return the parsed degree of parallelism or the given invalid value
+	 */
+	public static int parse(String value, int invalid) {
+		if (value == null) {
+			return invalid;
+		}
+		String trimmed = value.trim();
+		if (AUTO.equals(trimmed)) {
+			return Runtime.getRuntime().availableProcessors();
+		}
+		try {
+			int parallelism = Integer.parseInt(trimmed);
+			return parallelism < 1 ? invalid : parallelism;
+		} catch (NumberFormatException e) {
+			return invalid;
+		}
+	}
+}
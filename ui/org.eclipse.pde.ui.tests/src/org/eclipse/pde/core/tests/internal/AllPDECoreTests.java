@@ -6,7 +6,14 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ //
+	BndBuildStateTest.class, //
+	CapabilityIndexTest.class, //
+	ClasspathDependencyCacheTest.class, //
 	DependencyManagerTest.class, //
+	PDEAuxiliaryStateTest.class, //
+	PDEStateTest.class, //
+	TargetStateSnapshotTest.class, //
+	UpdateClasspathsJobTest.class, //
 	WorkspaceModelManagerTest.class, //
 	WorkspaceProductModelManagerTest.class, //
 })
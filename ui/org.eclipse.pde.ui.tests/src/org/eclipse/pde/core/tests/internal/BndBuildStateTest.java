@@ -0,0 +1,125 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+import org.eclipse.pde.internal.core.bnd.BndBuildState;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the digest of the class files used to skip the bnd builds only
+ * changes when bnd could compute another manifest
+ */
+public class BndBuildStateTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static final String BASE = """
+			package p;
+			public class A {
+				static final long L = 1234567890123L;
+				static final double D = 1.5;
+				static final String S = "s";
+				public int m(int i) {
+					return i + 1;
+				}
+			}
+			""";
+
+	/**
+	 * Compiles the given source of the class <code>p.A</code>
+	 *
+	 * @return the content of the class file
+	 */
+	private byte[] compile(String source) throws Exception {
+		Path root = folder.newFolder().toPath();
+		Path file = root.resolve("src/p/A.java");
+		Files.createDirectories(file.getParent());
+		Files.writeString(file, source);
+		Path bin = root.resolve("bin");
+		StringWriter err = new StringWriter();
+		boolean compiled = BatchCompiler.compile(
+				new String[] { "-17", "-g", "-nowarn", "-d", bin.toString(), file.toString() }, new PrintWriter(System.out),
+				new PrintWriter(err), null);
+		assertTrue(err.toString(), compiled);
+		return Files.readAllBytes(bin.resolve("p/A.class"));
+	}
+
+	private byte[] digest(String source) throws Exception {
+		byte[] digest = BndBuildState.digest(compile(source));
+		assertNotNull("The class file should have been parsed", digest);
+		return digest;
+	}
+
+	@Test
+	public void testSameClass() throws Exception {
+		assertArrayEquals(digest(BASE), digest(BASE));
+	}
+
+	@Test
+	public void testMethodBodyChanged() throws Exception {
+		// the long and double constants take two entries of the constant pool,
+		// a wrong index would miss the code attributes after them
+		assertArrayEquals(digest(BASE), digest(BASE.replace("return i + 1;", "return i * 3 - 1;")));
+	}
+
+	@Test
+	public void testReferencedTypeAdded() throws Exception {
+		assertDifferent(BASE.replace("return i + 1;", "return new java.util.ArrayList<String>(i).size();"));
+	}
+
+	@Test
+	public void testAnnotationAdded() throws Exception {
+		assertDifferent(BASE.replace("public int m(", "@Deprecated public int m("));
+	}
+
+	@Test
+	public void testSignatureChanged() throws Exception {
+		assertDifferent(BASE.replace("public int m(int i)", "public long m(int i)"));
+		assertDifferent(BASE.replace("public int m(int i)", "protected int m(int i)"));
+		assertDifferent(BASE.replace("static final long L = 1234567890123L;", "static final long L = 1234567890124L;"));
+	}
+
+	private void assertDifferent(String source) throws Exception {
+		assertFalse(source, Arrays.equals(digest(BASE), digest(source)));
+	}
+
+	@Test
+	public void testMalformed() throws Exception {
+		byte[] classFile = compile(BASE);
+		assertNull(BndBuildState.digest(new byte[0]));
+		assertNull(BndBuildState.digest(Arrays.copyOf(classFile, 10)));
+		assertNull(BndBuildState.digest(Arrays.copyOf(classFile, classFile.length - 1)));
+		assertNull(BndBuildState.digest(Arrays.copyOf(classFile, classFile.length + 1)));
+		byte[] badTag = classFile.clone();
+		// the tag of the first constant
+		badTag[10] = 2;
+		assertNull(BndBuildState.digest(badTag));
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pde.internal.core.bnd.CapabilityIndex;
+import org.junit.Test;
+import org.osgi.framework.Filter;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.Version;
+import org.osgi.resource.Capability;
+import org.osgi.resource.Namespace;
+import org.osgi.resource.Requirement;
+import org.osgi.resource.Resource;
+
+/**
+ * Tests that the {@link CapabilityIndex} returns all the capabilities matching
+ * a requirement, in the order of the resources
+ */
+public class CapabilityIndexTest {
+
+	private static final String NAMESPACE = "test.namespace";
+
+	private static final class TestResource implements Resource {
+
+		private final List<Capability> capabilities = new ArrayList<>();
+
+		TestResource add(String namespace, Map<String, Object> attributes) {
+			capabilities.add(new TestCapability(namespace, attributes, this));
+			return this;
+		}
+
+		@Override
+		public List<Capability> getCapabilities(String namespace) {
+			return capabilities.stream().filter(c -> namespace == null || namespace.equals(c.getNamespace()))
+					.toList();
+		}
+
+		@Override
+		public List<Requirement> getRequirements(String namespace) {
+			return List.of();
+		}
+	}
+
+	private record TestCapability(String getNamespace, Map<String, Object> getAttributes, Resource getResource)
+			implements Capability {
+
+		@Override
+		public Map<String, String> getDirectives() {
+			return Map.of();
+		}
+	}
+
+	private record TestRequirement(String getNamespace, Map<String, String> getDirectives) implements Requirement {
+
+		TestRequirement(String filter) {
+			this(NAMESPACE, filter == null ? Map.of() : Map.of(Namespace.REQUIREMENT_FILTER_DIRECTIVE, filter));
+		}
+
+		@Override
+		public Map<String, Object> getAttributes() {
+			return Map.of();
+		}
+
+		@Override
+		public Resource getResource() {
+			return null;
+		}
+	}
+
+	private static String getRequiredValue(String filter) {
+		return CapabilityIndex.getRequiredValue(new TestRequirement(filter));
+	}
+
+	@Test
+	public void testRequiredValue() {
+		assertNull(getRequiredValue(null));
+		assertEquals("a", getRequiredValue("(test.namespace=a)"));
+		assertEquals("a", getRequiredValue(" (test.namespace=a) "));
+		assertEquals("a", getRequiredValue("(&(version>=1.0)(test.namespace=a))"));
+		assertNull(getRequiredValue("(other=a)"));
+		assertNull(getRequiredValue("(test.namespace>=a)"));
+		assertNull(getRequiredValue("(test.namespace~=a)"));
+		assertNull(getRequiredValue("(test.namespace=a*)"));
+		assertNull(getRequiredValue("(test.namespace=*)"));
+		assertNull(getRequiredValue("(test.namespace= a)"));
+		assertNull(getRequiredValue("(|(test.namespace=a)(test.namespace=b))"));
+		assertNull(getRequiredValue("(!(test.namespace=a))"));
+		assertNull(getRequiredValue("(&(!(test.namespace=a))(version>=1.0))"));
+	}
+
+	@Test
+	public void testRequiredValueEscapedParentheses() {
+		// escaped values are left to the filter
+		assertNull(getRequiredValue("(test.namespace=a\\)b)"));
+		assertNull(getRequiredValue("(test.namespace=a\\(b\\))"));
+		// escaped parentheses do not split the operands of a conjunction
+		assertEquals("c", getRequiredValue("(&(other=a\\)\\(test.namespace=b)(test.namespace=c))"));
+		assertNull(getRequiredValue("(&(other=a\\)\\(test.namespace=b)(version>=1.0))"));
+		assertEquals("c", getRequiredValue("(&(other=\\\\)(test.namespace=c))"));
+	}
+
+	@Test
+	public void testRequiredValueNestedConjunctions() {
+		assertEquals("a", getRequiredValue("(&(&(version>=1.0)(test.namespace=a))(other=b))"));
+		assertEquals("a", getRequiredValue("(&(other=b)(&(version>=1.0)(&(test.namespace=a))))"));
+		assertNull(getRequiredValue("(&(other=b)(|(version>=1.0)(test.namespace=a)))"));
+		assertNull(getRequiredValue("(&(other=b)(!(&(test.namespace=a))))"));
+	}
+
+	@Test
+	public void testCandidates() throws Exception {
+		List<Resource> resources = List.of( //
+				new TestResource() //
+						.add(NAMESPACE, Map.of(NAMESPACE, "a")) //
+						.add("other", Map.of(NAMESPACE, "a")) //
+						.add(NAMESPACE, Map.of(NAMESPACE, List.of("b", "a", "a"))), //
+				new TestResource() //
+						.add(NAMESPACE, Map.of(NAMESPACE, 5L)) //
+						.add(NAMESPACE, Map.of(NAMESPACE, "b", "version", new Version(1, 0, 0))), //
+				new TestResource() //
+						.add(NAMESPACE, Map.of("version", new Version(2, 0, 0))) //
+						.add(NAMESPACE, Map.of(NAMESPACE, new Version(1, 0, 0))) //
+						.add(NAMESPACE, Map.of(NAMESPACE, List.of(1L, 2L))) //
+						.add(NAMESPACE, Map.of(NAMESPACE, List.of())), //
+				new TestResource() //
+						.add(NAMESPACE, Map.of(NAMESPACE, "a", "version", new Version(2, 0, 0))));
+		List<Capability> all = resources.stream().flatMap(r -> r.getCapabilities(NAMESPACE).stream()).toList();
+		CapabilityIndex index = new CapabilityIndex(resources);
+		for (String filter : List.of( //
+				"(test.namespace=a)", //
+				"(test.namespace=b)", //
+				"(test.namespace=c)", //
+				"(test.namespace=5)", //
+				"(test.namespace=1.0)", //
+				"(test.namespace=2)", //
+				"(&(test.namespace=a)(version>=2.0))", //
+				"(&(version>=1.0)(&(test.namespace=b)))", //
+				"(|(test.namespace=a)(test.namespace=b))", //
+				"(test.namespace=*)", //
+				"(version>=1.0)")) {
+			Filter osgiFilter = FrameworkUtil.createFilter(filter);
+			List<Capability> matching = all.stream().filter(c -> osgiFilter.matches(c.getAttributes())).toList();
+			List<Capability> candidates = index.candidates(new TestRequirement(filter)).toList();
+			// the candidates are in the order of the capabilities, without
+			// duplicates, and include all the matching capabilities
+			assertEquals(filter, all.stream().filter(candidates::contains).toList(), candidates);
+			assertEquals(filter, matching,
+					candidates.stream().filter(c -> osgiFilter.matches(c.getAttributes())).toList());
+		}
+		// the keyed candidates are narrowed, only the other types are kept
+		assertEquals(List.of(all.get(0), all.get(1), all.get(2), all.get(5), all.get(6), all.get(8)),
+				index.candidates(new TestRequirement("(test.namespace=a)")).toList());
+		assertEquals(all, index.candidates(new TestRequirement(null)).toList());
+	}
+}
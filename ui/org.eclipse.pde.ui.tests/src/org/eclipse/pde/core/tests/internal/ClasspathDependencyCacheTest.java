@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Hashtable;
+import java.util.List;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.State;
+import org.eclipse.osgi.service.resolver.StateDelta;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.internal.core.ClasspathDependencyCache;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.Constants;
+
+/**
+ * Tests that the {@link ClasspathDependencyCache} only evicts the values that
+ * depend on the bundles changed by a resolution of the state
+ */
+public class ClasspathDependencyCacheTest {
+
+	private static final long A = 1;
+	private static final long B = 2;
+	private static final long C = 3;
+	private static final long D = 4;
+
+	private State state;
+
+	private BundleDescription createBundle(long bundleId, String name, String export, String reexport,
+			String classpath) throws Exception {
+		Hashtable<String, String> manifest = new Hashtable<>();
+		manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+		manifest.put(Constants.BUNDLE_SYMBOLICNAME, name);
+		manifest.put(Constants.BUNDLE_VERSION, "1.0.0");
+		if (export != null) {
+			manifest.put(Constants.EXPORT_PACKAGE, export);
+		}
+		if (reexport != null) {
+			manifest.put(Constants.REQUIRE_BUNDLE, reexport + ";visibility:=reexport");
+		}
+		if (classpath != null) {
+			manifest.put(Constants.BUNDLE_CLASSPATH, classpath);
+		}
+		return StateObjectFactory.defaultFactory.createBundleDescription(state, manifest, name, bundleId);
+	}
+
+	/**
+	 * Replaces the bundle of the given id by a bundle with the given headers and
+	 * resolves the state again
+	 */
+	private StateDelta update(long bundleId, String export, String classpath) throws Exception {
+		BundleDescription bundle = state.getBundle(bundleId);
+		assertTrue(state.updateBundle(createBundle(bundleId, bundle.getSymbolicName(), export, null, classpath)));
+		return state.resolve(false);
+	}
+
+	@Before
+	public void setUp() throws Exception {
+		state = StateObjectFactory.defaultFactory.createState(true);
+		// b re-exports a, d re-exports c, the two pairs are unrelated
+		state.addBundle(createBundle(A, "a", "a.api", null, null));
+		state.addBundle(createBundle(B, "b", null, "a", null));
+		state.addBundle(createBundle(C, "c", "c.api", null, null));
+		state.addBundle(createBundle(D, "d", null, "c", null));
+		state.resolve();
+		assertTrue(state.getBundle(B).isResolved());
+		assertTrue(state.getBundle(D).isResolved());
+	}
+
+	@After
+	public void tearDown() {
+		// do not keep the values of the test state
+		ClasspathDependencyCache.invalidate(null);
+	}
+
+	@Test
+	public void testUnrelatedDeltaKeepsEntries() throws Exception {
+		ClasspathDependencyCache cache = ClasspathDependencyCache.get(state);
+		List<BundleDescription> closureB = cache.getReexportClosure(state.getBundle(B));
+		List<BundleDescription> closureD = cache.getReexportClosure(state.getBundle(D));
+		List<?> packagesA = cache.getExportedPackages(state.getBundle(A));
+		assertEquals(List.of(state.getBundle(B), state.getBundle(A)), closureB);
+
+		state.addBundle(createBundle(5, "e", "e.api", null, null));
+		StateDelta delta = state.resolve(false);
+		assertTrue(delta.getChanges().length > 0);
+		ClasspathDependencyCache.invalidate(delta);
+
+		cache = ClasspathDependencyCache.get(state);
+		assertSame(closureB, cache.getReexportClosure(state.getBundle(B)));
+		assertSame(closureD, cache.getReexportClosure(state.getBundle(D)));
+		assertSame(packagesA, cache.getExportedPackages(state.getBundle(A)));
+	}
+
+	@Test
+	public void testManifestChangeInvalidatesDependents() throws Exception {
+		ClasspathDependencyCache cache = ClasspathDependencyCache.get(state);
+		List<BundleDescription> closureB = cache.getReexportClosure(state.getBundle(B));
+		List<BundleDescription> closureD = cache.getReexportClosure(state.getBundle(D));
+		List<?> packagesC = cache.getExportedPackages(state.getBundle(C));
+		assertEquals(1, cache.getExportedPackages(state.getBundle(A)).size());
+
+		ClasspathDependencyCache.invalidate(update(A, "a.api,a.internal;x-internal:=true", null));
+
+		cache = ClasspathDependencyCache.get(state);
+		List<BundleDescription> updated = cache.getReexportClosure(state.getBundle(B));
+		assertNotSame(closureB, updated);
+		assertSame("The closure should hold the updated bundle", state.getBundle(A), updated.get(1));
+		assertEquals(2, cache.getExportedPackages(state.getBundle(A)).size());
+		assertSame(closureD, cache.getReexportClosure(state.getBundle(D)));
+		assertSame(packagesC, cache.getExportedPackages(state.getBundle(C)));
+	}
+
+	@Test
+	public void testClasspathChangeInvalidatesDependents() throws Exception {
+		ClasspathDependencyCache cache = ClasspathDependencyCache.get(state);
+		List<BundleDescription> closureB = cache.getReexportClosure(state.getBundle(B));
+		List<BundleDescription> closureD = cache.getReexportClosure(state.getBundle(D));
+		List<?> packagesA = cache.getExportedPackages(state.getBundle(A));
+
+		ClasspathDependencyCache.invalidate(update(C, "c.api", "., lib/c.jar"));
+
+		cache = ClasspathDependencyCache.get(state);
+		assertNotSame(closureD, cache.getReexportClosure(state.getBundle(D)));
+		assertSame(closureB, cache.getReexportClosure(state.getBundle(B)));
+		assertSame(packagesA, cache.getExportedPackages(state.getBundle(A)));
+	}
+
+	@Test
+	public void testStaleGenerationNotReturned() throws Exception {
+		ClasspathDependencyCache stale = ClasspathDependencyCache.get(state);
+		List<BundleDescription> closureB = stale.getReexportClosure(state.getBundle(B));
+
+		ClasspathDependencyCache.invalidate(update(A, "a.api", "., lib/a.jar"));
+
+		// computations still running on the discarded generation
+		assertSame(closureB, stale.getReexportClosure(state.getBundle(B)));
+		List<BundleDescription> staleClosureD = stale.getReexportClosure(state.getBundle(D));
+		ClasspathDependencyCache cache = ClasspathDependencyCache.get(state);
+		assertNotSame(closureB, cache.getReexportClosure(state.getBundle(B)));
+		assertNotSame(staleClosureD, cache.getReexportClosure(state.getBundle(D)));
+
+		// another state discards all the values of this one
+		List<BundleDescription> closureD = cache.getReexportClosure(state.getBundle(D));
+		ClasspathDependencyCache.get(StateObjectFactory.defaultFactory.createState(true));
+		assertNotSame(closureD, ClasspathDependencyCache.get(state).getReexportClosure(state.getBundle(D)));
+
+		// so does a change of the whole state
+		closureD = ClasspathDependencyCache.get(state).getReexportClosure(state.getBundle(D));
+		ClasspathDependencyCache.invalidate(null);
+		assertNotSame(closureD, ClasspathDependencyCache.get(state).getReexportClosure(state.getBundle(D)));
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.Map;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.osgi.service.resolver.StateObjectFactory;
+import org.eclipse.pde.internal.core.PDEAuxiliaryState;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.Constants;
+
+/**
+ * Tests saving and reloading the plug-in infos of {@link PDEAuxiliaryState}
+ */
+public class PDEAuxiliaryStateTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static final class TestState extends PDEAuxiliaryState {
+
+		void add(long bundleId, String name, String classpath) throws Exception {
+			Hashtable<String, String> manifest = new Hashtable<>();
+			manifest.put(Constants.BUNDLE_MANIFESTVERSION, "2");
+			manifest.put(Constants.BUNDLE_SYMBOLICNAME, "bundle" + bundleId);
+			manifest.put(Constants.BUNDLE_NAME, name);
+			manifest.put(Constants.BUNDLE_CLASSPATH, classpath);
+			BundleDescription desc = StateObjectFactory.defaultFactory.createBundleDescription(null, manifest,
+					"bundle" + bundleId, bundleId);
+			addAuxiliaryData(desc, Map.copyOf(manifest), true);
+		}
+
+		void save(File dir) {
+			savePluginInfo(dir);
+		}
+
+		boolean read(File dir) {
+			return readPluginInfoCache(dir);
+		}
+	}
+
+	@Test
+	public void testSaveAndReload() throws Exception {
+		File dir = folder.newFolder();
+		TestState state = new TestState();
+		state.add(1, "One", "one.jar");
+		state.add(2, "Two", "two.jar,lib/two.jar");
+		state.save(dir);
+
+		TestState reloaded = new TestState();
+		assertTrue(reloaded.read(dir));
+		assertEquals("One", reloaded.getPluginName(1));
+		assertEquals("Two", reloaded.getPluginName(2));
+		assertArrayEquals(new String[] { "two.jar", "lib/two.jar" }, reloaded.getLibraryNames(2));
+		assertTrue(reloaded.hasBundleStructure(2));
+	}
+
+	@Test
+	public void testUpdateAfterReload() throws Exception {
+		File dir = folder.newFolder();
+		TestState state = new TestState();
+		state.add(1, "One", "one.jar");
+		state.add(2, "Two", "two.jar");
+		state.save(dir);
+
+		// update a bundle whose record has not been decoded yet
+		TestState reloaded = new TestState();
+		assertTrue(reloaded.read(dir));
+		reloaded.add(1, "One updated", "one-updated.jar");
+		assertEquals("One updated", reloaded.getPluginName(1));
+		reloaded.save(dir);
+
+		TestState updated = new TestState();
+		assertTrue(updated.read(dir));
+		assertEquals("One updated", updated.getPluginName(1));
+		assertArrayEquals(new String[] { "one-updated.jar" }, updated.getLibraryNames(1));
+		assertEquals("Two", updated.getPluginName(2));
+	}
+
+	@Test
+	public void testCorruptCache() throws Exception {
+		File dir = folder.newFolder();
+		TestState state = new TestState();
+		state.add(1, "One", "one.jar");
+		state.add(2, "Two", "two.jar");
+		state.save(dir);
+		File[] files = dir.listFiles();
+		assertEquals("Only the cache should be written", 1, files.length);
+		Path file = files[0].toPath();
+		byte[] content = Files.readAllBytes(file);
+
+		// a truncated record
+		Files.write(file, Arrays.copyOf(content, content.length - 2));
+		assertFalse(new TestState().read(dir));
+
+		// a library name out of the string table
+		byte[] corrupted = content.clone();
+		ByteBuffer.wrap(corrupted).putInt(corrupted.length - Integer.BYTES, Integer.MAX_VALUE);
+		Files.write(file, corrupted);
+		assertFalse(new TestState().read(dir));
+
+		// a negative number of strings
+		corrupted = content.clone();
+		ByteBuffer.wrap(corrupted).putInt(2 * Integer.BYTES, -1);
+		Files.write(file, corrupted);
+		assertFalse(new TestState().read(dir));
+
+		Files.write(file, content);
+		assertTrue(new TestState().read(dir));
+	}
+}
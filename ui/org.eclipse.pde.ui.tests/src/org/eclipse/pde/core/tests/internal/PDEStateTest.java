@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.internal.core.PDEState;
+import org.eclipse.pde.internal.core.util.Parallelism;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that a {@link PDEState} created from a target has the same bundles
+ * whether the target manifests are read sequentially or concurrently
+ */
+public class PDEStateTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static Path writeBundle(Path root, String name, String version) throws Exception {
+		Path bundle = root.resolve(name);
+		Path manifest = bundle.resolve("META-INF/MANIFEST.MF");
+		Files.createDirectories(manifest.getParent());
+		Files.writeString(manifest, "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + name + "\n" //
+				+ "Bundle-Version: " + version + "\n");
+		return bundle;
+	}
+
+	private static List<String> describe(PDEState state) {
+		BundleDescription[] bundles = state.getState().getBundles();
+		return Arrays.stream(bundles).sorted((b1, b2) -> Long.compare(b1.getBundleId(), b2.getBundleId()))
+				.map(b -> b.getBundleId() + ":" + b.getSymbolicName() + "_" + b.getVersion() + ":"
+						+ b.getLocation())
+				.toList();
+	}
+
+	private static List<String> createState(URI[] target, String parallelism) {
+		String previous = System.getProperty(Parallelism.PROPERTY);
+		System.setProperty(Parallelism.PROPERTY, parallelism);
+		try {
+			return describe(new PDEState(target, false, false, null));
+		} finally {
+			if (previous == null) {
+				System.clearProperty(Parallelism.PROPERTY);
+			} else {
+				System.setProperty(Parallelism.PROPERTY, previous);
+			}
+		}
+	}
+
+	@Test
+	public void testParallelManifestLoading() throws Exception {
+		Path root = folder.newFolder().toPath();
+		List<URI> target = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			String name = "bundle" + i;
+			target.add(writeBundle(root, name, "1.0." + i).toUri());
+			names.add(name);
+			if (i % 10 == 5) {
+				// a folder without manifest and an archive that cannot be read
+				Path folderBundle = Files.createDirectories(root.resolve("folder" + i));
+				target.add(folderBundle.toUri());
+				Path jarBundle = Files.writeString(root.resolve("broken" + i + ".jar"), "not an archive");
+				target.add(jarBundle.toUri());
+			}
+		}
+		URI[] uris = target.toArray(URI[]::new);
+
+		List<String> sequential = createState(uris, "1");
+		assertEquals(names, sequential.stream().map(b -> b.split(":")[1].split("_")[0]).toList());
+		for (int i = 0; i < 3; i++) {
+			assertEquals(sequential, createState(uris, "4"));
+		}
+		assertEquals(sequential, createState(uris, Parallelism.AUTO));
+	}
+}
@@ -0,0 +1,115 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.eclipse.osgi.service.resolver.BundleDescription;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEState;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests restoring the target state from the snapshot saved by a previous
+ * {@link PDEState}
+ */
+public class TargetStateSnapshotTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private static Path writeBundle(Path root, String name, String version) throws Exception {
+		Path bundle = root.resolve(name);
+		Path manifest = bundle.resolve("META-INF/MANIFEST.MF");
+		Files.createDirectories(manifest.getParent());
+		Files.writeString(manifest, "Manifest-Version: 1.0\n" //
+				+ "Bundle-ManifestVersion: 2\n" //
+				+ "Bundle-SymbolicName: " + name + "\n" //
+				+ "Bundle-Version: " + version + "\n" //
+				+ "Bundle-Name: " + name + " name\n");
+		return bundle;
+	}
+
+	private static List<String> describe(PDEState state) {
+		BundleDescription[] bundles = state.getState().getBundles();
+		return Arrays.stream(bundles).sorted((b1, b2) -> Long.compare(b1.getBundleId(), b2.getBundleId()))
+				.map(b -> b.getBundleId() + ":" + b.getSymbolicName() + "_" + b.getVersion() + ":"
+						+ state.getPluginName(b.getBundleId()))
+				.toList();
+	}
+
+	private static File getSnapshotProperties() {
+		File snapshots = new File(PDECore.getDefault().getStateLocation().toFile(), "targetStateSnapshots");
+		File[] folders = snapshots.listFiles(File::isDirectory);
+		assertNotNull("The snapshot should have been saved", folders);
+		assertEquals("Only the last snapshot should be kept", 1, folders.length);
+		File properties = new File(folders[0], "snapshot.properties");
+		assertTrue("The snapshot should be complete", properties.isFile());
+		return properties;
+	}
+
+	private static Properties load(File file) throws Exception {
+		Properties properties = new Properties();
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			properties.load(in);
+		}
+		return properties;
+	}
+
+	@Test
+	public void testRestoreAndInvalidate() throws Exception {
+		Path root = folder.newFolder().toPath();
+		URI[] target = { writeBundle(root, "a", "1.0.0").toUri(), writeBundle(root, "b", "2.0.0").toUri() };
+
+		List<String> saved = describe(new PDEState(target, false, false, true, null));
+		assertEquals(2, saved.size());
+		File file = getSnapshotProperties();
+		String version = load(file).getProperty("version");
+		assertNotNull("The snapshot should record its format version", version);
+
+		// unchanged target, restored from the snapshot
+		assertEquals(saved, describe(new PDEState(target, false, false, true, null)));
+
+		// a snapshot of another format version is not read, but replaced
+		Properties properties = load(file);
+		properties.setProperty("version", "0");
+		try (OutputStream out = Files.newOutputStream(file.toPath())) {
+			properties.store(out, null);
+		}
+		assertEquals(saved, describe(new PDEState(target, false, false, true, null)));
+		assertEquals(version, load(getSnapshotProperties()).getProperty("version"));
+
+		// a changed manifest invalidates the snapshot
+		Path manifest = writeBundle(root, "b", "2.0.1").resolve("META-INF/MANIFEST.MF");
+		manifest.toFile().setLastModified(manifest.toFile().lastModified() + 2000);
+		List<String> changed = describe(new PDEState(target, false, false, true, null));
+		assertNotEquals(saved, changed);
+		assertTrue(changed.toString(), changed.stream().anyMatch(b -> b.contains("b_2.0.1")));
+	}
+}
@@ -0,0 +1,273 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.jdt.core.IClasspathContainer;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.UpdateClasspathsJob;
+import org.eclipse.pde.internal.core.util.Parallelism;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests that the {@link UpdateClasspathsJob} coalesces the queued containers
+ * and only sets the ones whose entries changed
+ */
+public class UpdateClasspathsJobTest {
+
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+
+	@Rule
+	public final TestRule deleteCreatedTestProjectsAfter = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static final class TestJob extends UpdateClasspathsJob {
+		@Override // Make protected methods visible to tests
+		public IStatus run(IProgressMonitor monitor) {
+			return super.run(monitor);
+		}
+	}
+
+	private record TestContainer(IClasspathEntry[] getClasspathEntries) implements IClasspathContainer {
+
+		@Override
+		public String getDescription() {
+			return "Test container";
+		}
+
+		@Override
+		public int getKind() {
+			return K_APPLICATION;
+		}
+
+		@Override
+		public IPath getPath() {
+			return PDECore.REQUIRED_PLUGINS_CONTAINER_PATH;
+		}
+	}
+
+	private static IClasspathContainer container(String... libraries) {
+		return new TestContainer(Arrays.stream(libraries)
+				.map(library -> JavaCore.newLibraryEntry(IPath.fromOSString("/libraries/" + library + ".jar"), null,
+						null))
+				.toArray(IClasspathEntry[]::new));
+	}
+
+	/**
+	 * Creates a Java project whose classpath holds the plug-in dependencies
+	 * container, set to the given container
+	 */
+	private static IJavaProject createProject(String name, IClasspathContainer initial) throws CoreException {
+		IProject project = WorkspaceModelManagerTest.getWorkspaceProject(name);
+		project.create(null);
+		project.open(null);
+		IProjectDescription description = project.getDescription();
+		description.setNatureIds(new String[] { JavaCore.NATURE_ID });
+		project.setDescription(description, null);
+		IJavaProject javaProject = JavaCore.create(project);
+		javaProject.setRawClasspath(
+				new IClasspathEntry[] { JavaCore.newContainerEntry(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH) },
+				project.getFullPath().append("bin"), null);
+		JavaCore.setClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, new IJavaProject[] { javaProject },
+				new IClasspathContainer[] { initial }, null);
+		return javaProject;
+	}
+
+	private static IClasspathContainer getContainer(IJavaProject project) throws CoreException {
+		return JavaCore.getClasspathContainer(PDECore.REQUIRED_PLUGINS_CONTAINER_PATH, project);
+	}
+
+	@Test
+	public void testCoalescing() throws Exception {
+		IJavaProject a = createProject("a", container());
+		IJavaProject b = createProject("b", container());
+		IClasspathContainer a2 = container("a2");
+		IClasspathContainer b1 = container("b1");
+		TestJob job = new TestJob();
+		job.add(a, container("a1"));
+		job.add(b, b1);
+		job.add(a, a2);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+		assertSame(a2, getContainer(a));
+		assertSame(b1, getContainer(b));
+	}
+
+	@Test
+	public void testRequeueOnCancel() throws Exception {
+		IClasspathContainer initial = container();
+		IJavaProject a = createProject("a", initial);
+		IJavaProject b = createProject("b", container());
+		IClasspathContainer b1 = container("b1");
+		TestJob job = new TestJob();
+		job.add(a, container("a1"));
+		job.add(b, b1);
+		NullProgressMonitor canceled = new NullProgressMonitor();
+		canceled.setCanceled(true);
+		assertEquals(Status.CANCEL_STATUS, job.run(canceled));
+		assertSame(initial, getContainer(a));
+
+		// a container queued after the cancellation supersedes the requeued one
+		IClasspathContainer a2 = container("a2");
+		job.add(a, a2);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+		assertSame(a2, getContainer(a));
+		assertSame(b1, getContainer(b));
+	}
+
+	@Test
+	public void testUnchangedEntriesSkipped() throws Exception {
+		IClasspathContainer initial = container("a1", "a2");
+		IJavaProject a = createProject("a", initial);
+		TestJob job = new TestJob();
+		job.add(a, container("a1", "a2"));
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+		assertSame("A container with the same entries should not be set", initial, getContainer(a));
+
+		IClasspathContainer reordered = container("a2", "a1");
+		job.add(a, reordered);
+		assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+		assertSame(reordered, getContainer(a));
+	}
+
+	/**
+	 * Container computing its entries once, in the first thread asking for
+	 * them, after the given number of containers started to compute theirs
+	 */
+	private static final class ComputingContainer implements IClasspathContainer {
+
+		private final CountDownLatch fStarted;
+		private IClasspathEntry[] fEntries;
+		private Thread fThread;
+		private boolean fConcurrent;
+
+		ComputingContainer(CountDownLatch started) {
+			fStarted = started;
+		}
+
+		@Override
+		public synchronized IClasspathEntry[] getClasspathEntries() {
+			if (fEntries == null) {
+				fThread = Thread.currentThread();
+				fStarted.countDown();
+				try {
+					fConcurrent = fStarted.await(10, TimeUnit.SECONDS);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				fEntries = new IClasspathEntry[] {
+						JavaCore.newLibraryEntry(IPath.fromOSString("/libraries/" + fThread.getName() + ".jar"), null,
+								null) };
+			}
+			return fEntries;
+		}
+
+		@Override
+		public String getDescription() {
+			return "Computing container";
+		}
+
+		@Override
+		public int getKind() {
+			return K_APPLICATION;
+		}
+
+		@Override
+		public IPath getPath() {
+			return PDECore.REQUIRED_PLUGINS_CONTAINER_PATH;
+		}
+	}
+
+	/**
+	 * Updates the containers of five projects with the given parallelism and
+	 * returns the containers, once set on their projects
+	 */
+	private static List<ComputingContainer> updateContainers(String parallelism, CountDownLatch started)
+			throws CoreException {
+		String previous = System.getProperty(Parallelism.PROPERTY);
+		System.setProperty(Parallelism.PROPERTY, parallelism);
+		try {
+			List<IJavaProject> projects = new ArrayList<>();
+			List<ComputingContainer> containers = new ArrayList<>();
+			TestJob job = new TestJob();
+			for (int i = 0; i < 5; i++) {
+				IJavaProject project = createProject("p" + parallelism + i, container());
+				ComputingContainer container = new ComputingContainer(started);
+				projects.add(project);
+				containers.add(container);
+				job.add(project, container);
+			}
+			assertEquals(Status.OK_STATUS, job.run(new NullProgressMonitor()));
+			for (int i = 0; i < projects.size(); i++) {
+				assertSame(containers.get(i), getContainer(projects.get(i)));
+			}
+			return containers;
+		} finally {
+			if (previous == null) {
+				System.clearProperty(Parallelism.PROPERTY);
+			} else {
+				System.setProperty(Parallelism.PROPERTY, previous);
+			}
+		}
+	}
+
+	@Test
+	public void testParallelComputation() throws Exception {
+		// the first three containers only complete once all of them started
+		CountDownLatch started = new CountDownLatch(3);
+		List<ComputingContainer> containers = updateContainers("3", started);
+		assertEquals("The entries should be computed concurrently", 0, started.getCount());
+		Set<Thread> threads = new HashSet<>();
+		for (ComputingContainer container : containers) {
+			assertNotSame("The entries should be computed on the pool", Thread.currentThread(), container.fThread);
+			assertTrue("The entries should be computed concurrently", container.fConcurrent);
+			threads.add(container.fThread);
+		}
+		assertEquals(3, threads.size());
+	}
+
+	@Test
+	public void testSequentialComputation() throws Exception {
+		List<ComputingContainer> containers = updateContainers("1", new CountDownLatch(1));
+		for (ComputingContainer container : containers) {
+			assertSame("The entries should be computed by the job", Thread.currentThread(), container.fThread);
+		}
+	}
+}
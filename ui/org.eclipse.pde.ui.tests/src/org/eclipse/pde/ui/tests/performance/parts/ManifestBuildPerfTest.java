@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright (c) 2026 IBM Corporation and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *     IBM Corporation - initial API and implementation
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.eclipse.test.performance.Dimension;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Tests the time it takes to fully build a workspace of plug-in projects
+ * without Java sources, so that the build time is spent validating the
+ * manifests. Comparing the serial and the parallel builds shows how much PDE
+ * project builds can run concurrently.
+ */
+public class ManifestBuildPerfTest extends PerformanceTestCase {
+
+	private static final int PROJECT_COUNT = 100;
+
+	private static final int CONCURRENT_BUILDS = 4;
+
+	private IWorkspaceDescription fOriginalDescription;
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		IWorkspace ws = ResourcesPlugin.getWorkspace();
+		fOriginalDescription = ws.getDescription();
+		IWorkspaceDescription description = ws.getDescription();
+		description.setAutoBuilding(false);
+		ws.setDescription(description);
+		for (int i = 0; i < PROJECT_COUNT; i++) {
+			ProjectUtils.createPluginProject("ManifestBuildPerfTest_" + i, "1.0.0");
+		}
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		ProjectUtils.deleteAllWorkspaceProjects();
+		ResourcesPlugin.getWorkspace().setDescription(fOriginalDescription);
+		super.tearDown();
+	}
+
+	/**
+	 * Builds the workspace one project at a time
+	 */
+	public void testSerialFullBuild() throws Exception {
+		tagAsSummary("Full build of plug-in projects, serial", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		executeFullBuilds(1);
+	}
+
+	/**
+	 * Builds the workspace with several projects built concurrently
+	 */
+	public void testParallelFullBuild() throws Exception {
+		tagAsSummary("Full build of plug-in projects, parallel", Dimension.ELAPSED_PROCESS); //$NON-NLS-1$
+		executeFullBuilds(CONCURRENT_BUILDS);
+	}
+
+	private void executeFullBuilds(int maxConcurrentBuilds) throws Exception {
+		IWorkspace ws = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = ws.getDescription();
+		description.setMaxConcurrentBuilds(maxConcurrentBuilds);
+		ws.setDescription(description);
+		// Warm-up Iterations
+		for (int i = 0; i < 2; i++) {
+			ws.build(IncrementalProjectBuilder.FULL_BUILD, null);
+		}
+		// Test Iterations
+		for (int i = 0; i < 20; i++) {
+			startMeasuring();
+			ws.build(IncrementalProjectBuilder.FULL_BUILD, null);
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+	}
+}
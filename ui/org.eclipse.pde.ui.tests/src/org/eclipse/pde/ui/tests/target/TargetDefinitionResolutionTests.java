@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2023 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -22,6 +22,9 @@ import static org.junit.Assert.assertTrue;
 import java.io.File;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.equinox.frameworkadmin.BundleInfo;
@@ -34,6 +37,7 @@ import org.eclipse.pde.core.target.ITargetPlatformService;
 import org.eclipse.pde.core.target.NameVersionDescriptor;
 import org.eclipse.pde.core.target.TargetBundle;
 import org.eclipse.pde.internal.core.target.IUBundleContainer;
+import org.eclipse.pde.internal.core.util.Parallelism;
 import org.eclipse.pde.ui.tests.PDETestCase;
 import org.junit.Test;
 
@@ -170,6 +174,53 @@ public class TargetDefinitionResolutionTests extends AbstractTargetTest {
 
 	}
 
+	/**
+	 * Tests that resolving the locations of a target concurrently reports the
+	 * same statuses and bundles, in the same order, as resolving them
+	 * sequentially.
+	 */
+	@Test
+	public void testParallelResolutionIsDeterministic() throws Exception {
+		Path abcde = extractAbcdePlugins().resolve("plugins");
+		Path multiVersions = extractMultiVersionPlugins();
+		List<String> expected = resolveForOrdering(abcde, multiVersions);
+		String previous = System.getProperty(Parallelism.PROPERTY);
+		try {
+			System.setProperty(Parallelism.PROPERTY, "4");
+			for (int i = 0; i < 5; i++) {
+				assertEquals("Parallel resolution must not change the ordering", expected,
+						resolveForOrdering(abcde, multiVersions));
+			}
+		} finally {
+			if (previous == null) {
+				System.clearProperty(Parallelism.PROPERTY);
+			} else {
+				System.setProperty(Parallelism.PROPERTY, previous);
+			}
+		}
+	}
+
+	/**
+	 * Resolves a new target with valid and missing directory locations and
+	 * returns the messages of its statuses followed by its bundles, in the
+	 * order they are reported.
+	 */
+	private List<String> resolveForOrdering(Path abcde, Path multiVersions) {
+		ITargetDefinition definition = getNewTarget();
+		definition.setTargetLocations(new ITargetLocation[] {
+				getTargetService().newDirectoryLocation("***SHOULD NOT EXIST 1***"),
+				getTargetService().newDirectoryLocation(abcde.toString()),
+				getTargetService().newDirectoryLocation("***SHOULD NOT EXIST 2***"),
+				getTargetService().newDirectoryLocation(multiVersions.toString()) });
+		IStatus status = definition.resolve(null);
+		assertEquals("Wrong number of children", 2, status.getChildren().length);
+		List<String> ordering = new ArrayList<>();
+		Arrays.stream(status.getChildren()).map(IStatus::getMessage).forEach(ordering::add);
+		Arrays.stream(definition.getAllBundles()).map(TargetBundle::getBundleInfo)
+				.map(info -> info.getSymbolicName() + '_' + info.getVersion()).forEach(ordering::add);
+		return ordering;
+	}
+
 	/**
 	 * Tests that a target definition is in synch with the target platform.
 	 */